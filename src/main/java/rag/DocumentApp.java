@@ -9,18 +9,26 @@ import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import rag.controller.LoadingController;
+import rag.service.DocumentWatcher;
 import rag.service.IndexService;
 
 import java.io.IOException;
 
+import static rag.config.AppConfig.DOCUMENTS;
 import static rag.config.AppConfig.getDocPathEnd;
 
 public class DocumentApp extends Application {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentApp.class);
+
     private final String TEXT = "탐색기";
+    private long startedAt;
 
     @Override
     public void start(Stage stage) throws IOException {
+        startedAt = System.nanoTime();
         Stage index = new Stage();
         FXMLLoader loader = new FXMLLoader(DocumentApp.class.getResource("/view/LoadingRoot.fxml"));
         Parent loadRoot = loader.load();
@@ -64,6 +72,11 @@ public class DocumentApp extends Application {
                 mainStage.setOnCloseRequest(event -> {
                     System.exit(0);
                 });
+
+                // 실행부터 검색 화면이 뜰 때까지 걸린 시간 (time-to-first-search)
+                logger.info("검색 가능까지 {}ms (문서 {}개, 백그라운드 갱신 {})",
+                        (System.nanoTime() - startedAt) / 1_000_000, DOCUMENTS.size(),
+                        IndexService.isRevalidating() ? "진행 중" : "없음");
             } catch (IOException ex) {
                 System.err.println("메인 화면 로드 실패: " + ex.getMessage());
                 ex.printStackTrace();
@@ -130,24 +143,22 @@ public class DocumentApp extends Application {
                         return null;
                     }
                     
-                    if (IndexService.shouldRebuildIndex(docPathEnd)) {
+                    // 저장된 인덱스가 있으면 바로 열고, 변경 확인은 검색 화면을 띄운 뒤 백그라운드에서 진행
+                    if (IndexService.hasIndex(docPathEnd)) {
+                        updateMessage("📂 기존 인덱스 로드 중...");
+                        controller.status("📂 기존 인덱스 로드 중");
+                    } else {
                         updateMessage("📁 문서 인덱싱 중...");
                         controller.status("📁 문서 인덱싱 중");
                         controller.status2("처음 실행 시에만 수행되는 작업입니다.");
-                        
-                        String result = IndexService.buildIndex(docPathEnd, this::updateMessage);
-                        
-                        updateMessage(result);
-                        controller.status2(result);
-                    } else {
-                        updateMessage("📂 기존 인덱스 로드 중...");
-                        controller.status("📂 기존 인덱스 로드 중");
-                        
-                        IndexService.loadIndex(docPathEnd, null);
-                        
-                        updateMessage("인덱스 로드 완료");
-                        controller.status2("인덱스 로드 완료");
                     }
+
+                    // 디스크와 맞춘 뒤부터 변경 사항은 파일 감시로 반영
+                    String result = IndexService.openIndex(docPathEnd, this::updateMessage,
+                            () -> DocumentWatcher.watch(docPathEnd));
+
+                    updateMessage(result);
+                    controller.status2(result);
                 } catch (Exception e) {
                     String errorMsg = "인덱스 처리 실패: " + e.getMessage();
                     updateMessage(errorMsg);
@@ -1,19 +1,38 @@
 package rag.config;
 
-import rag.model.Document;
+import rag.model.DocumentList;
+import rag.util.CrawlRules;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Paths;
 
 public class AppConfig {
     public static String DOC_PATH = "";
-    public static final List<Document> DOCUMENTS = new ArrayList<>();
+    // .idx 인덱스를 불러오면 메모리 매핑된 읽기 전용 목록을 감싸며, 수정 시 힙 목록으로 전환
+    // -Drag.store.compact=true 이면 힙 목록을 배열 기반 저장소(CompactDocumentStore)로 보관
+    public static final DocumentList DOCUMENTS = new DocumentList(Boolean.getBoolean("rag.store.compact"));
     public static final int MAX_WORKER = Runtime.getRuntime().availableProcessors() * 2;
 
+    // 탐색 방식 (-Drag.crawl.mode=virtual_thread) 및 동시에 열 수 있는 최대 폴더 수
+    public static CrawlMode CRAWL_MODE = CrawlMode.from(System.getProperty("rag.crawl.mode"));
+    public static int MAX_OPEN_DIRS = Integer.getInteger("rag.crawl.maxOpenDirs", 256);
+
+    // 탐색 포함/제외 규칙 (실행 폴더의 crawl-rules.txt, 없으면 기본 규칙)
+    public static CrawlRules CRAWL_RULES = CrawlRules.loadOrDefault(
+            Paths.get(System.getProperty("user.dir"), CrawlRules.RULES_FILE));
+
     public static void setDocPath(String docPath) {
         DOC_PATH = docPath;
     }
 
+    public static void setCrawlMode(CrawlMode crawlMode, int maxOpenDirs) {
+        CRAWL_MODE = crawlMode;
+        MAX_OPEN_DIRS = maxOpenDirs;
+    }
+
+    public static void setCrawlRules(CrawlRules crawlRules) {
+        CRAWL_RULES = crawlRules;
+    }
+
     public static String getDocPath() {
         return DOC_PATH;
     }
@@ -0,0 +1,33 @@
+package rag.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * 문서 탐색 실행 방식
+ * - FORK_JOIN : CPU 코어 수 기반 ForkJoinPool (로컬 디스크)
+ * - VIRTUAL_THREAD : 폴더마다 가상 스레드 (네트워크 드라이브 등 지연이 큰 경우)
+ */
+public enum CrawlMode {
+    FORK_JOIN,
+    VIRTUAL_THREAD;
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlMode.class);
+
+    /**
+     * 설정 값을 해석합니다. 비어 있으면 FORK_JOIN, 알 수 없는 값이면 경고 후 FORK_JOIN
+     */
+    public static CrawlMode from(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return FORK_JOIN;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("알 수 없는 탐색 방식 설정 '{}', FORK_JOIN 으로 탐색합니다. (FORK_JOIN, VIRTUAL_THREAD 중 선택)", value);
+            return FORK_JOIN;
+        }
+    }
+}
@@ -3,9 +3,10 @@ package rag.config;
 public class DataType {
     String INDEX_FILE_JSON = ".json";
     String INDEX_FILE_BINARY = ".dat";
+    String INDEX_FILE_COMPACT = ".idx";
 
     public String getFileExt() {
-        return INDEX_FILE_BINARY;
+        return INDEX_FILE_COMPACT;
     }
 
 }
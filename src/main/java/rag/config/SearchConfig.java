@@ -0,0 +1,35 @@
+package rag.config;
+
+/**
+ * 로컬 검색(rag.search) 설정
+ */
+public class SearchConfig {
+    // 한글 초성 bigram 도 색인 (-Drag.search.choseong=true, 초성으로 검색 가능, 색인 크기 증가)
+    public static final boolean CHOSEONG_INDEX = Boolean.getBoolean("rag.search.choseong");
+
+    // 파일명 벡터 근사 최근접 검색 (-Drag.search.vector=true, 문서당 약 VECTOR_DIMENSION * 4 + 130 바이트)
+    public static final boolean VECTOR_INDEX = Boolean.getBoolean("rag.search.vector");
+    public static final int VECTOR_DIMENSION = Integer.getInteger("rag.search.vector.dimension", 128);
+
+    // 벡터 양자화 (-Drag.search.vector.quantization=int8|pq, 기본 none)
+    public static final VectorQuantization VECTOR_QUANTIZATION =
+            VectorQuantization.from(System.getProperty("rag.search.vector.quantization"));
+    // PQ 부분 공간 수 (0 이면 차원 / 4, 문서당 바이트 수와 같음)
+    public static final int VECTOR_PQ_SUBSPACES = Integer.getInteger("rag.search.vector.pq.subspaces", 0);
+    // 양자화 검색 상위 후보를 디스크(메모리 매핑)의 원본 벡터로 재정렬 (-Drag.search.vector.rerank=false 로 끔)
+    public static final boolean VECTOR_RERANK = !"false".equalsIgnoreCase(System.getProperty("rag.search.vector.rerank"));
+
+    // 유사도 계산에 SIMD 커널 사용 (-Drag.search.simd=false 로 끔, 실행 시 --add-modules jdk.incubator.vector 필요)
+    public static final boolean SIMD_KERNEL = !"false".equalsIgnoreCase(System.getProperty("rag.search.simd"));
+
+    // 하이브리드 검색 RRF 상수 k (클수록 하위 순위 문서의 기여가 상대적으로 커짐)
+    public static final int RRF_K = Integer.getInteger("rag.search.rrf.k", 60);
+    // 목록이 클 때 LLM 프롬프트에 넣는 하이브리드 검색 상위 후보 수 (MAX_DOCUMENTS_IN_PROMPT 이하)
+    public static final int PROMPT_CANDIDATES = Integer.getInteger("rag.search.promptCandidates", 200);
+
+    // LLM 프롬프트 토큰 예산 (추정값 기준, 질문/안내문 포함)
+    public static final int PROMPT_TOKEN_BUDGET = Integer.getInteger("rag.search.promptTokens", 6000);
+
+    private SearchConfig() {
+    }
+}
@@ -0,0 +1,35 @@
+package rag.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * 파일명 벡터 보관 방식 (메모리 vs 정확도)
+ * - NONE : float 원본 + HNSW 그래프 (문서당 차원 * 4 바이트 + 그래프)
+ * - INT8 : 차원마다 1바이트 스칼라 양자화, 전수 조사 (문서당 차원 바이트)
+ * - PQ : 곱 양자화, 전수 조사 (문서당 부분 공간 수 바이트)
+ */
+public enum VectorQuantization {
+    NONE,
+    INT8,
+    PQ;
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorQuantization.class);
+
+    /**
+     * 설정 값을 해석합니다. 비어 있으면 NONE, 알 수 없는 값이면 경고 후 NONE
+     */
+    public static VectorQuantization from(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("알 수 없는 벡터 양자화 설정 '{}', 양자화 없이(NONE) 사용합니다. (NONE, INT8, PQ 중 선택)", value);
+            return NONE;
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package rag.controller;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.text.Text;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rag.model.IndexSnapshot;
+import rag.model.PathTrie;
+import rag.service.DocumentWatcher;
 import rag.service.IndexService;
 import rag.service.SearchService;
+import rag.util.TimeUtils;
 
 import java.net.URL;
 import java.util.Map;
@@ -41,15 +48,26 @@ public class RootController implements Initializable {
     public Text sumDoc;
     @FXML
     public Button clear_btn;
+    @FXML
+    public Text freshness;  // 인덱스 저장 시각 / 백그라운드 갱신 여부
+    @FXML
+    public TextField scope_input;  // 검색 범위 폴더 (DOC_PATH 기준, 비우면 전체)
+    @FXML
+    public Text scopeStats;  // 검색 범위 폴더의 문서 수
 
     public static boolean flag = false;
 
+    private IndexSnapshot trieSnapshot; // 폴더 트리를 만드는 중인 스냅샷 (FX 스레드에서만 사용)
+
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         clearButton();
 
         path_input.setText(DOC_PATH);
         sumDoc.setText(String.valueOf(DOCUMENTS.size()));
+        startFreshnessUpdates();
+        scope_input.textProperty().addListener((observable, oldValue, newValue) -> updateScopeStats());
+        updateScopeStats();
 
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
 
@@ -166,11 +184,12 @@ public class RootController implements Initializable {
     private Task<Map<String, Object>> getMapTask() {
         sumDoc.setText(String.valueOf(DOCUMENTS.size()));
         String input = search_input.getText().trim(); // 질문
+        String scope = scope_input.getText().trim(); // 검색 범위 폴더
 
         Task<Map<String, Object>> task = new Task<>() {
             @Override
             protected Map<String, Object> call() {
-                return SearchService.findPath(input);
+                return SearchService.findPath(input, scope);
             }
         };
 
@@ -271,6 +290,79 @@ public class RootController implements Initializable {
         return task;
     }
 
+    // 검색 범위 폴더의 문서 수 표시 (폴더 트리 조회라 입력할 때마다 바로 갱신)
+    // 범위를 비워 두면 폴더 트리를 만들지 않음 (전체 문서 수는 sumDoc 에 표시)
+    // 폴더 트리가 아직 없으면 FX 스레드를 막지 않도록 백그라운드에서 만든 뒤 다시 표시
+    private void updateScopeStats() {
+        String scope = scope_input.getText().trim();
+        if (scope.isEmpty()) {
+            scopeStats.setText("전체");
+            return;
+        }
+        IndexSnapshot snapshot = DOCUMENTS.snapshot();
+        PathTrie trie = snapshot.getPathTrieIfBuilt();
+        if (trie == null) {
+            scopeStats.setText("집계 중...");
+            buildPathTrie(snapshot);
+            return;
+        }
+        PathTrie.Folder folder = trie.folder(scope);
+        if (folder == null) {
+            scopeStats.setText("없는 폴더");
+        } else {
+            scopeStats.setText(String.format("문서 %d개 (직접 %d개, 하위 폴더 %d개)",
+                    folder.getDocumentCount(), folder.getFileCount(), folder.getChildren().size()));
+        }
+    }
+
+    // 스냅샷의 폴더 트리를 백그라운드에서 만들고, 그 사이 스냅샷이 바뀌지 않았으면 범위 표시 갱신
+    private void buildPathTrie(IndexSnapshot snapshot) {
+        if (trieSnapshot == snapshot) {
+            return; // 이미 만드는 중 (완료되면 그때 입력된 범위로 표시)
+        }
+        trieSnapshot = snapshot;
+        Task<PathTrie> task = new Task<>() {
+            @Override
+            protected PathTrie call() {
+                return snapshot.getPathTrie();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (trieSnapshot == snapshot) {
+                trieSnapshot = null;
+            }
+            if (DOCUMENTS.snapshot() == snapshot) {
+                updateScopeStats();
+            }
+        });
+        task.setOnFailed(e -> {
+            if (trieSnapshot == snapshot) {
+                trieSnapshot = null;
+            }
+            scopeStats.setText("집계 실패");
+        });
+        Thread thread = new Thread(task, "scope-stats");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 백그라운드 갱신으로 스냅샷이 교체되면 문서 수와 인덱스 상태 표시를 갱신 (1초마다 확인)
+    private void startFreshnessUpdates() {
+        long[] shownVersion = {-1L};
+        Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(1), event -> {
+            long version = DOCUMENTS.snapshot().getVersion();
+            if (version != shownVersion[0]) {
+                shownVersion[0] = version;
+                sumDoc.setText(String.valueOf(DOCUMENTS.size()));
+                updateScopeStats();
+            }
+            String age = TimeUtils.formatAge(IndexService.getIndexedAt(getDocPathEnd()), System.currentTimeMillis());
+            freshness.setText(IndexService.isRevalidating() ? age + " (갱신 중)" : age);
+        }));
+        timeline.setCycleCount(Timeline.INDEFINITE);
+        timeline.play();
+    }
+
     private static Task<Void> getTaskIndex() {
         return new Task<Void>() {
             @Override
@@ -283,15 +375,10 @@ public class RootController implements Initializable {
                         return null;
                     }
                     
-                    if (IndexService.shouldRebuildIndex(docPathEnd)) {
-                        updateMessage("인덱스 재구축 중...");
-                        String result = IndexService.buildIndex(docPathEnd, null);
-                        updateMessage(result);
-                    } else {
-                        updateMessage("기존 인덱스 로드 중...");
-                        IndexService.loadIndex(docPathEnd, null);
-                        updateMessage("인덱스 로드 완료");
-                    }
+                    // 저장된 인덱스가 있으면 바로 사용하고 갱신은 백그라운드에서 진행
+                    updateMessage("인덱스 준비 중...");
+                    String result = IndexService.openIndex(docPathEnd, null, () -> DocumentWatcher.watch(docPathEnd));
+                    updateMessage(result);
                 } catch (Exception e) {
                     updateMessage("인덱스 처리 실패: " + e.getMessage());
                     logger.error("인덱스 작업 실패", e);
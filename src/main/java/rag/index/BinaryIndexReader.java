@@ -0,0 +1,205 @@
+package rag.index;
+
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static rag.index.IndexFormat.*;
+
+/**
+ * 바이너리 인덱스 스트리밍 읽기
+ * - next() 로 문서를 하나씩 복원하며, 64KB 버퍼 외에는 직전 경로와 세그먼트 경계만 유지
+ * - 세그먼트 하나를 다 읽을 때마다 그 세그먼트의 체크섬을 검증
+ * - 전체를 한 번에 읽을 때는 세그먼트를 병렬로 복원하는 MappedIndex.decodeAll() 이 더 빠름
+ */
+public class BinaryIndexReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final int count;
+    private final long[] segmentEnds; // 세그먼트마다 본문 내 끝 위치
+    private final int[] segmentCrcs;
+
+    private long bodyPosition; // 본문에서 버퍼로 읽어온 위치
+    private int segment;
+    private byte[] path = new byte[256];
+    private int pathLength;
+    private int read;
+
+    public BinaryIndexReader(Path file) throws IOException, IndexException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE);
+            IndexFormat.readFully(channel, buf, 0);
+            Header header = Header.read(buf, channel.size(), file);
+            this.count = header.count;
+
+            // 블록/세그먼트 테이블을 먼저 읽어 세그먼트 경계를 파악
+            ByteBuffer tables = ByteBuffer.allocate((int) (channel.size() - header.tableOffset));
+            IndexFormat.readFully(channel, tables, header.tableOffset);
+            CRC32 tableCrc = new CRC32();
+            tableCrc.update(tables.array());
+            if ((int) tableCrc.getValue() != header.crc) {
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "테이블 체크섬이 일치하지 않습니다: " + file);
+            }
+
+            long bodyLength = header.tableOffset - HEADER_SIZE;
+            this.segmentEnds = new long[header.segmentCount];
+            this.segmentCrcs = new int[header.segmentCount];
+            tables.position((int) (header.segmentTableOffset() - header.tableOffset));
+            for (int i = 0; i < header.segmentCount; i++) {
+                tables.getInt(); // firstBlock
+                segmentCrcs[i] = tables.getInt();
+                int nextBlock = (i + 1) * SEGMENT_BLOCKS;
+                segmentEnds[i] = nextBlock < header.blockCount
+                        ? tables.getLong(nextBlock * Long.BYTES) : bodyLength;
+            }
+            buffer.flip(); // 빈 상태로 시작
+        } catch (IOException | IndexException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 파일 전체를 읽어 문서 목록으로 반환합니다.
+     */
+    public static List<Document> readAll(Path file) throws IOException, IndexException {
+        try (BinaryIndexReader reader = new BinaryIndexReader(file)) {
+            List<Document> documents = new ArrayList<>(reader.getCount());
+            Document doc;
+            while ((doc = reader.next()) != null) {
+                documents.add(doc);
+            }
+            return documents;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * 다음 문서를 읽습니다.
+     * @return 다음 문서, 모두 읽었으면 null (이때 마지막 세그먼트 체크섬 검증)
+     */
+    public Document next() throws IOException, IndexException {
+        if (read == count) {
+            if (segment < segmentEnds.length) {
+                if (buffer.hasRemaining() || bodyPosition != segmentEnds[segment]) {
+                    throw corrupted();
+                }
+                verifySegment();
+            }
+            return null;
+        }
+
+        int shared = (int) readVarLong();
+        int suffix = (int) readVarLong();
+        if (shared > pathLength || suffix < 0) {
+            throw corrupted();
+        }
+        if (path.length < shared + suffix) {
+            path = Arrays.copyOf(path, Math.max(shared + suffix, path.length * 2));
+        }
+        readFully(path, shared, suffix);
+        pathLength = shared + suffix;
+        String docPath = new String(path, 0, pathLength, StandardCharsets.UTF_8);
+
+        long nameTag = readVarLong();
+        String fileName;
+        if ((nameTag & 1) == 0) {
+            int offset = (int) (nameTag >>> 1);
+            if (offset > docPath.length()) {
+                throw corrupted();
+            }
+            fileName = docPath.substring(offset);
+        } else {
+            byte[] name = new byte[(int) (nameTag >>> 1)];
+            readFully(name, 0, name.length);
+            fileName = new String(name, StandardCharsets.UTF_8);
+        }
+
+        long size = readVarLong();
+        long modified = unzigzag(readVarLong());
+        read++;
+        return new Document(fileName, docPath, size, modified);
+    }
+
+    private void verifySegment() throws IndexException {
+        if ((int) crc.getValue() != segmentCrcs[segment]) {
+            throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED,
+                    "세그먼트 " + segment + " 체크섬이 일치하지 않습니다.");
+        }
+        crc.reset();
+        segment++;
+    }
+
+    private long readVarLong() throws IOException, IndexException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw corrupted();
+    }
+
+    private byte readByte() throws IOException, IndexException {
+        if (!buffer.hasRemaining()) {
+            fill();
+        }
+        return buffer.get();
+    }
+
+    private void readFully(byte[] dst, int offset, int length) throws IOException, IndexException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                fill();
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(dst, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    // 현재 세그먼트 안에서만 버퍼를 채움 (세그먼트 끝에 닿으면 체크섬 검증 후 다음 세그먼트로)
+    private void fill() throws IOException, IndexException {
+        if (segment < segmentEnds.length && bodyPosition == segmentEnds[segment]) {
+            verifySegment();
+        }
+        if (segment >= segmentEnds.length) {
+            throw corrupted();
+        }
+        buffer.clear();
+        buffer.limit((int) Math.min(BUFFER_SIZE, segmentEnds[segment] - bodyPosition));
+        IndexFormat.readFully(channel, buffer, HEADER_SIZE + bodyPosition);
+        crc.update(buffer.array(), 0, buffer.limit());
+        bodyPosition += buffer.limit();
+    }
+
+    private IndexException corrupted() {
+        return new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "인덱스 본문이 손상되었습니다. (" + read + "번째 문서)");
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,185 @@
+package rag.index;
+
+import rag.model.Document;
+import rag.model.PathTrie;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static rag.index.IndexFormat.*;
+
+/**
+ * 바이너리 인덱스 스트리밍 저장
+ * - add() 로 문서를 하나씩 기록하며 메모리에는 직전 경로와 블록 위치만 유지
+ * - 경로 순으로 정렬된 입력일수록 앞부분 공유(front coding)로 크기가 작아짐
+ * - SEGMENT_BLOCKS 블록마다 세그먼트 체크섬을 새로 계산
+ * - close() 시 블록/세그먼트 테이블과 메타데이터를 쓰고 헤더의 문서 수/체크섬을 채움
+ */
+public class BinaryIndexWriter implements Closeable {
+    private final Path file;
+    private final IndexMetadata metadata;
+    private final OutputStream out;
+    private final CRC32 crc = new CRC32(); // 현재 세그먼트 본문의 체크섬
+    private final List<Long> blockOffsets = new ArrayList<>();
+    private final List<Integer> segmentCrcs = new ArrayList<>();
+
+    private byte[] record = new byte[256];
+    private byte[] previous = new byte[0];
+    private long bodyLength;
+    private int count;
+    private boolean closed;
+
+    public BinaryIndexWriter(Path file) throws IOException {
+        this(file, IndexMetadata.NONE);
+    }
+
+    /**
+     * @param metadata 인덱스를 만든 탐색 조건 (파일 끝에 기록)
+     */
+    public BinaryIndexWriter(Path file, IndexMetadata metadata) throws IOException {
+        this.file = file;
+        this.metadata = metadata;
+        this.out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+        out.write(new byte[HEADER_SIZE]); // close() 에서 채움
+    }
+
+    /**
+     * 문서 목록을 경로 순으로 정렬하여 저장합니다.
+     * 임시 파일에 쓴 뒤 교체하므로 기존 파일(매핑 중일 수 있음)을 덮어쓰며 자르지 않습니다.
+     */
+    public static void write(Path file, Collection<Document> documents) throws IOException {
+        write(file, documents, IndexMetadata.NONE);
+    }
+
+    public static void write(Path file, Collection<Document> documents, IndexMetadata metadata) throws IOException {
+        List<Document> sorted = new ArrayList<>(documents);
+        sorted.sort(Comparator.comparing(doc -> doc.path, PathTrie.PATH_ORDER));
+        Path temp = tempOf(file);
+        try {
+            try (BinaryIndexWriter writer = new BinaryIndexWriter(temp, metadata)) {
+                for (Document doc : sorted) {
+                    writer.add(doc);
+                }
+            }
+            moveIntoPlace(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public void add(Document doc) throws IOException {
+        byte[] path = (doc.path != null ? doc.path : "").getBytes(StandardCharsets.UTF_8);
+        String fileName = doc.fileName != null ? doc.fileName : "";
+
+        int shared = 0;
+        if (count % BLOCK_SIZE == 0) {
+            if (blockOffsets.size() % SEGMENT_BLOCKS == 0 && !blockOffsets.isEmpty()) {
+                segmentCrcs.add((int) crc.getValue()); // 이전 세그먼트 마감
+                crc.reset();
+            }
+            blockOffsets.add(bodyLength); // 블록 시작은 전체 경로
+        } else {
+            int max = Math.min(previous.length, path.length);
+            while (shared < max && previous[shared] == path[shared]) {
+                shared++;
+            }
+        }
+
+        byte[] name = null;
+        long nameTag;
+        String docPath = doc.path != null ? doc.path : "";
+        if (docPath.endsWith(fileName)) {
+            nameTag = (long) (docPath.length() - fileName.length()) << 1;
+        } else {
+            name = fileName.getBytes(StandardCharsets.UTF_8);
+            nameTag = ((long) name.length << 1) | 1;
+        }
+
+        int suffix = path.length - shared;
+        ensureCapacity(5 * 3 + 10 * 2 + suffix + (name != null ? name.length : 0));
+        int pos = putVarLong(record, 0, shared);
+        pos = putVarLong(record, pos, suffix);
+        System.arraycopy(path, shared, record, pos, suffix);
+        pos += suffix;
+        pos = putVarLong(record, pos, nameTag);
+        if (name != null) {
+            System.arraycopy(name, 0, record, pos, name.length);
+            pos += name.length;
+        }
+        pos = putVarLong(record, pos, Math.max(0, doc.size));
+        pos = putVarLong(record, pos, zigzag(doc.modified));
+
+        out.write(record, 0, pos);
+        crc.update(record, 0, pos);
+        bodyLength += pos;
+        previous = path;
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    private void ensureCapacity(int size) {
+        if (record.length < size) {
+            record = Arrays.copyOf(record, Math.max(size, record.length * 2));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (!blockOffsets.isEmpty()) {
+            segmentCrcs.add((int) crc.getValue());
+        }
+        byte[] trailer = encodeMetadata(metadata);
+        ByteBuffer table = ByteBuffer.allocate(blockOffsets.size() * Long.BYTES
+                + segmentCrcs.size() * SEGMENT_ENTRY_SIZE + trailer.length);
+        for (long offset : blockOffsets) {
+            table.putLong(offset);
+        }
+        for (int i = 0; i < segmentCrcs.size(); i++) {
+            table.putInt(i * SEGMENT_BLOCKS).putInt(segmentCrcs.get(i));
+        }
+        table.put(trailer);
+        out.write(table.array());
+        out.close();
+
+        CRC32 tableCrc = new CRC32();
+        tableCrc.update(table.array());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putInt(count)
+                .putInt(blockOffsets.size())
+                .putLong(HEADER_SIZE + bodyLength)
+                .putInt((int) tableCrc.getValue())
+                .putInt(segmentCrcs.size());
+        header.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package rag.index;
+
+import rag.exception.IndexException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * 바이너리 인덱스(.idx) 파일 형식
+ * <pre>
+ * [헤더 32바이트]
+ *   magic(4) "RAGI" | version(2) | flags(2) | count(4) | blockCount(4) | tableOffset(8) | crc32(4) | segmentCount(4)
+ * [본문] 경로 순(PathTrie.PATH_ORDER)으로 정렬된 문서 레코드, BLOCK_SIZE 개마다 블록 시작 (블록 첫 레코드는 전체 경로 저장)
+ *   SEGMENT_BLOCKS 개 블록마다 세그먼트로 나뉘며, 세그먼트끼리는 공유하는 데이터가 없어 병렬로 복원 가능
+ *   shared(varint)      이전 경로와 공유하는 앞부분 바이트 수
+ *   suffixLen(varint)   나머지 바이트 수 + UTF-8 바이트
+ *   nameTag(varint)     (경로 안 파일명 시작 문자 위치 << 1), 파일명이 경로 끝이 아니면 (길이 << 1 | 1) + UTF-8 바이트
+ *   size(varint)        파일 크기
+ *   modified(zigzag)    마지막 수정 시각 (ms)
+ * [블록 테이블] 블록마다 본문 내 시작 위치(8바이트)
+ * [세그먼트 테이블] 세그먼트마다 firstBlock(4) | crc32(4, 세그먼트 본문)
+ * [메타데이터] 세그먼트 테이블 뒤부터 파일 끝까지
+ *   rootLen(varint) + UTF-8 | maxDepth(zigzag) | rulesFingerprint(8) | createdAt(8) | crc32(4, 앞의 메타데이터)
+ * 헤더의 crc32 는 블록 테이블 + 세그먼트 테이블 + 메타데이터에 대한 값 (세그먼트 체크섬을 포함하므로 파일 전체를 대표)
+ * 메타데이터는 자체 체크섬이 있어 헤더와 함께 본문/테이블을 읽지 않고 검증할 수 있음
+ * </pre>
+ */
+final class IndexFormat {
+    static final int MAGIC = 0x52414749; // "RAGI"
+    static final short VERSION = 4; // 4: 본문을 PathTrie.PATH_ORDER 로 정렬 (이전 버전 파일은 다시 구축)
+    static final int HEADER_SIZE = 32;
+    static final int BLOCK_SIZE = 16;
+    static final int SEGMENT_BLOCKS = 4096; // 세그먼트당 최대 65,536 문서
+    static final int SEGMENT_ENTRY_SIZE = 8;
+    static final int METADATA_MIN_SIZE = 1 + 1 + Long.BYTES * 2 + Integer.BYTES;
+    static final int METADATA_MAX_SIZE = 1 << 16;
+
+    private IndexFormat() {
+    }
+
+    // 가변 길이 정수 쓰기, 기록한 뒤의 위치 반환
+    static int putVarLong(byte[] buf, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+
+    // 임시 파일로 기존 파일을 교체 (가능하면 원자적으로)
+    static void moveIntoPlace(Path temp, Path file) throws IOException {
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static Path tempOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    // 사용 중이라 교체하지 못한 새 기본 세그먼트
+    static Path pendingOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".pending");
+    }
+
+    // ByteBuffer 위치에서 가변 길이 정수 읽기
+    static long getVarLong(ByteBuffer buf) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("잘못된 가변 길이 정수");
+    }
+
+    /**
+     * 메타데이터를 파일에 기록할 형태로 만듭니다.
+     */
+    static byte[] encodeMetadata(IndexMetadata metadata) {
+        byte[] root = metadata.getRootPath().getBytes(StandardCharsets.UTF_8);
+        if (root.length > METADATA_MAX_SIZE / 2) {
+            throw new IllegalArgumentException("탐색 기준 경로가 너무 깁니다: " + metadata.getRootPath());
+        }
+        byte[] buf = new byte[METADATA_MIN_SIZE + root.length + 20];
+        int pos = putVarLong(buf, 0, root.length);
+        System.arraycopy(root, 0, buf, pos, root.length);
+        pos = putVarLong(buf, pos + root.length, zigzag(metadata.getMaxDepth()));
+        ByteBuffer out = ByteBuffer.wrap(buf, pos, Long.BYTES * 2 + Integer.BYTES);
+        out.putLong(metadata.getRulesFingerprint()).putLong(metadata.getCreatedAt());
+        CRC32 crc = new CRC32();
+        crc.update(buf, 0, out.position());
+        out.putInt((int) crc.getValue());
+        return Arrays.copyOf(buf, out.position());
+    }
+
+    /**
+     * 헤더와 메타데이터만 읽습니다. (본문/테이블은 읽지 않음)
+     */
+    static IndexMetadata readMetadata(Path file) throws IOException, IndexException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, buf, 0);
+            Header header = Header.read(buf, channel.size(), file);
+            ByteBuffer trailer = ByteBuffer.allocate((int) (channel.size() - header.metadataOffset()));
+            readFully(channel, trailer, header.metadataOffset());
+            return decodeMetadata(trailer, header, file);
+        }
+    }
+
+    /**
+     * 메타데이터 영역(buf 의 position 부터 limit 까지)을 복원합니다.
+     */
+    static IndexMetadata decodeMetadata(ByteBuffer buf, Header header, Path file) throws IndexException {
+        int start = buf.position();
+        int length = buf.remaining();
+        try {
+            CRC32 crc = new CRC32();
+            ByteBuffer body = buf.duplicate();
+            body.limit(start + length - Integer.BYTES);
+            crc.update(body);
+            if ((int) crc.getValue() != buf.getInt(start + length - Integer.BYTES)) {
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "메타데이터 체크섬이 일치하지 않습니다: " + file);
+            }
+            byte[] root = new byte[(int) getVarLong(buf)];
+            buf.get(root);
+            int maxDepth = (int) unzigzag(getVarLong(buf));
+            long fingerprint = buf.getLong();
+            long createdAt = buf.getLong();
+            if (buf.position() != start + length - Integer.BYTES) {
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "메타데이터 길이가 맞지 않습니다: " + file);
+            }
+            return new IndexMetadata(new String(root, StandardCharsets.UTF_8), maxDepth, fingerprint, createdAt,
+                    header.count, VERSION, header.crc);
+        } catch (RuntimeException e) {
+            throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "메타데이터가 손상되었습니다: " + file, e);
+        }
+    }
+
+    // position 부터 버퍼를 채우고 읽기용으로 뒤집음 (파일 끝이면 채운 만큼만, 길이 검증은 Header.read 에서)
+    static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining() && channel.read(buf, position + buf.position()) >= 0) {
+            // 버퍼를 채울 때까지 반복
+        }
+        buf.flip();
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 헤더 값 (읽을 때 magic/version/파일 길이를 검증)
+     */
+    static final class Header {
+        final int count;
+        final int blockCount;
+        final long tableOffset;
+        final int crc;
+        final int segmentCount;
+
+        private Header(int count, int blockCount, long tableOffset, int crc, int segmentCount) {
+            this.count = count;
+            this.blockCount = blockCount;
+            this.tableOffset = tableOffset;
+            this.crc = crc;
+            this.segmentCount = segmentCount;
+        }
+
+        // 세그먼트 테이블 시작 위치 (파일 기준)
+        long segmentTableOffset() {
+            return tableOffset + (long) blockCount * Long.BYTES;
+        }
+
+        // 메타데이터 시작 위치 (파일 기준, 파일 끝까지)
+        long metadataOffset() {
+            return segmentTableOffset() + (long) segmentCount * SEGMENT_ENTRY_SIZE;
+        }
+
+        static Header read(Path file) throws IOException, IndexException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE);
+                while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                    // 헤더 전체를 읽을 때까지 반복
+                }
+                buf.flip();
+                return read(buf, channel.size(), file);
+            }
+        }
+
+        static Header read(ByteBuffer buf, long fileSize, Path file) throws IndexException {
+            if (fileSize < HEADER_SIZE) {
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "헤더가 잘렸습니다: " + file);
+            }
+            if (buf.getInt() != MAGIC) {
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "바이너리 인덱스 파일이 아닙니다: " + file);
+            }
+            short version = buf.getShort();
+            if (version != VERSION) {
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "지원하지 않는 인덱스 버전: " + version);
+            }
+            buf.getShort(); // flags
+            Header header = new Header(buf.getInt(), buf.getInt(), buf.getLong(), buf.getInt(), buf.getInt());
+
+            if (header.count < 0 || header.blockCount != (header.count + BLOCK_SIZE - 1) / BLOCK_SIZE
+                    || header.segmentCount != (header.blockCount + SEGMENT_BLOCKS - 1) / SEGMENT_BLOCKS
+                    || header.tableOffset < HEADER_SIZE
+                    || fileSize - header.metadataOffset() < METADATA_MIN_SIZE
+                    || fileSize - header.metadataOffset() > METADATA_MAX_SIZE) {
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "인덱스 파일 길이가 헤더와 다릅니다: " + file);
+            }
+            return header;
+        }
+    }
+}
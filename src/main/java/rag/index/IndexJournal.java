@@ -0,0 +1,275 @@
+package rag.index;
+
+import rag.exception.IndexException;
+import rag.model.Document;
+import rag.model.PathTrie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import static rag.index.IndexFormat.*;
+
+/**
+ * 기본 세그먼트(.idx) 뒤에 쌓이는 변경 기록(.idx.journal)
+ * <pre>
+ * [헤더 12바이트] magic(4) "RAGJ" | version(2) | reserved(2) | baseCrc(4)
+ * [레코드] type(1) | payloadLen(4) | payload | crc32(4, type + payload)
+ *   ADD: pathLen(varint) + UTF-8 | nameLen(varint) + UTF-8 | size(varint) | modified(zigzag)
+ *   DEL: pathLen(varint) + UTF-8
+ * </pre>
+ * - baseCrc 가 현재 기본 세그먼트의 체크섬과 다르면 이전 세그먼트의 기록이므로 무시
+ * - 경로 기준 추가(갱신)/삭제이므로 같은 기록을 여러 번 적용해도 결과가 같음
+ * - 마지막 레코드가 잘렸거나(쓰기 중 종료) 체크섬이 맞지 않으면 그 앞까지만 사용
+ */
+final class IndexJournal {
+    static final int MAGIC = 0x5241474A; // "RAGJ"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 12;
+
+    private static final byte ADD = 1;
+    private static final byte DEL = 2;
+
+    private IndexJournal() {
+    }
+
+    static Path journalOf(Path base) {
+        return base.resolveSibling(base.getFileName() + ".journal");
+    }
+
+    /**
+     * 변경 기록을 추가합니다. 기록이 없거나 다른 세그먼트의 기록이면 새로 만듭니다.
+     * @return 추가 후 기록 파일 크기
+     */
+    static long append(Path base, int baseCrc, Collection<Document> upserts, Collection<String> deletes)
+            throws IOException {
+        Path journal = journalOf(base);
+        if (readBaseCrc(journal) != baseCrc) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(baseCrc);
+            Path temp = tempOf(journal);
+            Files.write(temp, header.array());
+            moveIntoPlace(temp, journal);
+        }
+
+        byte[] record = new byte[256];
+        ByteBuffer out = ByteBuffer.allocate(1 << 16);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (String path : deletes) {
+                byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+                record = ensure(record, 10 + bytes.length);
+                int pos = putBytes(record, 0, bytes);
+                out = put(channel, out, DEL, record, pos);
+            }
+            for (Document doc : upserts) {
+                byte[] path = (doc.path != null ? doc.path : "").getBytes(StandardCharsets.UTF_8);
+                byte[] name = (doc.fileName != null ? doc.fileName : "").getBytes(StandardCharsets.UTF_8);
+                record = ensure(record, 40 + path.length + name.length);
+                int pos = putBytes(record, 0, path);
+                pos = putBytes(record, pos, name);
+                pos = putVarLong(record, pos, Math.max(0, doc.size));
+                pos = putVarLong(record, pos, zigzag(doc.modified));
+                out = put(channel, out, ADD, record, pos);
+            }
+            flush(channel, out);
+            channel.force(false);
+            return channel.size();
+        }
+    }
+
+    /**
+     * 기록을 처음부터 적용한 최종 변경분을 반환합니다. (값이 null 이면 삭제)
+     * 잘린 꼬리가 있으면 파일을 마지막 정상 레코드까지 잘라냅니다.
+     * @return 경로 순 변경분, 기록이 없거나 baseCrc 가 다르면 빈 맵
+     */
+    static TreeMap<String, Document> replay(Path base, int baseCrc) throws IOException {
+        TreeMap<String, Document> changes = new TreeMap<>(PathTrie.PATH_ORDER);
+        Path journal = journalOf(base);
+        byte[] data;
+        try {
+            data = Files.readAllBytes(journal);
+        } catch (NoSuchFileException e) {
+            return changes;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        if (data.length < HEADER_SIZE || buf.getInt() != MAGIC || buf.getShort() != VERSION) {
+            Files.deleteIfExists(journal);
+            return changes;
+        }
+        buf.getShort();
+        if (buf.getInt() != baseCrc) {
+            Files.deleteIfExists(journal); // 이미 기본 세그먼트에 반영된 이전 기록
+            return changes;
+        }
+
+        CRC32 crc = new CRC32();
+        int valid = buf.position();
+        while (buf.remaining() >= 1 + Integer.BYTES) {
+            int start = buf.position();
+            byte type = buf.get();
+            int length = buf.getInt();
+            if (length < 0 || buf.remaining() < length + Integer.BYTES) {
+                break;
+            }
+            crc.reset();
+            crc.update(data, start, 1);
+            crc.update(data, buf.position(), length);
+            ByteBuffer payload = buf.slice();
+            payload.limit(length);
+            buf.position(buf.position() + length);
+            if (buf.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            try {
+                String path = getString(payload);
+                if (type == ADD) {
+                    String name = getString(payload);
+                    long size = getVarLong(payload);
+                    long modified = unzigzag(getVarLong(payload));
+                    changes.put(path, new Document(name, path, size, modified));
+                } else if (type == DEL) {
+                    changes.put(path, null);
+                } else {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                break;
+            }
+            valid = buf.position();
+        }
+
+        if (valid < data.length) {
+            try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * 기본 세그먼트의 체크섬을 읽습니다.
+     */
+    static int baseCrcOf(Path base) throws IOException, IndexException {
+        return Header.read(base).crc;
+    }
+
+    static long size(Path base) {
+        try {
+            return Files.size(journalOf(base));
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    // 기록 파일 헤더의 baseCrc (없거나 형식이 다르면 baseCrc 와 겹치지 않도록 long 범위 밖 값)
+    private static long readBaseCrc(Path journal) throws IOException {
+        if (!Files.exists(journal)) {
+            return Long.MIN_VALUE;
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // 헤더 전체를 읽을 때까지 반복
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getShort() != VERSION) {
+                return Long.MIN_VALUE;
+            }
+            header.getShort();
+            return header.getInt();
+        }
+    }
+
+    private static ByteBuffer put(FileChannel channel, ByteBuffer out, byte type, byte[] payload, int length)
+            throws IOException {
+        int size = 1 + Integer.BYTES + length + Integer.BYTES;
+        if (out.remaining() < size) {
+            flush(channel, out);
+            if (out.capacity() < size) {
+                out = ByteBuffer.allocate(size);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload, 0, length);
+        out.put(type).putInt(length).put(payload, 0, length).putInt((int) crc.getValue());
+        return out;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private static int putBytes(byte[] buf, int pos, byte[] bytes) {
+        pos = putVarLong(buf, pos, bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        return pos + bytes.length;
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[(int) getVarLong(buf)];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ensure(byte[] buf, int size) {
+        return buf.length < size ? Arrays.copyOf(buf, Math.max(size, buf.length * 2)) : buf;
+    }
+
+    /**
+     * 경로 순으로 정렬된 기본 문서에 변경분을 적용하여 sink 로 내보냅니다. (경로 순 병합)
+     */
+    static void merge(DocumentSource sortedBase, Map<String, Document> changes, DocumentSink sink)
+            throws IOException, IndexException {
+        TreeMap<String, Document> pending = new TreeMap<>(PathTrie.PATH_ORDER);
+        pending.putAll(changes);
+        Document doc;
+        while ((doc = sortedBase.next()) != null) {
+            Map.Entry<String, Document> next;
+            while ((next = pending.firstEntry()) != null && PathTrie.PATH_ORDER.compare(next.getKey(), doc.path) < 0) {
+                pending.pollFirstEntry();
+                if (next.getValue() != null) {
+                    sink.accept(next.getValue());
+                }
+            }
+            if (next != null && next.getKey().equals(doc.path)) {
+                pending.pollFirstEntry();
+                if (next.getValue() != null) {
+                    sink.accept(next.getValue());
+                }
+            } else {
+                sink.accept(doc);
+            }
+        }
+        for (Document rest : pending.values()) {
+            if (rest != null) {
+                sink.accept(rest);
+            }
+        }
+    }
+
+    // 다음 문서, 끝이면 null
+    @FunctionalInterface
+    interface DocumentSource {
+        Document next() throws IOException, IndexException;
+    }
+
+    @FunctionalInterface
+    interface DocumentSink {
+        void accept(Document doc) throws IOException;
+    }
+}
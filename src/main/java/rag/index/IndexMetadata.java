@@ -0,0 +1,109 @@
+package rag.index;
+
+import java.util.Objects;
+
+/**
+ * 바이너리 인덱스를 만든 조건과 헤더 정보
+ * - 저장할 때: 탐색 기준 폴더, 최대 탐색 깊이, 탐색 규칙 지문을 기록
+ * - 읽을 때: 위 값에 헤더의 문서 수/형식 버전/체크섬을 더해 반환 (본문은 읽지 않음)
+ * 기록된 조건이 현재 설정과 다르면 같은 폴더를 같은 규칙으로 탐색한 인덱스가 아니므로 다시 만들어야 함
+ */
+public final class IndexMetadata {
+    public static final IndexMetadata NONE = new IndexMetadata("", -1, 0L);
+
+    private final String rootPath;
+    private final int maxDepth;
+    private final long rulesFingerprint;
+    private final long createdAt;
+    private final int count;
+    private final int formatVersion;
+    private final int checksum;
+
+    /**
+     * @param rootPath         탐색 기준 폴더 (DOC_PATH)
+     * @param maxDepth         최대 탐색 깊이
+     * @param rulesFingerprint 탐색 규칙 지문 (CrawlRules.fingerprint())
+     */
+    public IndexMetadata(String rootPath, int maxDepth, long rulesFingerprint) {
+        this(rootPath, maxDepth, rulesFingerprint, System.currentTimeMillis(), 0, 0, 0);
+    }
+
+    IndexMetadata(String rootPath, int maxDepth, long rulesFingerprint, long createdAt,
+                  int count, int formatVersion, int checksum) {
+        this.rootPath = rootPath != null ? rootPath : "";
+        this.maxDepth = maxDepth;
+        this.rulesFingerprint = rulesFingerprint;
+        this.createdAt = createdAt;
+        this.count = count;
+        this.formatVersion = formatVersion;
+        this.checksum = checksum;
+    }
+
+    /**
+     * 탐색 조건(기준 폴더, 깊이, 규칙)이 같은지 비교합니다. 생성 시각과 헤더 정보는 비교하지 않습니다.
+     */
+    public boolean sameCrawlAs(IndexMetadata other) {
+        return other != null
+                && rootPath.equals(other.rootPath)
+                && maxDepth == other.maxDepth
+                && rulesFingerprint == other.rulesFingerprint;
+    }
+
+    public String getRootPath() {
+        return rootPath;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getRulesFingerprint() {
+        return rulesFingerprint;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public int getChecksum() {
+        return checksum;
+    }
+
+    // 기존 인덱스를 병합하여 다시 쓸 때 탐색 조건은 그대로 유지
+    IndexMetadata copyCrawl() {
+        return new IndexMetadata(rootPath, maxDepth, rulesFingerprint, createdAt, 0, 0, 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IndexMetadata)) {
+            return false;
+        }
+        IndexMetadata that = (IndexMetadata) o;
+        return sameCrawlAs(that) && createdAt == that.createdAt && count == that.count
+                && formatVersion == that.formatVersion && checksum == that.checksum;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rootPath, maxDepth, rulesFingerprint, createdAt, count, formatVersion, checksum);
+    }
+
+    @Override
+    public String toString() {
+        return "IndexMetadata{root=" + rootPath + ", maxDepth=" + maxDepth
+                + ", rules=" + Long.toHexString(rulesFingerprint) + ", count=" + count
+                + ", version=" + formatVersion + "}";
+    }
+}
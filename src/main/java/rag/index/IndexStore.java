@@ -0,0 +1,258 @@
+package rag.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 기본 세그먼트(.idx) + 변경 기록(.idx.journal)으로 이루어진 인덱스 저장소
+ * - 전체 저장(write)은 기본 세그먼트를 새로 쓰고 기록을 비움
+ * - 증분 저장(append)은 변경된 문서만 기록 끝에 추가 (디스크 쓰기 O(변경 수))
+ * - 기록이 COMPACT_MIN_BYTES 와 기본 세그먼트의 1/COMPACT_RATIO 를 모두 넘으면
+ *   백그라운드에서 기본 세그먼트와 병합하여 새 세그먼트로 교체(compact)
+ * - 같은 인덱스에 대한 쓰기/병합은 LOCK 으로 직렬화
+ * - 새 세그먼트는 보류 파일(.idx.pending)에 쓴 뒤 기본 세그먼트로 교체하며,
+ *   기본 세그먼트가 매핑되어 있어 교체할 수 없으면(Windows) 보류 파일을 유효한 세그먼트로 쓰고 다음 쓰기/열기에서 다시 교체
+ */
+public class IndexStore {
+    private static final Logger logger = LoggerFactory.getLogger(IndexStore.class);
+
+    public static final long COMPACT_MIN_BYTES = Long.getLong("rag.index.compactBytes", 1L << 20);
+    private static final int COMPACT_RATIO = 4;
+
+    private static final Object LOCK = new Object();
+    private static final Set<Path> scheduled = ConcurrentHashMap.newKeySet();
+    // 조회용으로 매핑한 기본 세그먼트 (목록이 수거되면 매핑도 해제된 것으로 봄)
+    private static final Map<Path, WeakReference<MappedIndex>> mappings = new ConcurrentHashMap<>();
+    private static final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "index-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private IndexStore() {
+    }
+
+    /**
+     * 문서 전체를 새 기본 세그먼트로 저장하고 변경 기록을 삭제합니다.
+     */
+    public static void write(Path base, Collection<Document> documents) throws IOException {
+        write(base, documents, IndexMetadata.NONE);
+    }
+
+    /**
+     * @param metadata 인덱스를 만든 탐색 조건
+     */
+    public static void write(Path base, Collection<Document> documents, IndexMetadata metadata) throws IOException {
+        synchronized (LOCK) {
+            BinaryIndexWriter.write(IndexFormat.pendingOf(base), documents, metadata);
+            Files.deleteIfExists(IndexJournal.journalOf(base));
+            promote(base);
+        }
+    }
+
+    /**
+     * 변경분만 기록에 추가합니다.
+     * @param upserts 추가되거나 변경된 문서
+     * @param deletes 삭제된 문서 경로
+     * @return 기본 세그먼트가 없어 추가하지 못했으면 false (전체 저장 필요)
+     */
+    public static boolean append(Path base, Collection<Document> upserts, Collection<String> deletes)
+            throws IOException {
+        if (upserts.isEmpty() && deletes.isEmpty()) {
+            return true;
+        }
+        long journalSize;
+        synchronized (LOCK) {
+            int baseCrc;
+            try {
+                baseCrc = IndexJournal.baseCrcOf(segmentOf(base));
+            } catch (IOException | IndexException e) {
+                logger.debug("기본 세그먼트를 읽을 수 없어 기록을 추가하지 않습니다: {}", e.getMessage());
+                return false;
+            }
+            journalSize = IndexJournal.append(base, baseCrc, upserts, deletes);
+        }
+        logger.debug("변경 기록 추가: 추가/변경 {}개, 삭제 {}개 (기록 {} bytes)", upserts.size(), deletes.size(), journalSize);
+        if (needsCompaction(base, journalSize)) {
+            compactInBackground(base);
+        }
+        return true;
+    }
+
+    /**
+     * 기본 세그먼트에 변경 기록을 적용한 전체 문서 목록을 읽습니다. (경로 순)
+     * 매핑하지 않고 순차로 읽으므로 읽은 뒤에는 파일을 교체할 수 있습니다.
+     */
+    public static List<Document> readAll(Path base) throws IOException, IndexException {
+        synchronized (LOCK) {
+            promote(base);
+            Path segment = segmentOf(base);
+            return readMerged(segment, IndexJournal.replay(base, IndexJournal.baseCrcOf(segment)));
+        }
+    }
+
+    /**
+     * 조회용으로 인덱스를 엽니다.
+     * 변경 기록이 없으면 메모리 매핑 목록(MappedIndex)을, 있으면 병합한 힙 목록을 반환하고 병합을 예약합니다.
+     * (병합할 세그먼트는 매핑하지 않고 읽으므로 병합 후 교체를 막지 않음)
+     */
+    public static List<Document> open(Path base) throws IOException, IndexException {
+        synchronized (LOCK) {
+            promote(base);
+            Path segment = segmentOf(base);
+            TreeMap<String, Document> changes = IndexJournal.replay(base, IndexJournal.baseCrcOf(segment));
+            if (changes.isEmpty() && segment.equals(base)) {
+                MappedIndex index = MappedIndex.open(base);
+                mappings.put(base, new WeakReference<>(index));
+                return index;
+            }
+            List<Document> documents = readMerged(segment, changes);
+            if (!changes.isEmpty()) {
+                compactInBackground(base);
+            }
+            return documents;
+        }
+    }
+
+    // 세그먼트를 처음부터 순차로 읽으며 변경분을 적용 (FileChannel 로 읽고 닫으므로 매핑이 남지 않음)
+    private static List<Document> readMerged(Path segment, TreeMap<String, Document> changes)
+            throws IOException, IndexException {
+        try (BinaryIndexReader reader = new BinaryIndexReader(segment)) {
+            List<Document> documents = new ArrayList<>(reader.getCount() + changes.size());
+            IndexJournal.merge(reader::next, changes, documents::add);
+            return documents;
+        }
+    }
+
+    /**
+     * 변경 기록을 기본 세그먼트에 병합하여 새 세그먼트로 교체합니다.
+     * 새 세그먼트는 임시 파일에 쓴 뒤 원자적으로 교체하고, 그 다음 기록을 삭제합니다.
+     * (교체 직후 종료되어 기록이 남아도 기록의 baseCrc 가 달라 다시 적용되지 않음)
+     */
+    public static void compact(Path base) throws IOException, IndexException {
+        synchronized (LOCK) {
+            promote(base);
+            Path segment = segmentOf(base);
+            TreeMap<String, Document> changes = IndexJournal.replay(base, IndexJournal.baseCrcOf(segment));
+            if (changes.isEmpty()) {
+                Files.deleteIfExists(IndexJournal.journalOf(base));
+                return;
+            }
+            long start = System.currentTimeMillis();
+            IndexMetadata metadata = IndexFormat.readMetadata(segment).copyCrawl();
+            Path pending = IndexFormat.pendingOf(base);
+            Path temp = IndexFormat.tempOf(pending);
+            int count;
+            try {
+                try (BinaryIndexReader reader = new BinaryIndexReader(segment);
+                     BinaryIndexWriter writer = new BinaryIndexWriter(temp, metadata)) {
+                    IndexJournal.merge(reader::next, changes, writer::add);
+                    count = writer.getCount();
+                }
+                IndexFormat.moveIntoPlace(temp, pending);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            Files.deleteIfExists(IndexJournal.journalOf(base));
+            promote(base);
+            logger.info("인덱스 병합 완료: 변경 {}건 반영, {}개 문서 ({}ms)",
+                    changes.size(), count, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 헤더와 메타데이터만 읽어 인덱스를 만든 조건을 반환합니다. (본문을 읽지 않으므로 문서 수와 무관하게 빠름)
+     * 문서 수/체크섬은 기본 세그먼트 기준이며 변경 기록은 포함하지 않습니다.
+     */
+    public static IndexMetadata readMetadata(Path base) throws IOException, IndexException {
+        return IndexFormat.readMetadata(segmentOf(base));
+    }
+
+    /**
+     * 기본 세그먼트와 변경 기록 중 마지막으로 수정된 시각
+     */
+    public static long lastModified(Path base) {
+        long modified = segmentOf(base).toFile().lastModified();
+        return Math.max(modified, IndexJournal.journalOf(base).toFile().lastModified());
+    }
+
+    public static long journalSize(Path base) {
+        return IndexJournal.size(base);
+    }
+
+    private static boolean needsCompaction(Path base, long journalSize) {
+        return journalSize >= COMPACT_MIN_BYTES && journalSize * COMPACT_RATIO >= segmentOf(base).toFile().length();
+    }
+
+    // 현재 유효한 기본 세그먼트 (교체를 기다리는 보류 파일이 있으면 그쪽이 최신)
+    private static Path segmentOf(Path base) {
+        Path pending = IndexFormat.pendingOf(base);
+        return Files.exists(pending) ? pending : base;
+    }
+
+    // 보류 파일을 기본 세그먼트 자리로 옮김
+    // 기본 세그먼트가 매핑되어 있어 교체할 수 없으면(Windows) 실패로 처리하지 않고 보류 파일을 그대로 두어 다음에 다시 시도
+    private static void promote(Path base) throws IOException {
+        Path pending = IndexFormat.pendingOf(base);
+        if (!Files.exists(pending)) {
+            return;
+        }
+        try {
+            IndexFormat.moveIntoPlace(pending, base);
+        } catch (FileSystemException e) {
+            logger.warn("인덱스 파일이 사용 중이라 교체를 미룹니다 (보류 파일 사용): {} - {}", base, e.getMessage());
+        }
+    }
+
+    // 조회 중인 매핑이 남아 있을 수 있는지 (수거 전까지는 남아 있다고 봄)
+    static boolean isMapped(Path base) {
+        WeakReference<MappedIndex> mapping = mappings.get(base);
+        if (mapping == null) {
+            return false;
+        }
+        if (mapping.get() != null) {
+            return true;
+        }
+        mappings.remove(base, mapping);
+        return false;
+    }
+
+    // 매핑이 남아 있으면 교체가 막히므로 병합하지 않고 기록을 유지 (매핑 해제 후 다음 변경 시 병합)
+    private static void compactInBackground(Path base) {
+        if (isMapped(base)) {
+            logger.debug("매핑된 인덱스라 병합을 미룹니다: {}", base);
+            return;
+        }
+        if (!scheduled.add(base)) {
+            return; // 이미 예약됨
+        }
+        compactor.execute(() -> {
+            scheduled.remove(base);
+            if (isMapped(base)) {
+                return; // 예약 후 조회용으로 다시 매핑됨
+            }
+            try {
+                compact(base);
+            } catch (IOException | IndexException e) {
+                logger.warn("인덱스 병합 실패 (다음 변경 시 다시 시도): {}", e.getMessage());
+            }
+        });
+    }
+}
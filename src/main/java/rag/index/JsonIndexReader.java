@@ -0,0 +1,315 @@
+package rag.index;
+
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON 인덱스 스트리밍 읽기
+ * - 배열 요소(문서)를 하나씩 파싱하여 파일 전체 문자열이나 JSONArray 를 만들지 않음
+ * - 키 순서/들여쓰기와 무관하며, 모르는 키는 값(중첩 포함)을 건너뜀
+ * - org.json 으로 저장된 기존 인덱스도 그대로 읽을 수 있음
+ */
+public class JsonIndexReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader in;
+    private final char[] chars = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int pos;
+    private int limit;
+    private long position; // 오류 메시지용 문자 위치
+    private boolean started;
+    private boolean finished;
+
+    public JsonIndexReader(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.in = Channels.newReader(channel, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 파일 전체를 읽어 문서 목록으로 반환합니다.
+     */
+    public static List<Document> readAll(Path file) throws IOException, IndexException {
+        try (JsonIndexReader reader = new JsonIndexReader(file)) {
+            List<Document> documents = new ArrayList<>();
+            Document doc;
+            while ((doc = reader.next()) != null) {
+                documents.add(doc);
+            }
+            return documents;
+        }
+    }
+
+    /**
+     * 다음 문서를 읽습니다.
+     * @return 다음 문서, 배열이 끝났으면 null
+     */
+    public Document next() throws IOException, IndexException {
+        if (finished) {
+            return null;
+        }
+        int c = skipWhitespace();
+        if (!started) {
+            if (c != '[') {
+                throw error("'[' 가 필요합니다");
+            }
+            started = true;
+            read();
+            c = skipWhitespace();
+            if (c == ']') {
+                return finish();
+            }
+        } else if (c == ',') {
+            read();
+            c = skipWhitespace();
+        } else if (c == ']') {
+            return finish();
+        } else {
+            throw error("',' 또는 ']' 가 필요합니다");
+        }
+        if (c != '{') {
+            throw error("'{' 가 필요합니다");
+        }
+        return readDocument();
+    }
+
+    private Document finish() throws IOException, IndexException {
+        read();
+        finished = true;
+        if (skipWhitespace() != -1) {
+            throw error("배열 뒤에 불필요한 내용이 있습니다");
+        }
+        return null;
+    }
+
+    private Document readDocument() throws IOException, IndexException {
+        read(); // '{'
+        String fileName = "";
+        String path = "";
+        long size = 0L;
+        long modified = 0L;
+
+        int c = skipWhitespace();
+        if (c == '}') {
+            read();
+            return new Document(fileName, path, size, modified);
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("키 문자열이 필요합니다");
+            }
+            String key = readString();
+            if (skipWhitespace() != ':') {
+                throw error("':' 가 필요합니다");
+            }
+            read();
+            skipWhitespace();
+            switch (key) {
+                case "fileName":
+                    fileName = readStringOrNull(fileName);
+                    break;
+                case "path":
+                    path = readStringOrNull(path);
+                    break;
+                case "size":
+                    size = readLong();
+                    break;
+                case "modified":
+                    modified = readLong();
+                    break;
+                default:
+                    skipValue();
+            }
+            c = skipWhitespace();
+            read();
+            if (c == '}') {
+                return new Document(fileName, path, size, modified);
+            }
+            if (c != ',') {
+                throw error("',' 또는 '}' 가 필요합니다");
+            }
+            c = skipWhitespace();
+        }
+    }
+
+    private String readStringOrNull(String defaultValue) throws IOException, IndexException {
+        if (peek() == 'n') {
+            expectLiteral("null");
+            return defaultValue;
+        }
+        if (peek() != '"') {
+            throw error("문자열이 필요합니다");
+        }
+        return readString();
+    }
+
+    private String readString() throws IOException, IndexException {
+        read(); // '"'
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw error("문자열이 끝나지 않았습니다");
+            }
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c != '\\') {
+                text.append((char) c);
+                continue;
+            }
+            c = read();
+            switch (c) {
+                case '"':
+                case '\\':
+                case '/':
+                    text.append((char) c);
+                    break;
+                case 'b':
+                    text.append('\b');
+                    break;
+                case 'f':
+                    text.append('\f');
+                    break;
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) {
+                            throw error("잘못된 유니코드 이스케이프");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    text.append((char) code);
+                    break;
+                default:
+                    throw error("잘못된 이스케이프 문자");
+            }
+        }
+    }
+
+    // 정수 읽기 (org.json 이 실수 형태로 쓴 경우 정수 부분만 사용)
+    private long readLong() throws IOException, IndexException {
+        if (peek() == 'n') {
+            expectLiteral("null");
+            return 0L;
+        }
+        if (peek() == '"') {
+            try {
+                return Long.parseLong(readString().trim());
+            } catch (NumberFormatException e) {
+                throw error("숫자가 필요합니다");
+            }
+        }
+        text.setLength(0);
+        int c;
+        while ((c = peek()) == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+            text.append((char) read());
+        }
+        try {
+            return Long.parseLong(text.toString());
+        } catch (NumberFormatException e) {
+            try {
+                return (long) Double.parseDouble(text.toString());
+            } catch (NumberFormatException ex) {
+                throw error("숫자가 필요합니다");
+            }
+        }
+    }
+
+    // 모르는 키의 값 건너뛰기 (객체/배열은 중첩 깊이만 세며 건너뜀)
+    private void skipValue() throws IOException, IndexException {
+        int c = peek();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = peek();
+                if (c == -1) {
+                    throw error("값이 끝나지 않았습니다");
+                }
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                read();
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else {
+            while ((c = peek()) != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                read();
+            }
+        }
+    }
+
+    private void expectLiteral(String literal) throws IOException, IndexException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("'" + literal + "' 가 필요합니다");
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) != -1 && Character.isWhitespace(c)) {
+            read();
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit) {
+            position += limit;
+            pos = 0;
+            limit = Math.max(0, in.read(chars, 0, chars.length));
+            if (limit == 0) {
+                return -1;
+            }
+        }
+        return chars[pos];
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            pos++;
+        }
+        return c;
+    }
+
+    private IndexException error(String message) {
+        return new IndexException(IndexException.ErrorType.FILE_CORRUPTED,
+                "JSON 인덱스 파싱 오류: " + message + " (" + (position + pos) + "번째 문자)");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,106 @@
+package rag.index;
+
+import rag.model.Document;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * JSON 인덱스 스트리밍 저장
+ * - 문서를 하나씩 바로 써서 JSONArray/문자열 전체 사본을 만들지 않음
+ * - 형식은 기존 JSON 인덱스와 같은 배열 [{"fileName", "path", "size", "modified"}, ...]
+ *   (가독성을 위해 문서마다 한 줄)
+ */
+public class JsonIndexWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private int count;
+    private boolean closed;
+
+    public JsonIndexWriter(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+        out.write('[');
+    }
+
+    /**
+     * 문서 목록을 순서대로 저장합니다.
+     */
+    public static void write(Path file, Collection<Document> documents) throws IOException {
+        try (JsonIndexWriter writer = new JsonIndexWriter(file)) {
+            for (Document doc : documents) {
+                writer.add(doc);
+            }
+        }
+    }
+
+    public void add(Document doc) throws IOException {
+        out.write(count == 0 ? "\n  {\"fileName\": " : ",\n  {\"fileName\": ");
+        writeString(doc.fileName != null ? doc.fileName : "");
+        out.write(", \"path\": ");
+        writeString(doc.path != null ? doc.path : "");
+        out.write(", \"size\": ");
+        out.write(Long.toString(doc.size));
+        out.write(", \"modified\": ");
+        out.write(Long.toString(doc.modified));
+        out.write('}');
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                out.write(value, start, i - start);
+                switch (c) {
+                    case '"':
+                        out.write("\\\"");
+                        break;
+                    case '\\':
+                        out.write("\\\\");
+                        break;
+                    case '\n':
+                        out.write("\\n");
+                        break;
+                    case '\r':
+                        out.write("\\r");
+                        break;
+                    case '\t':
+                        out.write("\\t");
+                        break;
+                    default:
+                        out.write(String.format("\\u%04x", (int) c));
+                }
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.write(count == 0 ? "]" : "\n]");
+        out.close();
+    }
+}
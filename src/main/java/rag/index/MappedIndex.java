@@ -0,0 +1,268 @@
+package rag.index;
+
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import static rag.index.IndexFormat.*;
+
+/**
+ * 바이너리 인덱스(.idx)를 메모리 매핑하여 읽기 전용 문서 목록으로 제공
+ * - 열 때는 헤더만 읽으므로 문서 수와 무관하게 거의 일정한 시간에 준비됨
+ * - get(i) 는 블록 테이블로 해당 블록 시작을 찾아 최대 BLOCK_SIZE 개 레코드만 복원
+ * - 복원한 Document 는 보관하지 않으며, 파일 내용은 OS 페이지 캐시가 관리
+ * - 체크섬은 전체 페이지를 읽어야 하므로 열 때가 아니라 verifyChecksum() 에서 검증
+ * - 전체 복원(decodeAll)과 체크섬 검증은 세그먼트 단위로 병렬 처리
+ */
+public class MappedIndex extends AbstractList<Document> implements RandomAccess {
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int blockCount;
+    private final int tableOffset;
+    private final int segmentTableOffset;
+    private final int segmentCount;
+    private final int expectedCrc;
+
+    private MappedIndex(Path file, MappedByteBuffer buffer, Header header) {
+        this.file = file;
+        this.buffer = buffer;
+        this.count = header.count;
+        this.blockCount = header.blockCount;
+        this.tableOffset = (int) header.tableOffset;
+        this.segmentTableOffset = (int) header.segmentTableOffset();
+        this.segmentCount = header.segmentCount;
+        this.expectedCrc = header.crc;
+    }
+
+    /**
+     * 인덱스 파일을 매핑합니다. 헤더(magic/version/길이)만 검증합니다.
+     */
+    public static MappedIndex open(Path file) throws IOException, IndexException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IndexException(IndexException.ErrorType.LOAD_FAILED, "매핑할 수 없는 크기의 인덱스: " + file);
+            }
+            // 매핑은 채널을 닫은 뒤에도 유지됨
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Header header = Header.read(buffer.duplicate(), size, file);
+            return new MappedIndex(file, buffer, header);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public Document get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + count);
+        }
+        Cursor cursor = new Cursor(index / BLOCK_SIZE);
+        for (int i = index % BLOCK_SIZE; i > 0; i--) {
+            cursor.skip();
+        }
+        return cursor.next();
+    }
+
+    // 순차 순회는 블록 테이블 없이 앞에서부터 이어서 복원
+    @Override
+    public Iterator<Document> iterator() {
+        return new Iterator<>() {
+            private final Cursor cursor = new Cursor(0);
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Document next() {
+                if (next >= count) {
+                    throw new NoSuchElementException();
+                }
+                next++;
+                return cursor.next();
+            }
+        };
+    }
+
+    /**
+     * 테이블과 모든 세그먼트의 체크섬을 검증합니다. (파일 전체를 읽으며 세그먼트는 병렬로 검증)
+     */
+    public void verifyChecksum() throws IndexException {
+        verifyTables();
+        invokeAll(ForkJoinPool.commonPool(), segment -> {
+            verifySegment(segment);
+            return null;
+        });
+    }
+
+    /**
+     * 모든 문서를 힙 목록으로 복원합니다. 세그먼트마다 체크섬을 검증한 뒤 병렬로 복원합니다.
+     */
+    public List<Document> decodeAll() throws IndexException {
+        return decodeAll(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool 세그먼트 복원에 사용할 풀
+     */
+    public List<Document> decodeAll(ForkJoinPool pool) throws IndexException {
+        verifyTables();
+        Document[] documents = new Document[count];
+        invokeAll(pool, segment -> {
+            verifySegment(segment);
+            int from = segment * SEGMENT_BLOCKS * BLOCK_SIZE;
+            int to = Math.min(count, from + SEGMENT_BLOCKS * BLOCK_SIZE);
+            Cursor cursor = new Cursor(segment * SEGMENT_BLOCKS);
+            for (int i = from; i < to; i++) {
+                documents[i] = cursor.next();
+            }
+            return null;
+        });
+        return Arrays.asList(documents);
+    }
+
+    private void verifyTables() throws IndexException {
+        ByteBuffer tables = buffer.duplicate();
+        tables.position(tableOffset);
+        CRC32 crc = new CRC32();
+        crc.update(tables);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED, "테이블 체크섬이 일치하지 않습니다: " + file);
+        }
+    }
+
+    private void verifySegment(int segment) throws IndexException {
+        int start = HEADER_SIZE + (int) buffer.getLong(tableOffset + segment * SEGMENT_BLOCKS * Long.BYTES);
+        int nextBlock = (segment + 1) * SEGMENT_BLOCKS;
+        int end = nextBlock < blockCount
+                ? HEADER_SIZE + (int) buffer.getLong(tableOffset + nextBlock * Long.BYTES) : tableOffset;
+        ByteBuffer body = buffer.duplicate();
+        body.limit(end).position(start);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        int expected = buffer.getInt(segmentTableOffset + segment * SEGMENT_ENTRY_SIZE + Integer.BYTES);
+        if ((int) crc.getValue() != expected) {
+            throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED,
+                    "세그먼트 " + segment + " 체크섬이 일치하지 않습니다: " + file);
+        }
+    }
+
+    // 세그먼트마다 작업을 실행하고 첫 번째 오류를 그대로 전달
+    private void invokeAll(ForkJoinPool pool, SegmentTask task) throws IndexException {
+        List<Callable<Void>> tasks = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            int segment = i;
+            tasks.add(() -> task.run(segment));
+        }
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IndexException(IndexException.ErrorType.LOAD_FAILED, "인덱스 복원이 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IndexException) {
+                    throw (IndexException) e.getCause();
+                }
+                throw new IndexException(IndexException.ErrorType.FILE_CORRUPTED,
+                        "인덱스 본문이 손상되었습니다: " + file, e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SegmentTask {
+        Void run(int segment) throws IndexException;
+    }
+
+    // 블록 시작부터 레코드를 차례로 복원하는 커서 (호출마다 새로 만들어 스레드 간 공유하지 않음)
+    private final class Cursor {
+        private final ByteBuffer buf = buffer.duplicate();
+        private byte[] path = new byte[256];
+        private int pathLength;
+
+        Cursor(int block) {
+            if (block < blockCount) {
+                long offset = buffer.getLong(tableOffset + block * Long.BYTES);
+                buf.position(HEADER_SIZE + (int) offset);
+            }
+        }
+
+        // 경로만 갱신하고 나머지 필드는 건너뜀
+        void skip() {
+            readPath();
+            long nameTag = getVarLong(buf);
+            if ((nameTag & 1) != 0) {
+                buf.position(buf.position() + (int) (nameTag >>> 1));
+            }
+            getVarLong(buf);
+            getVarLong(buf);
+        }
+
+        Document next() {
+            try {
+                readPath();
+                String docPath = new String(path, 0, pathLength, StandardCharsets.UTF_8);
+
+                long nameTag = getVarLong(buf);
+                String fileName;
+                if ((nameTag & 1) == 0) {
+                    fileName = docPath.substring((int) (nameTag >>> 1));
+                } else {
+                    byte[] name = new byte[(int) (nameTag >>> 1)];
+                    buf.get(name);
+                    fileName = new String(name, StandardCharsets.UTF_8);
+                }
+
+                long size = getVarLong(buf);
+                long modified = unzigzag(getVarLong(buf));
+                return new Document(fileName, docPath, size, modified);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("인덱스 본문이 손상되었습니다: " + file, e);
+            }
+        }
+
+        private void readPath() {
+            int shared = (int) getVarLong(buf);
+            int suffix = (int) getVarLong(buf);
+            if (shared > pathLength || suffix < 0) {
+                throw new IllegalStateException("인덱스 본문이 손상되었습니다: " + file);
+            }
+            if (path.length < shared + suffix) {
+                path = Arrays.copyOf(path, Math.max(shared + suffix, path.length * 2));
+            }
+            buf.get(path, shared, suffix);
+            pathLength = shared + suffix;
+        }
+    }
+}
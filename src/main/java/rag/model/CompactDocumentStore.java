@@ -0,0 +1,222 @@
+package rag.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 문서 목록을 몇 개의 배열에 나누어 담는 메모리 절약형 저장소 (struct-of-arrays, 변경 불가)
+ * - 폴더 경로는 폴더마다 한 번만 저장하고 문서에는 폴더 번호(int)만 보관
+ * - 파일명은 UTF-8 바이트로 하나의 큰 배열에 이어 붙이고 시작 위치(int)만 보관 (경로 = 폴더 + 파일명)
+ * - 크기/수정 시각은 long 배열
+ * - get(i) 는 호출할 때마다 Document 를 새로 만들어 반환 (보관하지 않으므로 받은 문서를 수정해도 반영되지 않음)
+ * - 파일명이 경로 끝과 다른 드문 문서만 파일명을 따로 보관
+ */
+public final class CompactDocumentStore extends AbstractList<Document> implements RandomAccess {
+    private final String[] folders;
+    private final int[] folderIds;
+    private final byte[] names;
+    private final int[] nameOffsets; // 문서 수 + 1 (i 번째 파일명은 [nameOffsets[i], nameOffsets[i + 1]))
+    private final long[] sizes;
+    private final long[] modified;
+    private final Map<Integer, String> fileNames;
+
+    private CompactDocumentStore(String[] folders, int[] folderIds, byte[] names, int[] nameOffsets,
+                                 long[] sizes, long[] modified, Map<Integer, String> fileNames) {
+        this.folders = folders;
+        this.folderIds = folderIds;
+        this.names = names;
+        this.nameOffsets = nameOffsets;
+        this.sizes = sizes;
+        this.modified = modified;
+        this.fileNames = fileNames;
+    }
+
+    /**
+     * 문서 목록을 같은 순서로 복사합니다. null 문서는 건너뜁니다.
+     */
+    public static CompactDocumentStore copyOf(Collection<? extends Document> documents) {
+        if (documents instanceof CompactDocumentStore) {
+            return (CompactDocumentStore) documents;
+        }
+        Builder builder = new Builder(documents.size(), documents.size() * 16);
+        for (Document doc : documents) {
+            if (doc != null) {
+                builder.add(doc);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 변경분을 반영한 새 저장소를 만듭니다. (기존 저장소는 그대로)
+     * 변경 대상 폴더가 아닌 문서는 Document 로 만들지 않고 배열 값만 복사하므로,
+     * 문서 수가 많아도 변경된 폴더의 문서만 객체로 만들어집니다.
+     *
+     * @param touchedFolder 폴더 경로(끝 구분자 포함, 최상위는 "")를 받아 그 폴더에 변경이 있을 수 있는지 판정
+     * @param update        변경 대상 폴더의 문서를 받아 남길 문서(그대로 또는 갱신본)를 반환, 삭제하면 null
+     * @param appended      끝에 추가할 문서 (update 를 모두 적용한 뒤에 순회)
+     */
+    public CompactDocumentStore merge(Predicate<String> touchedFolder, UnaryOperator<Document> update,
+                                      Collection<? extends Document> appended) {
+        Builder builder = new Builder(folderIds.length, names.length);
+        boolean[] touched = new boolean[folders.length];
+        int[] newFolderIds = new int[folders.length];
+        for (int f = 0; f < folders.length; f++) {
+            touched[f] = touchedFolder.test(folders[f]);
+            newFolderIds[f] = touched[f] ? -1 : builder.folderId(folders[f]);
+        }
+        for (int i = 0; i < folderIds.length; i++) {
+            int folder = folderIds[i];
+            if (!touched[folder]) {
+                builder.copy(this, i, newFolderIds[folder]);
+            } else {
+                Document next = update.apply(get(i));
+                if (next != null) {
+                    builder.add(next);
+                }
+            }
+        }
+        for (Document doc : appended) {
+            if (doc != null) {
+                builder.add(doc);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 경로의 폴더 부분 (끝 구분자 포함, 폴더가 없으면 "") - merge 의 폴더 판정과 같은 기준
+     */
+    public static String folderOf(String path) {
+        if (path == null) {
+            return "";
+        }
+        return path.substring(0, Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+    }
+
+    @Override
+    public Document get(int index) {
+        if (index < 0 || index >= folderIds.length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + folderIds.length);
+        }
+        String name = new String(names, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index],
+                StandardCharsets.UTF_8);
+        String folder = folders[folderIds[index]];
+        String path = folder.isEmpty() ? name : folder.concat(name);
+        String fileName = fileNames.containsKey(index) ? fileNames.get(index) : name;
+        return new Document(fileName, path, sizes[index], modified[index]);
+    }
+
+    @Override
+    public int size() {
+        return folderIds.length;
+    }
+
+    /**
+     * 중복 제거된 폴더 수
+     */
+    public int folderCount() {
+        return folders.length;
+    }
+
+    /**
+     * 배열이 차지하는 대략적인 바이트 수 (폴더 문자열 포함, 객체 헤더 제외)
+     */
+    public long estimatedBytes() {
+        long bytes = names.length + (long) folderIds.length * Integer.BYTES + (long) nameOffsets.length * Integer.BYTES
+                + (long) sizes.length * Long.BYTES * 2;
+        for (String folder : folders) {
+            bytes += folder.length() * 2L + 40;
+        }
+        return bytes;
+    }
+
+    // 배열을 늘려 가며 문서를 차례로 담는 생성기 (copyOf, merge 공용)
+    private static final class Builder {
+        private int[] folderIds;
+        private int[] nameOffsets;
+        private long[] sizes;
+        private long[] modified;
+        private byte[] names;
+        private final Map<String, Integer> folderIndex = new HashMap<>();
+        private final Map<Integer, String> fileNames = new HashMap<>();
+        private int count;
+        private int length;
+
+        Builder(int capacity, int nameCapacity) {
+            folderIds = new int[Math.max(16, capacity)];
+            nameOffsets = new int[folderIds.length + 1];
+            sizes = new long[folderIds.length];
+            modified = new long[folderIds.length];
+            names = new byte[Math.max(16, nameCapacity)];
+        }
+
+        int folderId(String folder) {
+            Integer id = folderIndex.get(folder);
+            if (id == null) {
+                id = folderIndex.size();
+                folderIndex.put(folder, id);
+            }
+            return id;
+        }
+
+        void add(Document doc) {
+            String path = doc.path != null ? doc.path : "";
+            String folder = folderOf(path);
+            String name = path.substring(folder.length());
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (!Objects.equals(doc.fileName, name)) {
+                fileNames.put(count, doc.fileName);
+            }
+            append(folderId(folder), bytes, 0, bytes.length, doc.size, doc.modified);
+        }
+
+        // 다른 저장소의 i 번째 문서를 파일명 바이트 그대로 복사
+        void copy(CompactDocumentStore from, int i, int folderId) {
+            if (from.fileNames.containsKey(i)) {
+                fileNames.put(count, from.fileNames.get(i));
+            }
+            int offset = from.nameOffsets[i];
+            append(folderId, from.names, offset, from.nameOffsets[i + 1] - offset, from.sizes[i], from.modified[i]);
+        }
+
+        private void append(int folderId, byte[] name, int offset, int nameLength, long size, long lastModified) {
+            if (count == folderIds.length) {
+                int capacity = count * 2;
+                folderIds = Arrays.copyOf(folderIds, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                sizes = Arrays.copyOf(sizes, capacity);
+                modified = Arrays.copyOf(modified, capacity);
+            }
+            if (names.length - length < nameLength) {
+                names = Arrays.copyOf(names, Math.max(length + nameLength, names.length * 2));
+            }
+            System.arraycopy(name, offset, names, length, nameLength);
+            length += nameLength;
+            folderIds[count] = folderId;
+            sizes[count] = size;
+            modified[count] = lastModified;
+            count++;
+            nameOffsets[count] = length;
+        }
+
+        CompactDocumentStore build() {
+            String[] folders = new String[folderIndex.size()];
+            for (Map.Entry<String, Integer> entry : folderIndex.entrySet()) {
+                folders[entry.getValue()] = entry.getKey();
+            }
+            return new CompactDocumentStore(folders,
+                    Arrays.copyOf(folderIds, count), Arrays.copyOf(names, length), Arrays.copyOf(nameOffsets, count + 1),
+                    Arrays.copyOf(sizes, count), Arrays.copyOf(modified, count),
+                    fileNames.isEmpty() ? Map.of() : fileNames);
+        }
+    }
+}
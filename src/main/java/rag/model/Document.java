@@ -13,12 +13,31 @@ public class Document implements Serializable {
     public String path;
     public float score;
 
+    // 증분 인덱싱 시 변경 여부 판단용 (파일 크기, 마지막 수정 시각)
+    public long size;
+    public long modified;
+
     public Document(String fileName, String path) {
+        this(fileName, path, 0L, 0L);
+    }
+
+    public Document(String fileName, String path, long size, long modified) {
         this.fileName = fileName;
         this.path = path;
+        this.size = size;
+        this.modified = modified;
         this.score = 0f;
     }
 
+    /**
+     * 같은 경로의 문서와 크기/수정 시각을 비교합니다.
+     * @param other 비교할 문서
+     * @return 내용이 바뀌지 않았으면 true
+     */
+    public boolean isUnchanged(Document other) {
+        return other != null && size == other.size && modified == other.modified;
+    }
+
     public void printDocument() {
         System.out.println("::: path: " + DOC_PATH + path + " ::: 유사도: " + score);
     }
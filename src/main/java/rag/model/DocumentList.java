@@ -0,0 +1,137 @@
+package rag.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 전체 문서 목록 (AppConfig.DOCUMENTS)
+ * - 내용은 변경 불가능한 IndexSnapshot 이며, 갱신은 새 스냅샷을 발행(publish)하여 한 번에 교체
+ * - 읽기는 잠금 없이 현재 스냅샷을 사용 (여러 번 읽어야 하면 snapshot() 으로 받아서 사용)
+ * - List 수정 메서드는 기존 호출과의 호환용으로, 복사 후 새 스냅샷을 발행 (copy-on-write)
+ * - 쓰기끼리는 이 객체로 동기화 (읽고 계산한 뒤 발행해야 하면 synchronized (DOCUMENTS) 로 감쌈)
+ * - compact 이면 힙 목록을 CompactDocumentStore 로 복사하여 발행 (문서 객체를 보관하지 않아 메모리 절약)
+ * - 발행할 때마다 등록된 리스너에 새 스냅샷을 알림 (검색 색인 등을 미리 만들 때 사용)
+ */
+public class DocumentList extends AbstractList<Document> implements RandomAccess {
+    private final boolean compact;
+    private volatile IndexSnapshot current = IndexSnapshot.EMPTY;
+    private final List<Consumer<IndexSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    public DocumentList() {
+        this(false);
+    }
+
+    /**
+     * @param compact 발행하는 힙 목록을 CompactDocumentStore 로 보관할지 여부
+     */
+    public DocumentList(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * 현재 스냅샷을 반환합니다. 받은 스냅샷은 이후 발행과 무관하게 그대로 유지됩니다.
+     */
+    public IndexSnapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * 새 문서 목록을 스냅샷으로 발행합니다. 복사하지 않으므로 넘긴 목록은 이후 수정하지 않아야 합니다.
+     */
+    public IndexSnapshot publish(List<Document> documents) {
+        return publish(documents, false);
+    }
+
+    /**
+     * @param mapped 메모리 매핑 인덱스(MappedIndex)를 감싼 경우 true
+     */
+    public synchronized IndexSnapshot publish(List<Document> documents, boolean mapped) {
+        if (compact && !mapped) {
+            documents = CompactDocumentStore.copyOf(documents);
+        }
+        IndexSnapshot next = new IndexSnapshot(documents, mapped, current.getVersion() + 1);
+        current = next;
+        for (Consumer<IndexSnapshot> listener : listeners) {
+            listener.accept(next);
+        }
+        return next;
+    }
+
+    /**
+     * 스냅샷이 발행될 때마다 호출할 작업을 등록합니다.
+     * 발행하는 스레드에서 잠금을 잡은 채 호출하므로, 오래 걸리는 작업은 다른 스레드로 넘겨야 합니다.
+     */
+    public void addPublishListener(Consumer<IndexSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 메모리 매핑 인덱스를 감싸고 있는지 여부
+     */
+    public boolean isMapped() {
+        return current.isMapped();
+    }
+
+    @Override
+    public Document get(int index) {
+        return current.getDocuments().get(index);
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    // 순회는 시작 시점의 스냅샷 기준
+    @Override
+    public Iterator<Document> iterator() {
+        return current.getDocuments().iterator();
+    }
+
+    @Override
+    public synchronized Document set(int index, Document element) {
+        List<Document> copy = new ArrayList<>(current.getDocuments());
+        Document previous = copy.set(index, element);
+        publish(copy);
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(int index, Document element) {
+        List<Document> copy = new ArrayList<>(current.size() + 1);
+        copy.addAll(current.getDocuments());
+        copy.add(index, element);
+        publish(copy);
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends Document> c) {
+        if (c.isEmpty()) {
+            return false;
+        }
+        List<Document> copy = new ArrayList<>(current.size() + c.size());
+        copy.addAll(current.getDocuments());
+        copy.addAll(c);
+        publish(copy);
+        return true;
+    }
+
+    @Override
+    public synchronized Document remove(int index) {
+        List<Document> copy = new ArrayList<>(current.getDocuments());
+        Document removed = copy.remove(index);
+        publish(copy);
+        return removed;
+    }
+
+    @Override
+    public synchronized void clear() {
+        publish(new ArrayList<>());
+    }
+}
@@ -0,0 +1,41 @@
+package rag.model;
+
+import java.util.List;
+
+/**
+ * 증분 인덱싱 결과
+ * - 추가된 문서
+ * - 삭제된 문서
+ * - 변경된 문서 (크기 또는 수정 시각이 달라진 문서)
+ */
+public class IndexDiff {
+    private final List<Document> added;
+    private final List<Document> removed;
+    private final List<Document> changed;
+
+    public IndexDiff(List<Document> added, List<Document> removed, List<Document> changed) {
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+    }
+
+    public List<Document> getAdded() {
+        return added;
+    }
+
+    public List<Document> getRemoved() {
+        return removed;
+    }
+
+    public List<Document> getChanged() {
+        return changed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    public String summary() {
+        return "추가 " + added.size() + "개, 삭제 " + removed.size() + "개, 변경 " + changed.size() + "개";
+    }
+}
@@ -0,0 +1,84 @@
+package rag.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 특정 시점의 전체 문서 목록 (변경 불가)
+ * - 인덱스를 갱신할 때는 새 스냅샷을 따로 만든 뒤 DocumentList.publish() 로 한 번에 교체
+ * - 검색은 시작할 때 받은 스냅샷만 사용하므로 갱신 중에도 비거나 일부만 채워진 목록을 보지 않음
+ */
+public final class IndexSnapshot {
+    public static final IndexSnapshot EMPTY = new IndexSnapshot(List.of(), false, 0L);
+
+    private final List<Document> documents;
+    private final CompactDocumentStore store;
+    private final boolean mapped;
+    private final long version;
+    private final long createdAt;
+    private volatile PathTrie pathTrie;
+
+    /**
+     * @param documents 문서 목록 (복사하지 않으므로 넘긴 뒤에는 수정하지 않아야 함)
+     * @param mapped    메모리 매핑 인덱스(MappedIndex)를 감싼 경우 true
+     * @param version   발행 순번
+     */
+    public IndexSnapshot(List<Document> documents, boolean mapped, long version) {
+        this.documents = Collections.unmodifiableList(documents);
+        this.store = documents instanceof CompactDocumentStore ? (CompactDocumentStore) documents : null;
+        this.mapped = mapped;
+        this.version = version;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public List<Document> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * 배열 저장소(CompactDocumentStore)로 발행된 경우 그 저장소, 아니면 null (변경분 병합용)
+     */
+    public CompactDocumentStore getCompactStore() {
+        return store;
+    }
+
+    /**
+     * 폴더 트리 (처음 요청할 때 만들어 스냅샷과 함께 보관)
+     */
+    public PathTrie getPathTrie() {
+        PathTrie trie = pathTrie;
+        if (trie == null) {
+            synchronized (this) {
+                trie = pathTrie;
+                if (trie == null) {
+                    trie = PathTrie.build(documents);
+                    pathTrie = trie;
+                }
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * 이미 만들어진 폴더 트리, 아직 만들지 않았으면 null (만들지 않고 바로 반환)
+     */
+    public PathTrie getPathTrieIfBuilt() {
+        return pathTrie;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,310 @@
+package rag.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+
+/**
+ * 문서 경로의 폴더 트리 (변경 불가)
+ * - 문서를 경로 순으로 정렬해 두면 한 폴더의 하위 문서 전체가 연속된 구간이 되므로,
+ *   폴더 노드는 그 구간 [start, end) 만 보관
+ * - 폴더 찾기는 경로 단계 수만큼의 해시 조회 (O(깊이)), 하위 문서 목록은 구간 보기라 복사 없음
+ * - 폴더별 문서 수(하위 포함/직접)를 바로 구할 수 있음
+ * - 원본 목록이 이미 경로 순(.idx 매핑 인덱스)이면 그대로 사용하고, 아니면 순서 배열(int[])만 따로 둠
+ * 경로 구분자는 '/' 와 '\' 를 모두 인식하며, 폴더 경로는 DOC_PATH 기준 상대 경로 ("" 또는 "/" 는 최상위)
+ */
+public final class PathTrie {
+    /**
+     * 경로 순서 ('\' 를 '/' 로 보고 비교하므로 구분자가 섞여 있어도 같은 폴더는 연속된 구간이 됨)
+     * 구분자만 다른 경로는 문자열 순서로 나누어 equals 와 일치시킴 (.idx 본문과 변경 기록 병합도 이 순서로 정렬)
+     */
+    public static final Comparator<String> PATH_ORDER = PathTrie::compare;
+
+    private final List<Document> documents;
+    private final int[] order; // 경로 순 i 번째 문서의 원본 위치, 원본이 이미 정렬되어 있으면 null
+    private final String[] paths; // 경로 순 문서 경로 (파일 찾기용)
+    private final Folder root;
+    private volatile int[] rank; // order 의 역순열 (원본 위치 → 경로 순 위치), within() 에서 처음 필요할 때 계산
+
+    private PathTrie(List<Document> documents, int[] order, String[] paths, Folder root) {
+        this.documents = documents;
+        this.order = order;
+        this.paths = paths;
+        this.root = root;
+    }
+
+    /**
+     * 문서 목록으로 트리를 만듭니다. 목록은 이후 수정하지 않아야 합니다. (스냅샷 목록)
+     */
+    public static PathTrie build(List<Document> documents) {
+        int count = documents.size();
+        String[] paths = new String[count];
+        boolean sorted = true;
+        int i = 0;
+        for (Document doc : documents) {
+            paths[i] = doc != null && doc.path != null ? doc.path : "";
+            if (i > 0 && sorted && compare(paths[i - 1], paths[i]) > 0) {
+                sorted = false;
+            }
+            i++;
+        }
+
+        int[] order = null;
+        if (!sorted) {
+            Integer[] boxed = new Integer[count];
+            for (int j = 0; j < count; j++) {
+                boxed[j] = j;
+            }
+            String[] unsorted = paths;
+            Arrays.sort(boxed, (a, b) -> compare(unsorted[a], unsorted[b]));
+            order = new int[count];
+            paths = new String[count];
+            for (int j = 0; j < count; j++) {
+                order[j] = boxed[j];
+                paths[j] = unsorted[boxed[j]];
+            }
+        }
+
+        Folder root = new Folder("", "", null);
+        root.start = 0;
+        for (int j = 0; j < count; j++) {
+            Folder folder = root;
+            folder.end = j + 1;
+            String path = paths[j];
+            int from = skipSeparators(path, 0);
+            int next;
+            while ((next = nextSeparator(path, from)) >= 0) {
+                String name = path.substring(from, next);
+                Folder child = folder.children.get(name);
+                if (child == null) {
+                    child = new Folder(name, path.substring(0, next), folder);
+                    child.start = j;
+                    folder.children.put(name, child);
+                }
+                child.end = j + 1;
+                folder = child;
+                from = skipSeparators(path, next);
+            }
+            folder.files++;
+        }
+        return new PathTrie(documents, order, paths, root);
+    }
+
+    /**
+     * 폴더를 찾습니다.
+     * @param folderPath DOC_PATH 기준 폴더 경로
+     * @return 폴더, 없으면 null
+     */
+    public Folder folder(String folderPath) {
+        Folder folder = root;
+        int from = skipSeparators(folderPath, 0);
+        while (from < folderPath.length()) {
+            int next = nextSeparator(folderPath, from);
+            int end = next >= 0 ? next : folderPath.length();
+            folder = folder.children.get(folderPath.substring(from, end));
+            if (folder == null) {
+                return null;
+            }
+            from = skipSeparators(folderPath, end);
+        }
+        return folder;
+    }
+
+    /**
+     * 경로가 정확히 같은 문서를 찾습니다. (폴더는 O(깊이), 폴더 구간 안에서는 이진 탐색)
+     * @return 문서, 없으면 null
+     */
+    public Document find(String path) {
+        int split = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        Folder folder = split < 0 ? root : folder(path.substring(0, split));
+        if (folder == null) {
+            return null;
+        }
+        int found = Arrays.binarySearch(paths, folder.start, folder.end, path, PathTrie::compareIgnoringSeparator);
+        return found >= 0 ? sorted(found) : null;
+    }
+
+    /**
+     * 폴더 하위(모든 깊이)의 문서를 경로 순으로 반환합니다. 복사하지 않는 보기 목록입니다.
+     * @return 폴더가 없으면 빈 목록
+     */
+    public List<Document> under(String folderPath) {
+        Folder folder = folder(folderPath);
+        if (folder == null) {
+            return Collections.emptyList();
+        }
+        return new Range(folder.start, folder.end);
+    }
+
+    /**
+     * 원본 목록의 위치(인덱스)가 폴더 하위 문서인지 판별하는 조건을 반환합니다.
+     * 원본 목록 순서로 매긴 검색 결과를 폴더 범위로 거를 때 사용 (위치 하나당 O(1))
+     * @return 폴더가 없으면 항상 false
+     */
+    public IntPredicate within(String folderPath) {
+        Folder folder = folder(folderPath);
+        if (folder == null) {
+            return index -> false;
+        }
+        int start = folder.start;
+        int end = folder.end;
+        if (order == null) {
+            return index -> index >= start && index < end;
+        }
+        int[] positions = rank();
+        return index -> index >= 0 && index < positions.length && positions[index] >= start && positions[index] < end;
+    }
+
+    /**
+     * 폴더 하위(모든 깊이)의 문서 수
+     */
+    public int count(String folderPath) {
+        Folder folder = folder(folderPath);
+        return folder != null ? folder.getDocumentCount() : 0;
+    }
+
+    public Folder getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    private int[] rank() {
+        int[] positions = rank;
+        if (positions == null) {
+            positions = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                positions[order[i]] = i;
+            }
+            rank = positions;
+        }
+        return positions;
+    }
+
+    private Document sorted(int index) {
+        return documents.get(order != null ? order[index] : index);
+    }
+
+    private static int compare(String a, String b) {
+        int order = compareIgnoringSeparator(a, b);
+        return order != 0 ? order : a.compareTo(b);
+    }
+
+    // 구분자를 구분하지 않는 순서 (PATH_ORDER 는 이 순서를 세분한 것이므로 정렬된 경로에서 이진 탐색 가능)
+    private static int compareIgnoringSeparator(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i) == '\\' ? '/' : a.charAt(i);
+            char y = b.charAt(i) == '\\' ? '/' : b.charAt(i);
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    private static int nextSeparator(String path, int from) {
+        for (int i = from; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '/' || c == '\\') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipSeparators(String path, int from) {
+        while (from < path.length() && (path.charAt(from) == '/' || path.charAt(from) == '\\')) {
+            from++;
+        }
+        return from;
+    }
+
+    // 경로 순 문서 구간 [from, to) 보기
+    private final class Range extends AbstractList<Document> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Document get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + (to - from));
+            }
+            return sorted(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * 트리의 폴더 노드 (하위 문서 구간과 문서 수)
+     */
+    public static final class Folder {
+        private final String name;
+        private final String path;
+        private final Folder parent;
+        private final Map<String, Folder> children = new HashMap<>();
+        private int start;
+        private int end;
+        private int files;
+
+        private Folder(String name, String path, Folder parent) {
+            this.name = name;
+            this.path = path;
+            this.parent = parent;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // 처음 나온 문서의 구분자를 그대로 사용한 폴더 경로 (최상위는 "")
+        public String getPath() {
+            return path;
+        }
+
+        public Folder getParent() {
+            return parent;
+        }
+
+        /**
+         * 하위 폴더 (이름 순)
+         */
+        public List<Folder> getChildren() {
+            List<Folder> sorted = new ArrayList<>(children.values());
+            sorted.sort((a, b) -> a.name.compareTo(b.name));
+            return sorted;
+        }
+
+        /**
+         * 하위 폴더를 포함한 문서 수
+         */
+        public int getDocumentCount() {
+            return end - start;
+        }
+
+        /**
+         * 이 폴더에 직접 들어 있는 문서 수
+         */
+        public int getFileCount() {
+            return files;
+        }
+    }
+}
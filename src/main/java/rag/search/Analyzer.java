@@ -0,0 +1,16 @@
+package rag.search;
+
+import java.util.List;
+
+/**
+ * 파일명/경로/검색어를 색인어(토큰)로 나누는 분석기
+ * - 색인과 검색에 같은 분석기를 사용해야 같은 토큰이 나옴
+ */
+public interface Analyzer {
+
+    /**
+     * @param text 분석할 문자열 (null 이면 빈 목록)
+     * @return 토큰 목록 (같은 토큰이 여러 번 나올 수 있음, 순서 유지)
+     */
+    List<String> analyze(String text);
+}
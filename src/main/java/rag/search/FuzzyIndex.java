@@ -0,0 +1,385 @@
+package rag.search;
+
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * 오타를 허용하는 파일명 검색용 trigram 색인 (변경 불가, 스냅샷 하나당 하나)
+ * - 파일명은 소문자로, 한글은 자모로 풀어서 비교 ("획" → ㅎㅚㄱ) → 한글 오타 한 글자가 대부분 자모 1~2개 차이가 됨
+ * - 같은 파일명은 한 번만 색인하고 이름별 문서 목록을 따로 보관
+ * - 후보 생성: 검색어 trigram 중 일정 개수 이상을 가진 이름만 (편집 한 번은 trigram 을 최대 3개 깨뜨림)
+ * - 검증: 비트 병렬(Myers) 편집 거리로 "파일명의 어느 부분"과도 maxEdits 이내인지 확인 (부분 문자열 매칭)
+ * - 검색어는 공백 단위로 나누어 단어별로 찾고, 여러 단어가 맞은 파일명일수록 높은 점수
+ */
+public final class FuzzyIndex {
+    static final int GRAM = 3;
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+
+    private final List<Document> documents;
+    private final LongIdTable grams;
+    private final int[] gramOffsets;
+    private final int[] gramNames;
+    private final char[][] names;
+    private final int[] nameOffsets; // 이름 수 + 1 (n 번째 이름의 문서는 nameDocs[nameOffsets[n] .. nameOffsets[n + 1]))
+    private final int[] nameDocs;
+
+    private FuzzyIndex(List<Document> documents, LongIdTable grams, int[] gramOffsets, int[] gramNames,
+                       char[][] names, int[] nameOffsets, int[] nameDocs) {
+        this.documents = documents;
+        this.grams = grams;
+        this.gramOffsets = gramOffsets;
+        this.gramNames = gramNames;
+        this.names = names;
+        this.nameOffsets = nameOffsets;
+        this.nameDocs = nameDocs;
+    }
+
+    /**
+     * 문서 목록의 파일명을 색인합니다. 목록은 이후 수정하지 않아야 합니다. (스냅샷 목록)
+     */
+    public static FuzzyIndex build(List<Document> documents) {
+        int count = documents.size();
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<char[]> names = new ArrayList<>();
+        int[] docName = new int[count];
+        int index = 0;
+        for (Document doc : documents) {
+            String name = doc != null && doc.fileName != null ? doc.fileName : "";
+            Integer id = nameIds.get(name);
+            if (id == null) {
+                id = names.size();
+                nameIds.put(name, id);
+                names.add(normalize(name));
+            }
+            docName[index++] = id;
+        }
+
+        // 이름별 문서 목록 (계수 정렬)
+        int nameCount = names.size();
+        int[] nameOffsets = new int[nameCount + 1];
+        for (int id : docName) {
+            nameOffsets[id + 1]++;
+        }
+        for (int n = 0; n < nameCount; n++) {
+            nameOffsets[n + 1] += nameOffsets[n];
+        }
+        int[] nameDocs = new int[count];
+        int[] next = Arrays.copyOf(nameOffsets, nameCount);
+        for (int doc = 0; doc < count; doc++) {
+            nameDocs[next[docName[doc]]++] = doc;
+        }
+
+        // trigram → 이름 목록 (이름 안에서 같은 trigram 은 한 번만)
+        LongIdTable grams = new LongIdTable();
+        int[][] postings = new int[1024][];
+        int[] sizes = new int[1024];
+        long total = 0;
+        for (int n = 0; n < nameCount; n++) {
+            char[] name = names.get(n);
+            for (int i = 0; i + GRAM <= name.length; i++) {
+                int gram = grams.add(key(name, i));
+                if (gram >= postings.length) {
+                    postings = Arrays.copyOf(postings, postings.length * 2);
+                    sizes = Arrays.copyOf(sizes, sizes.length * 2);
+                }
+                int size = sizes[gram];
+                if (size > 0 && postings[gram][size - 1] == n) {
+                    continue;
+                }
+                if (postings[gram] == null) {
+                    postings[gram] = new int[2];
+                } else if (size == postings[gram].length) {
+                    postings[gram] = Arrays.copyOf(postings[gram], size * 2);
+                }
+                postings[gram][size] = n;
+                sizes[gram] = size + 1;
+                total++;
+            }
+        }
+        int gramCount = grams.size();
+        int[] gramOffsets = new int[gramCount + 1];
+        int[] gramNames = new int[Math.toIntExact(total)];
+        int offset = 0;
+        for (int gram = 0; gram < gramCount; gram++) {
+            gramOffsets[gram] = offset;
+            System.arraycopy(postings[gram], 0, gramNames, offset, sizes[gram]);
+            offset += sizes[gram];
+            postings[gram] = null;
+        }
+        gramOffsets[gramCount] = offset;
+        return new FuzzyIndex(documents, grams, gramOffsets, gramNames, names.toArray(new char[0][]),
+                nameOffsets, nameDocs);
+    }
+
+    /**
+     * 오타를 허용하여 파일명을 찾습니다.
+     * @param query  검색어 (공백으로 나눈 단어별로 찾음, 정규화 후 3자 미만인 단어는 무시)
+     * @param limit  최대 결과 수
+     * @param filter 결과로 허용할 문서 위치 조건 (null 이면 전체)
+     * @return 점수 높은 순 (단어별 점수 합, 단어 점수는 편집 거리 0 이면 1 이고 거리가 늘수록 감소)
+     */
+    public List<SearchHit> search(String query, int limit, IntPredicate filter) {
+        Map<Integer, Float> nameScores = new HashMap<>();
+        if (query != null) {
+            for (String word : query.trim().split("\\s+")) {
+                char[] pattern = normalize(word);
+                if (pattern.length >= GRAM) {
+                    searchWord(pattern, nameScores);
+                }
+            }
+        }
+
+        TopK top = new TopK(limit);
+        for (Map.Entry<Integer, Float> entry : nameScores.entrySet()) {
+            int name = entry.getKey();
+            for (int p = nameOffsets[name]; p < nameOffsets[name + 1]; p++) {
+                int doc = nameDocs[p];
+                if (filter == null || filter.test(doc)) {
+                    top.offer(doc, entry.getValue());
+                }
+            }
+        }
+        return top.drain(documents);
+    }
+
+    private void searchWord(char[] pattern, Map<Integer, Float> nameScores) {
+        int maxEdits = maxEdits(pattern.length);
+
+        // 검색어 trigram (중복 제거), 색인에 없는 trigram 은 필요 개수 계산에만 포함
+        long[] keys = new long[pattern.length];
+        int[] queryGrams = new int[pattern.length];
+        int distinct = 0;
+        int gramCount = 0;
+        for (int i = 0; i + GRAM <= pattern.length; i++) {
+            long key = key(pattern, i);
+            boolean seen = false;
+            for (int j = 0; j < distinct && !seen; j++) {
+                seen = keys[j] == key;
+            }
+            if (seen) {
+                continue;
+            }
+            keys[distinct++] = key;
+            int gram = grams.get(key);
+            if (gram >= 0) {
+                queryGrams[gramCount++] = gram;
+            }
+        }
+        // 편집 한 번은 서로 다른 trigram 을 최대 GRAM 개 없앰
+        int required = Math.max(1, distinct - GRAM * maxEdits);
+
+        if (gramCount < required) {
+            return;
+        }
+
+        // 후보: 필요한 trigram 수 이상을 가진 이름
+        // 비둘기집 원리로 짧은 목록 (gramCount - required + 1) 개 중 하나에는 반드시 들어 있으므로
+        // 짧은 목록에서만 후보를 모으고, 긴 목록은 후보마다 이진 탐색으로 확인 (이름 번호 순으로 정렬되어 있음)
+        Integer[] order = new Integer[gramCount];
+        for (int g = 0; g < gramCount; g++) {
+            order[g] = queryGrams[g];
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(gramOffsets[a + 1] - gramOffsets[a],
+                gramOffsets[b + 1] - gramOffsets[b]));
+        int shortLists = gramCount - required + 1;
+
+        int[] counts = new int[names.length];
+        int[] candidates = new int[64];
+        int candidateCount = 0;
+        for (int g = 0; g < shortLists; g++) {
+            int gram = order[g];
+            for (int p = gramOffsets[gram]; p < gramOffsets[gram + 1]; p++) {
+                int name = gramNames[p];
+                if (counts[name]++ == 0) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = name;
+                }
+            }
+        }
+        for (int g = shortLists; g < gramCount; g++) {
+            int gram = order[g];
+            for (int c = 0; c < candidateCount; c++) {
+                int name = candidates[c];
+                if (counts[name] + (gramCount - g) >= required
+                        && Arrays.binarySearch(gramNames, gramOffsets[gram], gramOffsets[gram + 1], name) >= 0) {
+                    counts[name]++;
+                }
+            }
+        }
+
+        // 검증: 부분 문자열 편집 거리
+        // 점수가 같으면 검색어와 길이가 비슷한 (불필요한 글자가 적은) 파일명을 조금 우선
+        Matcher matcher = new Matcher(pattern);
+        for (int c = 0; c < candidateCount; c++) {
+            int name = candidates[c];
+            if (counts[name] < required) {
+                continue;
+            }
+            int distance = matcher.distance(names[name]);
+            if (distance <= maxEdits) {
+                float extra = Math.min(100, Math.max(0, names[name].length - pattern.length)) * 1e-4f;
+                nameScores.merge(name, 1f - distance / (maxEdits + 1f) - extra, Float::sum);
+            }
+        }
+    }
+
+    /**
+     * 정규화한 검색어 길이별 허용 편집 거리
+     * 자모 단위이므로 한글은 글자 수의 2~3배 길이 (한글 오타 한 글자는 대부분 자모 1개 차이라 4음절까지는 1)
+     */
+    static int maxEdits(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 12 ? 1 : 2;
+    }
+
+    /**
+     * 소문자로 바꾸고 한글 음절을 초성/중성/종성 자모로 풉니다. 공백은 제거합니다.
+     */
+    static char[] normalize(String text) {
+        char[] out = new char[text.length() * 3];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                int s = c - SYLLABLE_FIRST;
+                out[length++] = (char) (0x1100 + s / (21 * 28));
+                out[length++] = (char) (0x1161 + s % (21 * 28) / 28);
+                if (s % 28 > 0) {
+                    out[length++] = (char) (0x11A7 + s % 28);
+                }
+            } else if (!Character.isWhitespace(c)) {
+                out[length++] = Character.toLowerCase(c);
+            }
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    private static long key(char[] text, int i) {
+        return ((long) text[i] << 32) | ((long) text[i + 1] << 16) | text[i + 2];
+    }
+
+    public int documentCount() {
+        return nameDocs.length;
+    }
+
+    public int nameCount() {
+        return names.length;
+    }
+
+    public int gramCount() {
+        return grams.size();
+    }
+
+    /**
+     * 검색어 하나에 대한 비트 병렬 편집 거리 계산기 (Myers 1999, 부분 문자열 매칭)
+     * - 검색어가 64자를 넘으면 일반 동적 계획법으로 계산
+     */
+    static final class Matcher {
+        private final char[] pattern;
+        private final char[] keys = new char[256];
+        private final long[] masks = new long[256];
+        private final boolean[] used = new boolean[256];
+
+        Matcher(char[] pattern) {
+            this.pattern = pattern;
+            if (pattern.length <= 64) {
+                for (int i = 0; i < pattern.length; i++) {
+                    int slot = slot(pattern[i]);
+                    keys[slot] = pattern[i];
+                    used[slot] = true;
+                    masks[slot] |= 1L << i;
+                }
+            }
+        }
+
+        private int slot(char c) {
+            int slot = c & 0xFF;
+            while (used[slot] && keys[slot] != c) {
+                slot = (slot + 1) & 0xFF;
+            }
+            return slot;
+        }
+
+        private long mask(char c) {
+            int slot = slot(c);
+            return used[slot] ? masks[slot] : 0L;
+        }
+
+        /**
+         * text 의 부분 문자열 중 검색어와 가장 가까운 것의 편집 거리 (0 이 되면 바로 반환)
+         */
+        int distance(char[] text) {
+            int m = pattern.length;
+            if (m == 0) {
+                return 0;
+            }
+            if (m > 64) {
+                return dynamicDistance(text);
+            }
+            long high = 1L << (m - 1);
+            long pv = m == 64 ? -1L : (1L << m) - 1;
+            long mv = 0;
+            int score = m;
+            int best = m;
+            for (char c : text) {
+                long eq = mask(c);
+                long xv = eq | mv;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+                if ((ph & high) != 0) {
+                    score++;
+                } else if ((mh & high) != 0) {
+                    score--;
+                }
+                // 부분 문자열 매칭: 0 행은 항상 0 이므로 자리 올림 없이 이동
+                ph <<= 1;
+                mh <<= 1;
+                pv = mh | ~(xv | ph);
+                mv = ph & xv;
+                if (score < best) {
+                    best = score;
+                    if (best == 0) {
+                        return 0;
+                    }
+                }
+            }
+            return best;
+        }
+
+        private int dynamicDistance(char[] text) {
+            int m = pattern.length;
+            int[] column = new int[m + 1];
+            for (int i = 0; i <= m; i++) {
+                column[i] = i;
+            }
+            // 부분 문자열 매칭: column[0] (빈 검색어) 은 항상 0
+            int best = m;
+            for (char c : text) {
+                int diagonal = column[0];
+                for (int i = 1; i <= m; i++) {
+                    int up = column[i];
+                    column[i] = Math.min(Math.min(column[i] + 1, column[i - 1] + 1),
+                            diagonal + (pattern[i - 1] == c ? 0 : 1));
+                    diagonal = up;
+                }
+                best = Math.min(best, column[m]);
+                if (best == 0) {
+                    return 0;
+                }
+            }
+            return best;
+        }
+    }
+}
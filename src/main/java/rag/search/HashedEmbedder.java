@@ -0,0 +1,109 @@
+package rag.search;
+
+import rag.model.Document;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 문자 n-gram 해싱으로 만드는 문서/검색어 벡터 (모델 파일, GPU 불필요)
+ * - 특징: 분석기 토큰(한글 음절 bigram, 영단어, 숫자) + 한글 음절 unigram + 영단어 문자 trigram
+ * - 각 특징을 해시로 차원 하나와 부호(+/-)에 배정하여 더한 뒤 길이 1로 정규화 (feature hashing)
+ * - 파일명 특징은 1, 폴더 토큰은 FOLDER_WEIGHT 가중치
+ * - 철자가 비슷한 이름끼리 가까워지므로 "의미" 검색보다는 부분/변형 일치에 가까움
+ */
+public final class HashedEmbedder {
+    static final float FOLDER_WEIGHT = 0.3f;
+    private static final float PART_WEIGHT = 0.5f;
+
+    private final int dimension;
+    private final KoreanAnalyzer analyzer = new KoreanAnalyzer();
+
+    public HashedEmbedder(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension: " + dimension);
+        }
+        this.dimension = dimension;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * 문서 벡터 (파일명 + 폴더)
+     */
+    public float[] embed(Document document) {
+        float[] vector = new float[dimension];
+        String path = document.path != null ? document.path : "";
+        int split = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1;
+        String name = document.fileName != null ? document.fileName : path.substring(split);
+        addText(vector, name, 1f);
+        for (String token : analyzer.analyze(path.substring(0, split))) {
+            add(vector, token, FOLDER_WEIGHT);
+        }
+        return normalize(vector);
+    }
+
+    /**
+     * 검색어 벡터 (파일명과 같은 방식)
+     */
+    public float[] embed(String query) {
+        float[] vector = new float[dimension];
+        addText(vector, query != null ? query : "", 1f);
+        return normalize(vector);
+    }
+
+    private void addText(float[] vector, String text, float weight) {
+        List<String> tokens = analyzer.analyze(text);
+        for (String token : tokens) {
+            add(vector, token, weight);
+        }
+        // 토큰보다 작은 단위: 한글 음절 하나, 영단어 문자 trigram (앞뒤 경계 포함)
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (c >= '가' && c <= '힣') {
+                add(vector, String.valueOf(c), weight * PART_WEIGHT);
+            }
+            boolean latin = c >= 'a' && c <= 'z';
+            if (latin && start < 0) {
+                start = i;
+            } else if (!latin && start >= 0) {
+                String word = "^" + lower.substring(start, i) + "$";
+                if (word.length() > 4) {
+                    for (int j = 0; j + 3 <= word.length(); j++) {
+                        add(vector, word.substring(j, j + 3), weight * PART_WEIGHT);
+                    }
+                }
+                start = -1;
+            }
+        }
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            h ^= feature.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 29;
+        int slot = (int) Long.remainderUnsigned(h, dimension);
+        vector[slot] += (h & (1L << 40)) != 0 ? weight : -weight;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+}
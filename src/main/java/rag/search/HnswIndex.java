@@ -0,0 +1,444 @@
+package rag.search;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * 근사 최근접 이웃 검색용 HNSW 그래프 (Malkov &amp; Yashunin, 길이 1로 정규화된 벡터, 거리 = 1 - 내적)
+ * - 노드는 추가 순서대로 0, 1, 2, ... 번호 (삭제 없음, 삭제는 검색 조건으로 거름)
+ * - 벡터와 0 층 이웃은 PAGE 개 노드 단위 배열에 보관 (노드가 늘어도 전체 복사 없음)
+ * - 1 층 이상 이웃은 해당 층이 있는 노드(약 1/M)만 따로 보관
+ * - 이웃 선택은 논문의 휴리스틱 (이미 고른 이웃보다 새 노드에 더 가까운 후보만 연결)
+ * - 스레드 안전하지 않음 (추가/검색을 호출하는 쪽에서 동기화)
+ */
+public final class HnswIndex {
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE = 1 << PAGE_BITS;
+
+    private final int dimension;
+    private final int m;
+    private final int m0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Random random;
+    private final SimilarityKernel kernel;
+
+    private float[][] vectorPages = new float[16][];
+    private int[][] linkPages = new int[16][]; // 0 층: 노드마다 [이웃 수, 이웃 m0 개]
+    private int[][] upperLinks = new int[16 * PAGE][]; // 노드별 1 층 이상: 층마다 [이웃 수, 이웃 m 개]
+    private byte[] levels = new byte[16 * PAGE];
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    // 검색 중 방문 표시 (세대 번호를 올려서 매번 지우지 않음)
+    private int[] visited = new int[16 * PAGE];
+    private int visitGeneration;
+
+    /**
+     * @param m              노드당 이웃 수 (0 층은 2배)
+     * @param efConstruction 추가할 때 살펴보는 후보 수
+     * @param seed           층 배정 난수 시드 (같은 입력이면 같은 그래프)
+     */
+    public HnswIndex(int dimension, int m, int efConstruction, long seed) {
+        this(dimension, m, efConstruction, seed, SimilarityKernels.get());
+    }
+
+    /**
+     * @param kernel 내적 계산 커널 (벤치마크/테스트에서 스칼라/SIMD 비교용)
+     */
+    public HnswIndex(int dimension, int m, int efConstruction, long seed, SimilarityKernel kernel) {
+        if (dimension <= 0 || m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("dimension: " + dimension + ", m: " + m + ", ef: " + efConstruction);
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.m0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(m);
+        this.random = new Random(seed);
+        this.kernel = kernel;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * 벡터를 추가합니다. (벡터는 복사하여 보관)
+     * @return 노드 번호
+     */
+    public int add(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("vector length: " + vector.length + ", dimension: " + dimension);
+        }
+        int node = size;
+        ensureCapacity(node);
+        System.arraycopy(vector, 0, vectorPages[node >>> PAGE_BITS], (node & (PAGE - 1)) * dimension, dimension);
+        int level = Math.min(Byte.MAX_VALUE, (int) (-Math.log(1 - random.nextDouble()) * levelFactor));
+        levels[node] = (byte) level;
+        if (level > 0) {
+            upperLinks[node] = new int[level * (m + 1)];
+        }
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedy(vector, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            int[] candidates = searchLayer(vector, current, efConstruction, l, null).drainSorted();
+            int limit = l == 0 ? m0 : m;
+            int[] selected = selectNeighbors(vector, candidates, limit);
+            for (int neighbor : selected) {
+                link(node, neighbor, l);
+                link(neighbor, node, l);
+            }
+            current = candidates[0];
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    /**
+     * 검색어 벡터와 가까운 노드를 찾습니다.
+     * @param ef     살펴보는 후보 수 (클수록 정확하고 느림, limit 보다 작으면 limit 사용)
+     * @param accept 결과로 허용할 노드 조건 (null 이면 전체, 거른 노드도 그래프 탐색에는 사용)
+     * @return 가까운 순 [노드 번호], 유사도는 similarity() 로 계산
+     */
+    public int[] search(float[] query, int limit, int ef, IntPredicate accept) {
+        if (entryPoint < 0 || limit <= 0) {
+            return new int[0];
+        }
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedy(query, current, l);
+        }
+        NodeHeap found = searchLayer(query, current, Math.max(ef, limit), 0, accept);
+        int[] ids = found.drainSorted();
+        return ids.length > limit ? Arrays.copyOf(ids, limit) : ids;
+    }
+
+    /**
+     * 모든 노드와 내적을 계산하는 정확한 검색 (전수 조사, 그래프 미사용)
+     * 노드가 적거나 조건으로 걸러지는 노드가 많아 그래프 탐색이 불리할 때 사용
+     * @param accept 결과로 허용할 노드 조건 (null 이면 전체)
+     * @return 가까운 순 [노드 번호], 유사도가 같으면 번호 순
+     */
+    public int[] exactSearch(float[] query, int limit, IntPredicate accept) {
+        if (query.length != dimension) {
+            throw new IllegalArgumentException("query length: " + query.length + ", dimension: " + dimension);
+        }
+        if (size == 0 || limit <= 0) {
+            return new int[0];
+        }
+        TopK top = new TopK(limit);
+        float[] scores = new float[PAGE];
+        for (int page = 0, base = 0; base < size; page++, base += PAGE) {
+            int rows = Math.min(PAGE, size - base);
+            kernel.dots(query, vectorPages[page], 0, rows, scores, 0);
+            for (int i = 0; i < rows; i++) {
+                if (accept == null || accept.test(base + i)) {
+                    top.offer(base + i, scores[i]);
+                }
+            }
+        }
+        return top.drainIds();
+    }
+
+    /**
+     * 노드 벡터와 검색어 벡터의 내적 (코사인 유사도)
+     */
+    public float similarity(float[] query, int node) {
+        return dot(query, vectorPages[node >>> PAGE_BITS], (node & (PAGE - 1)) * dimension);
+    }
+
+    // 한 층에서 더 가까운 이웃이 없을 때까지 이동
+    private int greedy(float[] query, int start, int level) {
+        int current = start;
+        float best = distance(query, current);
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            int[] links = links(current, level);
+            int offset = linkOffset(current, level);
+            for (int i = 1; i <= links[offset]; i++) {
+                int neighbor = links[offset + i];
+                float d = distance(query, neighbor);
+                if (d < best) {
+                    best = d;
+                    current = neighbor;
+                    moved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 한 층에서 ef 개 최근접 후보 탐색 (accept 를 통과한 노드만 결과에 넣음)
+     */
+    private NodeHeap searchLayer(float[] query, int start, int ef, int level, IntPredicate accept) {
+        int generation = nextGeneration();
+        NodeHeap candidates = new NodeHeap(ef * 2, false);
+        NodeHeap results = new NodeHeap(ef + 1, true);
+        float startDistance = distance(query, start);
+        visited[start] = generation;
+        candidates.push(start, startDistance);
+        if (accept == null || accept.test(start)) {
+            results.push(start, startDistance);
+        }
+        float bound = results.size() > 0 ? startDistance : Float.MAX_VALUE;
+
+        while (candidates.size() > 0) {
+            float d = candidates.topDistance();
+            if (results.size() >= ef && d > bound) {
+                break;
+            }
+            int node = candidates.pop();
+            int[] links = links(node, level);
+            int offset = linkOffset(node, level);
+            for (int i = 1; i <= links[offset]; i++) {
+                int neighbor = links[offset + i];
+                if (visited[neighbor] == generation) {
+                    continue;
+                }
+                visited[neighbor] = generation;
+                float nd = distance(query, neighbor);
+                if (results.size() < ef || nd < bound) {
+                    candidates.push(neighbor, nd);
+                    if (accept == null || accept.test(neighbor)) {
+                        results.push(neighbor, nd);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                        bound = results.topDistance();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // 휴리스틱 이웃 선택: 가까운 순으로 보면서, 이미 고른 이웃보다 기준 벡터에 더 가까운 후보만 선택
+    private int[] selectNeighbors(float[] base, int[] sortedCandidates, int limit) {
+        int[] selected = new int[Math.min(limit, sortedCandidates.length)];
+        int count = 0;
+        for (int candidate : sortedCandidates) {
+            if (count == selected.length) {
+                break;
+            }
+            float d = distance(base, candidate);
+            boolean keep = true;
+            for (int i = 0; i < count && keep; i++) {
+                keep = distanceBetween(candidate, selected[i]) > d;
+            }
+            if (keep) {
+                selected[count++] = candidate;
+            }
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    // from → to 연결, 이웃이 가득 차면 휴리스틱으로 다시 고름
+    private void link(int from, int to, int level) {
+        int[] links = links(from, level);
+        int offset = linkOffset(from, level);
+        int limit = level == 0 ? m0 : m;
+        int count = links[offset];
+        for (int i = 1; i <= count; i++) {
+            if (links[offset + i] == to) {
+                return;
+            }
+        }
+        if (count < limit) {
+            links[offset + count + 1] = to;
+            links[offset] = count + 1;
+            return;
+        }
+
+        float[] base = vector(from);
+        int baseOffset = (from & (PAGE - 1)) * dimension;
+        int[] ids = new int[count + 1];
+        float[] distances = new float[count + 1];
+        for (int i = 0; i < count; i++) {
+            ids[i] = links[offset + i + 1];
+            distances[i] = 1 - dot(base, baseOffset, ids[i]);
+        }
+        ids[count] = to;
+        distances[count] = 1 - dot(base, baseOffset, to);
+        sortByDistance(ids, distances);
+        float[] fromVector = Arrays.copyOfRange(base, baseOffset, baseOffset + dimension);
+        int[] selected = selectNeighbors(fromVector, ids, limit);
+        links[offset] = selected.length;
+        System.arraycopy(selected, 0, links, offset + 1, selected.length);
+    }
+
+    private int[] links(int node, int level) {
+        return level == 0 ? linkPages[node >>> PAGE_BITS] : upperLinks[node];
+    }
+
+    private int linkOffset(int node, int level) {
+        return level == 0 ? (node & (PAGE - 1)) * (m0 + 1) : (level - 1) * (m + 1);
+    }
+
+    private float[] vector(int node) {
+        return vectorPages[node >>> PAGE_BITS];
+    }
+
+    private float distance(float[] query, int node) {
+        return 1 - dot(query, vectorPages[node >>> PAGE_BITS], (node & (PAGE - 1)) * dimension);
+    }
+
+    private float distanceBetween(int a, int b) {
+        return 1 - dot(vectorPages[a >>> PAGE_BITS], (a & (PAGE - 1)) * dimension, b);
+    }
+
+    private float dot(float[] page, int offset, int node) {
+        return kernel.dot(page, offset, vectorPages[node >>> PAGE_BITS], (node & (PAGE - 1)) * dimension, dimension);
+    }
+
+    private float dot(float[] query, float[] page, int offset) {
+        return kernel.dot(query, 0, page, offset, dimension);
+    }
+
+    private int nextGeneration() {
+        if (++visitGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            visitGeneration = 1;
+        }
+        return visitGeneration;
+    }
+
+    private void ensureCapacity(int node) {
+        int page = node >>> PAGE_BITS;
+        if (page >= vectorPages.length) {
+            vectorPages = Arrays.copyOf(vectorPages, vectorPages.length * 2);
+            linkPages = Arrays.copyOf(linkPages, linkPages.length * 2);
+        }
+        if (vectorPages[page] == null) {
+            vectorPages[page] = new float[PAGE * dimension];
+            linkPages[page] = new int[PAGE * (m0 + 1)];
+        }
+        if (node >= levels.length) {
+            int capacity = levels.length * 2;
+            levels = Arrays.copyOf(levels, capacity);
+            upperLinks = Arrays.copyOf(upperLinks, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+        }
+    }
+
+    private static void sortByDistance(int[] ids, float[] distances) {
+        for (int i = 1; i < ids.length; i++) {
+            int id = ids[i];
+            float d = distances[i];
+            int j = i - 1;
+            while (j >= 0 && distances[j] > d) {
+                ids[j + 1] = ids[j];
+                distances[j + 1] = distances[j];
+                j--;
+            }
+            ids[j + 1] = id;
+            distances[j + 1] = d;
+        }
+    }
+
+    /**
+     * 노드 번호 + 거리 이진 힙 (max 이면 가장 먼 노드가 맨 위)
+     */
+    private static final class NodeHeap {
+        private int[] ids;
+        private float[] distances;
+        private final boolean max;
+        private int size;
+
+        NodeHeap(int capacity, boolean max) {
+            ids = new int[Math.max(4, capacity)];
+            distances = new float[ids.length];
+            this.max = max;
+        }
+
+        int size() {
+            return size;
+        }
+
+        float topDistance() {
+            return distances[0];
+        }
+
+        void push(int id, float distance) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!above(distance, distances[parent])) {
+                    break;
+                }
+                ids[i] = ids[parent];
+                distances[i] = distances[parent];
+                i = parent;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        }
+
+        int pop() {
+            int top = ids[0];
+            size--;
+            int id = ids[size];
+            float distance = distances[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && above(distances[child + 1], distances[child])) {
+                    child++;
+                }
+                if (!above(distances[child], distance)) {
+                    break;
+                }
+                ids[i] = ids[child];
+                distances[i] = distances[child];
+                i = child;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+            return top;
+        }
+
+        // a 가 b 보다 힙 위쪽에 있어야 하는지
+        private boolean above(float a, float b) {
+            return max ? a > b : a < b;
+        }
+
+        /**
+         * 가까운 순 노드 번호 (max 힙에서 꺼내므로 힙은 비워짐)
+         */
+        int[] drainSorted() {
+            int[] sorted = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sorted[i] = pop();
+            }
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package rag.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import static rag.config.SearchConfig.RRF_K;
+
+/**
+ * 로컬 검색기 여러 개(BM25, 오타 허용 trigram, 벡터)를 병렬로 실행하고 순위 역수 합(RRF)으로 합치는 검색
+ * - RRF 점수 = Σ 1 / (k + 순위), 순위는 검색기별 1부터 (Cormack et al.)
+ * - 점수 척도가 서로 다른 검색기를 순위만으로 합치므로 가중치 조정이 필요 없음
+ * - 여러 검색기에 함께 나온 문서가 한 검색기에서만 높은 문서보다 앞섬
+ * - 문서는 목록 위치(SearchHit.index)로 구분 (모든 검색기가 같은 SearchIndexes 목록 기준)
+ * - 검색기 하나가 실패하면 나머지 결과로 합침
+ */
+public final class HybridRetriever {
+    private static final Logger logger = LoggerFactory.getLogger(HybridRetriever.class);
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(3, r -> {
+        Thread thread = new Thread(r, "hybrid-retriever");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private HybridRetriever() {
+    }
+
+    /**
+     * @param filter 결과로 허용할 문서 위치 조건 (null 이면 전체)
+     * @param limit  결과 수 (검색기마다 limit 개씩 가져와 합침)
+     * @return RRF 점수 높은 순 (SearchHit.score 는 RRF 점수)
+     */
+    public static List<SearchHit> retrieve(String query, SearchIndexes indexes, IntPredicate filter, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        long start = System.currentTimeMillis();
+        VectorIndex vector = indexes.vector();
+        CompletableFuture<List<SearchHit>> lexical = run("BM25", () -> indexes.searchLexical(query, limit, filter));
+        CompletableFuture<List<SearchHit>> fuzzy = run("trigram", () -> indexes.searchFuzzy(query, limit, filter));
+        CompletableFuture<List<SearchHit>> nearest = vector != null
+                ? run("벡터", () -> vector.search(indexes.getDocuments(), query, limit, filter))
+                : CompletableFuture.completedFuture(List.of());
+
+        List<List<SearchHit>> rankings = List.of(lexical.join(), fuzzy.join(), nearest.join());
+        List<SearchHit> fused = fuse(rankings, RRF_K, limit);
+        logger.debug("하이브리드 검색: BM25 {}개, trigram {}개, 벡터 {}개 → {}개, {}ms", rankings.get(0).size(),
+                rankings.get(1).size(), vector != null ? rankings.get(2).size() : "사용 안 함", fused.size(),
+                System.currentTimeMillis() - start);
+        return fused;
+    }
+
+    private static CompletableFuture<List<SearchHit>> run(String name, Supplier<List<SearchHit>> retriever) {
+        return CompletableFuture.supplyAsync(retriever, executor).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            logger.warn("{} 검색 실패, 나머지 결과로 합침: {}", name, cause.toString());
+            return List.of();
+        });
+    }
+
+    /**
+     * 순위 목록들을 RRF 로 합칩니다.
+     * 점수가 같으면 가장 좋은 순위가 앞선 문서, 그것도 같으면 목록 위치가 앞선 문서를 우선
+     */
+    static List<SearchHit> fuse(List<List<SearchHit>> rankings, int k, int limit) {
+        Map<Integer, Fused> byIndex = new HashMap<>();
+        for (List<SearchHit> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                SearchHit hit = ranking.get(rank);
+                Fused fused = byIndex.get(hit.getIndex());
+                if (fused == null) {
+                    fused = new Fused(hit, rank);
+                    byIndex.put(hit.getIndex(), fused);
+                } else if (rank < fused.bestRank) {
+                    fused.bestRank = rank;
+                }
+                fused.score += 1.0 / (k + rank + 1);
+            }
+        }
+        List<Fused> sorted = new ArrayList<>(byIndex.values());
+        sorted.sort((a, b) -> {
+            int order = Double.compare(b.score, a.score);
+            if (order == 0) {
+                order = Integer.compare(a.bestRank, b.bestRank);
+            }
+            return order != 0 ? order : Integer.compare(a.hit.getIndex(), b.hit.getIndex());
+        });
+        List<SearchHit> result = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (Fused fused : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            result.add(new SearchHit(fused.hit.getIndex(), fused.hit.getDocument(), (float) fused.score));
+        }
+        return result;
+    }
+
+    private static final class Fused {
+        final SearchHit hit;
+        int bestRank;
+        double score;
+
+        Fused(SearchHit hit, int rank) {
+            this.hit = hit;
+            this.bestRank = rank;
+        }
+    }
+}
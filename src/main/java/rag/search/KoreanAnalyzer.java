@@ -0,0 +1,126 @@
+package rag.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 띄어쓰기 없는 한글 파일명을 위한 분석기
+ * - 문자/숫자가 아닌 문자('_', '.', '-', 공백, 경로 구분자 등)에서 나눔
+ * - 문자 종류(한글/자모/영문 등/숫자)가 바뀌는 곳에서 나눔 ("2024사업계획서v2" → 2024 / 사업계획서 / v / 2)
+ * - 영문은 camelCase 경계에서 나누고 소문자로 ("reportDraft" → report, draft / "XMLParser" → xml, parser)
+ * - 한글은 음절 bigram 으로 색인 ("사업계획서" → 사업, 업계, 계획, 획서 / 한 음절이면 그대로)
+ *   합성어 일부("계획서")로 검색해도 겹치는 bigram 으로 찾을 수 있음
+ * - choseong 이면 한글의 초성 bigram 도 함께 색인 ("사업" → ㅅㅇ), 검색어의 자모("ㅅㅇㄱㅎ")도 bigram 으로 분석
+ */
+public final class KoreanAnalyzer implements Analyzer {
+    private static final char HANGUL_FIRST = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final char JAMO_FIRST = 'ㄱ';
+    private static final char JAMO_LAST = 'ㆎ';
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private static final int OTHER = 0;
+    private static final int HANGUL = 1;
+    private static final int JAMO = 2;
+    private static final int LETTER = 3;
+    private static final int DIGIT = 4;
+
+    private final boolean choseong;
+
+    public KoreanAnalyzer() {
+        this(false);
+    }
+
+    /**
+     * @param choseong 한글 초성 bigram 도 색인할지 여부 (초성 검색용, 색인 크기 증가)
+     */
+    public KoreanAnalyzer(boolean choseong) {
+        this.choseong = choseong;
+    }
+
+    @Override
+    public List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int type = typeOf(text.charAt(i));
+            if (type == OTHER) {
+                i++;
+                continue;
+            }
+            int start = i++;
+            while (i < length && typeOf(text.charAt(i)) == type && !(type == LETTER && camelBoundary(text, i))) {
+                i++;
+            }
+            switch (type) {
+                case HANGUL:
+                    bigrams(text.substring(start, i), tokens);
+                    if (choseong) {
+                        bigrams(choseongOf(text, start, i), tokens);
+                    }
+                    break;
+                case JAMO:
+                    bigrams(text.substring(start, i), tokens);
+                    break;
+                case LETTER:
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                    break;
+                default:
+                    tokens.add(text.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private static int typeOf(char c) {
+        if (c >= HANGUL_FIRST && c <= HANGUL_LAST) {
+            return HANGUL;
+        }
+        if (c >= JAMO_FIRST && c <= JAMO_LAST) {
+            return JAMO;
+        }
+        if (Character.isDigit(c)) {
+            return DIGIT;
+        }
+        if (Character.isLetter(c)) {
+            return LETTER;
+        }
+        return OTHER;
+    }
+
+    // i 위치에서 새 영단어가 시작되는지 (소문자→대문자, 또는 대문자 연속 뒤 대문자+소문자)
+    private static boolean camelBoundary(String text, int i) {
+        char previous = text.charAt(i - 1);
+        char current = text.charAt(i);
+        if (!Character.isUpperCase(current)) {
+            return false;
+        }
+        if (Character.isLowerCase(previous)) {
+            return true;
+        }
+        return Character.isUpperCase(previous) && i + 1 < text.length() && Character.isLowerCase(text.charAt(i + 1));
+    }
+
+    private static void bigrams(String run, List<String> tokens) {
+        if (run.length() == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int j = 0; j + 2 <= run.length(); j++) {
+            tokens.add(run.substring(j, j + 2));
+        }
+    }
+
+    private static String choseongOf(String text, int start, int end) {
+        char[] initials = new char[end - start];
+        for (int j = start; j < end; j++) {
+            initials[j - start] = CHOSEONG.charAt((text.charAt(j) - HANGUL_FIRST) / (21 * 28));
+        }
+        return new String(initials);
+    }
+}
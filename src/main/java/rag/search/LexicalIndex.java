@@ -0,0 +1,249 @@
+package rag.search;
+
+import rag.model.Document;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * 파일명과 경로(폴더) 토큰의 역색인 + BM25 점수 (변경 불가, 스냅샷 하나당 하나)
+ * - 파일명 토큰은 NAME_WEIGHT 배, 폴더 토큰은 1배로 센 빈도를 문서 내 빈도(tf)로 사용 (BM25F 단순화)
+ * - 포스팅은 토큰별 구간을 하나의 int[] (문서 위치) / byte[] (빈도) 에 이어 붙여 보관
+ * - 같은 폴더의 문서는 폴더 토큰 분석 결과를 재사용 (탐색/경로 순 목록은 같은 폴더가 연속으로 나옴)
+ * - 검색어 토큰이 하나라도 들어 있는 문서만 점수를 매기며, 결과 위치는 색인한 문서 목록 기준
+ */
+public final class LexicalIndex {
+    static final int NAME_WEIGHT = 2;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_TF = 255;
+
+    private final List<Document> documents;
+    private final Analyzer analyzer;
+    private final Map<String, Integer> terms;
+    private final int[] termOffsets; // 토큰 수 + 1 (t 번째 토큰의 포스팅은 [termOffsets[t], termOffsets[t + 1]))
+    private final int[] postingDocs;
+    private final byte[] postingFreqs;
+    private final int[] docLengths;
+    private final float averageLength;
+
+    private LexicalIndex(List<Document> documents, Analyzer analyzer, Map<String, Integer> terms, int[] termOffsets,
+                         int[] postingDocs, byte[] postingFreqs, int[] docLengths, float averageLength) {
+        this.documents = documents;
+        this.analyzer = analyzer;
+        this.terms = terms;
+        this.termOffsets = termOffsets;
+        this.postingDocs = postingDocs;
+        this.postingFreqs = postingFreqs;
+        this.docLengths = docLengths;
+        this.averageLength = averageLength;
+    }
+
+    /**
+     * 문서 목록을 색인합니다. 목록은 이후 수정하지 않아야 합니다. (스냅샷 목록)
+     */
+    public static LexicalIndex build(List<Document> documents, Analyzer analyzer) {
+        int count = documents.size();
+        Map<String, Integer> terms = new HashMap<>();
+        Postings postings = new Postings();
+        int[] docLengths = new int[count];
+        long totalLength = 0;
+
+        String lastFolder = null;
+        int[] folderTerms = new int[0];
+        int[] docTerms = new int[64];
+        int[] docFreqs = new int[64];
+        int index = 0;
+        for (Document doc : documents) {
+            String path = doc != null && doc.path != null ? doc.path : "";
+            int split = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1;
+            String folder = path.substring(0, split);
+            if (!folder.equals(lastFolder)) {
+                lastFolder = folder;
+                folderTerms = termIds(analyzer.analyze(folder), terms);
+            }
+            String name = doc != null && doc.fileName != null ? doc.fileName : path.substring(split);
+            int[] nameTerms = termIds(analyzer.analyze(name), terms);
+
+            // 문서 안의 토큰별 빈도 (토큰 수가 적으므로 선형 탐색)
+            int distinct = 0;
+            int length = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                int[] ids = pass == 0 ? nameTerms : folderTerms;
+                int weight = pass == 0 ? NAME_WEIGHT : 1;
+                for (int term : ids) {
+                    int slot = 0;
+                    while (slot < distinct && docTerms[slot] != term) {
+                        slot++;
+                    }
+                    if (slot == distinct) {
+                        if (distinct == docTerms.length) {
+                            docTerms = Arrays.copyOf(docTerms, distinct * 2);
+                            docFreqs = Arrays.copyOf(docFreqs, distinct * 2);
+                        }
+                        docTerms[distinct] = term;
+                        docFreqs[distinct++] = 0;
+                    }
+                    docFreqs[slot] += weight;
+                    length += weight;
+                }
+            }
+            for (int slot = 0; slot < distinct; slot++) {
+                postings.add(docTerms[slot], index, Math.min(MAX_TF, docFreqs[slot]));
+            }
+            docLengths[index] = length;
+            totalLength += length;
+            index++;
+        }
+
+        float averageLength = count > 0 ? Math.max(1f, (float) totalLength / count) : 1f;
+        return postings.flatten(documents, analyzer, terms, docLengths, averageLength);
+    }
+
+    private static int[] termIds(List<String> tokens, Map<String, Integer> terms) {
+        int[] ids = new int[tokens.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Integer id = terms.get(tokens.get(i));
+            if (id == null) {
+                id = terms.size();
+                terms.put(tokens.get(i), id);
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * BM25 점수 상위 문서를 찾습니다.
+     * @param query  검색어 (색인과 같은 분석기로 토큰화, 중복 토큰은 한 번만 사용)
+     * @param limit  최대 결과 수
+     * @param filter 결과로 허용할 문서 위치 조건 (null 이면 전체)
+     * @return 점수 높은 순
+     */
+    public List<SearchHit> search(String query, int limit, IntPredicate filter) {
+        Set<String> queryTerms = new LinkedHashSet<>(analyzer.analyze(query));
+        int count = docLengths.length;
+        float[] scores = null;
+        int[] touched = new int[16];
+        int touchedCount = 0;
+
+        for (String token : queryTerms) {
+            Integer term = terms.get(token);
+            if (term == null) {
+                continue;
+            }
+            int from = termOffsets[term];
+            int to = termOffsets[term + 1];
+            float idf = idf(to - from, count);
+            if (scores == null) {
+                scores = new float[count];
+            }
+            for (int p = from; p < to; p++) {
+                int doc = postingDocs[p];
+                float tf = postingFreqs[p] & 0xFF;
+                float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                if (scores[doc] == 0f) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = doc;
+                }
+                scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+
+        TopK top = new TopK(limit);
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            if (filter == null || filter.test(doc)) {
+                top.offer(doc, scores[doc]);
+            }
+        }
+        return top.drain(documents);
+    }
+
+    // BM25 idf (항상 양수가 되는 Lucene 방식)
+    private static float idf(int documentFrequency, int count) {
+        return (float) Math.log(1 + (count - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    public int documentCount() {
+        return docLengths.length;
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    public int postingCount() {
+        return postingDocs.length;
+    }
+
+    /**
+     * 토큰을 포함한 문서 수 (없으면 0)
+     */
+    public int documentFrequency(String token) {
+        Integer term = terms.get(token);
+        return term != null ? termOffsets[term + 1] - termOffsets[term] : 0;
+    }
+
+    // 색인 중 토큰별 포스팅을 모으는 버퍼 (토큰마다 늘어나는 배열, 끝나면 하나의 배열로 합침)
+    private static final class Postings {
+        private int[][] docs = new int[1024][];
+        private byte[][] freqs = new byte[1024][];
+        private int[] sizes = new int[1024];
+        private long total;
+
+        void add(int term, int doc, int freq) {
+            if (term >= docs.length) {
+                int capacity = Math.max(term + 1, docs.length * 2);
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+            int size = sizes[term];
+            if (docs[term] == null) {
+                docs[term] = new int[2];
+                freqs[term] = new byte[2];
+            } else if (size == docs[term].length) {
+                docs[term] = Arrays.copyOf(docs[term], size * 2);
+                freqs[term] = Arrays.copyOf(freqs[term], size * 2);
+            }
+            docs[term][size] = doc;
+            freqs[term][size] = (byte) freq;
+            sizes[term] = size + 1;
+            total++;
+        }
+
+        LexicalIndex flatten(List<Document> documents, Analyzer analyzer, Map<String, Integer> terms,
+                             int[] docLengths, float averageLength) {
+            if (total > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("포스팅 수가 너무 많습니다: " + total);
+            }
+            int termCount = terms.size();
+            int[] termOffsets = new int[termCount + 1];
+            int[] postingDocs = new int[(int) total];
+            byte[] postingFreqs = new byte[(int) total];
+            int offset = 0;
+            for (int term = 0; term < termCount; term++) {
+                termOffsets[term] = offset;
+                int size = term < sizes.length ? sizes[term] : 0;
+                if (size > 0) {
+                    System.arraycopy(docs[term], 0, postingDocs, offset, size);
+                    System.arraycopy(freqs[term], 0, postingFreqs, offset, size);
+                    docs[term] = null;
+                    freqs[term] = null;
+                    offset += size;
+                }
+            }
+            termOffsets[termCount] = offset;
+            return new LexicalIndex(documents, analyzer, terms, termOffsets, postingDocs, postingFreqs,
+                    docLengths, averageLength);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package rag.search;
+
+import java.util.Arrays;
+
+/**
+ * long 키 → 번호(0, 1, 2, ... 추가된 순서) 해시 테이블 (열린 주소법, 박싱 없음)
+ * - trigram, 경로 해시 등 long 으로 표현되는 키에 연속 번호를 붙일 때 사용
+ */
+final class LongIdTable {
+    private long[] keys = new long[1 << 16];
+    private int[] values = new int[1 << 16];
+    private int size;
+
+    LongIdTable() {
+        Arrays.fill(values, -1);
+    }
+
+    /**
+     * @return 키의 번호, 없으면 -1
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] >= 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @return 키의 번호, 없으면 다음 번호(size)를 붙여 추가한 뒤 반환
+     */
+    int add(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] >= 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = size;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return size - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(values, -1);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] >= 0) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,203 @@
+package rag.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 곱 양자화(product quantization, Jégou et al.)
+ * - 벡터를 같은 길이의 부분 공간 subspaces 개로 나누고, 부분 공간마다 k-means 중심점 256 개 중 가장 가까운 번호(1바이트)를 저장
+ * - 코드 길이 = subspaces 바이트 (예: 384 차원, 48 부분 공간 → 1536 바이트가 48 바이트)
+ * - ADC: 검색어마다 [부분 공간][중심점] 내적 표를 한 번 만들고, 코드 하나의 점수는 표 값 subspaces 개의 합
+ * - 중심점은 [부분 공간][부분 차원][중심점] 순서로 보관하여 "한 벡터 × 중심점 256 개" 내적이
+ *   연속 배열에 대한 곱셈-덧셈 반복이 되도록 함 (JIT 자동 벡터화)
+ */
+public final class ProductQuantizer implements VectorQuantizer {
+    static final int CENTROIDS = 256;
+
+    private final int dimension;
+    private final int subspaces;
+    private final int subDimension;
+    private final float[] centroids; // [(부분 공간 * subDimension + 차원) * CENTROIDS + 중심점]
+    private final float[] halfNorms; // [부분 공간 * CENTROIDS + 중심점] = |중심점|² / 2
+
+    private ProductQuantizer(int dimension, int subspaces, float[] centroids) {
+        this.dimension = dimension;
+        this.subspaces = subspaces;
+        this.subDimension = dimension / subspaces;
+        this.centroids = centroids;
+        this.halfNorms = new float[subspaces * CENTROIDS];
+        for (int j = 0; j < subspaces; j++) {
+            for (int i = 0; i < subDimension; i++) {
+                int base = (j * subDimension + i) * CENTROIDS;
+                for (int c = 0; c < CENTROIDS; c++) {
+                    halfNorms[j * CENTROIDS + c] += centroids[base + c] * centroids[base + c] / 2;
+                }
+            }
+        }
+    }
+
+    /**
+     * 표본으로 부분 공간별 k-means 를 학습합니다.
+     * @param subspaces  부분 공간 수 (dimension 의 약수)
+     * @param iterations k-means 반복 횟수
+     * @param seed       초기 중심점 선택 난수 시드
+     */
+    public static ProductQuantizer train(List<float[]> sample, int dimension, int subspaces, int iterations, long seed) {
+        if (subspaces <= 0 || dimension % subspaces != 0) {
+            throw new IllegalArgumentException("dimension: " + dimension + ", subspaces: " + subspaces);
+        }
+        if (sample.isEmpty()) {
+            throw new IllegalArgumentException("학습할 벡터 없음");
+        }
+        for (float[] vector : sample) {
+            if (vector.length != dimension) {
+                throw new IllegalArgumentException("vector length: " + vector.length + ", dimension: " + dimension);
+            }
+        }
+        int subDimension = dimension / subspaces;
+        int n = sample.size();
+        Random random = new Random(seed);
+        float[] centroids = new float[dimension * CENTROIDS];
+
+        // 초기 중심점: 표본에서 무작위로 (표본이 256 개보다 적으면 중복 허용)
+        int[] picks = new int[CENTROIDS];
+        for (int c = 0; c < CENTROIDS; c++) {
+            picks[c] = n >= CENTROIDS ? -1 : random.nextInt(n);
+        }
+        if (n >= CENTROIDS) {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            for (int c = 0; c < CENTROIDS; c++) {
+                int k = c + random.nextInt(n - c);
+                int t = order[c];
+                order[c] = order[k];
+                order[k] = t;
+                picks[c] = order[c];
+            }
+        }
+        for (int j = 0; j < subspaces; j++) {
+            for (int c = 0; c < CENTROIDS; c++) {
+                float[] vector = sample.get(picks[c]);
+                for (int i = 0; i < subDimension; i++) {
+                    centroids[(j * subDimension + i) * CENTROIDS + c] = vector[j * subDimension + i];
+                }
+            }
+        }
+
+        int[] assigned = new int[n];
+        float[] sums = new float[subDimension * CENTROIDS];
+        int[] counts = new int[CENTROIDS];
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            ProductQuantizer current = new ProductQuantizer(dimension, subspaces, centroids);
+            float[] dots = new float[CENTROIDS];
+            for (int j = 0; j < subspaces; j++) {
+                for (int s = 0; s < n; s++) {
+                    assigned[s] = current.nearest(sample.get(s), j, dots);
+                }
+                Arrays.fill(sums, 0);
+                Arrays.fill(counts, 0);
+                for (int s = 0; s < n; s++) {
+                    float[] vector = sample.get(s);
+                    int c = assigned[s];
+                    counts[c]++;
+                    for (int i = 0; i < subDimension; i++) {
+                        sums[i * CENTROIDS + c] += vector[j * subDimension + i];
+                    }
+                }
+                for (int c = 0; c < CENTROIDS; c++) {
+                    // 빈 중심점은 무작위 표본으로 다시 시작
+                    float[] reseed = counts[c] == 0 ? sample.get(random.nextInt(n)) : null;
+                    for (int i = 0; i < subDimension; i++) {
+                        centroids[(j * subDimension + i) * CENTROIDS + c] = reseed != null
+                                ? reseed[j * subDimension + i] : sums[i * CENTROIDS + c] / counts[c];
+                    }
+                }
+            }
+        }
+        return new ProductQuantizer(dimension, subspaces, centroids);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    public int subspaces() {
+        return subspaces;
+    }
+
+    @Override
+    public int codeSize() {
+        return subspaces;
+    }
+
+    @Override
+    public long tableBytes() {
+        return 4L * (centroids.length + halfNorms.length);
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        float[] dots = new float[CENTROIDS];
+        for (int j = 0; j < subspaces; j++) {
+            codes[offset + j] = (byte) nearest(vector, j, dots);
+        }
+    }
+
+    /**
+     * @return [부분 공간 * 256 + 중심점] = 검색어 부분 벡터와 중심점의 내적
+     */
+    @Override
+    public float[] prepare(float[] query) {
+        float[] table = new float[subspaces * CENTROIDS];
+        float[] dots = new float[CENTROIDS];
+        for (int j = 0; j < subspaces; j++) {
+            centroidDots(query, j, dots);
+            System.arraycopy(dots, 0, table, j * CENTROIDS, CENTROIDS);
+        }
+        return table;
+    }
+
+    @Override
+    public float score(float[] table, byte[] codes, int offset) {
+        float sum = 0;
+        for (int j = 0, base = 0; j < subspaces; j++, base += CENTROIDS) {
+            sum += table[base + (codes[offset + j] & 0xff)];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "pq" + subspaces;
+    }
+
+    // 부분 공간 j 에서 가장 가까운 중심점 (|x - c|² 최소 = x·c - |c|²/2 최대)
+    private int nearest(float[] vector, int j, float[] dots) {
+        centroidDots(vector, j, dots);
+        int best = 0;
+        float bestScore = -Float.MAX_VALUE;
+        for (int c = 0; c < CENTROIDS; c++) {
+            float score = dots[c] - halfNorms[j * CENTROIDS + c];
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private void centroidDots(float[] vector, int j, float[] dots) {
+        Arrays.fill(dots, 0);
+        for (int i = 0; i < subDimension; i++) {
+            float x = vector[j * subDimension + i];
+            int base = (j * subDimension + i) * CENTROIDS;
+            for (int c = 0; c < CENTROIDS; c++) {
+                dots[c] += x * centroids[base + c];
+            }
+        }
+    }
+}
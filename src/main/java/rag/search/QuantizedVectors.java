@@ -0,0 +1,140 @@
+package rag.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 양자화된 벡터 저장소 + 전수 조사 검색 (그래프 없이 코드 전체를 ADC 로 훑음)
+ * - 코드는 PAGE 개 행 단위 byte 배열에 보관 (행 번호 = 추가 순서)
+ * - 원본 벡터 파일(VectorFile)이 있으면 ADC 상위 후보를 원본과의 정확한 내적으로 다시 정렬
+ * - 메모리: 행마다 quantizer.codeSize() 바이트 (원본은 디스크/페이지 캐시)
+ * - 스레드 안전하지 않음 (VectorIndex 에서 동기화)
+ */
+public final class QuantizedVectors implements Closeable {
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE = 1 << PAGE_BITS;
+
+    private final VectorQuantizer quantizer;
+    private final VectorFile originals;
+    private final SimilarityKernel kernel;
+    private final int codeSize;
+    private byte[][] pages = new byte[16][];
+    private int size;
+
+    /**
+     * @param originals 재정렬용 원본 벡터 파일 (null 이면 ADC 점수만 사용)
+     */
+    public QuantizedVectors(VectorQuantizer quantizer, VectorFile originals) {
+        this(quantizer, originals, SimilarityKernels.get());
+    }
+
+    public QuantizedVectors(VectorQuantizer quantizer, VectorFile originals, SimilarityKernel kernel) {
+        this.quantizer = quantizer;
+        this.originals = originals;
+        this.kernel = kernel;
+        this.codeSize = quantizer.codeSize();
+    }
+
+    public VectorQuantizer getQuantizer() {
+        return quantizer;
+    }
+
+    public boolean hasOriginals() {
+        return originals != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 힙에 있는 코드와 코드북 크기 (바이트)
+     */
+    public long memoryBytes() {
+        return (long) size * codeSize + quantizer.tableBytes();
+    }
+
+    /**
+     * 벡터를 양자화하여 추가합니다. (원본 파일이 있으면 먼저 원본을 기록)
+     * @return 행 번호
+     */
+    public int add(float[] vector) throws IOException {
+        if (vector.length != quantizer.dimension()) {
+            throw new IllegalArgumentException("vector length: " + vector.length + ", dimension: " + quantizer.dimension());
+        }
+        int row = size;
+        if (originals != null && originals.add(vector) != row) {
+            throw new IllegalStateException("원본 파일 행 번호 불일치: " + row);
+        }
+        int page = row >>> PAGE_BITS;
+        if (page == pages.length) {
+            pages = Arrays.copyOf(pages, pages.length * 2);
+        }
+        if (pages[page] == null) {
+            pages[page] = new byte[PAGE * codeSize];
+        }
+        quantizer.encode(vector, pages[page], (row & (PAGE - 1)) * codeSize);
+        size++;
+        return row;
+    }
+
+    /**
+     * 검색어와 가까운 행을 찾습니다.
+     * @param candidates 원본으로 재정렬할 ADC 상위 후보 수 (limit 보다 작거나 원본 파일이 없으면 재정렬 안 함)
+     * @param accept     결과로 허용할 행 조건 (null 이면 전체)
+     * @return 가까운 순 [행 번호]
+     */
+    public int[] search(float[] query, int limit, int candidates, IntPredicate accept) {
+        if (query.length != quantizer.dimension()) {
+            throw new IllegalArgumentException("query length: " + query.length + ", dimension: " + quantizer.dimension());
+        }
+        if (size == 0 || limit <= 0) {
+            return new int[0];
+        }
+        boolean rerank = originals != null && candidates > limit;
+        float[] table = quantizer.prepare(query);
+        TopK top = new TopK(rerank ? candidates : limit);
+        float[] scores = new float[PAGE];
+        for (int page = 0, base = 0; base < size; page++, base += PAGE) {
+            int rows = Math.min(PAGE, size - base);
+            quantizer.scores(table, pages[page], 0, rows, scores);
+            for (int i = 0; i < rows; i++) {
+                if (accept == null || accept.test(base + i)) {
+                    top.offer(base + i, scores[i]);
+                }
+            }
+        }
+        int[] found = top.drainIds();
+        if (!rerank) {
+            return found;
+        }
+        TopK exact = new TopK(limit);
+        float[] original = new float[quantizer.dimension()];
+        for (int row : found) {
+            originals.read(row, original);
+            exact.offer(row, kernel.dot(query, 0, original, 0, original.length));
+        }
+        return exact.drainIds();
+    }
+
+    /**
+     * 검색어와 행의 내적 (원본 파일이 있으면 정확한 값, 없으면 ADC 근사값)
+     */
+    public float similarity(float[] query, int row) {
+        if (originals != null) {
+            float[] original = new float[quantizer.dimension()];
+            originals.read(row, original);
+            return kernel.dot(query, 0, original, 0, original.length);
+        }
+        return quantizer.score(quantizer.prepare(query), pages[row >>> PAGE_BITS], (row & (PAGE - 1)) * codeSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (originals != null) {
+            originals.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package rag.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 차원별 int8 스칼라 양자화 (float 4바이트 → 1바이트)
+ * - 학습: 표본에서 차원마다 최솟값/최댓값을 구해 256 단계로 나눔 (범위 밖 값은 양 끝으로 자름)
+ * - 복원값 x ≈ offset_i + scale_i * c_i (c_i 는 -128 ~ 127)
+ * - ADC: q·x ≈ Σ q_i * offset_i + Σ (q_i * scale_i) * c_i
+ *   앞의 합은 검색어마다 한 번, 뒤의 합은 SimilarityKernel 의 float × int8 내적
+ */
+public final class ScalarQuantizer implements VectorQuantizer {
+    private final int dimension;
+    private final float[] offsets; // 코드 0 에 해당하는 값
+    private final float[] scales;
+    private final SimilarityKernel kernel;
+
+    private ScalarQuantizer(float[] offsets, float[] scales, SimilarityKernel kernel) {
+        this.dimension = offsets.length;
+        this.offsets = offsets;
+        this.scales = scales;
+        this.kernel = kernel;
+    }
+
+    /**
+     * @param sample 학습용 벡터 (비어 있으면 [-1, 1] 범위로 가정)
+     */
+    public static ScalarQuantizer train(List<float[]> sample, int dimension) {
+        return train(sample, dimension, SimilarityKernels.get());
+    }
+
+    public static ScalarQuantizer train(List<float[]> sample, int dimension, SimilarityKernel kernel) {
+        float[] min = new float[dimension];
+        float[] max = new float[dimension];
+        if (sample.isEmpty()) {
+            Arrays.fill(min, -1f);
+            Arrays.fill(max, 1f);
+        } else {
+            Arrays.fill(min, Float.MAX_VALUE);
+            Arrays.fill(max, -Float.MAX_VALUE);
+        }
+        for (float[] vector : sample) {
+            if (vector.length != dimension) {
+                throw new IllegalArgumentException("vector length: " + vector.length + ", dimension: " + dimension);
+            }
+            for (int i = 0; i < dimension; i++) {
+                min[i] = Math.min(min[i], vector[i]);
+                max[i] = Math.max(max[i], vector[i]);
+            }
+        }
+        float[] offsets = new float[dimension];
+        float[] scales = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            float scale = (max[i] - min[i]) / 255f;
+            scales[i] = scale > 0 ? scale : 1e-9f;
+            offsets[i] = min[i] + 128 * scales[i];
+        }
+        return new ScalarQuantizer(offsets, scales, kernel);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public int codeSize() {
+        return dimension;
+    }
+
+    @Override
+    public long tableBytes() {
+        return 8L * dimension;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        for (int i = 0; i < dimension; i++) {
+            int code = Math.round((vector[i] - offsets[i]) / scales[i]);
+            codes[offset + i] = (byte) Math.max(-128, Math.min(127, code));
+        }
+    }
+
+    /**
+     * @return [Σ q_i * offset_i, q_0 * scale_0, q_1 * scale_1, ...]
+     */
+    @Override
+    public float[] prepare(float[] query) {
+        float[] table = new float[dimension + 1];
+        float base = 0;
+        for (int i = 0; i < dimension; i++) {
+            base += query[i] * offsets[i];
+            table[i + 1] = query[i] * scales[i];
+        }
+        table[0] = base;
+        return table;
+    }
+
+    @Override
+    public float score(float[] table, byte[] codes, int offset) {
+        return table[0] + kernel.dot(table, 1, codes, offset, dimension);
+    }
+
+    @Override
+    public String name() {
+        return "int8";
+    }
+}
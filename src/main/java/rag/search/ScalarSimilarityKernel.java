@@ -0,0 +1,53 @@
+package rag.search;
+
+/**
+ * 일반 Java 반복문 커널 (jdk.incubator.vector 없이 동작하는 기본 구현)
+ * - 부분합 4개로 나눠 더하여 덧셈 의존 사슬을 줄임 (JIT 가 float 합계는 자동 벡터화하지 않음)
+ */
+final class ScalarSimilarityKernel implements SimilarityKernel {
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int bound = length & ~3; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, byte[] b, int bOffset, int length) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int bound = length & ~3; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public void dots(float[] query, float[] matrix, int offset, int rows, float[] out, int outOffset) {
+        int length = query.length;
+        for (int r = 0; r < rows; r++) {
+            out[outOffset + r] = dot(query, 0, matrix, offset + r * length, length);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,37 @@
+package rag.search;
+
+import rag.model.Document;
+
+/**
+ * 로컬 검색 결과 한 건
+ * - index 는 검색한 문서 목록(스냅샷)에서의 위치
+ * - 점수는 검색기마다 척도가 다르므로 같은 검색기의 결과끼리만 비교
+ */
+public final class SearchHit {
+    private final int index;
+    private final Document document;
+    private final float score;
+
+    public SearchHit(int index, Document document, float score) {
+        this.index = index;
+        this.document = document;
+        this.score = score;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{" + (document != null ? document.path : null) + ", score=" + score + "}";
+    }
+}
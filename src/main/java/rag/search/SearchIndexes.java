@@ -0,0 +1,384 @@
+package rag.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rag.config.VectorQuantization;
+import rag.model.Document;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+import static rag.config.SearchConfig.CHOSEONG_INDEX;
+import static rag.config.SearchConfig.VECTOR_DIMENSION;
+import static rag.config.SearchConfig.VECTOR_INDEX;
+import static rag.config.SearchConfig.VECTOR_PQ_SUBSPACES;
+import static rag.config.SearchConfig.VECTOR_QUANTIZATION;
+import static rag.config.SearchConfig.VECTOR_RERANK;
+
+/**
+ * 문서 목록(스냅샷) 하나에 대한 로컬 검색 색인 모음
+ * - 새 목록이 요청되면 BM25/trigram 색인을 백그라운드 스레드(search-index)에서 만들고,
+ *   그동안은 직전에 완성된 색인 + 차이분(Bridge)으로 답함 (검색 스레드에서 색인을 다시 만들지 않음)
+ * - 가장 최근에 요청한 목록과 가장 최근에 완성된 목록의 색인 모음만 유지
+ * - 목록은 참조(동일 객체)로 구분하므로 같은 스냅샷의 getDocuments() 는 같은 색인을 공유
+ * - 벡터 색인만은 스냅샷이 바뀌어도 하나를 계속 사용하며, 백그라운드에서 새 경로만 추가 (VectorIndex.sync)
+ */
+public final class SearchIndexes {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexes.class);
+
+    private static volatile SearchIndexes current;
+    // 전체 색인이 완성된 가장 최근 목록 (새 목록의 색인이 준비될 때까지 이 색인으로 답함)
+    private static volatile SearchIndexes ready;
+    private static final AtomicLong sequences = new AtomicLong();
+    private static volatile List<Document> prepareRequested;
+    private static final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 벡터 색인 (VECTOR_INDEX 일 때만 생성), 목록과 맞추는 작업은 백그라운드 스레드 하나에서 차례로 수행
+    private static VectorIndex vectorIndex;
+    private static ExecutorService vectorSync;
+    private static List<Document> vectorSyncRequested;
+
+    private final List<Document> documents;
+    private final long sequence = sequences.incrementAndGet();
+    private volatile LexicalIndex lexical;
+    private volatile FuzzyIndex fuzzy;
+    private volatile Bridge bridge;
+    // 전체 색인이나 Bridge 가 준비되면 완료 (검색은 이때까지만 기다림)
+    private final CompletableFuture<Void> usable = new CompletableFuture<>();
+
+    private SearchIndexes(List<Document> documents) {
+        this.documents = documents;
+    }
+
+    /**
+     * 문서 목록의 색인 모음을 반환합니다. 직전과 다른 목록이면 새로 만들고 백그라운드 색인 생성을 예약합니다.
+     */
+    public static SearchIndexes of(List<Document> documents) {
+        SearchIndexes indexes = current;
+        if (indexes == null || indexes.documents != documents) {
+            synchronized (SearchIndexes.class) {
+                indexes = current;
+                if (indexes == null || indexes.documents != documents) {
+                    SearchIndexes latest = ready;
+                    if (latest != null && latest.documents == documents) {
+                        indexes = latest;
+                    } else {
+                        SearchIndexes created = new SearchIndexes(documents);
+                        builder.execute(created::build);
+                        indexes = created;
+                    }
+                    current = indexes;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 문서 목록의 색인을 검색 전에 미리 만들도록 예약합니다. (스냅샷 발행 시 호출)
+     * 발행이 몰리면 예약 작업이 실행될 때 가장 마지막 목록만 만듦
+     */
+    public static void prepare(List<Document> documents) {
+        prepareRequested = documents;
+        builder.execute(() -> {
+            if (prepareRequested == documents) {
+                of(documents);
+            }
+        });
+    }
+
+    public List<Document> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * 파일명/경로 BM25 검색
+     * 이 목록의 색인이 아직 없으면 직전 색인 + 차이분으로 답하며, 둘 다 없을 때(처음 한 번)만 생성을 기다림
+     * @param filter 결과로 허용할 문서 위치 조건 (null 이면 전체)
+     */
+    public List<SearchHit> searchLexical(String query, int limit, IntPredicate filter) {
+        LexicalIndex index = lexical;
+        if (index != null) {
+            return index.search(query, limit, filter);
+        }
+        usable.join();
+        Bridge pending = bridge;
+        index = lexical;
+        return index != null ? index.search(query, limit, filter)
+                : pending.searchLexical(query, limit, filter);
+    }
+
+    /**
+     * 오타 허용 파일명 검색 (색인이 준비되지 않았을 때는 searchLexical 과 같이 처리)
+     */
+    public List<SearchHit> searchFuzzy(String query, int limit, IntPredicate filter) {
+        FuzzyIndex index = fuzzy;
+        if (index != null) {
+            return index.search(query, limit, filter);
+        }
+        usable.join();
+        Bridge pending = bridge;
+        index = fuzzy;
+        return index != null ? index.search(query, limit, filter)
+                : pending.searchFuzzy(query, limit, filter);
+    }
+
+    /**
+     * 파일명/경로 BM25 색인 (한글 bigram 분석)
+     * 백그라운드 생성이 끝나지 않았으면 호출한 스레드에서 만듦 (검색에는 searchLexical 사용)
+     */
+    public LexicalIndex lexical() {
+        LexicalIndex index = lexical;
+        if (index == null) {
+            buildAll();
+            index = lexical;
+        }
+        return index;
+    }
+
+    /**
+     * 오타 허용 파일명 trigram 색인 (검색에는 searchFuzzy 사용)
+     */
+    public FuzzyIndex fuzzy() {
+        FuzzyIndex index = fuzzy;
+        if (index == null) {
+            buildAll();
+            index = fuzzy;
+        }
+        return index;
+    }
+
+    // 백그라운드 색인 생성: 직전 색인과의 차이분을 먼저 만들어 바로 검색할 수 있게 한 뒤 전체 색인 생성
+    // 그 사이 더 새로운 목록이 요청되었으면 차이분만 만들고 전체 색인은 건너뜀
+    private void build() {
+        try {
+            SearchIndexes base = ready;
+            if (base != null) {
+                long start = System.currentTimeMillis();
+                bridge = Bridge.between(base, documents);
+                if (bridge != null) {
+                    usable.complete(null);
+                    logger.debug("검색 색인 차이분 생성: 새 문서 {}개, {}ms", bridge.deltaPositions.length,
+                            System.currentTimeMillis() - start);
+                }
+            }
+            if (bridge != null && current != this) {
+                return;
+            }
+            buildAll();
+        } catch (RuntimeException e) {
+            logger.error("검색 색인 생성 실패: {}", e.toString());
+            usable.completeExceptionally(e);
+        }
+    }
+
+    private synchronized void buildAll() {
+        if (lexical == null) {
+            long start = System.currentTimeMillis();
+            LexicalIndex index = LexicalIndex.build(documents, new KoreanAnalyzer(CHOSEONG_INDEX));
+            logger.info("BM25 색인 생성: 문서 {}개, 토큰 {}개, {}ms", index.documentCount(), index.termCount(),
+                    System.currentTimeMillis() - start);
+            lexical = index;
+        }
+        if (fuzzy == null) {
+            long start = System.currentTimeMillis();
+            FuzzyIndex index = FuzzyIndex.build(documents);
+            logger.info("trigram 색인 생성: 문서 {}개, 파일명 {}개, trigram {}개, {}ms", index.documentCount(),
+                    index.nameCount(), index.gramCount(), System.currentTimeMillis() - start);
+            fuzzy = index;
+        }
+        bridge = null;
+        usable.complete(null);
+        synchronized (SearchIndexes.class) {
+            if (ready == null || ready.sequence < sequence) {
+                ready = this;
+            }
+        }
+    }
+
+    /**
+     * 파일명 벡터 근사 최근접 색인
+     * 이 목록과 아직 맞춰지지 않았으면 백그라운드에서 맞추기를 요청하고 null 을 반환 (검색을 기다리게 하지 않음)
+     * @return 사용할 수 없으면 null (설정에서 끈 경우 포함)
+     */
+    public VectorIndex vector() {
+        if (!VECTOR_INDEX) {
+            return null;
+        }
+        VectorIndex index;
+        synchronized (SearchIndexes.class) {
+            if (vectorIndex == null) {
+                vectorIndex = createVectorIndex();
+                vectorSync = Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, "vector-index");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+            }
+            index = vectorIndex;
+            if (index.isSyncedWith(documents)) {
+                return index;
+            }
+            if (vectorSyncRequested != documents) {
+                vectorSyncRequested = documents;
+                List<Document> target = documents;
+                vectorSync.execute(() -> syncVector(index, target));
+            }
+        }
+        return null;
+    }
+
+    private static VectorIndex createVectorIndex() {
+        Path originals = null;
+        if (VECTOR_QUANTIZATION != VectorQuantization.NONE && VECTOR_RERANK) {
+            try {
+                originals = Files.createTempFile("rag-vectors", ".f32");
+                originals.toFile().deleteOnExit();
+            } catch (IOException e) {
+                logger.warn("원본 벡터 파일 생성 실패, 재정렬 없이 사용: {}", e.getMessage());
+            }
+        }
+        logger.info("벡터 색인: {}차원, 양자화 {}, 재정렬 {}", VECTOR_DIMENSION, VECTOR_QUANTIZATION,
+                originals != null ? originals : "없음");
+        return new VectorIndex(VECTOR_DIMENSION, VECTOR_QUANTIZATION, VECTOR_PQ_SUBSPACES, originals);
+    }
+
+    private static void syncVector(VectorIndex index, List<Document> target) {
+        synchronized (SearchIndexes.class) {
+            if (vectorSyncRequested != target) {
+                return; // 그 사이 더 새로운 목록이 요청됨
+            }
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int added = index.sync(target);
+            logger.info("벡터 색인 갱신: 문서 {}개, 새로 추가 {}개, 전체 노드 {}개 (목록에 없음 {}개), 벡터 {}KB, {}ms",
+                    target.size(), added, index.nodeCount(), index.tombstoneCount(), index.vectorBytes() / 1024,
+                    System.currentTimeMillis() - start);
+        } catch (UncheckedIOException e) {
+            logger.error("벡터 색인 갱신 실패: {}", e.getMessage());
+            synchronized (SearchIndexes.class) {
+                if (vectorSyncRequested == target) {
+                    vectorSyncRequested = null; // 다음 검색에서 다시 요청
+                }
+            }
+        }
+    }
+
+    private interface Retriever {
+        List<SearchHit> search(String query, int limit, IntPredicate filter);
+    }
+
+    /**
+     * 직전에 완성된 색인으로 새 목록을 검색하기 위한 차이 정보
+     * - 직전 목록 위치 → 새 목록 위치 (경로로 대응, 사라진 문서는 -1)
+     * - 새 목록에만 있는 문서는 작은 색인(delta)을 따로 만들어 함께 검색하고 점수 순으로 합침
+     *   (BM25 점수는 색인마다 idf 가 조금 달라 근사치이며, 전체 색인이 완성되면 교체됨)
+     */
+    static final class Bridge {
+        private final SearchIndexes base;
+        private final List<Document> documents;
+        private final int[] remap;
+        private final int[] deltaPositions;
+        private final LexicalIndex deltaLexical;
+        private final FuzzyIndex deltaFuzzy;
+
+        private Bridge(SearchIndexes base, List<Document> documents, int[] remap, int[] deltaPositions,
+                       List<Document> delta) {
+            this.base = base;
+            this.documents = documents;
+            this.remap = remap;
+            this.deltaPositions = deltaPositions;
+            this.deltaLexical = delta.isEmpty() ? null : LexicalIndex.build(delta, new KoreanAnalyzer(CHOSEONG_INDEX));
+            this.deltaFuzzy = delta.isEmpty() ? null : FuzzyIndex.build(delta);
+        }
+
+        /**
+         * @param base 전체 색인이 완성된 목록
+         * @return 새 목록의 절반 넘게 새 문서라 전체 색인을 기다리는 편이 나으면 null
+         */
+        static Bridge between(SearchIndexes base, List<Document> documents) {
+            Map<String, Integer> positions = new HashMap<>(documents.size() * 4 / 3 + 1);
+            for (int i = 0; i < documents.size(); i++) {
+                Document doc = documents.get(i);
+                if (doc != null) {
+                    positions.put(doc.path, i);
+                }
+            }
+            List<Document> baseDocuments = base.documents;
+            int[] remap = new int[baseDocuments.size()];
+            boolean[] covered = new boolean[documents.size()];
+            for (int i = 0; i < remap.length; i++) {
+                Document doc = baseDocuments.get(i);
+                Integer position = doc != null ? positions.get(doc.path) : null;
+                remap[i] = position != null ? position : -1;
+                if (position != null) {
+                    covered[position] = true;
+                }
+            }
+
+            List<Document> delta = new ArrayList<>();
+            int[] deltaPositions = new int[16];
+            for (int i = 0; i < covered.length; i++) {
+                Document doc = documents.get(i);
+                if (!covered[i] && doc != null) {
+                    if (delta.size() == deltaPositions.length) {
+                        deltaPositions = Arrays.copyOf(deltaPositions, delta.size() * 2);
+                    }
+                    deltaPositions[delta.size()] = i;
+                    delta.add(doc);
+                }
+            }
+            if (delta.size() > documents.size() / 2) {
+                return null;
+            }
+            return new Bridge(base, documents, remap, Arrays.copyOf(deltaPositions, delta.size()), delta);
+        }
+
+        private List<SearchHit> search(Retriever baseIndex, Retriever deltaIndex, String query, int limit, IntPredicate filter) {
+            List<SearchHit> merged = new ArrayList<>();
+            IntPredicate baseFilter = position -> remap[position] >= 0 && (filter == null || filter.test(remap[position]));
+            for (SearchHit hit : baseIndex.search(query, limit, baseFilter)) {
+                int position = remap[hit.getIndex()];
+                merged.add(new SearchHit(position, documents.get(position), hit.getScore()));
+            }
+            if (deltaIndex != null) {
+                IntPredicate deltaFilter = filter == null ? null : position -> filter.test(deltaPositions[position]);
+                for (SearchHit hit : deltaIndex.search(query, limit, deltaFilter)) {
+                    int position = deltaPositions[hit.getIndex()];
+                    merged.add(new SearchHit(position, documents.get(position), hit.getScore()));
+                }
+            }
+            merged.sort((a, b) -> {
+                int order = Float.compare(b.getScore(), a.getScore());
+                return order != 0 ? order : Integer.compare(a.getIndex(), b.getIndex());
+            });
+            return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+        }
+
+        List<SearchHit> searchLexical(String query, int limit, IntPredicate filter) {
+            return search(base.lexical::search, deltaLexical != null ? deltaLexical::search : null, query, limit, filter);
+        }
+
+        List<SearchHit> searchFuzzy(String query, int limit, IntPredicate filter) {
+            return search(base.fuzzy::search, deltaFuzzy != null ? deltaFuzzy::search : null, query, limit, filter);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package rag.search;
+
+/**
+ * 벡터 유사도(내적) 계산 커널
+ * - 벡터는 float[] (또는 int8 양자화된 byte[]) 안의 연속 구간 (오프셋 + 길이), 여러 벡터는 행 단위로 이어 붙인 배열
+ * - 구현: ScalarSimilarityKernel (항상 사용 가능), VectorSimilarityKernel (jdk.incubator.vector SIMD)
+ * - 사용할 구현은 SimilarityKernels.get() 으로 얻음
+ */
+public interface SimilarityKernel {
+
+    /**
+     * a[aOffset..aOffset+length) 와 b[bOffset..bOffset+length) 의 내적
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * a[aOffset..aOffset+length) 와 부호 있는 8비트 값 b[bOffset..bOffset+length) 의 내적 (int8 양자화 벡터용)
+     */
+    float dot(float[] a, int aOffset, byte[] b, int bOffset, int length);
+
+    /**
+     * 검색어 벡터와 행렬의 연속된 행들의 내적을 한 번에 계산합니다. (전수 조사용)
+     * @param query  검색어 벡터 (길이 = 행 길이)
+     * @param matrix 행을 이어 붙인 배열, offset 부터 rows 개 행
+     * @param out    결과 (out[outOffset + i] = i 번째 행과의 내적)
+     */
+    void dots(float[] query, float[] matrix, int offset, int rows, float[] out, int outOffset);
+
+    /**
+     * 구현 이름 (로그/벤치마크 표시용)
+     */
+    String name();
+}
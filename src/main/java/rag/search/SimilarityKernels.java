@@ -0,0 +1,65 @@
+package rag.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static rag.config.SearchConfig.SIMD_KERNEL;
+
+/**
+ * 실행 환경에 맞는 SimilarityKernel 선택
+ * - jdk.incubator.vector 모듈이 있으면 (실행 시 --add-modules jdk.incubator.vector) SIMD 커널을 리플렉션으로 불러옴
+ * - 모듈이 없거나, 끈 경우(-Drag.search.simd=false), 레인이 4개 미만이거나, 불러오기에 실패하면 스칼라 커널
+ */
+public final class SimilarityKernels {
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityKernels.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "rag.search.VectorSimilarityKernel";
+
+    private static final SimilarityKernel SCALAR = new ScalarSimilarityKernel();
+    private static final SimilarityKernel VECTOR = loadVector();
+    private static final SimilarityKernel DEFAULT = SIMD_KERNEL && VECTOR != null ? VECTOR : SCALAR;
+
+    private SimilarityKernels() {
+    }
+
+    /**
+     * 기본 커널 (SIMD 를 쓸 수 있으면 SIMD)
+     */
+    public static SimilarityKernel get() {
+        return DEFAULT;
+    }
+
+    public static SimilarityKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * SIMD 커널
+     * @return 사용할 수 없으면 null
+     */
+    public static SimilarityKernel vector() {
+        return VECTOR;
+    }
+
+    private static SimilarityKernel loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            logger.info("{} 모듈 없음, 스칼라 유사도 커널 사용", VECTOR_MODULE);
+            return null;
+        }
+        try {
+            Class<?> type = Class.forName(VECTOR_KERNEL);
+            int lanes = (int) type.getDeclaredMethod("lanes").invoke(null);
+            if (lanes < 4) {
+                logger.info("SIMD 레인 {}개, 스칼라 유사도 커널 사용", lanes);
+                return null;
+            }
+            SimilarityKernel kernel = (SimilarityKernel) type.getDeclaredConstructor().newInstance();
+            logger.info("SIMD 유사도 커널 사용 가능: {}", kernel.name());
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("SIMD 유사도 커널 불러오기 실패, 스칼라 커널 사용: {}", e.toString());
+            return null;
+        }
+    }
+}
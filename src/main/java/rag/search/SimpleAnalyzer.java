@@ -0,0 +1,31 @@
+package rag.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 문자/숫자가 아닌 모든 문자(공백, 경로 구분자, '_', '.', '-' 등)에서 나누고 소문자로 바꾸는 분석기
+ * 예) "/기획/2024_사업계획서_최종.hwp" → [기획, 2024, 사업계획서, 최종, hwp]
+ */
+public final class SimpleAnalyzer implements Analyzer {
+
+    @Override
+    public List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,116 @@
+package rag.search;
+
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 점수 상위 k 개만 보관하는 최소 힙 (문서 위치와 점수를 기본형 배열로 보관)
+ * - 점수가 같으면 위치가 앞선 문서를 우선
+ */
+final class TopK {
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    TopK(int limit) {
+        ids = new int[Math.max(0, limit)];
+        scores = new float[Math.max(0, limit)];
+    }
+
+    void offer(int id, float score) {
+        if (ids.length == 0) {
+            return;
+        }
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (better(id, score, ids[0], scores[0])) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * 점수 높은 순으로 꺼냅니다. (힙은 비워짐)
+     */
+    List<SearchHit> drain(List<Document> documents) {
+        SearchHit[] hits = new SearchHit[size];
+        while (size > 0) {
+            int id = ids[0];
+            float score = scores[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+            hits[size] = new SearchHit(id, documents.get(id), score);
+        }
+        List<SearchHit> result = new ArrayList<>(hits.length);
+        for (SearchHit hit : hits) {
+            result.add(hit);
+        }
+        return result;
+    }
+
+    /**
+     * 점수 높은 순으로 위치만 꺼냅니다. (힙은 비워짐)
+     */
+    int[] drainIds() {
+        int[] result = new int[size];
+        while (size > 0) {
+            result[size - 1] = ids[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return result;
+    }
+
+    // a 가 b 보다 앞서는지 (점수가 높거나, 같으면 위치가 앞섬)
+    private static boolean better(int a, float scoreA, int b, float scoreB) {
+        return scoreA > scoreB || (scoreA == scoreB && a < b);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(ids[parent], scores[parent], ids[i], scores[i])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(ids[left], scores[left], ids[right], scores[right])) {
+                worst = right;
+            }
+            if (!better(ids[i], scores[i], ids[worst], scores[worst])) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,94 @@
+package rag.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 원본(float) 벡터를 디스크 파일에 두고 메모리 매핑으로 읽는 저장소 (양자화 검색 결과 재정렬용)
+ * - 행 번호 순서로 추가만 가능, 파일은 CHUNK_BYTES 단위 매핑으로 늘어남 (2GB 넘는 파일 가능)
+ * - 내용은 힙이 아니라 OS 페이지 캐시에 있으므로 자주 읽는 행만 메모리를 차지
+ * - 검색 결과 재정렬용 임시 데이터이므로 형식 헤더 없이 행만 저장하고, 닫을 때 파일 삭제
+ * - 스레드 안전하지 않음 (QuantizedVectors 를 통해 동기화)
+ */
+public final class VectorFile implements Closeable {
+    private static final int CHUNK_BYTES = 1 << 28;
+
+    private final Path file;
+    private final int dimension;
+    private final int rowsPerChunk;
+    private final FileChannel channel;
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+    private int size;
+
+    public VectorFile(Path file, int dimension) throws IOException {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension: " + dimension);
+        }
+        this.file = file;
+        this.dimension = dimension;
+        this.rowsPerChunk = Math.max(1, CHUNK_BYTES / (dimension * Float.BYTES));
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 벡터를 다음 행으로 추가합니다.
+     * @return 행 번호
+     */
+    public int add(float[] vector) throws IOException {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("vector length: " + vector.length + ", dimension: " + dimension);
+        }
+        int row = size;
+        int chunk = row / rowsPerChunk;
+        if (chunk == chunks.size()) {
+            long position = (long) chunk * rowsPerChunk * dimension * Float.BYTES;
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                    (long) rowsPerChunk * dimension * Float.BYTES);
+            mapping.order(ByteOrder.nativeOrder());
+            chunks.add(mapping.asFloatBuffer());
+        }
+        chunks.get(chunk).put((row % rowsPerChunk) * dimension, vector);
+        size++;
+        return row;
+    }
+
+    /**
+     * 행 하나를 out 에 복사합니다.
+     */
+    public void read(int row, float[] out) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+        chunks.get(row / rowsPerChunk).get((row % rowsPerChunk) * dimension, out, 0, dimension);
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunks.clear();
+        channel.close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // 매핑이 GC 로 해제되기 전에는 지울 수 없는 OS (Windows) 에서는 종료 시 삭제
+            file.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package rag.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rag.config.VectorQuantization;
+import rag.model.Document;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+ * 파일명 벡터 근사 최근접 검색 (HashedEmbedder + HnswIndex 또는 QuantizedVectors)
+ * - 스냅샷이 바뀌어도 계속 사용하며, sync() 때마다 처음 보는 경로만 그래프에 추가 (증분 생성)
+ * - 목록에서 없어진 경로의 노드는 그래프에 남기되(tombstone) 검색 결과에서 제외하고,
+ *   전체 노드의 TOMBSTONE_RATIO 를 넘으면 현재 목록만으로 새로 만들어 교체
+ * - 노드 → 현재 목록 위치 배열로 검색 결과를 목록 위치(SearchHit.index)로 변환
+ * - 노드가 EXACT_SEARCH_NODES 이하면 그래프 대신 전수 조사 (SimilarityKernel)
+ * - 양자화(INT8/PQ)를 쓰면 그래프 없이 코드 전수 조사, 양자화기는 첫 sync 의 새 벡터 표본으로 학습
+ *   (원본 벡터 파일을 주면 상위 후보를 원본으로 재정렬)
+ * - 그래프가 스레드 안전하지 않으므로 그래프 읽기/쓰기는 lock 으로 보호
+ *   sync 는 SYNC_BATCH 건마다 잠금을 놓아 그 사이 검색이 끼어들 수 있고,
+ *   search 는 잠금을 얻지 못하면 기다리지 않고 빈 결과를 반환 (하이브리드 검색은 나머지 검색기로 합침)
+ */
+public final class VectorIndex implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(VectorIndex.class);
+
+    static final int M = 16;
+    static final int EF_CONSTRUCTION = 100;
+    static final int EF_SEARCH = 128; // 해시 n-gram 벡터 10만 건 기준 recall@10 약 0.87 (VectorSearchBenchmark)
+    static final int EXACT_SEARCH_NODES = 20_000; // 노드가 이 이하면 그래프 대신 전수 조사 (SIMD 로 1ms 이내, 재현율 1)
+    static final int TRAIN_SAMPLE = 10_000; // 양자화 학습 표본 수
+    static final int PQ_ITERATIONS = 8;
+    static final int RERANK_CANDIDATES = 100; // 원본으로 재정렬할 ADC 상위 후보 수 (limit 가 더 크면 limit * 2)
+    static final int SYNC_BATCH = 1024; // sync 가 잠금을 한 번에 잡고 추가하는 문서 수
+    static final double TOMBSTONE_RATIO = 0.5; // 목록에 없는 노드가 이 비율을 넘으면 새로 만듦
+    static final int TOMBSTONE_MIN_NODES = 1024; // 목록에 없는 노드가 이보다 적으면 비율과 관계없이 유지
+
+    private final HashedEmbedder embedder;
+    private final boolean useGraph;
+    private final VectorQuantization quantization;
+    private final int subspaces;
+    private final Path originalsFile;
+    private final ReentrantLock lock = new ReentrantLock(); // graph / quantized / positions
+    private final Object syncLock = new Object(); // sync 끼리 직렬화 (nodes, generation 도 보호)
+    private HnswIndex graph; // 양자화를 쓰면 null
+    private QuantizedVectors quantized; // 첫 sync 에서 학습 후 생성
+    private LongIdTable nodes = new LongIdTable(); // 경로 해시 → 노드 번호 (번호는 그래프 추가 순서와 같음)
+    private int generation; // 새로 만들 때마다 증가 (원본 벡터 파일 이름 구분)
+    private volatile List<Document> documents = List.of();
+    private int[] positions = new int[0]; // 노드 → 현재 목록 위치 (-1 이면 목록에 없음)
+    private volatile int tombstones;
+
+    public VectorIndex(int dimension) {
+        this(dimension, VectorQuantization.NONE, 0, null);
+    }
+
+    /**
+     * @param subspaces     PQ 부분 공간 수 (0 이면 차원 / 4)
+     * @param originalsFile 양자화할 때 원본 벡터를 둘 파일 (null 이면 재정렬 없이 근사 점수만 사용)
+     */
+    public VectorIndex(int dimension, VectorQuantization quantization, int subspaces, Path originalsFile) {
+        this.embedder = new HashedEmbedder(dimension);
+        this.quantization = quantization;
+        this.subspaces = subspaces > 0 ? subspaces : Math.max(1, dimension / 4);
+        this.originalsFile = originalsFile;
+        this.useGraph = quantization == VectorQuantization.NONE;
+        this.graph = useGraph ? newGraph() : null;
+        if (quantization == VectorQuantization.PQ && dimension % this.subspaces != 0) {
+            throw new IllegalArgumentException("dimension: " + dimension + ", subspaces: " + this.subspaces);
+        }
+    }
+
+    /**
+     * 문서 목록과 맞춥니다. 처음 보는 경로만 벡터를 만들어 그래프에 추가합니다.
+     * 목록에 없는 노드가 많아지면 현재 목록만으로 새로 만듭니다.
+     * @return 새로 추가한 노드 수 (새로 만들었으면 목록의 경로 수)
+     * @throws UncheckedIOException 원본 벡터 파일 쓰기 실패 (추가된 노드까지는 유지, 다음 sync 에서 이어서 추가)
+     */
+    public int sync(List<Document> documents) {
+        synchronized (syncLock) {
+            if (documents == this.documents) {
+                return 0;
+            }
+            try {
+                if (!useGraph && quantized == null) {
+                    QuantizedVectors trained = train(documents, originalsFile);
+                    lock.lock();
+                    try {
+                        quantized = trained;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+                int[] positions = new int[Math.max(16, nodeCount())];
+                Arrays.fill(positions, -1);
+                int added = 0;
+                int index = 0;
+                Iterator<Document> it = documents.iterator();
+                while (it.hasNext()) {
+                    lock.lock();
+                    try {
+                        for (int n = 0; n < SYNC_BATCH && it.hasNext(); n++) {
+                            Document doc = it.next();
+                            long key = pathKey(doc.path);
+                            int node = nodes.get(key);
+                            if (node < 0) {
+                                float[] vector = embedder.embed(doc);
+                                node = graph != null ? graph.add(vector) : quantized.add(vector);
+                                if (nodes.add(key) != node) {
+                                    throw new IllegalStateException("노드 번호 불일치: " + node);
+                                }
+                                added++;
+                            }
+                            if (node >= positions.length) {
+                                int old = positions.length;
+                                positions = Arrays.copyOf(positions, Math.max(node + 1, old * 2));
+                                Arrays.fill(positions, old, positions.length, -1);
+                            }
+                            positions[node] = index++;
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+
+                int nodeCount = nodeCount();
+                int dead = nodeCount - liveCount(positions, nodeCount);
+                if (dead >= TOMBSTONE_MIN_NODES && dead > nodeCount * TOMBSTONE_RATIO) {
+                    rebuild(documents, dead);
+                    return documents.size();
+                }
+                publish(documents, positions);
+                tombstones = dead;
+                return added;
+            } catch (IOException e) {
+                throw new UncheckedIOException("원본 벡터 파일 쓰기 실패: " + originalsFile, e);
+            }
+        }
+    }
+
+    // 현재 목록만으로 그래프(또는 양자화 저장소)를 새로 만들어 교체 (만드는 동안 검색은 기존 색인 사용)
+    private void rebuild(List<Document> documents, int dead) throws IOException {
+        long start = System.currentTimeMillis();
+        Path originals = originalsFile != null
+                ? originalsFile.resolveSibling(originalsFile.getFileName() + "." + (++generation)) : null;
+        HnswIndex rebuiltGraph = useGraph ? newGraph() : null;
+        QuantizedVectors rebuiltQuantized = useGraph ? null : train(documents, originals);
+        LongIdTable rebuiltNodes = new LongIdTable();
+        int[] positions = new int[Math.max(16, documents.size())];
+        Arrays.fill(positions, -1);
+        int index = 0;
+        for (Document doc : documents) {
+            long key = pathKey(doc.path);
+            int node = rebuiltNodes.get(key);
+            if (node < 0) {
+                float[] vector = embedder.embed(doc);
+                node = rebuiltGraph != null ? rebuiltGraph.add(vector) : rebuiltQuantized.add(vector);
+                rebuiltNodes.add(key);
+            }
+            positions[node] = index++;
+        }
+
+        QuantizedVectors old;
+        lock.lock();
+        try {
+            old = quantized;
+            graph = rebuiltGraph;
+            quantized = rebuiltQuantized;
+            this.documents = documents;
+            this.positions = positions;
+        } finally {
+            lock.unlock();
+        }
+        nodes = rebuiltNodes;
+        tombstones = 0;
+        if (old != null) {
+            old.close();
+        }
+        logger.info("벡터 색인 재생성: 목록에 없는 노드 {}개 제거, 노드 {}개, {}ms", dead, rebuiltNodes.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void publish(List<Document> documents, int[] positions) {
+        lock.lock();
+        try {
+            this.documents = documents;
+            this.positions = positions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int liveCount(int[] positions, int nodeCount) {
+        int live = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (positions[node] >= 0) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    private HnswIndex newGraph() {
+        return new HnswIndex(embedder.dimension(), M, EF_CONSTRUCTION, 42);
+    }
+
+    // 목록에서 고르게 뽑은 표본으로 양자화기 학습
+    private QuantizedVectors train(List<Document> documents, Path originalsFile) throws IOException {
+        int step = Math.max(1, documents.size() / TRAIN_SAMPLE);
+        List<float[]> sample = new ArrayList<>();
+        for (int i = 0; i < documents.size() && sample.size() < TRAIN_SAMPLE; i += step) {
+            sample.add(embedder.embed(documents.get(i)));
+        }
+        int dimension = embedder.dimension();
+        VectorQuantizer quantizer;
+        if (quantization == VectorQuantization.INT8) {
+            quantizer = ScalarQuantizer.train(sample, dimension);
+        } else {
+            if (sample.isEmpty()) {
+                sample.add(new float[dimension]);
+            }
+            quantizer = ProductQuantizer.train(sample, dimension, subspaces, PQ_ITERATIONS, 42);
+        }
+        VectorFile originals = originalsFile != null ? new VectorFile(originalsFile, dimension) : null;
+        return new QuantizedVectors(quantizer, originals);
+    }
+
+    /**
+     * 목록과 맞춰져 있는지 여부 (sync 한 목록과 같은 객체)
+     * 긴 sync 가 진행 중이어도 기다리지 않도록 동기화하지 않음
+     */
+    public boolean isSyncedWith(List<Document> documents) {
+        return this.documents == documents;
+    }
+
+    /**
+     * 검색어 벡터와 가까운 문서를 찾습니다.
+     * sync 가 잠금을 잡고 있으면 기다리지 않고 빈 결과를 반환합니다.
+     * @param documents 결과 위치의 기준 목록 (마지막으로 sync 한 목록이 아니면 빈 결과)
+     * @param filter    결과로 허용할 문서 위치 조건 (null 이면 전체)
+     * @return 유사도(코사인) 높은 순, 유사도가 0 이하인 문서는 제외
+     */
+    public List<SearchHit> search(List<Document> documents, String query, int limit, IntPredicate filter) {
+        List<SearchHit> hits = new ArrayList<>();
+        if (documents != this.documents || limit <= 0) {
+            return hits;
+        }
+        float[] vector = embedder.embed(query);
+        if (!lock.tryLock()) {
+            logger.debug("벡터 색인 갱신 중이라 벡터 검색을 건너뜁니다.");
+            return hits;
+        }
+        try {
+            if (documents != this.documents) {
+                return hits; // 잠금을 얻기 전에 다른 목록과 맞춰짐
+            }
+            int[] positions = this.positions;
+            IntPredicate accept = node -> node < positions.length && positions[node] >= 0
+                    && (filter == null || filter.test(positions[node]));
+            int[] found;
+            if (graph == null) {
+                found = quantized.search(vector, limit, Math.max(RERANK_CANDIDATES, limit * 2), accept);
+            } else if (graph.size() <= EXACT_SEARCH_NODES) {
+                found = graph.exactSearch(vector, limit, accept);
+            } else {
+                found = graph.search(vector, limit, Math.max(EF_SEARCH, limit), accept);
+            }
+            for (int node : found) {
+                float similarity = graph != null ? graph.similarity(vector, node) : quantized.similarity(vector, node);
+                if (similarity > 0) {
+                    int position = positions[node];
+                    hits.add(new SearchHit(position, documents.get(position), similarity));
+                }
+            }
+            return hits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.lock();
+        try {
+            if (graph != null) {
+                return graph.size();
+            }
+            return quantized != null ? quantized.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 목록에 없어 검색에서 제외되는 노드 수 (마지막 sync 기준)
+     */
+    public int tombstoneCount() {
+        return tombstones;
+    }
+
+    /**
+     * 힙에 있는 벡터 데이터 크기 (바이트, 그래프 이웃 목록 제외)
+     */
+    public long vectorBytes() {
+        lock.lock();
+        try {
+            if (graph != null) {
+                return (long) graph.size() * graph.dimension() * Float.BYTES;
+            }
+            return quantized != null ? quantized.memoryBytes() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public VectorQuantization quantization() {
+        return quantization;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (quantized != null) {
+                quantized.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int dimension() {
+        return embedder.dimension();
+    }
+
+    private static long pathKey(String path) {
+        long h = 0xcbf29ce484222325L;
+        if (path != null) {
+            for (int i = 0; i < path.length(); i++) {
+                h ^= path.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        }
+        return h;
+    }
+}
@@ -0,0 +1,50 @@
+package rag.search;
+
+/**
+ * 벡터 압축(양자화) 방식
+ * - encode: float 벡터 → codeSize() 바이트 코드
+ * - 검색은 비대칭 거리 계산(ADC): 검색어는 float 그대로 두고 prepare() 로 검색어별 표를 한 번 만든 뒤,
+ *   각 코드는 복원하지 않고 표로 내적 근사값을 계산
+ * - 구현: ScalarQuantizer (차원마다 int8), ProductQuantizer (부분 공간마다 중심점 번호 1바이트)
+ */
+public interface VectorQuantizer {
+
+    int dimension();
+
+    /**
+     * 벡터 하나의 코드 길이 (바이트)
+     */
+    int codeSize();
+
+    /**
+     * 학습 결과(코드북 등)가 차지하는 메모리 (바이트, 대략)
+     */
+    long tableBytes();
+
+    void encode(float[] vector, byte[] codes, int offset);
+
+    /**
+     * 검색어별 ADC 표
+     */
+    float[] prepare(float[] query);
+
+    /**
+     * codes[offset..] 에 있는 코드 하나와 검색어의 내적 근사값
+     */
+    float score(float[] table, byte[] codes, int offset);
+
+    /**
+     * 연속된 코드 count 개의 내적 근사값 (전수 조사용)
+     */
+    default void scores(float[] table, byte[] codes, int offset, int count, float[] out) {
+        int size = codeSize();
+        for (int i = 0; i < count; i++) {
+            out[i] = score(table, codes, offset + i * size);
+        }
+    }
+
+    /**
+     * 구현 이름과 설정 (로그/벤치마크 표시용)
+     */
+    String name();
+}
@@ -0,0 +1,115 @@
+package rag.search;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector SIMD 커널 (CPU 가 지원하는 가장 넓은 레인 수 사용, AVX2 8개 / AVX-512 16개)
+ * - 이 클래스는 SimilarityKernels 가 리플렉션으로만 불러옴
+ *   (모듈이 없는 실행 환경에서 다른 클래스가 링크 오류 없이 동작하도록 직접 참조 금지)
+ * - dots() 는 4개 행을 함께 계산하여 검색어 레인을 한 번만 읽음
+ * - int8 내적은 byte 레인을 float 로 변환(castShape)한 뒤 FMA
+ * - 레인 수로 나누어떨어지지 않는 꼬리는 스칼라로 계산
+ */
+final class VectorSimilarityKernel implements SimilarityKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    // float 레인 수만큼의 byte (AVX-512 16개 = 128비트), 64비트보다 좁으면 byte 내적은 스칼라
+    private static final VectorSpecies<Byte> BYTE_SPECIES = SPECIES.length() >= 8
+            ? ByteVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(SPECIES.length() * 8)) : null;
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(length);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int i = 0;
+        float sum = 0;
+        if (BYTE_SPECIES != null) {
+            int lanes = SPECIES.length();
+            int bound = SPECIES.loopBound(length);
+            FloatVector acc = FloatVector.zero(SPECIES);
+            for (; i < bound; i += lanes) {
+                FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+                FloatVector vb = (FloatVector) ByteVector.fromArray(BYTE_SPECIES, b, bOffset + i)
+                        .castShape(SPECIES, 0);
+                acc = va.fma(vb, acc);
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void dots(float[] query, float[] matrix, int offset, int rows, float[] out, int outOffset) {
+        int length = query.length;
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(length);
+        int r = 0;
+        for (; r + 4 <= rows; r += 4) {
+            int o0 = offset + r * length;
+            int o1 = o0 + length;
+            int o2 = o1 + length;
+            int o3 = o2 + length;
+            FloatVector acc0 = FloatVector.zero(SPECIES);
+            FloatVector acc1 = FloatVector.zero(SPECIES);
+            FloatVector acc2 = FloatVector.zero(SPECIES);
+            FloatVector acc3 = FloatVector.zero(SPECIES);
+            int i = 0;
+            for (; i < bound; i += lanes) {
+                FloatVector q = FloatVector.fromArray(SPECIES, query, i);
+                acc0 = q.fma(FloatVector.fromArray(SPECIES, matrix, o0 + i), acc0);
+                acc1 = q.fma(FloatVector.fromArray(SPECIES, matrix, o1 + i), acc1);
+                acc2 = q.fma(FloatVector.fromArray(SPECIES, matrix, o2 + i), acc2);
+                acc3 = q.fma(FloatVector.fromArray(SPECIES, matrix, o3 + i), acc3);
+            }
+            float s0 = acc0.reduceLanes(VectorOperators.ADD);
+            float s1 = acc1.reduceLanes(VectorOperators.ADD);
+            float s2 = acc2.reduceLanes(VectorOperators.ADD);
+            float s3 = acc3.reduceLanes(VectorOperators.ADD);
+            for (; i < length; i++) {
+                float q = query[i];
+                s0 += q * matrix[o0 + i];
+                s1 += q * matrix[o1 + i];
+                s2 += q * matrix[o2 + i];
+                s3 += q * matrix[o3 + i];
+            }
+            out[outOffset + r] = s0;
+            out[outOffset + r + 1] = s1;
+            out[outOffset + r + 2] = s2;
+            out[outOffset + r + 3] = s3;
+        }
+        for (; r < rows; r++) {
+            out[outOffset + r] = dot(query, 0, matrix, offset + r * length, length);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + SPECIES.length() + " lanes)";
+    }
+}
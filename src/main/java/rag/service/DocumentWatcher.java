@@ -0,0 +1,295 @@
+package rag.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rag.model.Document;
+import rag.model.IndexDiff;
+import rag.util.FileUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+import static rag.config.AppConfig.CRAWL_RULES;
+import static rag.config.AppConfig.DOC_PATH;
+
+/**
+ * DOC_PATH 하위 폴더를 감시하여 인덱스를 실시간으로 갱신합니다.
+ * - 폴더마다 WatchService 에 등록 (FileUtils.MAX_DEPTHS 까지)
+ * - 이벤트가 몰리면 DEBOUNCE_MILLIS 동안 모아서 한 번에 반영
+ * - OVERFLOW 발생 시 해당 폴더 하위만 재탐색
+ */
+public class DocumentWatcher implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentWatcher.class);
+
+    private static final long DEBOUNCE_MILLIS = 500;
+    private static final long MAX_DELAY_MILLIS = 5_000; // 이벤트가 계속 들어와도 이 시간 안에는 반영
+
+    private static DocumentWatcher current;
+
+    private final Path root;
+    private final String rootPath;
+    private final String indexName;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    // 아래 필드는 this 로 동기화
+    private final Map<Path, WatchEvent.Kind<?>> pending = new LinkedHashMap<>();
+    private final Set<Path> rescans = new LinkedHashSet<>();
+    private ScheduledFuture<?> flushTask;
+    private long firstPendingAt;
+
+    private Thread pollThread;
+
+    private DocumentWatcher(String indexName) throws IOException {
+        this.rootPath = DOC_PATH;
+        this.root = Paths.get(DOC_PATH);
+        this.indexName = indexName;
+        this.watchService = root.getFileSystem().newWatchService();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "document-watcher-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 현재 DOC_PATH 감시를 시작합니다. 이미 감시 중이면 기존 감시를 중지하고 새로 시작합니다.
+     * @param indexName 변경분을 저장할 인덱스 이름
+     */
+    public static synchronized void watch(String indexName) {
+        stopWatching();
+        try {
+            DocumentWatcher watcher = new DocumentWatcher(indexName);
+            watcher.start();
+            current = watcher;
+        } catch (IOException e) {
+            logger.error("파일 감시 시작 실패: {}", DOC_PATH, e);
+        }
+    }
+
+    public static synchronized void stopWatching() {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private void start() throws IOException {
+        int count = registerTree(root);
+        logger.info("파일 감시 시작: {} ({}개 폴더)", root, count);
+
+        pollThread = new Thread(this::pollLoop, "document-watcher");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    // dir 하위 폴더를 MAX_DEPTHS 까지 등록
+    // (walkFileTree 는 maxDepth 깊이의 폴더를 preVisitDirectory 없이 파일처럼 방문하므로 한 단계 더 내려감)
+    private int registerTree(Path dir) throws IOException {
+        int start = depthOf(dir);
+        if (start > FileUtils.MAX_DEPTHS) {
+            return 0;
+        }
+        int[] count = {0};
+        Files.walkFileTree(dir, EnumSet.noneOf(FileVisitOption.class), FileUtils.MAX_DEPTHS - start + 1,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) {
+                        // 탐색(FileUtils.scanFolder)과 같이 숨김 폴더는 제외
+                        if (!d.equals(root) && FileUtils.isHidden(d.getFileName().toString(), attrs)
+                                || CRAWL_RULES.stateOf(relativize(d)) == null) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        try {
+                            keys.put(d.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), d);
+                            count[0]++;
+                        } catch (IOException e) {
+                            logger.warn("폴더 감시 등록 실패: {}", d, e);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        return count[0];
+    }
+
+    private void pollLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                Path dir = keys.get(key);
+                List<Path> created = new ArrayList<>();
+                if (dir != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        onEvent(dir, event, created);
+                    }
+                }
+                // 새 폴더 등록은 하위 폴더를 탐색하므로 잠금 밖에서 처리
+                for (Path folder : created) {
+                    registerFolder(folder);
+                }
+                if (!key.reset()) {
+                    keys.remove(key); // 폴더가 삭제됨
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // close() 호출로 종료
+        }
+    }
+
+    // created: 감시에 등록할 새 폴더가 추가됨
+    private synchronized void onEvent(Path dir, WatchEvent<?> event, List<Path> created) {
+        WatchEvent.Kind<?> kind = event.kind();
+        if (kind == OVERFLOW) {
+            logger.warn("감시 이벤트 유실(OVERFLOW), 하위 폴더 재탐색: {}", dir);
+            rescans.add(dir);
+        } else {
+            Path child = dir.resolve((Path) event.context());
+            BasicFileAttributes attrs = kind == ENTRY_CREATE ? attributesOf(child) : null;
+            if (attrs != null && attrs.isDirectory()) {
+                if (!FileUtils.isHidden(child.getFileName().toString(), attrs)
+                        && CRAWL_RULES.stateOf(relativize(child)) != null) {
+                    created.add(child);
+                }
+                return;
+            }
+            pending.put(child, kind); // 같은 경로는 마지막 이벤트만 유지
+        }
+        scheduleFlush();
+    }
+
+    // 링크를 따라가지 않은 속성 (그 사이 삭제되었으면 null)
+    private static BasicFileAttributes attributesOf(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void registerFolder(Path folder) {
+        try {
+            registerTree(folder);
+        } catch (IOException e) {
+            logger.warn("새 폴더 감시 등록 실패: {}", folder, e);
+        }
+        // 등록 전에 생긴 파일까지 반영하기 위해 재탐색
+        synchronized (this) {
+            rescans.add(folder);
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        long now = System.currentTimeMillis();
+        if (flushTask == null) {
+            firstPendingAt = now;
+        } else {
+            flushTask.cancel(false);
+        }
+        long delay = Math.min(DEBOUNCE_MILLIS, Math.max(0, firstPendingAt + MAX_DELAY_MILLIS - now));
+        flushTask = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        Map<Path, WatchEvent.Kind<?>> events;
+        Set<Path> folders;
+        synchronized (this) {
+            events = new LinkedHashMap<>(pending);
+            folders = new LinkedHashSet<>(rescans);
+            pending.clear();
+            rescans.clear();
+            flushTask = null;
+        }
+        if (events.isEmpty() && folders.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<String> removedPaths = new HashSet<>();
+            List<String> removedFolders = new ArrayList<>();
+            List<Document> upserts = new ArrayList<>();
+
+            for (Map.Entry<Path, WatchEvent.Kind<?>> entry : events.entrySet()) {
+                Path path = entry.getKey();
+                String relative = relativize(path);
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attrs.isRegularFile() && CRAWL_RULES.acceptsPath(relative)) {
+                        upserts.add(new Document(path.getFileName().toString(), relative, attrs.size(),
+                                attrs.lastModifiedTime().toMillis()));
+                    }
+                } catch (NoSuchFileException e) {
+                    // 삭제(또는 이름 변경 전 경로) - 파일이면 그 문서, 폴더면 하위 문서 전체 제거
+                    removedPaths.add(relative);
+                    removedFolders.add(relative);
+                }
+            }
+
+            for (Path folder : folders) {
+                removedFolders.add(relativize(folder));
+                upserts.addAll(rescan(folder));
+            }
+
+            IndexDiff diff = IndexService.applyChanges(indexName, removedPaths, removedFolders, upserts);
+            logger.debug("감시 이벤트 {}건, 재탐색 {}건 반영: {}", events.size(), folders.size(), diff.summary());
+        } catch (Exception e) {
+            logger.error("감시 이벤트 반영 실패", e);
+        }
+    }
+
+    // 폴더 하위를 다시 탐색하여 현재 문서 목록을 반환
+    private List<Document> rescan(Path folder) {
+        List<Document> found = new ArrayList<>();
+        if (Files.isDirectory(folder)) {
+            new FileUtils.FolderTask(folder.toFile(), depthOf(folder), null, found).invoke();
+        }
+        return found;
+    }
+
+    private String relativize(Path path) {
+        return path.toAbsolutePath().toString().substring(rootPath.length());
+    }
+
+    private int depthOf(Path dir) {
+        return dir.equals(root) ? 0 : root.relativize(dir).getNameCount();
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("파일 감시 종료 실패", e);
+        }
+        if (pollThread != null) {
+            pollThread.interrupt();
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scheduler.shutdownNow();
+        }
+        logger.info("파일 감시 종료: {}", root);
+    }
+}
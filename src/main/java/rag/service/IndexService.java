@@ -1,20 +1,35 @@
 package rag.service;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rag.config.CrawlMode;
 import rag.config.DataType;
+import rag.exception.IndexException;
+import rag.index.IndexMetadata;
+import rag.index.IndexStore;
+import rag.index.JsonIndexReader;
+import rag.index.JsonIndexWriter;
+import rag.index.MappedIndex;
 import rag.model.CallBack;
+import rag.model.CompactDocumentStore;
 import rag.model.Document;
+import rag.model.IndexDiff;
+import rag.model.IndexSnapshot;
+import rag.search.SearchIndexes;
 import rag.util.FileUtils;
+import rag.util.IoCrawler;
 
 import java.io.*;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 
 import static rag.config.AppConfig.*;
 
@@ -25,19 +40,41 @@ public class IndexService {
     private static final String sysPath = System.getProperty("user.dir") + File.separator + "temp";
     private static final File folder = new File(sysPath);
 
+    private static volatile boolean revalidating;
+
+    static {
+        // 새 스냅샷이 발행되면 로컬 검색 색인을 백그라운드에서 미리 생성 (검색 스레드가 색인 생성을 기다리지 않도록)
+        DOCUMENTS.addPublishListener(snapshot -> SearchIndexes.prepare(snapshot.getDocuments()));
+    }
+
     public static String buildIndex(String path, CallBack func) {
         getDocuments(func);
         return saveIndex(path);
     }
 
-    // 문서 인덱싱 시작
+    // 문서 인덱싱 시작 (탐색하는 동안 검색은 기존 스냅샷을 사용하고, 완료 후 한 번에 교체)
     public static void getDocuments(CallBack func) {
+        List<Document> scanned = scanDocuments(func);
+        DOCUMENTS.publish(scanned);
+    }
+
+    // DOC_PATH 전체를 탐색하여 새 문서 목록을 반환 (DOCUMENTS는 건드리지 않음)
+    public static List<Document> scanDocuments(CallBack func) {
+        if (CRAWL_MODE == CrawlMode.VIRTUAL_THREAD) {
+            try {
+                return new IoCrawler(MAX_OPEN_DIRS, func).crawl(new File(DOC_PATH));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("문서 탐색이 중단되었습니다.");
+                return new ArrayList<>();
+            }
+        }
+
+        List<Document> scanned = new ArrayList<>();
         ForkJoinPool pool = null;
         try {
-            DOCUMENTS.clear();
-
             pool = new ForkJoinPool(MAX_WORKER);
-            pool.invoke(new FileUtils.FolderTask(new File(DOC_PATH), 0, func));
+            pool.invoke(new FileUtils.FolderTask(new File(DOC_PATH), 0, func, scanned));
         } finally {
             if (pool != null) {
                 pool.shutdown();
@@ -53,6 +90,395 @@ public class IndexService {
                 }
             }
         }
+        return scanned;
+    }
+
+    /**
+     * 저장된 인덱스를 바로 열어 검색할 수 있게 하고, 디스크와의 비교는 백그라운드에서 진행합니다. (stale-while-revalidate)
+     * - 헤더의 탐색 조건이 맞으면 열기만 하고 반환 (메모리 매핑이므로 문서 수와 무관하게 빠름)
+     *   꺼져 있는 동안 바뀐 파일은 낮은 우선순위 스레드에서 다시 탐색하여 새 스냅샷으로 교체
+     * - 쓸 수 있는 인덱스가 없으면 검색할 문서가 없으므로 이 자리에서 구축(또는 증분 갱신)
+     *
+     * @param path      인덱스 이름
+     * @param func      진행 상황 콜백 (이 자리에서 구축할 때만 사용)
+     * @param afterSync 인덱스가 디스크와 맞춰진 뒤 실행할 작업 (파일 감시 시작 등)
+     *                  백그라운드 갱신을 시작했으면 갱신이 끝난 뒤 그 스레드에서 실행
+     * @return 처리 결과 메시지
+     */
+    public static String openIndex(String path, CallBack func, Runnable afterSync) {
+        if (path == null || path.trim().isEmpty()) {
+            return "인덱스 열기 실패: 경로가 비어있습니다.";
+        }
+
+        String result;
+        if (hasIndex(path) && checkMetadata(path) == null) {
+            // 저장된 인덱스를 읽지 못해 새로 구축했으면 이미 디스크와 맞춰졌으므로 다시 탐색하지 않음
+            // 매핑한 인덱스의 체크섬은 따로 검증하지 않고 백그라운드 갱신에서 탐색 결과를 반영하기 전에 검증
+            MappedIndex[] mapped = new MappedIndex[1];
+            boolean loaded = loadIndex(path, func, (index, published) -> mapped[0] = index);
+            IndexSnapshot served = DOCUMENTS.snapshot();
+            if (loaded && !served.getDocuments().isEmpty()) {
+                revalidateInBackground(path, served, mapped[0], afterSync);
+                return "저장된 인덱스로 시작 (" + served.size() + "개 문서, 백그라운드에서 갱신 확인 중)";
+            }
+            result = (loaded ? "인덱스 로드 완료 (" : "인덱스를 읽을 수 없어 새로 구축 완료 (") + DOCUMENTS.size() + "개 문서)";
+        } else {
+            result = hasIndex(path) ? updateIndex(path, func) : buildIndex(path, func);
+        }
+        afterSync.run();
+        return result;
+    }
+
+    // 지금 검색에 쓰는 스냅샷(served)을 기준으로 다시 탐색하여 변경분만 반영
+    private static void revalidateInBackground(String path, IndexSnapshot served, MappedIndex mapped,
+                                               Runnable afterSync) {
+        Thread thread = new Thread(() -> {
+            revalidating = true;
+            long start = System.currentTimeMillis();
+            try {
+                logger.info("백그라운드 갱신 완료 ({}ms): {}", System.currentTimeMillis() - start, revalidate(path, served, mapped));
+            } catch (RuntimeException e) {
+                logger.error("백그라운드 갱신 실패 (저장된 인덱스로 계속 검색합니다)", e);
+            } finally {
+                revalidating = false;
+            }
+            afterSync.run();
+        }, "index-revalidate");
+        // 탐색 작업 스레드는 이 스레드에서 만들어지므로 낮은 우선순위를 그대로 이어받음
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // mapped: 검증하지 않고 발행한 매핑 인덱스 (없으면 null)
+    // 손상되었으면 기존 목록과 비교하지 않고 탐색 결과를 그대로 발행한 뒤 전체 저장 (손상된 세그먼트 위에 기록을 쌓지 않음)
+    private static String revalidate(String path, IndexSnapshot served, MappedIndex mapped) {
+        boolean intact = true;
+        if (mapped != null) {
+            try {
+                mapped.verifyChecksum();
+                logger.debug("인덱스 체크섬 확인 완료: {}", mapped.getFile());
+            } catch (IndexException e) {
+                logger.error("인덱스 파일 오류: {}", e.getUserMessage());
+                intact = false;
+            }
+        }
+
+        List<Document> current = scanDocuments(null);
+        List<Document> merged = intact ? new ArrayList<>(current.size()) : current;
+        IndexDiff diff = intact ? computeDiff(served.getDocuments(), current, merged) : null;
+
+        synchronized (DOCUMENTS) {
+            // 그 사이 경로 변경/재구축 등으로 다른 스냅샷이 발행되었으면 결과를 버림
+            if (DOCUMENTS.snapshot() != served) {
+                return "다른 인덱스가 발행되어 갱신 결과를 버립니다.";
+            }
+            DOCUMENTS.publish(merged);
+        }
+
+        if (!intact) {
+            return "손상된 인덱스를 새로 저장: " + saveIndex(path);
+        }
+
+        if (diff.isEmpty()) {
+            touchIndex(path);
+            return "인덱스 최신 상태 (" + merged.size() + "개 문서)";
+        }
+        return persistChanges(path, diff) + " - " + diff.summary();
+    }
+
+    /**
+     * 백그라운드 갱신이 진행 중인지 여부
+     */
+    public static boolean isRevalidating() {
+        return revalidating;
+    }
+
+    /**
+     * 인덱스가 마지막으로 디스크 내용과 맞춰진(저장된) 시각
+     * @return 인덱스가 없으면 0
+     */
+    public static long getIndexedAt(String path) {
+        if (!hasIndex(path)) {
+            return 0L;
+        }
+        File file = new File(sysPath + File.separator + path + SAVE_PATH);
+        return lastModified(path, file);
+    }
+
+    /**
+     * 기존 인덱스를 기준으로 변경된 파일만 반영합니다.
+     * 파일 크기/수정 시각이 같은 문서는 기존 객체를 그대로 재사용하며,
+     * 변경 사항이 없으면 인덱스 파일을 다시 쓰지 않습니다.
+     * 기존 인덱스를 읽을 수 없으면 전체 재구축으로 대체합니다.
+     *
+     * @param path 인덱스 이름
+     * @param func 진행 상황 콜백
+     * @return 처리 결과 메시지
+     */
+    public static String updateIndex(String path, CallBack func) {
+        if (path == null || path.trim().isEmpty()) {
+            return "인덱스 갱신 실패: 경로가 비어있습니다.";
+        }
+
+        // 탐색 조건이 바뀌었으면 변경분만 기록하지 않고 새 조건으로 전체 저장
+        boolean sameCrawl = checkMetadata(path) == null;
+
+        List<Document> previous;
+        try {
+            previous = readIndexFile(sysPath + File.separator + path + SAVE_PATH);
+        } catch (Exception e) {
+            logger.warn("기존 인덱스를 읽을 수 없어 전체 재구축합니다: {}", e.getMessage());
+            return buildIndex(path, func);
+        }
+
+        if (previous.isEmpty()) {
+            return buildIndex(path, func);
+        }
+
+        List<Document> current = scanDocuments(func);
+        List<Document> merged = new ArrayList<>(current.size());
+        IndexDiff diff = computeDiff(previous, current, merged);
+
+        DOCUMENTS.publish(merged);
+
+        logger.info("증분 인덱싱 완료: {}", diff.summary());
+        if (!sameCrawl) {
+            return saveIndex(path) + " - " + diff.summary();
+        }
+        if (diff.isEmpty()) {
+            touchIndex(path);
+            return "인덱스 최신 상태 (" + merged.size() + "개 문서, " + diff.summary() + ")";
+        }
+
+        String result = persistChanges(path, diff);
+        return result + " - " + diff.summary();
+    }
+
+    /**
+     * 이전 문서 목록과 새로 탐색한 목록을 경로 기준으로 비교합니다.
+     *
+     * @param previous 기존 인덱스의 문서 목록
+     * @param current  새로 탐색한 문서 목록
+     * @param merged   결과 문서 목록이 담길 리스트 (변경 없는 문서는 기존 객체 재사용)
+     * @return 추가/삭제/변경 내역
+     */
+    public static IndexDiff computeDiff(List<Document> previous, List<Document> current, List<Document> merged) {
+        Map<String, Document> remaining = new HashMap<>(previous.size() * 2);
+        for (Document doc : previous) {
+            if (doc != null && doc.path != null) {
+                remaining.put(doc.path, doc);
+            }
+        }
+
+        List<Document> added = new ArrayList<>();
+        List<Document> changed = new ArrayList<>();
+
+        for (Document doc : current) {
+            Document old = remaining.remove(doc.path);
+            if (old == null) {
+                added.add(doc);
+                merged.add(doc);
+            } else if (old.isUnchanged(doc)) {
+                merged.add(old);
+            } else {
+                changed.add(doc);
+                merged.add(doc);
+            }
+        }
+
+        return new IndexDiff(added, new ArrayList<>(remaining.values()), changed);
+    }
+
+    /**
+     * 파일 감시 등으로 수집된 변경분을 메모리 문서 목록과 인덱스 파일에 한 번에 반영합니다.
+     * 같은 경로가 삭제와 추가에 모두 있으면 추가(갱신)가 우선합니다.
+     *
+     * @param path           인덱스 이름
+     * @param removedPaths   삭제된 파일의 상대 경로
+     * @param removedFolders 삭제(또는 재탐색)된 폴더의 상대 경로 - 하위 문서 모두 제거
+     * @param upserts        추가되거나 변경된 문서
+     * @return 실제로 반영된 추가/삭제/변경 내역
+     */
+    public static IndexDiff applyChanges(String path, Set<String> removedPaths, List<String> removedFolders,
+                                         List<Document> upserts) {
+        Map<String, Document> pending = new HashMap<>(upserts.size() * 2);
+        for (Document doc : upserts) {
+            pending.put(doc.path, doc);
+        }
+
+        List<Document> added = new ArrayList<>();
+        List<Document> removed = new ArrayList<>();
+        List<Document> changed = new ArrayList<>();
+
+        // 다른 쓰기와 겹치지 않도록 잠근 채 현재 스냅샷에서 새 목록을 만들어 발행 (검색은 잠금 없이 기존 스냅샷 사용)
+        synchronized (DOCUMENTS) {
+            IndexSnapshot snapshot = DOCUMENTS.snapshot();
+            CompactDocumentStore store = snapshot.getCompactStore();
+            if (store != null) {
+                // 배열 저장소면 변경이 있는 폴더의 문서만 객체로 만들어 병합 (나머지는 배열 값만 복사)
+                Set<String> touched = new HashSet<>();
+                for (String changedPath : pending.keySet()) {
+                    touched.add(CompactDocumentStore.folderOf(changedPath));
+                }
+                for (String removedPath : removedPaths) {
+                    touched.add(CompactDocumentStore.folderOf(removedPath));
+                }
+                // pending.values() 는 병합 중 기존 경로가 빠진 뒤(새 경로만 남은 뒤)에 순회됨
+                CompactDocumentStore merged = store.merge(
+                        folder -> touched.contains(folder) || overlapsAny(folder, removedFolders),
+                        doc -> applyChange(doc, pending, removedPaths, removedFolders, removed, changed),
+                        pending.values());
+                added.addAll(pending.values());
+                DOCUMENTS.publish(merged);
+            } else {
+                List<Document> currentDocs = snapshot.getDocuments();
+                List<Document> kept = new ArrayList<>(currentDocs.size() + upserts.size());
+                for (Document doc : currentDocs) {
+                    Document next = applyChange(doc, pending, removedPaths, removedFolders, removed, changed);
+                    if (next != null) {
+                        kept.add(next);
+                    }
+                }
+                added.addAll(pending.values());
+                kept.addAll(added);
+                DOCUMENTS.publish(kept);
+            }
+        }
+
+        IndexDiff diff = new IndexDiff(added, removed, changed);
+        if (!diff.isEmpty()) {
+            logger.info("변경분 반영: {}", diff.summary());
+            persistChanges(path, diff);
+        }
+        return diff;
+    }
+
+    // 기존 문서 하나에 변경분 적용: 남길 문서(그대로 또는 갱신본)를 반환하고, 삭제되면 null
+    // 반영한 경로는 pending 에서 제거하므로 끝나고 남은 것이 새로 추가된 문서
+    private static Document applyChange(Document doc, Map<String, Document> pending, Set<String> removedPaths,
+                                        List<String> removedFolders, List<Document> removed, List<Document> changed) {
+        Document update = pending.remove(doc.path);
+        if (update != null) {
+            if (doc.isUnchanged(update)) {
+                return doc;
+            }
+            changed.add(update);
+            return update;
+        }
+        if (removedPaths.contains(doc.path) || isUnderFolder(doc.path, removedFolders)) {
+            removed.add(doc);
+            return null;
+        }
+        return doc;
+    }
+
+    // 폴더(끝 구분자 포함) 하위 문서 중 삭제 폴더 아래에 있을 수 있는 것이 있는지 (정확한 판정은 문서마다 다시 함)
+    private static boolean overlapsAny(String folder, List<String> removedFolders) {
+        for (String removedFolder : removedFolders) {
+            if (folder.startsWith(removedFolder) || removedFolder.startsWith(folder)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 변경분을 인덱스 파일에 반영합니다.
+     * 바이너리 형식이면 변경 기록(journal)에 변경된 문서만 추가하고, 그 외 형식이거나
+     * 기록을 추가할 수 없으면 전체를 다시 저장합니다.
+     */
+    private static String persistChanges(String path, IndexDiff diff) {
+        if (SAVE_PATH.endsWith("idx")) {
+            Path base = Paths.get(sysPath, path + SAVE_PATH);
+            List<Document> upserts = new ArrayList<>(diff.getAdded().size() + diff.getChanged().size());
+            upserts.addAll(diff.getAdded());
+            upserts.addAll(diff.getChanged());
+            List<String> deletes = new ArrayList<>(diff.getRemoved().size());
+            for (Document doc : diff.getRemoved()) {
+                deletes.add(doc.path);
+            }
+            try {
+                if (IndexStore.append(base, upserts, deletes)) {
+                    return "인덱스 변경 기록 저장 완료: " + base + " (" + DOCUMENTS.size() + "개 문서)";
+                }
+            } catch (IOException e) {
+                logger.warn("변경 기록 저장 실패, 전체 저장합니다: {}", e.getMessage());
+            }
+        }
+        return saveIndex(path);
+    }
+
+    private static boolean isUnderFolder(String docPath, List<String> folders) {
+        for (String folder : folders) {
+            if (docPath.startsWith(folder)
+                    && (docPath.length() == folder.length() || docPath.charAt(folder.length()) == File.separatorChar)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 인덱스 파일이 존재하고 비어있지 않은지 확인
+    public static boolean hasIndex(String path) {
+        if (path == null || path.trim().isEmpty()) {
+            return false;
+        }
+        File file = new File(sysPath + File.separator + path + SAVE_PATH);
+        return file.exists() && file.length() > 0;
+    }
+
+    // 변경 사항이 없을 때 파일을 다시 쓰지 않고 수정 시각만 갱신
+    private static void touchIndex(String path) {
+        File file = new File(sysPath + File.separator + path + SAVE_PATH);
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            logger.warn("인덱스 수정 시각 갱신 실패: {}", file);
+        }
+    }
+
+    // 인덱스가 마지막으로 갱신된 시각 (바이너리 형식은 변경 기록 포함)
+    private static long lastModified(String path, File file) {
+        if (SAVE_PATH.endsWith("idx")) {
+            return IndexStore.lastModified(file.toPath());
+        }
+        return file.lastModified();
+    }
+
+    // 현재 설정으로 탐색했을 때 인덱스에 기록될 조건
+    static IndexMetadata currentMetadata() {
+        String root = DOC_PATH.isEmpty() ? "" : Paths.get(DOC_PATH).toAbsolutePath().normalize().toString();
+        return new IndexMetadata(root, FileUtils.MAX_DEPTHS, CRAWL_RULES.fingerprint());
+    }
+
+    /**
+     * 인덱스 헤더만 읽어 현재 설정으로 그대로 쓸 수 있는지 확인합니다. (본문은 읽지 않음)
+     * 바이너리 형식이 아니면 헤더가 없으므로 확인하지 않습니다.
+     *
+     * @return 쓸 수 없는 이유, 쓸 수 있으면 null
+     */
+    static String checkMetadata(String path) {
+        if (!SAVE_PATH.endsWith("idx")) {
+            return null;
+        }
+        IndexMetadata stored;
+        try {
+            stored = IndexStore.readMetadata(Paths.get(sysPath, path + SAVE_PATH));
+        } catch (IndexException e) {
+            return "인덱스 헤더 오류 - " + e.getMessage();
+        } catch (IOException e) {
+            return "인덱스 헤더를 읽을 수 없음 - " + e.getMessage();
+        }
+        IndexMetadata expected = currentMetadata();
+        if (!stored.getRootPath().equals(expected.getRootPath())) {
+            return "탐색 폴더 변경 (" + stored.getRootPath() + " -> " + expected.getRootPath() + ")";
+        }
+        if (stored.getMaxDepth() != expected.getMaxDepth()) {
+            return "탐색 깊이 변경 (" + stored.getMaxDepth() + " -> " + expected.getMaxDepth() + ")";
+        }
+        if (stored.getRulesFingerprint() != expected.getRulesFingerprint()) {
+            return "탐색 규칙 변경";
+        }
+        return null;
     }
 
     public static boolean shouldRebuildIndex(String path) {
@@ -77,8 +503,15 @@ public class IndexService {
                 return true;
             }
             
-            // 1일 경과 확인
-            long indexAge = System.currentTimeMillis() - file.lastModified();
+            // 헤더로 손상/다른 형식/탐색 조건 변경 확인 (본문은 읽지 않음)
+            String mismatch = checkMetadata(path);
+            if (mismatch != null) {
+                logger.info("인덱스를 그대로 사용할 수 없습니다: {}. 재구축이 필요합니다.", mismatch);
+                return true;
+            }
+
+            // 1일 경과 확인 (오프라인 중 변경된 파일 반영, 증분 갱신)
+            long indexAge = System.currentTimeMillis() - lastModified(path, file);
             long oneDayMillis = 24 * 60 * 60 * 1000L;
             
             if (indexAge > oneDayMillis) {
@@ -102,11 +535,13 @@ public class IndexService {
             return "인덱스 저장 실패: 경로가 비어있습니다.";
         }
         
-        if (DOCUMENTS.isEmpty()) {
+        IndexSnapshot current = DOCUMENTS.snapshot();
+        List<Document> snapshot = current.getDocuments();
+        if (snapshot.isEmpty()) {
             return "인덱스 저장 실패: 저장할 문서가 없습니다.";
         }
         
-        logger.info("인덱스 생성 중... ({} 개 문서)", DOCUMENTS.size());
+        logger.info("인덱스 생성 중... ({} 개 문서)", snapshot.size());
 
         try {
             // 디렉토리 생성
@@ -121,23 +556,15 @@ public class IndexService {
             File indexFile = new File(fullPath);
 
             if (SAVE_PATH.endsWith("json")) {
-                JSONArray jsonArray = new JSONArray();
-
-                for (Document doc : DOCUMENTS) {
-                    if (doc == null) {
-                        logger.warn("null 문서가 발견되어 건너뜁니다.");
-                        continue;
+                // 문서를 하나씩 바로 기록 (JSONArray/문자열 사본을 만들지 않음)
+                try (JsonIndexWriter writer = new JsonIndexWriter(indexFile.toPath())) {
+                    for (Document doc : snapshot) {
+                        if (doc == null) {
+                            logger.warn("null 문서가 발견되어 건너뜁니다.");
+                            continue;
+                        }
+                        writer.add(doc);
                     }
-                    
-                    JSONObject jsonDoc = new JSONObject()
-                            .put("fileName", doc.fileName != null ? doc.fileName : "")
-                            .put("path", doc.path != null ? doc.path : "");
-                    jsonArray.put(jsonDoc);
-                }
-
-                try (FileWriter writer = new FileWriter(fullPath)) {
-                    writer.write(jsonArray.toString(2));
-                    writer.flush();
                 }
                 
                 // 파일 저장 확인
@@ -145,9 +572,25 @@ public class IndexService {
                     return "인덱스 저장 실패: 파일이 제대로 생성되지 않았습니다.";
                 }
                 
+            } else if (SAVE_PATH.endsWith("idx")) {
+                List<Document> documents = new ArrayList<>(snapshot);
+                documents.removeIf(doc -> doc == null);
+                if (current.isMapped()) {
+                    // 매핑된 파일을 교체하기 전에 같은 내용의 힙 스냅샷으로 전환
+                    synchronized (DOCUMENTS) {
+                        if (DOCUMENTS.snapshot() == current) {
+                            DOCUMENTS.publish(new ArrayList<>(documents));
+                        }
+                    }
+                }
+                IndexStore.write(indexFile.toPath(), documents, currentMetadata());
+
+                if (!indexFile.exists() || indexFile.length() == 0) {
+                    return "인덱스 저장 실패: 파일이 제대로 생성되지 않았습니다.";
+                }
             } else {
                 try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(fullPath))) {
-                    oos.writeObject(new ArrayList<>(DOCUMENTS));
+                    oos.writeObject(new ArrayList<>(snapshot));
                     oos.flush();
                 }
                 
@@ -156,8 +599,8 @@ public class IndexService {
                 }
             }
             
-            logger.info("인덱스 저장 완료: {} ({} 개 문서)", fullPath, DOCUMENTS.size());
-            return "인덱스 파일 저장 완료: " + fullPath + " (" + DOCUMENTS.size() + "개 문서)";
+            logger.info("인덱스 저장 완료: {} ({} 개 문서)", fullPath, snapshot.size());
+            return "인덱스 파일 저장 완료: " + fullPath + " (" + snapshot.size() + "개 문서)";
             
         } catch (IOException e) {
             logger.error("인덱스 저장 IO 오류", e);
@@ -171,12 +614,21 @@ public class IndexService {
         }
     }
 
-    // 인덱스 로드
-    @SuppressWarnings("unchecked")
-    public static void loadIndex(String path, CallBack func) {
+    /**
+     * 인덱스 로드 (읽을 수 없거나 비어 있으면 새로 구축)
+     * @return 저장된 인덱스를 그대로 발행했으면 true, 새로 구축했거나 실패했으면 false
+     */
+    public static boolean loadIndex(String path, CallBack func) {
+        return loadIndex(path, func, (index, published) -> verifyInBackground(path, index, published));
+    }
+
+    /**
+     * @param onMapped 매핑한 인덱스를 발행했을 때 호출 (체크섬 검증을 맡을 쪽에 넘김)
+     */
+    private static boolean loadIndex(String path, CallBack func, BiConsumer<MappedIndex, IndexSnapshot> onMapped) {
         if (path == null || path.trim().isEmpty()) {
             logger.error("인덱스 로드 실패: 경로가 비어있습니다.");
-            return;
+            return false;
         }
         
         logger.info("기존 인덱스 로딩 중...");
@@ -188,7 +640,7 @@ public class IndexService {
             logger.warn("인덱스 파일이 존재하지 않습니다: {}", fullPath);
             logger.info("새로운 인덱스를 생성합니다.");
             buildIndex(path, func);
-            return;
+            return false;
         }
         
         // 파일 크기 확인
@@ -196,84 +648,109 @@ public class IndexService {
             logger.warn("인덱스 파일이 비어있습니다: {}", fullPath);
             logger.info("새로운 인덱스를 생성합니다.");
             buildIndex(path, func);
-            return;
+            return false;
         }
 
         try {
-            if (SAVE_PATH.endsWith("json")) {
-                // JSON 형식 로드
-                String content = Files.readString(Paths.get(fullPath));
-                
-                if (content.trim().isEmpty()) {
-                    throw new IOException("JSON 파일이 비어있습니다.");
+            if (SAVE_PATH.endsWith("idx")) {
+                // 변경 기록이 없으면 헤더만 읽고 문서는 사용할 때 복원 (문서 수와 무관하게 바로 사용 가능)
+                List<Document> opened = IndexStore.open(indexFile.toPath());
+                boolean mapped = opened instanceof MappedIndex;
+                IndexSnapshot published = DOCUMENTS.publish(opened, mapped);
+                if (mapped) {
+                    onMapped.accept((MappedIndex) opened, published);
                 }
-                
-                JSONArray jsonArray = new JSONArray(content);
-                DOCUMENTS.clear();
-                
-                for (int i = 0; i < jsonArray.length(); i++) {
-                    try {
-                        JSONObject jsonDoc = jsonArray.getJSONObject(i);
-                        
-                        String fileName = jsonDoc.optString("fileName", "");
-                        String docPath = jsonDoc.optString("path", "");
-                        
-                        if (fileName.isEmpty() && docPath.isEmpty()) {
-                            logger.warn("빈 문서 정보가 발견되어 건너뜁니다. (인덱스: {})", i);
-                            continue;
-                        }
-                        
-                        Document doc = new Document(fileName, docPath);
-                        DOCUMENTS.add(doc);
-                        
-                    } catch (org.json.JSONException e) {
-                        logger.error("JSON 파싱 오류 (인덱스 {})", i, e);
-                    }
-                }
-                
-                logger.info("인덱스 로드 완료: {} 개 문서", DOCUMENTS.size());
-                
             } else {
-                // 직렬화 형식 로드
-                try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(fullPath))) {
-                    Object obj = ois.readObject();
-                    
-                    if (!(obj instanceof List)) {
-                        throw new IOException("인덱스 파일 형식이 올바르지 않습니다.");
-                    }
-                    
-                    List<Document> loadedDocs = (List<Document>) obj;
-                    DOCUMENTS.clear();
-                    DOCUMENTS.addAll(loadedDocs);
-                    
-                    logger.info("인덱스 로드 완료: {} 개 문서", DOCUMENTS.size());
-                }
+                DOCUMENTS.publish(readIndexFile(fullPath));
             }
-            
+            logger.info("인덱스 로드 완료: {} 개 문서", DOCUMENTS.size());
+
             // 로드 후 검증
             if (DOCUMENTS.isEmpty()) {
                 logger.warn("로드된 문서가 없습니다.");
                 logger.info("새로운 인덱스를 생성합니다.");
                 buildIndex(path, func);
+                return false;
             }
-            
+            return true;
         } catch (IOException e) {
             logger.error("인덱스 로드 IO 오류", e);
             logger.info("새로운 인덱스를 생성합니다.");
             buildIndex(path, func);
+            return false;
         } catch (ClassNotFoundException e) {
             logger.error("인덱스 로드 실패: 클래스를 찾을 수 없습니다.", e);
             logger.info("새로운 인덱스를 생성합니다.");
             buildIndex(path, func);
-        } catch (org.json.JSONException e) {
-            logger.error("JSON 파싱 오류", e);
-            logger.info("인덱스 파일이 손상되었습니다. 새로운 인덱스를 생성합니다.");
+            return false;
+        } catch (IndexException e) {
+            logger.error("인덱스 파일 오류: {}", e.getUserMessage());
+            logger.info("새로운 인덱스를 생성합니다.");
             buildIndex(path, func);
+            return false;
         } catch (Exception e) {
             logger.error("인덱스 로드 중 예외 발생", e);
             logger.info("새로운 인덱스를 생성합니다.");
             buildIndex(path, func);
+            return false;
+        }
+    }
+
+    // 매핑된 인덱스의 체크섬을 백그라운드에서 검증하고, 손상되었으면 다시 구축
+    // (재구축하는 동안에도 기존 스냅샷으로 검색하며, 완료되면 교체)
+    private static void verifyInBackground(String path, MappedIndex index, IndexSnapshot published) {
+        Thread thread = new Thread(() -> {
+            try {
+                index.verifyChecksum();
+                logger.debug("인덱스 체크섬 확인 완료: {}", index.getFile());
+            } catch (IndexException e) {
+                logger.error("인덱스 파일 오류: {}", e.getUserMessage());
+                // 그 사이 변경분이 반영되어 새 스냅샷이 발행되었으면 재구축하지 않음
+                if (DOCUMENTS.snapshot() == published) {
+                    logger.info("새로운 인덱스를 생성합니다.");
+                    buildIndex(path, null);
+                }
+            }
+        }, "index-verify");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 인덱스 파일을 읽어 문서 목록으로 반환
+    @SuppressWarnings("unchecked")
+    private static List<Document> readIndexFile(String fullPath)
+            throws IOException, ClassNotFoundException, IndexException {
+        List<Document> loadedDocs = new ArrayList<>();
+
+        if (SAVE_PATH.endsWith("idx")) {
+            // 바이너리 형식 로드 (체크섬 검증 + 변경 기록 적용)
+            return IndexStore.readAll(Paths.get(fullPath));
+        } else if (SAVE_PATH.endsWith("json")) {
+            // JSON 형식 로드 (문서 단위 스트리밍 파싱)
+            try (JsonIndexReader reader = new JsonIndexReader(Paths.get(fullPath))) {
+                Document doc;
+                for (int i = 0; (doc = reader.next()) != null; i++) {
+                    if (doc.fileName.isEmpty() && doc.path.isEmpty()) {
+                        logger.warn("빈 문서 정보가 발견되어 건너뜁니다. (인덱스: {})", i);
+                        continue;
+                    }
+                    loadedDocs.add(doc);
+                }
+            }
+        } else {
+            // 직렬화 형식 로드
+            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(fullPath))) {
+                Object obj = ois.readObject();
+
+                if (!(obj instanceof List)) {
+                    throw new IOException("인덱스 파일 형식이 올바르지 않습니다.");
+                }
+
+                loadedDocs.addAll((List<Document>) obj);
+            }
         }
+
+        return loadedDocs;
     }
 
 }
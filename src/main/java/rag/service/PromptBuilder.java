@@ -0,0 +1,178 @@
+package rag.service;
+
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static rag.config.CacheConfig.TOP_K_RESULTS;
+
+/**
+ * 토큰 예산 안에서 LLM 검색 프롬프트를 만듭니다.
+ * - 후보는 순위 순서대로 예산이 남는 동안 넣고, 넣을 수 없는 긴 경로는 건너뜀 (뒤의 짧은 경로는 계속 시도)
+ * - 같은 폴더의 파일이 2개 이상이면 "[폴더 경로]" 한 줄 아래에 파일명만 나열하여 공통 경로를 한 번만 씀,
+ *   폴더에 파일이 하나뿐이면 전체 경로 한 줄 (묶음 표시 비용이 더 크므로)
+ * - 폴더 순서는 그 폴더에서 가장 순위가 높은 파일 순, 폴더 안에서는 순위 순
+ * - 토큰 수는 추정값 (estimateTokens), 실제 토크나이저를 부르지 않음
+ */
+public final class PromptBuilder {
+
+    private PromptBuilder() {
+    }
+
+    /**
+     * 만든 프롬프트와 측정값
+     */
+    public static final class Prompt {
+        private final String text;
+        private final List<Document> documents;
+        private final int tokens;
+        private final int offered;
+        private final long buildNanos;
+
+        Prompt(String text, List<Document> documents, int tokens, int offered, long buildNanos) {
+            this.text = text;
+            this.documents = documents;
+            this.tokens = tokens;
+            this.offered = offered;
+            this.buildNanos = buildNanos;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * 프롬프트에 넣은 문서 (순위 순)
+         */
+        public List<Document> getDocuments() {
+            return documents;
+        }
+
+        /**
+         * 추정 토큰 수
+         */
+        public int getTokens() {
+            return tokens;
+        }
+
+        /**
+         * 넣은 후보 수
+         */
+        public int getIncluded() {
+            return documents.size();
+        }
+
+        /**
+         * 받은 후보 수
+         */
+        public int getOffered() {
+            return offered;
+        }
+
+        public long getBuildNanos() {
+            return buildNanos;
+        }
+    }
+
+    /**
+     * @param candidates  순위 순 후보 문서
+     * @param corpusSize  검색 대상 전체 문서 수 (후보보다 많으면 일부만 제공했다는 안내를 넣음)
+     * @param tokenBudget 프롬프트 전체 토큰 예산 (질문/안내문 포함)
+     */
+    public static Prompt build(String question, List<Document> candidates, int corpusSize, int tokenBudget) {
+        long start = System.nanoTime();
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("질문: ").append(question).append("\n\n");
+        prompt.append("아래의 문서 경로들 중 가장 관련있는 경로 상위 ").append(TOP_K_RESULTS)
+              .append("개를 결과값(경로)만 그대로 출력해줘.\n");
+        prompt.append("문서 목록의 [폴더 경로] 줄 아래는 그 폴더의 파일명이며, ")
+              .append("이 파일들의 경로는 폴더 경로 바로 뒤에 파일명을 붙인 전체 경로로 출력할 것.\n");
+        prompt.append("예: 경로 ::: 유사도, 경로 ::: 유사도, 경로 ::: 유사도 ...\n");
+        prompt.append("(텍스트로 출력할 것, 유사도는 소수점 두번째 자리까지, 사담은 넣지 않기)\n\n");
+        int tokens = estimateTokens(prompt);
+
+        // 후보 선택: 순위 순으로 예산 안에 들어가는 것만
+        // 안내문("전체 N개 중 검색 상위 M개만 제공됨")은 M 자리를 최대 길이로 잡아 미리 예약
+        String noticeTemplate = "주의: 전체 " + corpusSize + "개 중 검색 상위 " + candidates.size() + "개만 제공됨\n\n";
+        int remaining = tokenBudget - tokens - estimateTokens(noticeTemplate) - estimateTokens("문서 목록:\n");
+        Map<String, List<Document>> groups = new LinkedHashMap<>();
+        List<Document> included = new ArrayList<>();
+        for (Document doc : candidates) {
+            String path = pathOf(doc);
+            int split = folderEnd(path);
+            String folder = path.substring(0, split);
+            List<Document> group = groups.get(folder);
+            // 새 폴더: 전체 경로 한 줄, 두 번째 파일: 묶음 표시("[", "]", 줄바꿈) 추가, 그 뒤: 파일명 한 줄
+            int cost = estimateTokens(path.substring(split)) + 1;
+            if (group == null) {
+                cost += estimateTokens(folder);
+            } else if (group.size() == 1) {
+                cost += 3;
+            }
+            if (cost > remaining) {
+                continue;
+            }
+            remaining -= cost;
+            groups.computeIfAbsent(folder, key -> new ArrayList<>()).add(doc);
+            included.add(doc);
+        }
+
+        if (included.size() < corpusSize) {
+            prompt.append("주의: 전체 ").append(corpusSize).append("개 중 검색 상위 ")
+                  .append(included.size()).append("개만 제공됨\n\n");
+        }
+        prompt.append("문서 목록:\n");
+        for (Map.Entry<String, List<Document>> group : groups.entrySet()) {
+            String folder = group.getKey();
+            List<Document> files = group.getValue();
+            if (files.size() == 1) {
+                prompt.append(pathOf(files.get(0))).append('\n');
+                continue;
+            }
+            prompt.append('[').append(folder).append("]\n");
+            for (Document doc : files) {
+                String path = pathOf(doc);
+                prompt.append(path, folder.length(), path.length()).append('\n');
+            }
+        }
+        String text = prompt.toString();
+        return new Prompt(text, included, estimateTokens(text), candidates.size(), System.nanoTime() - start);
+    }
+
+    private static String pathOf(Document doc) {
+        return doc.path != null ? doc.path : "";
+    }
+
+    // 마지막 구분자 다음 위치 (폴더 경로는 구분자로 끝남)
+    private static int folderEnd(String path) {
+        return Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1;
+    }
+
+    /**
+     * 토큰 수를 추정합니다. (과소 추정하지 않도록 보수적으로)
+     * - 영문자/숫자 연속: 4글자당 1 토큰
+     * - 한글/한자/가나 등 그 밖의 문자: 글자당 1 토큰 (자주 쓰는 음절도 대개 1 토큰 이상)
+     * - 공백: 0, 줄바꿈과 기호('/', '_', '.' 등): 1 토큰
+     */
+    public static int estimateTokens(CharSequence text) {
+        int tokens = 0;
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                run++;
+                continue;
+            }
+            tokens += (run + 3) / 4;
+            run = 0;
+            if (c == ' ' || c == '\t' || Character.isLowSurrogate(c)) {
+                continue;
+            }
+            tokens++;
+        }
+        return tokens + (run + 3) / 4;
+    }
+}
@@ -6,15 +6,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rag.exception.ApiException;
 import rag.model.Document;
+import rag.model.IndexSnapshot;
+import rag.model.PathTrie;
+import rag.search.HybridRetriever;
+import rag.search.SearchHit;
+import rag.search.SearchIndexes;
 import rag.util.LRUCache;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 import static rag.config.AppConfig.DOCUMENTS;
 import static rag.config.CacheConfig.*;
+import static rag.config.SearchConfig.PROMPT_CANDIDATES;
+import static rag.config.SearchConfig.PROMPT_TOKEN_BUDGET;
 
 public class SearchService {
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
@@ -27,12 +38,26 @@ public class SearchService {
     // 캐시 통계 출력을 위한 카운터
     private static int searchCount = 0;
 
+    // 프롬프트 통계 (LLM 요청마다 누적)
+    private static long promptCount = 0;
+    private static long promptTokens = 0;
+    private static long promptIncluded = 0;
+    private static long promptBuildNanos = 0;
+
     // Client 재사용 (리소스 절약)
     private static final Client HTTP_CLIENT = Client.builder()
             .apiKey(G_API_KEY)
             .build();
 
     public static Map<String, Object> findPath(String question) {
+        return findPath(question, null);
+    }
+
+    /**
+     * 폴더 하위 문서만 대상으로 검색합니다.
+     * @param folder DOC_PATH 기준 폴더 경로 (null 또는 빈 문자열이면 전체)
+     */
+    public static Map<String, Object> findPath(String question, String folder) {
         Map<String, Object> result = new HashMap<>();
 
         // 입력 검증
@@ -43,7 +68,7 @@ public class SearchService {
 
         try {
             long searchStart = System.currentTimeMillis();
-            String[] searchResult = searchGoogle(question);
+            String[] searchResult = searchGoogle(question, folder);
             long searchTime = System.currentTimeMillis() - searchStart;
 
             result.put("success", searchResult);
@@ -55,6 +80,7 @@ public class SearchService {
                 synchronized (cache) {
                     cache.printStats();
                 }
+                printPromptStats();
             }
 
         } catch (ApiException e) {
@@ -69,22 +95,37 @@ public class SearchService {
     }
 
     public static String[] searchGoogle(String question) throws ApiException {
-        return googleGemini(question, DOCUMENTS);
+        return searchGoogle(question, null);
+    }
+
+    public static String[] searchGoogle(String question, String folder) throws ApiException {
+        // 검색 도중 인덱스가 교체되어도 같은 스냅샷을 사용
+        IndexSnapshot snapshot = DOCUMENTS.snapshot();
+        if (folder == null || folder.isEmpty()) {
+            return googleGemini(question, snapshot.getDocuments());
+        }
+        // 폴더 하위 문서 구간만 사용 (복사 없음), 로컬 색인은 스냅샷 전체 색인을 폴더 조건으로 거름
+        // 캐시는 폴더별로 구분
+        PathTrie trie = snapshot.getPathTrie();
+        return googleGemini(question, trie.under(folder), SearchIndexes.of(snapshot.getDocuments()),
+                trie.within(folder), folder + "\u0000" + question);
     }
 
     public static String[] googleGemini(String question, List<Document> docs) throws ApiException {
+        return googleGemini(question, docs, docs != null ? SearchIndexes.of(docs) : null, null, question);
+    }
+
+    /**
+     * @param docs    검색 대상 문서
+     * @param indexes docs 를 포함하는 문서 목록의 로컬 색인
+     * @param filter  indexes 목록에서 docs 에 해당하는 위치 조건 (null 이면 목록 전체가 docs)
+     */
+    private static String[] googleGemini(String question, List<Document> docs, SearchIndexes indexes,
+                                         IntPredicate filter, String cacheKey) throws ApiException {
         // 캐시 확인
-        if (cache.containsKey(question)) {
+        if (cache.containsKey(cacheKey)) {
             logger.info("캐시에서 결과 반환: {}", question);
-            return cache.get(question);
-        }
-
-        // API 키 검증
-        if (G_API_KEY == null || G_API_KEY.trim().isEmpty()) {
-            throw new ApiException(
-                    ApiException.ErrorType.AUTHENTICATION_FAILED,
-                    "API 키를 확인해주세요."
-            );
+            return cache.get(cacheKey);
         }
 
         // 문서 검증
@@ -95,42 +136,48 @@ public class SearchService {
             );
         }
 
-        // 문서 수가 너무 많으면 제한
-        List<Document> limitedDocs = docs;
-        boolean isLimited = false;
-        if (docs.size() > MAX_DOCUMENTS_IN_PROMPT) {
-            logger.warn("문서 수가 {}개로 너무 많습니다. {}개로 제한합니다.", 
-                       docs.size(), MAX_DOCUMENTS_IN_PROMPT);
-            limitedDocs = docs.subList(0, MAX_DOCUMENTS_IN_PROMPT);
-            isLimited = true;
+        // API 키가 없으면 로컬 색인(BM25) 결과로 바로 응답
+        if (G_API_KEY == null || G_API_KEY.trim().isEmpty()) {
+            logger.info("API 키가 없어 로컬 검색 결과를 반환합니다: {}", question);
+            return searchLocal(question, indexes, filter, cacheKey);
         }
 
-        // 프롬프트 생성
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("질문: ").append(question).append("\n\n");
-        prompt.append("아래의 문서 경로들 중 가장 관련있는 경로 상위 ").append(TOP_K_RESULTS)
-              .append("개를 결과값(경로)만 그대로 출력해줘.\n");
-        prompt.append("예: 경로 ::: 유사도, 경로 ::: 유사도, 경로 ::: 유사도 ...\n");
-        prompt.append("(텍스트로 출력할 것, 유사도는 소수점 두번째 자리까지, 사담은 넣지 않기)\n\n");
-
-        if (isLimited) {
-            prompt.append("주의: 전체 ").append(docs.size()).append("개 중 상위 ")
-                  .append(MAX_DOCUMENTS_IN_PROMPT).append("개만 제공됨\n\n");
+        // 로컬 하이브리드 검색(BM25 + 오타 허용 + 벡터, RRF) 순으로 후보를 정렬 (프롬프트 예산은 앞쪽 후보부터 사용)
+        // 문서가 많으면 상위 후보만, 적으면 전체를 넣되 검색에 걸리지 않은 문서는 원래 순서로 뒤에 붙임
+        int candidateLimit = Math.min(PROMPT_CANDIDATES, MAX_DOCUMENTS_IN_PROMPT);
+        boolean allDocs = docs.size() <= candidateLimit;
+        List<Document> candidates = HybridRetriever.retrieve(question, indexes, filter,
+                        allDocs ? docs.size() : candidateLimit).stream()
+                .map(SearchHit::getDocument)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (allDocs) {
+            Set<String> ranked = candidates.stream().map(doc -> doc.path).collect(Collectors.toSet());
+            for (Document doc : docs) {
+                if (!ranked.contains(doc.path)) {
+                    candidates.add(doc);
+                }
+            }
+        } else {
+            logger.info("문서 {}개 중 하이브리드 검색 상위 {}개를 후보로 사용합니다.", docs.size(), candidates.size());
+            if (candidates.isEmpty()) {
+                return new String[0];
+            }
         }
-        
-        prompt.append("문서 목록:\n");
-        String docList = limitedDocs.stream()
-                .map(doc -> doc.path)
-                .collect(Collectors.joining("\n"));
-        prompt.append(docList);
 
-        // 프롬프트 크기 로깅
-        int promptLength = prompt.length();
-        logger.debug("프롬프트 크기: {} 문자, 문서 수: {}", promptLength, limitedDocs.size());
+        // 프롬프트 생성 (토큰 예산 안에서 순위 순으로, 폴더별로 묶어서)
+        PromptBuilder.Prompt prompt = PromptBuilder.build(question, candidates, docs.size(), PROMPT_TOKEN_BUDGET);
+        List<Document> limitedDocs = prompt.getDocuments();
+        recordPrompt(prompt);
+        logger.info("프롬프트: 토큰 약 {}개 (예산 {}), 후보 {}/{}개, 생성 {}ms", prompt.getTokens(), PROMPT_TOKEN_BUDGET,
+                prompt.getIncluded(), prompt.getOffered(), String.format(Locale.ROOT, "%.2f", prompt.getBuildNanos() / 1e6));
+        if (limitedDocs.isEmpty()) {
+            logger.warn("토큰 예산({})이 부족하여 프롬프트에 넣은 문서가 없습니다.", PROMPT_TOKEN_BUDGET);
+            return new String[0];
+        }
 
         // Content 객체 생성 (올바른 방법)
         Content content = Content.fromParts(
-                Part.fromText(prompt.toString())
+                Part.fromText(prompt.getText())
         );
 
         // GenerateContentConfig 설정
@@ -282,7 +329,7 @@ public class SearchService {
             if (results.length > 0) {
                 // 캐시에 저장
                 synchronized (cache) {
-                    cache.put(question, results);
+                    cache.put(cacheKey, results);
                 }
                 logger.info("검색 결과 캐시에 저장: {} ({}개)", question, results.length);
             }
@@ -298,4 +345,44 @@ public class SearchService {
             );
         }
     }
+
+    private static synchronized void recordPrompt(PromptBuilder.Prompt prompt) {
+        promptCount++;
+        promptTokens += prompt.getTokens();
+        promptIncluded += prompt.getIncluded();
+        promptBuildNanos += prompt.getBuildNanos();
+    }
+
+    /**
+     * 프롬프트 통계 출력 (LLM 요청 수, 평균 토큰/후보 수/생성 시간)
+     */
+    public static synchronized void printPromptStats() {
+        if (promptCount == 0) {
+            return;
+        }
+        System.out.println("=== 프롬프트 통계 ===");
+        System.out.println("LLM 요청: " + promptCount);
+        System.out.println("평균 토큰: " + promptTokens / promptCount);
+        System.out.println("평균 후보 수: " + promptIncluded / promptCount);
+        System.out.println("평균 생성 시간: " + String.format(Locale.ROOT, "%.2fms", promptBuildNanos / 1e6 / promptCount));
+    }
+
+    /**
+     * 로컬 하이브리드 검색 결과를 "경로 ::: 유사도" 형태로 반환합니다. (유사도는 1위 RRF 점수 기준 0~1)
+     */
+    private static String[] searchLocal(String question, SearchIndexes indexes, IntPredicate filter,
+                                        String cacheKey) {
+        List<SearchHit> hits = HybridRetriever.retrieve(question, indexes, filter, TOP_K_RESULTS);
+        if (hits.isEmpty()) {
+            return new String[0];
+        }
+        float best = hits.get(0).getScore();
+        String[] results = hits.stream()
+                .map(hit -> String.format(Locale.ROOT, "%s ::: %.2f", hit.getDocument().path, hit.getScore() / best))
+                .toArray(String[]::new);
+        synchronized (cache) {
+            cache.put(cacheKey, results);
+        }
+        return results;
+    }
 }
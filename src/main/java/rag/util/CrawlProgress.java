@@ -0,0 +1,101 @@
+package rag.util;
+
+import rag.model.CallBack;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 탐색 진행 상황 집계 및 주기적 보고
+ * - 탐색 스레드는 LongAdder 카운터만 증가시키며 (경합 없음, 객체 생성 없음)
+ * - 별도 스레드가 PUBLISH_INTERVAL_MILLIS 마다 값을 읽어 콜백에 한 번 전달
+ * - 전달 내용: 탐색한 문서 수, 초당 처리 수, 남은 폴더 수
+ */
+public class CrawlProgress implements AutoCloseable {
+    public static final long PUBLISH_INTERVAL_MILLIS = 100;
+
+    private final CallBack callback;
+    private final LongAdder files = new LongAdder();
+    private final LongAdder foldersQueued = new LongAdder();
+    private final LongAdder foldersDone = new LongAdder();
+    private final long startedAt = System.nanoTime();
+    private final ScheduledExecutorService sampler;
+
+    private long lastPublished = -1;
+
+    private CrawlProgress(CallBack callback) {
+        this.callback = callback;
+        if (callback == null) {
+            this.sampler = null;
+        } else {
+            this.sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "crawl-progress");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sampler.scheduleAtFixedRate(this::publish, PUBLISH_INTERVAL_MILLIS, PUBLISH_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 진행 상황 보고를 시작합니다. 콜백이 없으면 카운터만 동작합니다.
+     */
+    public static CrawlProgress start(CallBack callback) {
+        return new CrawlProgress(callback);
+    }
+
+    public void filesFound(int count) {
+        if (count > 0) {
+            files.add(count);
+        }
+    }
+
+    public void foldersQueued(int count) {
+        if (count > 0) {
+            foldersQueued.add(count);
+        }
+    }
+
+    public void folderDone() {
+        foldersDone.increment();
+    }
+
+    public long getFiles() {
+        return files.sum();
+    }
+
+    public long getPendingFolders() {
+        return Math.max(0, foldersQueued.sum() - foldersDone.sum());
+    }
+
+    public double getFilesPerSecond() {
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        return seconds <= 0 ? 0 : getFiles() / seconds;
+    }
+
+    public String message() {
+        return String.format("TOTAL :: %d (%.0f개/초, 남은 폴더 %d)", getFiles(), getFilesPerSecond(), getPendingFolders());
+    }
+
+    private synchronized void publish() {
+        long current = getFiles();
+        if (current != lastPublished) {
+            lastPublished = current;
+            callback.callBackCnt(message());
+        }
+    }
+
+    /**
+     * 보고를 중지하고 마지막 상태를 한 번 더 전달합니다.
+     */
+    @Override
+    public void close() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+            publish();
+        }
+    }
+}
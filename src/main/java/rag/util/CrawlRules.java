@@ -0,0 +1,459 @@
+package rag.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 탐색 포함/제외 규칙 (한 번 컴파일하여 재사용)
+ * - 확장자: 해시 집합으로 허용 여부 판단
+ * - 경로 규칙: gitignore 형식 (*, ?, [..], **, 끝의 / 는 폴더 전용, ! 는 다시 포함)
+ *   슬래시가 없는 규칙은 모든 깊이의 이름에, 슬래시가 있는 규칙은 DOC_PATH 기준 경로에 적용
+ * - 경로 규칙은 세그먼트 단위 오토마톤으로 컴파일되며, 폴더마다 상태(State)를 자식에게 넘겨
+ *   제외된 폴더는 열지 않습니다.
+ * - 대소문자는 구분하지 않습니다.
+ *
+ * 규칙 파일 형식 (crawl-rules.txt):
+ * <pre>
+ * # 주석
+ * ext: txt pdf hwp      (허용 확장자, 지정하면 기본 목록을 대체)
+ * node_modules/         (제외)
+ * !important.tmp        (다시 포함)
+ * </pre>
+ */
+public final class CrawlRules {
+    private static final Logger logger = LoggerFactory.getLogger(CrawlRules.class);
+
+    public static final String RULES_FILE = "crawl-rules.txt";
+
+    public static final List<String> DEFAULT_EXTENSIONS = List.of(
+            // 문서
+            "txt", "pdf", "docx", "pptx", "hwp", "xlsx", "csv",
+            // 실행 파일
+            "exe", "msi", "dmg", "app",
+            "html", "xml",
+            // 기타
+            "md", "rtf", "odt");
+
+    public static final List<String> DEFAULT_PATTERNS = List.of(
+            ".*/", "system32/", "windows/", "program files/", "program files (x86)/",
+            "temp/", "tmp/", "*cache/", "*caches/");
+
+    public static final CrawlRules DEFAULT = new CrawlRules(DEFAULT_EXTENSIONS, DEFAULT_PATTERNS);
+
+    private static final int MAX_SEGMENTS = 63;
+
+    private final Set<String> extensions;
+    private final Rule[] rules;       // 선언 순서 (뒤의 규칙이 우선)
+    private final int automatonRules; // 상태가 필요한 규칙 수 (경로 기준 또는 여러 단계)
+    private final State root;
+    private final long fingerprint;
+
+    public CrawlRules(Collection<String> extensions, List<String> patterns) {
+        this.extensions = new HashSet<>();
+        for (String ext : extensions) {
+            this.extensions.add(ext.trim().toLowerCase(Locale.ROOT));
+        }
+
+        List<Rule> compiled = new ArrayList<>();
+        int slots = 0;
+        for (String pattern : patterns) {
+            Rule rule = Rule.compile(pattern, slots);
+            if (rule != null) {
+                compiled.add(rule);
+                if (rule.slot >= 0) {
+                    slots++;
+                }
+            }
+        }
+        this.rules = compiled.toArray(new Rule[0]);
+        this.automatonRules = slots;
+
+        long[] positions = new long[slots];
+        for (Rule rule : rules) {
+            if (rule.slot >= 0) {
+                positions[rule.slot] = rule.closure(1L);
+            }
+        }
+        this.root = new State(positions);
+        this.fingerprint = fingerprint(this.extensions, patterns);
+    }
+
+    /**
+     * 규칙 내용의 64비트 지문 (확장자 집합 + 규칙 순서, 대소문자/공백/주석 무시)
+     * 인덱스에 기록해 두고 규칙이 바뀌었는지 비교하는 데 사용합니다.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    // FNV-1a 64비트
+    private static long fingerprint(Set<String> extensions, List<String> patterns) {
+        StringBuilder canonical = new StringBuilder();
+        for (String ext : new TreeSet<>(extensions)) {
+            canonical.append(ext).append(',');
+        }
+        canonical.append('\n');
+        for (String pattern : patterns) {
+            String p = pattern.trim();
+            if (!p.isEmpty() && !p.startsWith("#")) {
+                canonical.append(p.replace('\\', '/').toLowerCase(Locale.ROOT)).append('\n');
+            }
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : canonical.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 규칙 파일을 읽어 컴파일합니다.
+     */
+    public static CrawlRules load(Path file) throws IOException {
+        List<String> extensions = new ArrayList<>();
+        List<String> patterns = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.regionMatches(true, 0, "ext:", 0, 4)) {
+                for (String ext : trimmed.substring(4).split("[\\s,]+")) {
+                    if (!ext.isEmpty()) {
+                        extensions.add(ext.startsWith(".") ? ext.substring(1) : ext);
+                    }
+                }
+            } else {
+                patterns.add(trimmed);
+            }
+        }
+        return new CrawlRules(extensions.isEmpty() ? DEFAULT_EXTENSIONS : extensions, patterns);
+    }
+
+    /**
+     * 실행 폴더의 규칙 파일을 읽고, 없거나 읽을 수 없으면 기본 규칙을 사용합니다.
+     */
+    public static CrawlRules loadOrDefault(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return DEFAULT;
+        }
+        try {
+            CrawlRules rules = load(file);
+            logger.info("탐색 규칙 로드: {} ({}개 규칙)", file, rules.rules.length);
+            return rules;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("탐색 규칙 로드 실패, 기본 규칙을 사용합니다: {}", file, e);
+            return DEFAULT;
+        }
+    }
+
+    public State root() {
+        return root;
+    }
+
+    /**
+     * 폴더에 들어갑니다.
+     * @return 하위 항목 판단에 쓸 상태, 폴더가 제외되면 null
+     */
+    public State enter(State parent, String folderName) {
+        String name = folderName.toLowerCase(Locale.ROOT);
+        long[] next = null;
+        if (automatonRules > 0) {
+            next = new long[automatonRules];
+            for (Rule rule : rules) {
+                if (rule.slot >= 0) {
+                    next[rule.slot] = rule.step(parent.positions[rule.slot], name);
+                }
+            }
+        }
+        if (isExcluded(parent, name, true, next)) {
+            return null;
+        }
+        // 상태가 필요한 규칙이 없으면 모든 폴더가 같은 상태를 공유 (객체 생성 없음)
+        return next == null ? parent : new State(next);
+    }
+
+    /**
+     * 폴더(parent) 안의 파일이 색인 대상인지 판단합니다. (확장자 + 경로 규칙)
+     */
+    public boolean acceptsFile(State parent, String fileName) {
+        if (!acceptsExtension(fileName)) {
+            return false;
+        }
+        return !isExcluded(parent, fileName.toLowerCase(Locale.ROOT), false, null);
+    }
+
+    public boolean acceptsExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || dot == fileName.length() - 1) {
+            return false;
+        }
+        return extensions.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * DOC_PATH 기준 상대 경로의 폴더 상태를 구합니다.
+     * @return 경로 중 제외된 폴더가 있으면 null
+     */
+    public State stateOf(String relativeFolder) {
+        State state = root;
+        for (String segment : split(relativeFolder)) {
+            state = enter(state, segment);
+            if (state == null) {
+                return null;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * DOC_PATH 기준 상대 경로의 파일이 색인 대상인지 판단합니다. (상위 폴더 규칙 포함)
+     */
+    public boolean acceptsPath(String relativePath) {
+        String[] segments = split(relativePath);
+        if (segments.length == 0) {
+            return false;
+        }
+        State state = root;
+        for (int i = 0; i < segments.length - 1; i++) {
+            state = enter(state, segments[i]);
+            if (state == null) {
+                return false;
+            }
+        }
+        return acceptsFile(state, segments[segments.length - 1]);
+    }
+
+    // 뒤의 규칙부터 확인하여 처음 일치한 규칙으로 제외 여부 결정 (일치 없으면 포함)
+    private boolean isExcluded(State parent, String lowerName, boolean directory, long[] next) {
+        for (int i = rules.length - 1; i >= 0; i--) {
+            Rule rule = rules[i];
+            if (rule.dirOnly && !directory) {
+                continue;
+            }
+            boolean matched;
+            if (rule.slot < 0) {
+                matched = rule.segments[1].matches(lowerName);
+            } else {
+                long advanced = next != null ? next[rule.slot] : rule.step(parent.positions[rule.slot], lowerName);
+                matched = rule.accepts(advanced);
+            }
+            if (matched) {
+                return !rule.negate;
+            }
+        }
+        return false;
+    }
+
+    private static String[] split(String relativePath) {
+        String[] parts = relativePath.split("[/\\\\]");
+        int count = 0;
+        for (String part : parts) {
+            if (!part.isEmpty()) {
+                parts[count++] = part;
+            }
+        }
+        return Arrays.copyOf(parts, count);
+    }
+
+    /**
+     * 폴더 하나에서의 오토마톤 상태 (규칙마다 다음에 비교할 세그먼트 위치의 비트 집합)
+     */
+    public static final class State {
+        private final long[] positions;
+
+        private State(long[] positions) {
+            this.positions = positions;
+        }
+    }
+
+    private static final class Rule {
+        private final boolean negate;
+        private final boolean dirOnly;
+        private final Segment[] segments;
+        private final int slot; // State 내 위치, 상태가 필요 없는 규칙(** + 이름 하나)은 -1
+
+        private Rule(boolean negate, boolean dirOnly, Segment[] segments, int slot) {
+            this.negate = negate;
+            this.dirOnly = dirOnly;
+            this.segments = segments;
+            this.slot = slot;
+        }
+
+        static Rule compile(String pattern, int nextSlot) {
+            String p = pattern.trim();
+            if (p.isEmpty() || p.startsWith("#")) {
+                return null;
+            }
+            boolean negate = p.startsWith("!");
+            if (negate) {
+                p = p.substring(1);
+            }
+            p = p.replace('\\', '/');
+            boolean dirOnly = p.endsWith("/");
+            while (p.endsWith("/")) {
+                p = p.substring(0, p.length() - 1);
+            }
+            boolean anchored = p.indexOf('/') >= 0;
+            while (p.startsWith("/")) {
+                p = p.substring(1);
+            }
+            if (p.isEmpty()) {
+                return null;
+            }
+
+            List<Segment> segments = new ArrayList<>();
+            if (!anchored) {
+                segments.add(Segment.ANY_DEPTH);
+            }
+            for (String part : p.split("/+")) {
+                segments.add(Segment.of(part));
+            }
+            if (segments.size() > MAX_SEGMENTS) {
+                throw new IllegalArgumentException("규칙의 경로 단계가 너무 많습니다: " + pattern);
+            }
+            // "** + 이름 하나" 규칙은 어느 깊이에서나 상태가 같으므로 이름 비교만 하면 됨
+            boolean stateless = segments.size() == 2 && segments.get(0) == Segment.ANY_DEPTH
+                    && segments.get(1) != Segment.ANY_DEPTH;
+            return new Rule(negate, dirOnly, segments.toArray(new Segment[0]), stateless ? -1 : nextSlot);
+        }
+
+        // ** 는 0개 이상의 세그먼트와 일치하므로 다음 위치도 활성화
+        long closure(long positions) {
+            long result = positions;
+            for (int i = 0; i < segments.length; i++) {
+                if ((result & (1L << i)) != 0 && segments[i] == Segment.ANY_DEPTH) {
+                    result |= 1L << (i + 1);
+                }
+            }
+            return result;
+        }
+
+        long step(long positions, String lowerName) {
+            if (positions == 0) {
+                return 0;
+            }
+            long next = 0;
+            for (int i = 0; i < segments.length; i++) {
+                if ((positions & (1L << i)) == 0) {
+                    continue;
+                }
+                Segment segment = segments[i];
+                if (segment == Segment.ANY_DEPTH) {
+                    next |= 1L << i;
+                } else if (segment.matches(lowerName)) {
+                    next |= 1L << (i + 1);
+                }
+            }
+            return closure(next);
+        }
+
+        boolean accepts(long positions) {
+            return (positions & (1L << segments.length)) != 0;
+        }
+    }
+
+    // 이름 하나와 비교하는 단위 (입력은 소문자로 변환된 이름)
+    private static final class Segment {
+        static final Segment ANY_DEPTH = new Segment(Kind.ANY_DEPTH, null, null);
+
+        private enum Kind { ANY_DEPTH, ANY, LITERAL, PREFIX, SUFFIX, CONTAINS, REGEX }
+
+        private final Kind kind;
+        private final String text;
+        private final Pattern glob;
+
+        private Segment(Kind kind, String text, Pattern glob) {
+            this.kind = kind;
+            this.text = text;
+            this.glob = glob;
+        }
+
+        static Segment of(String part) {
+            if (part.equals("**")) {
+                return ANY_DEPTH;
+            }
+            String lower = part.toLowerCase(Locale.ROOT);
+            if (lower.indexOf('?') < 0 && lower.indexOf('[') < 0) {
+                // '*' 만 있는 흔한 형태는 문자열 비교로 처리
+                String core = lower.replaceAll("^\\*+|\\*+$", "");
+                if (core.indexOf('*') < 0) {
+                    boolean leading = lower.startsWith("*");
+                    boolean trailing = lower.endsWith("*") && lower.length() > 1;
+                    if (core.isEmpty()) {
+                        return new Segment(Kind.ANY, null, null);
+                    } else if (leading && trailing) {
+                        return new Segment(Kind.CONTAINS, core, null);
+                    } else if (leading) {
+                        return new Segment(Kind.SUFFIX, core, null);
+                    } else if (trailing) {
+                        return new Segment(Kind.PREFIX, core, null);
+                    }
+                    return new Segment(Kind.LITERAL, core, null);
+                }
+            }
+            return new Segment(Kind.REGEX, null, Pattern.compile(globToRegex(lower),
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+        }
+
+        boolean matches(String lowerName) {
+            switch (kind) {
+                case ANY:
+                    return true;
+                case LITERAL:
+                    return text.equals(lowerName);
+                case PREFIX:
+                    return lowerName.startsWith(text);
+                case SUFFIX:
+                    return lowerName.endsWith(text);
+                case CONTAINS:
+                    return lowerName.contains(text);
+                case REGEX:
+                    return glob.matcher(lowerName).matches();
+                default:
+                    return false;
+            }
+        }
+
+        private static String globToRegex(String glob) {
+            StringBuilder regex = new StringBuilder();
+            boolean inClass = false;
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (inClass) {
+                    if (c == ']') {
+                        inClass = false;
+                    } else if (c == '\\') {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                } else if (c == '?') {
+                    regex.append('.');
+                } else if (c == '[') {
+                    inClass = true;
+                    regex.append('[');
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '!') {
+                        regex.append('^');
+                        i++;
+                    }
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            if (inClass) {
+                throw new IllegalArgumentException("닫히지 않은 [ : " + glob);
+            }
+            return regex.toString();
+        }
+    }
+}
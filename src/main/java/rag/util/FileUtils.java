@@ -1,6 +1,5 @@
 package rag.util;
 
-import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rag.model.CallBack;
@@ -9,19 +8,24 @@ import rag.model.Document;
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AccessDeniedException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.RecursiveAction;
 
+import static rag.config.AppConfig.CRAWL_RULES;
 import static rag.config.AppConfig.DOCUMENTS;
 import static rag.config.AppConfig.DOC_PATH;
 
 public class FileUtils {
     private static final Logger logger = LoggerFactory.getLogger(FileUtils.class);
-    private static final int MAX_DEPTHS = 4;
+    public static final int MAX_DEPTHS = 4;
 
     /**
      * 파일 경로에서 폴더 경로를 추출하여 탐색기에서 엽니다.
@@ -89,58 +93,176 @@ public class FileUtils {
         }
     }
 
+    /**
+     * 폴더 단위 병렬 탐색 작업
+     * 각 작업은 자신의 버퍼(found)에만 문서를 추가하고, 최상위 작업이 끝날 때
+     * 모든 하위 작업의 버퍼를 target 에 한 번에 합칩니다. (파일마다 잠금을 잡지 않음)
+     * 진행 상황은 CrawlProgress 카운터로만 집계하고 UI 보고는 샘플러가 담당합니다.
+     * 항목마다 BasicFileAttributes 를 한 번만 읽어 파일/폴더 판별, 숨김 여부,
+     * 문서의 크기/수정 시각에 모두 재사용합니다.
+     */
     public static class FolderTask extends RecursiveAction {
-        private final File folder;
+        private final Path folder;
         private final int depth;
-        private final CallBack callback;
+        private final CrawlRules rules;        // 탐색 시작 시점의 규칙 (도중에 바뀌어도 같은 규칙 사용)
+        private final CrawlRules.State state;  // folder 의 규칙 상태 (부모가 구해서 넘김), 제외된 폴더면 null
+        private final CrawlProgress progress; // 전체 작업이 공유하는 진행 상황
+        private final List<Document> target;   // 최상위 작업만 보유
+
+        private final List<Document> found = new ArrayList<>();
+        private List<FolderTask> children = List.of();
 
         public FolderTask(File folder, int depth, CallBack func) {
+            this(folder, depth, func, DOCUMENTS);
+        }
+
+        public FolderTask(File folder, int depth, CallBack func, List<Document> target) {
+            this(folder.toPath(), depth, CRAWL_RULES, null, CrawlProgress.start(func), target);
+        }
+
+        private FolderTask(Path folder, int depth, CrawlRules rules, CrawlRules.State state, CrawlProgress progress,
+                           List<Document> target) {
             this.folder = folder;
             this.depth = depth;
-            this.callback = func;
+            this.rules = rules;
+            // 최상위 작업만 DOC_PATH 부터 상태를 구함 (하위 작업은 부모가 넘긴 상태 사용)
+            this.state = target != null ? stateOf(rules, folder) : state;
+            this.progress = progress;
+            this.target = target;
         }
 
         @Override
         protected void compute() {
-            if (isFolderInvalid(depth, folder)) {
+            if (target == null) {
+                crawl();
                 return;
             }
-            /*File[] files = folder.listFiles();
-            if (files == null)
-                return;*/
-
-            List<FolderTask> subTasks = new java.util.ArrayList<>();
-
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder.toPath())) {
-                for (Path path : stream) {
-                    File file = path.toFile();
-                    try {
-                        if (file.isFile() && allowed(file)) {
-                            String filePath = file.getAbsolutePath().substring(DOC_PATH.length());
-                            synchronized (DOCUMENTS) {
-                                DOCUMENTS.add(new Document(file.getName(), filePath));
-                            }
-                            if (callback != null) {
-                                callback.callBackCnt("TOTAL :: " + DOCUMENTS.size()); // UI에 탐색한 수 출력
-                            }
-                        } else if (file.isDirectory() && !isSystemDirectory(file)) {
-                            subTasks.add(new FolderTask(file, depth + 1, callback)); // 하위 디렉토리를 새로운 태스크로 추가
-                        }
-                    } catch (Exception e) {
-                        logger.error("파일 탐색 중 오류 발생", e);
-                    }
+
+            // 최상위 작업: 하위 작업은 부모가 읽은 속성으로 이미 검증되었으므로 여기서만 확인
+            try (progress) {
+                progress.foldersQueued(1);
+                if (!isFolderInvalid(depth, folder.toFile())) {
+                    crawl();
+                } else {
+                    progress.folderDone();
+                }
+                synchronized (target) {
+                    drainTo(target);
                 }
-            } catch (IOException e) {
-                logger.error("디렉토리 접근 실패", e);
             }
+        }
+
+        private void crawl() {
+            List<SubFolder> subFolders = new ArrayList<>();
+            int before = found.size();
+            scanFolder(folder, depth, rules, state, found, subFolders);
+
+            progress.filesFound(found.size() - before);
+            progress.foldersQueued(subFolders.size());
+            progress.folderDone();
 
             // 병렬 실행
-            if (!subTasks.isEmpty()) {
+            if (!subFolders.isEmpty()) {
+                List<FolderTask> subTasks = new ArrayList<>(subFolders.size());
+                for (SubFolder sub : subFolders) {
+                    // 하위 디렉토리를 새로운 태스크로 추가
+                    subTasks.add(new FolderTask(sub.path, depth + 1, rules, sub.state, progress, null));
+                }
                 invokeAll(subTasks);
+                children = subTasks;
+            }
+        }
+
+        // 자신과 하위 작업의 버퍼를 out 에 합침
+        private void drainTo(List<Document> out) {
+            out.addAll(found);
+            for (FolderTask child : children) {
+                child.drainTo(out);
             }
         }
     }
 
+    /**
+     * 탐색할 하위 폴더와 그 폴더의 규칙 상태 (부모 폴더를 읽을 때 enter 로 구한 상태를 그대로 넘김)
+     */
+    public static final class SubFolder {
+        public final Path path;
+        public final CrawlRules.State state;
+
+        public SubFolder(Path path, CrawlRules.State state) {
+            this.path = path;
+            this.state = state;
+        }
+    }
+
+    /**
+     * DOC_PATH 부터 경로를 따라가 폴더의 규칙 상태를 구합니다. (탐색을 시작하는 폴더에서 한 번만 사용)
+     * @return 제외된 폴더면 null
+     */
+    public static CrawlRules.State stateOf(CrawlRules rules, Path folder) {
+        String absolute = folder.toAbsolutePath().toString();
+        return rules.stateOf(absolute.substring(Math.min(DOC_PATH.length(), absolute.length())));
+    }
+
+    /**
+     * 폴더 하나의 항목을 읽어 허용된 파일은 found 에, 탐색할 하위 폴더는 subFolders 에 담습니다.
+     * 항목마다 BasicFileAttributes 를 한 번만 읽으며, 탐색 엔진(FolderTask, IoCrawler)이 공유합니다.
+     *
+     * @param folder     탐색할 폴더
+     * @param depth      folder 의 깊이 (DOC_PATH = 0)
+     * @param rules      탐색 규칙
+     * @param state      folder 의 규칙 상태 (부모가 넘긴 상태, null 이면 제외된 폴더라 읽지 않음)
+     * @param found      발견한 문서가 추가될 리스트
+     * @param subFolders 다음에 탐색할 하위 폴더와 그 상태가 추가될 리스트 (MAX_DEPTHS 이내)
+     */
+    public static void scanFolder(Path folder, int depth, CrawlRules rules, CrawlRules.State state,
+                                  List<Document> found, List<SubFolder> subFolders) {
+        boolean descend = depth < MAX_DEPTHS;
+        if (state == null) {
+            return; // 제외된 폴더 (감시/재탐색 등으로 직접 요청된 경우)
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+            for (Path path : stream) {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    String name = path.getFileName().toString();
+                    if (attrs.isRegularFile()) {
+                        if (rules.acceptsFile(state, name)) {
+                            String filePath = path.toAbsolutePath().toString().substring(DOC_PATH.length());
+                            found.add(new Document(name, filePath, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                        }
+                    } else if (descend && attrs.isDirectory() && !isHidden(name, attrs)) {
+                        CrawlRules.State child = rules.enter(state, name);
+                        if (child != null) {
+                            subFolders.add(new SubFolder(path, child));
+                        }
+                    }
+                } catch (NoSuchFileException e) {
+                    // 탐색 도중 삭제된 항목
+                } catch (Exception e) {
+                    logger.error("파일 탐색 중 오류 발생", e);
+                }
+            }
+        } catch (AccessDeniedException e) {
+            logger.debug("디렉토리 접근 권한 없음: {}", folder);
+        } catch (IOException e) {
+            logger.error("디렉토리 접근 실패", e);
+        }
+    }
+
+    /**
+     * 이미 읽은 속성으로 숨김 여부를 판단합니다. (추가 시스템 호출 없음)
+     * Windows 에서는 디렉토리 목록의 속성이 DosFileAttributes 이므로 숨김 플래그를 사용하고,
+     * 그 외에는 File.isHidden 과 같이 '.' 으로 시작하는 이름을 숨김으로 봅니다.
+     */
+    public static boolean isHidden(String name, BasicFileAttributes attrs) {
+        if (attrs instanceof DosFileAttributes) {
+            return ((DosFileAttributes) attrs).isHidden();
+        }
+        return name.startsWith(".");
+    }
+
     public static boolean isFolderInvalid(String path) {
         File folder = new File(path);
         return !folder.exists() || !folder.canRead() || folder.isHidden();
@@ -151,21 +273,20 @@ public class FileUtils {
     }
 
     public static boolean isSystemDirectory(File file) {
-        String name = file.getName().toLowerCase();
-        return name.startsWith(".") || name.equals("system32") || name.equals("windows") || name.equals("program files") || name.equals("program files (x86)") || name.contains("temp") || name.contains("cache");
+        return isSystemDirectory(file.getName());
+    }
+
+    // 탐색 규칙에서 제외되는 폴더 이름인지 확인 (DOC_PATH 바로 아래 기준)
+    public static boolean isSystemDirectory(String fileName) {
+        return CRAWL_RULES.enter(CRAWL_RULES.root(), fileName) == null;
     }
 
     public static boolean allowed(File file) {
-        String ext = FilenameUtils.getExtension(file.getName()).toLowerCase();
-        Set<String> allowedExts = Set.of(
-                // 문서
-                "txt", "pdf", "docx", "pptx", "hwp", "xlsx", "csv",
-                // 실행 파일
-                "exe", "msi", "dmg", "app",
-                "html", "xml",
-                // 기타
-                "md", "rtf", "odt");
-        return allowedExts.contains(ext);
+        return allowed(file.getName());
+    }
+
+    public static boolean allowed(String fileName) {
+        return CRAWL_RULES.acceptsExtension(fileName);
     }
 
     // hugging face 사용 시 전처리 - 속도, 정확도 약간 향상
@@ -0,0 +1,142 @@
+package rag.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rag.model.CallBack;
+import rag.model.Document;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static rag.config.AppConfig.CRAWL_RULES;
+
+/**
+ * 지연이 큰 파일 시스템(NAS, SMB, NFS)용 탐색기
+ * - 폴더마다 작업 하나를 실행하며, 가상 스레드를 쓸 수 있으면(Java 21+) 가상 스레드를 사용
+ * - 동시에 열리는 폴더 수는 maxOpenDirs 로 제한 (파일 핸들 고갈 방지)
+ * - 가상 스레드를 쓸 수 없으면 maxOpenDirs 크기의 플랫폼 스레드 풀로 대체
+ */
+public class IoCrawler {
+    private static final Logger logger = LoggerFactory.getLogger(IoCrawler.class);
+
+    private static final int MAX_PLATFORM_THREADS = 256;
+
+    private final int maxOpenDirs;
+    private final CallBack callback;
+    private final Semaphore openDirs;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final Queue<List<Document>> results = new ConcurrentLinkedQueue<>();
+
+    private ExecutorService executor;
+    private CrawlProgress progress;
+    private CrawlRules rules; // 탐색 시작 시점의 규칙
+
+    public IoCrawler(int maxOpenDirs, CallBack callback) {
+        this.maxOpenDirs = Math.max(1, maxOpenDirs);
+        this.callback = callback;
+        this.openDirs = new Semaphore(this.maxOpenDirs);
+    }
+
+    /**
+     * root 하위를 탐색하여 문서 목록을 반환합니다.
+     * @param root 탐색을 시작할 폴더 (깊이 0)
+     */
+    public List<Document> crawl(File root) throws InterruptedException {
+        if (FileUtils.isFolderInvalid(0, root)) {
+            return new ArrayList<>();
+        }
+
+        executor = newExecutor(maxOpenDirs);
+        progress = CrawlProgress.start(callback);
+        try {
+            rules = CRAWL_RULES;
+            submit(root.toPath(), 0, FileUtils.stateOf(rules, root.toPath()));
+            done.await();
+        } finally {
+            progress.close();
+            executor.shutdown();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("탐색 작업이 제한 시간 내에 종료되지 않았습니다.");
+                executor.shutdownNow();
+            }
+        }
+
+        List<Document> documents = new ArrayList<>((int) progress.getFiles());
+        for (List<Document> found : results) {
+            documents.addAll(found);
+        }
+        return documents;
+    }
+
+    // state: 부모가 구한 folder 의 규칙 상태
+    private void submit(Path folder, int depth, CrawlRules.State state) {
+        pending.incrementAndGet();
+        progress.foldersQueued(1);
+        executor.execute(() -> {
+            try {
+                visit(folder, depth, state);
+            } finally {
+                // 하위 폴더를 모두 제출한 뒤에 감소하므로 0 이면 전체 완료
+                if (pending.decrementAndGet() == 0) {
+                    done.countDown();
+                }
+            }
+        });
+    }
+
+    private void visit(Path folder, int depth, CrawlRules.State state) {
+        List<Document> found = new ArrayList<>();
+        List<FileUtils.SubFolder> subFolders = new ArrayList<>();
+
+        try {
+            openDirs.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            FileUtils.scanFolder(folder, depth, rules, state, found, subFolders);
+        } finally {
+            openDirs.release();
+        }
+
+        if (!found.isEmpty()) {
+            results.add(found);
+            progress.filesFound(found.size());
+        }
+        progress.folderDone();
+        for (FileUtils.SubFolder sub : subFolders) {
+            submit(sub.path, depth + 1, sub.state);
+        }
+    }
+
+    // Java 21+ 에서는 가상 스레드 실행기, 그 외에는 고정 크기 플랫폼 스레드 풀
+    private static ExecutorService newExecutor(int maxOpenDirs) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            logger.info("가상 스레드 탐색 (최대 동시 폴더 {}개)", maxOpenDirs);
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.min(maxOpenDirs, MAX_PLATFORM_THREADS);
+            logger.info("가상 스레드를 지원하지 않는 JVM 입니다. 플랫폼 스레드 {}개로 탐색합니다.", threads);
+            AtomicInteger seq = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "io-crawler-" + seq.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -1,4 +1,25 @@
 package rag.util;
 
 public class TimeUtils {
+
+    /**
+     * 지난 시각을 "n분 전" 형태로 표시합니다.
+     * @param epochMillis 기준 시각 (0 이하이면 기록 없음)
+     */
+    public static String formatAge(long epochMillis, long now) {
+        if (epochMillis <= 0) {
+            return "기록 없음";
+        }
+        long seconds = Math.max(0, (now - epochMillis) / 1000);
+        if (seconds < 60) {
+            return "방금 전";
+        }
+        if (seconds < 60 * 60) {
+            return seconds / 60 + "분 전";
+        }
+        if (seconds < 24 * 60 * 60) {
+            return seconds / (60 * 60) + "시간 전";
+        }
+        return seconds / (24 * 60 * 60) + "일 전";
+    }
 }
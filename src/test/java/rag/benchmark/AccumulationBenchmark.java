@@ -0,0 +1,142 @@
+package rag.benchmark;
+
+import rag.config.AppConfig;
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FolderTask 문서 수집 방식 비교 (디스크 I/O 없이 가상 트리 사용)
+ * - LOCK   : 기존 방식, 파일마다 synchronized(target) + size() 호출
+ * - BUFFER : 작업별 버퍼에 모은 뒤 최상위에서 한 번에 합침
+ * 실행: java rag.benchmark.AccumulationBenchmark [폴더 수] [폴더당 파일 수]
+ */
+public class AccumulationBenchmark {
+    private static final int WARMUP = 3;
+    private static final int ROUNDS = 5;
+    private static final int FAN_OUT = 10;
+
+    public static void main(String[] args) {
+        int folders = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int filesPerFolder = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        System.out.println("문서 수: " + (long) folders * filesPerFolder + ", 스레드: " + AppConfig.MAX_WORKER);
+
+        for (int i = 0; i < WARMUP; i++) {
+            runLock(folders, filesPerFolder);
+            runBuffer(folders, filesPerFolder);
+        }
+
+        long lock = 0;
+        long buffer = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            lock += runLock(folders, filesPerFolder);
+            buffer += runBuffer(folders, filesPerFolder);
+        }
+        System.out.println("LOCK   평균: " + lock / ROUNDS / 1_000_000 + "ms");
+        System.out.println("BUFFER 평균: " + buffer / ROUNDS / 1_000_000 + "ms");
+    }
+
+    private static long runLock(int folders, int files) {
+        List<Document> target = new ArrayList<>();
+        long start = System.nanoTime();
+        new ForkJoinPool(AppConfig.MAX_WORKER).invoke(new LockTask(0, folders, files, target));
+        long elapsed = System.nanoTime() - start;
+        check(target, folders, files);
+        return elapsed;
+    }
+
+    private static long runBuffer(int folders, int files) {
+        List<Document> target = new ArrayList<>();
+        long start = System.nanoTime();
+        BufferTask root = new BufferTask(0, folders, files, new LongAdder());
+        new ForkJoinPool(AppConfig.MAX_WORKER).invoke(root);
+        root.drainTo(target);
+        long elapsed = System.nanoTime() - start;
+        check(target, folders, files);
+        return elapsed;
+    }
+
+    private static void check(List<Document> target, int folders, int files) {
+        if (target.size() != folders * files) {
+            throw new IllegalStateException("문서 수 불일치: " + target.size());
+        }
+    }
+
+    // [from, to) 범위의 폴더를 FAN_OUT 개씩 나누어 하위 작업으로 만드는 가상 트리
+    private static final class LockTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int files;
+        private final List<Document> target;
+
+        LockTask(int from, int to, int files, List<Document> target) {
+            this.from = from;
+            this.to = to;
+            this.files = files;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < files; i++) {
+                Document doc = new Document("f" + i, "/d" + from + "/f" + i);
+                int size;
+                synchronized (target) {
+                    target.add(doc);
+                    size = target.size();
+                }
+                if (size < 0) {
+                    throw new IllegalStateException();
+                }
+            }
+            List<LockTask> subs = new ArrayList<>();
+            int step = Math.max(1, (to - from - 1 + FAN_OUT - 1) / FAN_OUT);
+            for (int s = from + 1; s < to; s += step) {
+                subs.add(new LockTask(s, Math.min(to, s + step), files, target));
+            }
+            invokeAll(subs);
+        }
+    }
+
+    private static final class BufferTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int files;
+        private final LongAdder counter;
+        private final List<Document> found = new ArrayList<>();
+        private List<BufferTask> children = List.of();
+
+        BufferTask(int from, int to, int files, LongAdder counter) {
+            this.from = from;
+            this.to = to;
+            this.files = files;
+            this.counter = counter;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < files; i++) {
+                found.add(new Document("f" + i, "/d" + from + "/f" + i));
+                counter.increment();
+            }
+            List<BufferTask> subs = new ArrayList<>();
+            int step = Math.max(1, (to - from - 1 + FAN_OUT - 1) / FAN_OUT);
+            for (int s = from + 1; s < to; s += step) {
+                subs.add(new BufferTask(s, Math.min(to, s + step), files, counter));
+            }
+            invokeAll(subs);
+            children = subs;
+        }
+
+        void drainTo(List<Document> out) {
+            out.addAll(found);
+            for (BufferTask child : children) {
+                child.drainTo(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package rag.benchmark;
+
+import rag.config.AppConfig;
+import rag.model.Document;
+import rag.util.FileUtils;
+import rag.util.IoCrawler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 디스크 탐색 방식 비교
+ * - LEGACY : 항목마다 isFile/isDirectory/length/lastModified, 하위 폴더마다 exists/canRead/isHidden
+ * - ATTR   : FileUtils.FolderTask, 항목마다 BasicFileAttributes 한 번
+ * - IO     : IoCrawler, 폴더마다 작업 하나 (가상 스레드 또는 플랫폼 스레드 풀)
+ * 실행: java rag.benchmark.CrawlBenchmark [파일 수] [폴더당 파일 수]
+ */
+public class CrawlBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int filesPerFolder = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        Path root = Files.createTempDirectory("rag-crawl");
+        try {
+            SyntheticTree.create(root, fileCount, filesPerFolder);
+            AppConfig.setDocPath(root.toString());
+
+            // 워밍업 (페이지 캐시 적재 포함)
+            runLegacy(root, new LongAdder());
+            runAttr(root);
+
+            long legacy = 0;
+            long attr = 0;
+            long io = 0;
+            LongAdder legacyCalls = new LongAdder();
+            for (int i = 0; i < ROUNDS; i++) {
+                legacyCalls.reset();
+                legacy += runLegacy(root, legacyCalls);
+                attr += runAttr(root);
+                io += runIo(root);
+            }
+            long entries = countEntries(root);
+            System.out.println("항목 수: " + entries);
+            System.out.println("LEGACY 평균: " + legacy / ROUNDS / 1_000_000 + "ms, 메타데이터 호출: " + legacyCalls.sum());
+            System.out.println("ATTR   평균: " + attr / ROUNDS / 1_000_000 + "ms, 메타데이터 호출: " + entries);
+            System.out.println("IO     평균: " + io / ROUNDS / 1_000_000 + "ms (최대 동시 폴더 " + AppConfig.MAX_OPEN_DIRS + "개)");
+        } finally {
+            SyntheticTree.delete(root);
+        }
+    }
+
+    private static long runLegacy(Path root, LongAdder calls) {
+        List<Document> target = new ArrayList<>();
+        long start = System.nanoTime();
+        new ForkJoinPool(AppConfig.MAX_WORKER).invoke(new LegacyTask(root.toFile(), 0, target, calls));
+        return System.nanoTime() - start;
+    }
+
+    private static long runAttr(Path root) {
+        List<Document> target = new ArrayList<>();
+        long start = System.nanoTime();
+        new ForkJoinPool(AppConfig.MAX_WORKER).invoke(new FileUtils.FolderTask(root.toFile(), 0, null, target));
+        return System.nanoTime() - start;
+    }
+
+    private static long runIo(Path root) {
+        long start = System.nanoTime();
+        try {
+            new IoCrawler(AppConfig.MAX_OPEN_DIRS, null).crawl(root.toFile());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long countEntries(Path root) throws IOException {
+        try (var stream = Files.walk(root)) {
+            return stream.count() - 1;
+        }
+    }
+
+    // 변경 전 FolderTask 와 같은 방식의 탐색 (호출 수 집계 포함)
+    private static final class LegacyTask extends RecursiveAction {
+        private final File folder;
+        private final int depth;
+        private final List<Document> target;
+        private final LongAdder calls;
+
+        LegacyTask(File folder, int depth, List<Document> target, LongAdder calls) {
+            this.folder = folder;
+            this.depth = depth;
+            this.target = target;
+            this.calls = calls;
+        }
+
+        @Override
+        protected void compute() {
+            calls.add(3); // exists, canRead, isHidden
+            if (depth > FileUtils.MAX_DEPTHS || !folder.exists() || !folder.canRead() || folder.isHidden()) {
+                return;
+            }
+            List<LegacyTask> subTasks = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder.toPath())) {
+                for (Path path : stream) {
+                    File file = path.toFile();
+                    calls.increment(); // isFile
+                    if (file.isFile() && FileUtils.allowed(file)) {
+                        calls.add(2); // length, lastModified
+                        String filePath = file.getAbsolutePath().substring(AppConfig.DOC_PATH.length());
+                        synchronized (target) {
+                            target.add(new Document(file.getName(), filePath, file.length(), file.lastModified()));
+                        }
+                    } else {
+                        calls.increment(); // isDirectory
+                        if (file.isDirectory() && !FileUtils.isSystemDirectory(file)) {
+                            subTasks.add(new LegacyTask(file, depth + 1, target, calls));
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            invokeAll(subTasks);
+        }
+    }
+}
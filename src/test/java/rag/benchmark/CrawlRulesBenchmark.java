@@ -0,0 +1,87 @@
+package rag.benchmark;
+
+import org.apache.commons.io.FilenameUtils;
+import rag.util.CrawlRules;
+
+import java.util.Set;
+
+/**
+ * 탐색 필터 비교
+ * - LEGACY : 호출마다 Set.of(...) 생성 + 이름 소문자 변환 후 contains 검사
+ * - RULES  : 컴파일된 CrawlRules (확장자 해시 집합 + 세그먼트 오토마톤)
+ * 실행: java rag.benchmark.CrawlRulesBenchmark [이름 수]
+ */
+public class CrawlRulesBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] files = new String[count];
+        String[] folders = new String[count];
+        String[] exts = {"txt", "PDF", "docx", "jpg", "hwp", "mp4", "xlsx"};
+        String[] dirs = {"Documents", "Template", "2024_보고서", "cache", "Projects", "temp", "src"};
+        for (int i = 0; i < count; i++) {
+            files[i] = "문서_" + i + "." + exts[i % exts.length];
+            folders[i] = dirs[i % dirs.length] + (i % 3 == 0 ? "" : "_" + i);
+        }
+
+        CrawlRules rules = CrawlRules.DEFAULT;
+        long sink = 0;
+        for (int i = 0; i < 3; i++) {
+            sink += runLegacy(files, folders) + runRules(rules, files, folders);
+        }
+
+        long legacy = 0;
+        long compiled = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += runLegacy(files, folders);
+            legacy += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += runRules(rules, files, folders);
+            compiled += System.nanoTime() - start;
+        }
+        System.out.println("이름 수: " + count + " (파일 " + count + ", 폴더 " + count + ") / " + sink);
+        System.out.println("LEGACY 평균: " + legacy / ROUNDS / 1_000_000 + "ms");
+        System.out.println("RULES  평균: " + compiled / ROUNDS / 1_000_000 + "ms");
+    }
+
+    private static int runLegacy(String[] files, String[] folders) {
+        int accepted = 0;
+        for (String file : files) {
+            String ext = FilenameUtils.getExtension(file).toLowerCase();
+            Set<String> allowed = Set.of("txt", "pdf", "docx", "pptx", "hwp", "xlsx", "csv",
+                    "exe", "msi", "dmg", "app", "html", "xml", "md", "rtf", "odt");
+            if (allowed.contains(ext)) {
+                accepted++;
+            }
+        }
+        for (String folder : folders) {
+            String name = folder.toLowerCase();
+            boolean system = name.startsWith(".") || name.equals("system32") || name.equals("windows")
+                    || name.equals("program files") || name.equals("program files (x86)")
+                    || name.contains("temp") || name.contains("cache");
+            if (!system) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    private static int runRules(CrawlRules rules, String[] files, String[] folders) {
+        int accepted = 0;
+        CrawlRules.State root = rules.root();
+        for (String file : files) {
+            if (rules.acceptsFile(root, file)) {
+                accepted++;
+            }
+        }
+        for (String folder : folders) {
+            if (rules.enter(root, folder) != null) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,67 @@
+package rag.benchmark;
+
+import rag.model.CompactDocumentStore;
+import rag.model.Document;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 문서 목록 힙 사용량 비교
+ * - LIST   : Document 객체 목록 (파일명/경로 문자열을 문서마다 따로 보관, 탐색 결과와 같은 형태)
+ * - COMPACT: CompactDocumentStore (폴더 중복 제거 + 파일명 UTF-8 배열)
+ * 실행: java rag.benchmark.DocumentStoreBenchmark [문서 수] [폴더당 파일 수]
+ */
+public class DocumentStoreBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int filesPerFolder = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        System.out.println("문서 수: " + count + ", 폴더당 파일 수: " + filesPerFolder);
+
+        long base = usedHeap();
+        List<Document> list = create(count, filesPerFolder);
+        long listBytes = usedHeap() - base;
+
+        long start = System.nanoTime();
+        CompactDocumentStore store = CompactDocumentStore.copyOf(list);
+        long copyMs = (System.nanoTime() - start) / 1_000_000;
+        list = null;
+        long storeBytes = usedHeap() - base;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (Document doc : store) {
+            checksum += doc.path.length() + doc.fileName.length();
+        }
+        long scanMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("LIST    힙: %.1fMB (문서당 %d bytes)%n", listBytes / 1e6, listBytes / count);
+        System.out.printf("COMPACT 힙: %.1fMB (문서당 %d bytes, 폴더 %d개), 복사 %dms%n",
+                storeBytes / 1e6, storeBytes / count, store.folderCount(), copyMs);
+        System.out.printf("COMPACT 전체 순회: %dms (%d)%n", scanMs, checksum);
+    }
+
+    // 탐색 결과처럼 파일명과 경로를 각각 새 문자열로 생성
+    private static List<Document> create(int count, int filesPerFolder) {
+        List<Document> documents = new ArrayList<>(count);
+        String sep = File.separator;
+        for (int i = 0; i < count; i++) {
+            int folder = i / filesPerFolder;
+            String name = "문서_" + i + ".pdf";
+            String path = sep + "프로젝트" + (folder % 10) + sep + "하위" + (folder / 10 % 10) + sep + "폴더_" + folder + sep
+                    + "문서_" + i + ".pdf";
+            documents.add(new Document(name, path, i, 1_700_000_000_000L + i));
+        }
+        return documents;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
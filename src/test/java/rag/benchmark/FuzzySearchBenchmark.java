@@ -0,0 +1,64 @@
+package rag.benchmark;
+
+import rag.model.Document;
+import rag.search.FuzzyIndex;
+import rag.search.SearchHit;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 오타 허용 파일명 검색 시간과 재현율
+ * - 검색어: 색인된 파일명의 단어에서 음절 하나의 모음을 다른 모음으로 바꾼 것 (자모 1개 오타, 예: 계획 → 게획)
+ * - 정확도: 1위 파일명에 오타를 넣기 전 단어가 들어 있는 비율 (같은 단어를 가진 파일명이 많으므로 원본 문서 자체가 아닌 단어로 판정)
+ * 실행: java rag.benchmark.FuzzySearchBenchmark [문서 수] [검색 횟수]
+ */
+public class FuzzySearchBenchmark {
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        System.out.println("문서 수: " + count + ", 검색 횟수: " + queries);
+
+        List<Document> documents = SyntheticDocuments.create(count, 100, 42);
+        long start = System.nanoTime();
+        FuzzyIndex index = FuzzyIndex.build(documents);
+        System.out.printf("색인 생성: %dms, 파일명 %d개, trigram %d개%n",
+                (System.nanoTime() - start) / 1_000_000, index.nameCount(), index.gramCount());
+
+        Random random = new Random(7);
+        String[] questions = new String[queries];
+        String[] words = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            int target = random.nextInt(count);
+            String name = documents.get(target).fileName;
+            String word = name.substring(0, name.lastIndexOf('.')).replaceFirst("^\\d+_", "").split("_")[0];
+            int at = random.nextInt(word.length());
+            int syllable = word.charAt(at) - '가';
+            int vowel = syllable % (21 * 28) / 28;
+            int typo = (vowel + 1 + random.nextInt(20)) % 21;
+            char changed = (char) ('가' + syllable - vowel * 28 + typo * 28);
+            questions[i] = word.substring(0, at) + changed + word.substring(at + 1);
+            words[i] = word;
+        }
+
+        for (int i = 0; i < Math.min(100, queries); i++) {
+            index.search(questions[i], 10, null);
+        }
+
+        long[] nanos = new long[queries];
+        int found = 0;
+        for (int i = 0; i < queries; i++) {
+            long t = System.nanoTime();
+            List<SearchHit> hits = index.search(questions[i], 10, null);
+            nanos[i] = System.nanoTime() - t;
+            if (!hits.isEmpty() && hits.get(0).getDocument().fileName.contains(words[i])) {
+                found++;
+            }
+        }
+        Arrays.sort(nanos);
+        System.out.printf("검색 (상위 10): p50 %.2fms, p99 %.2fms, 최대 %.2fms, 1위에 원래 단어 %.1f%%%n",
+                nanos[queries / 2] / 1e6, nanos[queries * 99 / 100] / 1e6, nanos[queries - 1] / 1e6,
+                found * 100.0 / queries);
+    }
+}
@@ -0,0 +1,90 @@
+package rag.benchmark;
+
+import rag.model.Document;
+import rag.search.HybridRetriever;
+import rag.search.SearchHit;
+import rag.search.SearchIndexes;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 하이브리드(RRF) 후보 검색 시간과 BM25 단독 대비 후보 적중률
+ * - 검색어: 절반은 색인된 파일명의 단어 그대로, 절반은 모음 하나를 바꾼 오타 (FuzzySearchBenchmark 와 같은 방식)
+ * - 적중: 후보(프롬프트에 들어갈 문서) 중 원래 단어가 파일명에 있는 문서가 있는지
+ * 실행: java rag.benchmark.HybridSearchBenchmark [문서 수] [검색 횟수] [후보 수]
+ */
+public class HybridSearchBenchmark {
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int candidates = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        System.out.println("문서 수: " + count + ", 검색 횟수: " + queries + ", 후보 수: " + candidates);
+
+        List<Document> documents = SyntheticDocuments.create(count, 100, 42);
+        SearchIndexes indexes = SearchIndexes.of(documents);
+        long start = System.nanoTime();
+        indexes.lexical();
+        indexes.fuzzy();
+        System.out.printf("색인 생성 (BM25 + trigram): %dms%n", (System.nanoTime() - start) / 1_000_000);
+
+        Random random = new Random(7);
+        String[] questions = new String[queries];
+        String[] words = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            String name = documents.get(random.nextInt(count)).fileName;
+            String word = name.substring(0, name.lastIndexOf('.')).replaceFirst("^\\d+_", "").split("_")[0];
+            words[i] = word;
+            if (i % 2 == 0) {
+                questions[i] = word;
+                continue;
+            }
+            int at = random.nextInt(word.length());
+            int syllable = word.charAt(at) - '가';
+            int vowel = syllable % (21 * 28) / 28;
+            int typo = (vowel + 1 + random.nextInt(20)) % 21;
+            questions[i] = word.substring(0, at) + (char) ('가' + syllable - vowel * 28 + typo * 28)
+                    + word.substring(at + 1);
+        }
+
+        for (int i = 0; i < Math.min(50, queries); i++) {
+            HybridRetriever.retrieve(questions[i], indexes, null, candidates);
+        }
+
+        long[] lexicalNanos = new long[queries];
+        long[] hybridNanos = new long[queries];
+        int[] lexicalFound = new int[2];
+        int[] hybridFound = new int[2];
+        for (int i = 0; i < queries; i++) {
+            long t = System.nanoTime();
+            List<SearchHit> lexical = indexes.lexical().search(questions[i], candidates, null);
+            lexicalNanos[i] = System.nanoTime() - t;
+            t = System.nanoTime();
+            List<SearchHit> hybrid = HybridRetriever.retrieve(questions[i], indexes, null, candidates);
+            hybridNanos[i] = System.nanoTime() - t;
+            lexicalFound[i % 2] += contains(lexical, words[i]) ? 1 : 0;
+            hybridFound[i % 2] += contains(hybrid, words[i]) ? 1 : 0;
+        }
+        int exact = (queries + 1) / 2;
+        int typos = queries / 2;
+        print("BM25 단독", lexicalNanos, lexicalFound, exact, typos);
+        print("하이브리드", hybridNanos, hybridFound, exact, typos);
+    }
+
+    private static boolean contains(List<SearchHit> hits, String word) {
+        for (SearchHit hit : hits) {
+            if (hit.getDocument().fileName.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void print(String name, long[] nanos, int[] found, int exact, int typos) {
+        Arrays.sort(nanos);
+        System.out.printf("%s: p50 %.2fms, p99 %.2fms, 적중 (정확 %.1f%%, 오타 %.1f%%)%n", name,
+                nanos[nanos.length / 2] / 1e6, nanos[nanos.length * 99 / 100] / 1e6,
+                found[0] * 100.0 / exact, found[1] * 100.0 / typos);
+    }
+}
@@ -0,0 +1,52 @@
+package rag.benchmark;
+
+import rag.config.AppConfig;
+import rag.service.IndexService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static rag.config.AppConfig.DOCUMENTS;
+
+/**
+ * 전체 재구축(buildIndex)과 증분 갱신(updateIndex) 비교
+ * 실행: java rag.benchmark.IncrementalIndexBenchmark [파일 수] [변경 비율(%)]
+ */
+public class IncrementalIndexBenchmark {
+    private static final String INDEX_NAME = "bench_incremental";
+
+    public static void main(String[] args) throws Exception {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int changePercent = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        Path root = Files.createTempDirectory("rag-bench");
+        try {
+            List<Path> files = SyntheticTree.create(root, fileCount, 100);
+            AppConfig.setDocPath(root.toString());
+
+            long start = System.nanoTime();
+            IndexService.buildIndex(INDEX_NAME, null);
+            long fullMs = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("전체 재구축: " + fullMs + "ms (" + DOCUMENTS.size() + "개 문서)");
+
+            // 일부 파일 변경/추가
+            int changes = Math.max(1, files.size() * changePercent / 100);
+            for (int i = 0; i < changes; i++) {
+                Files.writeString(files.get(i * (files.size() / changes)), "changed");
+                Files.writeString(files.get(0).getParent().resolve("new_" + i + ".txt"), "new");
+            }
+
+            start = System.nanoTime();
+            String result = IndexService.updateIndex(INDEX_NAME, null);
+            long incMs = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("증분 갱신: " + incMs + "ms - " + result);
+
+            start = System.nanoTime();
+            result = IndexService.updateIndex(INDEX_NAME, null);
+            System.out.println("변경 없음: " + (System.nanoTime() - start) / 1_000_000 + "ms - " + result);
+        } finally {
+            SyntheticTree.delete(root);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package rag.benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import rag.index.BinaryIndexReader;
+import rag.index.BinaryIndexWriter;
+import rag.index.JsonIndexReader;
+import rag.index.JsonIndexWriter;
+import rag.index.MappedIndex;
+import rag.model.Document;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 인덱스 파일 형식별 크기/저장/로드 시간 비교 (IndexService 의 저장 방식과 동일)
+ * - DAT  : ObjectOutputStream 직렬화
+ * - JSON : org.json 배열 (들여쓰기 2, 기존 방식)
+ * - JSTR : JsonIndexWriter / JsonIndexReader 스트리밍
+ * - IDX  : BinaryIndexWriter / BinaryIndexReader
+ * - MMAP : IDX 파일을 MappedIndex 로 열고 임의 문서 1000개 조회 (열기 시간은 문서 수와 무관해야 함)
+ * 할당량은 저장/로드 중 현재 스레드가 할당한 바이트 (로드는 결과 문서 포함)
+ * 실행: java rag.benchmark.IndexFormatBenchmark [문서 수]
+ */
+public class IndexFormatBenchmark {
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Document> documents = generate(count);
+        Path dir = Files.createTempDirectory("rag-index-format");
+        System.out.println("문서 수: " + count);
+
+        try {
+            run("DAT ", dir.resolve("index.dat"), documents, Format.DAT);
+            run("JSON", dir.resolve("index.json"), documents, Format.JSON);
+            run("JSTR", dir.resolve("index.json"), documents, Format.JSTR);
+            run("IDX ", dir.resolve("index.idx"), documents, Format.IDX);
+            run("MMAP", dir.resolve("index.idx"), documents, Format.MMAP);
+        } finally {
+            SyntheticTree.delete(dir);
+        }
+    }
+
+    private enum Format { DAT, JSON, JSTR, IDX, MMAP }
+
+    private static void run(String label, Path file, List<Document> documents, Format format) throws Exception {
+        long save = Long.MAX_VALUE;
+        long load = Long.MAX_VALUE;
+        long saveAlloc = 0;
+        long loadAlloc = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            save(file, documents, format);
+            save = Math.min(save, System.nanoTime() - start);
+            saveAlloc = allocatedBytes() - allocated;
+
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            int loaded = load(file, format).size();
+            load = Math.min(load, System.nanoTime() - start);
+            loadAlloc = allocatedBytes() - allocated;
+            if (loaded != documents.size()) {
+                throw new IllegalStateException("문서 수 불일치: " + loaded);
+            }
+        }
+        System.out.printf("%s 크기: %,d bytes, 저장: %dms (할당 %,dMB), 로드: %dms (할당 %,dMB)%n",
+                label, Files.size(file), save / 1_000_000, saveAlloc >> 20, load / 1_000_000, loadAlloc >> 20);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static void save(Path file, List<Document> documents, Format format) throws IOException {
+        switch (format) {
+            case DAT:
+                try (ObjectOutputStream oos = new ObjectOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(file.toFile())))) {
+                    oos.writeObject(new ArrayList<>(documents));
+                }
+                break;
+            case JSON:
+                JSONArray array = new JSONArray();
+                for (Document doc : documents) {
+                    array.put(new JSONObject()
+                            .put("fileName", doc.fileName)
+                            .put("path", doc.path)
+                            .put("size", doc.size)
+                            .put("modified", doc.modified));
+                }
+                try (FileWriter writer = new FileWriter(file.toFile())) {
+                    writer.write(array.toString(2));
+                }
+                break;
+            case JSTR:
+                JsonIndexWriter.write(file, documents);
+                break;
+            default:
+                BinaryIndexWriter.write(file, documents);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Document> load(Path file, Format format) throws Exception {
+        switch (format) {
+            case DAT:
+                try (ObjectInputStream ois = new ObjectInputStream(
+                        new BufferedInputStream(new FileInputStream(file.toFile())))) {
+                    return (List<Document>) ois.readObject();
+                }
+            case JSON:
+                JSONArray array = new JSONArray(Files.readString(file));
+                List<Document> documents = new ArrayList<>(array.length());
+                for (int i = 0; i < array.length(); i++) {
+                    JSONObject json = array.getJSONObject(i);
+                    documents.add(new Document(json.optString("fileName"), json.optString("path"),
+                            json.optLong("size"), json.optLong("modified")));
+                }
+                return documents;
+            case JSTR:
+                return JsonIndexReader.readAll(file);
+            case MMAP:
+                MappedIndex index = MappedIndex.open(file);
+                for (int i = 0; i < 1000; i++) {
+                    index.get((int) ((long) i * 7919 % index.size()));
+                }
+                return index;
+            default:
+                return BinaryIndexReader.readAll(file);
+        }
+    }
+
+    // 폴더 100개 x 하위 폴더 100개 구조의 가상 문서 목록
+    private static List<Document> generate(int count) {
+        String[] ext = {".pdf", ".docx", ".xlsx", ".txt", ".hwp"};
+        List<Document> documents = new ArrayList<>(count);
+        long base = 1_700_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            String name = "문서_" + i + ext[i % ext.length];
+            String path = File.separator + "프로젝트_" + (i % 100) + File.separator + "자료_" + (i / 100 % 100)
+                    + File.separator + name;
+            documents.add(new Document(name, path, 1024L + i % 100_000, base + i * 1000L));
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,68 @@
+package rag.benchmark;
+
+import rag.index.IndexStore;
+import rag.model.Document;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 소량 변경 저장 비용 비교
+ * - FULL   : 변경 후 전체 인덱스 다시 쓰기 (기존 saveIndex)
+ * - APPEND : 변경된 문서만 변경 기록에 추가
+ * - COMPACT: 누적된 변경 기록을 기본 세그먼트에 병합 (백그라운드 작업 1회 비용)
+ * 실행: java rag.benchmark.JournalBenchmark [문서 수] [변경 수]
+ */
+public class JournalBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int changes = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = "문서_" + i + ".pdf";
+            documents.add(new Document(name, File.separator + "폴더_" + (i % 1000) + File.separator + name, i, i));
+        }
+        Path dir = Files.createTempDirectory("rag-journal");
+        Path base = dir.resolve("index.idx");
+        System.out.println("문서 수: " + count + ", 변경 수: " + changes);
+
+        try {
+            long full = Long.MAX_VALUE;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                IndexStore.write(base, documents);
+                full = Math.min(full, System.nanoTime() - start);
+            }
+
+            long append = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                List<Document> upserts = new ArrayList<>(changes);
+                List<String> deletes = new ArrayList<>();
+                for (int i = 0; i < changes; i++) {
+                    Document doc = documents.get((round * changes + i) * 7919 % count);
+                    upserts.add(new Document(doc.fileName, doc.path, doc.size + 1, doc.modified + 1));
+                }
+                deletes.add(documents.get(round).path);
+                long start = System.nanoTime();
+                IndexStore.append(base, upserts, deletes);
+                append = Math.min(append, System.nanoTime() - start);
+            }
+            long journal = IndexStore.journalSize(base);
+
+            long start = System.nanoTime();
+            IndexStore.compact(base);
+            long compact = System.nanoTime() - start;
+
+            System.out.printf("FULL    최소: %dms (%,d bytes)%n", full / 1_000_000, Files.size(base));
+            System.out.printf("APPEND  최소: %.2fms (누적 기록 %,d bytes)%n", append / 1e6, journal);
+            System.out.printf("COMPACT 1회: %dms%n", compact / 1_000_000);
+        } finally {
+            SyntheticTree.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package rag.benchmark;
+
+import rag.model.Document;
+import rag.search.Analyzer;
+import rag.search.KoreanAnalyzer;
+import rag.search.LexicalIndex;
+import rag.search.SearchHit;
+import rag.search.SimpleAnalyzer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BM25 색인 생성/검색 시간
+ * - 검색어는 색인된 파일명에서 뽑은 단어 1~2개 (+ 연도)
+ * - 분석기: simple (구분자 단위), korean (한글 bigram), choseong (한글 bigram + 초성 bigram)
+ * 실행: java rag.benchmark.LexicalSearchBenchmark [문서 수] [검색 횟수] [분석기]
+ */
+public class LexicalSearchBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        String analyzerName = args.length > 2 ? args[2] : "korean";
+        Analyzer analyzer = "simple".equals(analyzerName) ? new SimpleAnalyzer()
+                : new KoreanAnalyzer("choseong".equals(analyzerName));
+        System.out.println("문서 수: " + count + ", 검색 횟수: " + queries + ", 분석기: " + analyzerName);
+
+        List<Document> documents = SyntheticDocuments.create(count, 100, 42);
+        long base = usedHeap();
+        long start = System.nanoTime();
+        LexicalIndex index = LexicalIndex.build(documents, analyzer);
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+        long indexBytes = usedHeap() - base;
+        System.out.printf("색인 생성: %dms, 토큰 %d개, 포스팅 %d개, 힙 %.1fMB%n",
+                buildMs, index.termCount(), index.postingCount(), indexBytes / 1e6);
+
+        String[] words = SyntheticDocuments.vocabulary(5000, 42);
+        Random random = new Random(7);
+        String[] questions = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            questions[i] = words[random.nextInt(words.length)]
+                    + (i % 2 == 0 ? " " + words[random.nextInt(words.length)] : "")
+                    + (i % 3 == 0 ? " " + (2015 + random.nextInt(10)) : "");
+        }
+
+        // 워밍업
+        for (int i = 0; i < Math.min(100, queries); i++) {
+            index.search(questions[i], 1000, null);
+        }
+
+        long[] nanos = new long[queries];
+        long hits = 0;
+        for (int i = 0; i < queries; i++) {
+            long t = System.nanoTime();
+            List<SearchHit> result = index.search(questions[i], 1000, null);
+            nanos[i] = System.nanoTime() - t;
+            hits += result.size();
+        }
+        Arrays.sort(nanos);
+        System.out.printf("검색 (상위 1000): p50 %.2fms, p99 %.2fms, 최대 %.2fms, 평균 결과 %d개%n",
+                nanos[queries / 2] / 1e6, nanos[queries * 99 / 100] / 1e6, nanos[queries - 1] / 1e6, hits / queries);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
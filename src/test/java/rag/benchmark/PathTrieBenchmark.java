@@ -0,0 +1,86 @@
+package rag.benchmark;
+
+import rag.model.Document;
+import rag.model.PathTrie;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 폴더 범위 조회 비교
+ * - SCAN: 전체 목록에서 경로 접두사로 걸러내기 (폴더마다 전체 순회)
+ * - TRIE: PathTrie 구간 조회 (폴더 찾기 + 구간 보기)
+ * 실행: java rag.benchmark.PathTrieBenchmark [문서 수] [폴더당 파일 수]
+ */
+public class PathTrieBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int filesPerFolder = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int queries = 200;
+        System.out.println("문서 수: " + count + ", 폴더당 파일 수: " + filesPerFolder);
+
+        List<Document> documents = create(count, filesPerFolder);
+        int folders = count / filesPerFolder;
+
+        long start = System.nanoTime();
+        PathTrie trie = PathTrie.build(documents);
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 프로젝트 단위(1/10)와 폴더 단위(폴더 하나) 조회를 번갈아 수행
+        String[] scopes = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            int folder = (int) ((long) i * 7919 % folders);
+            scopes[i] = i % 2 == 0 ? "/프로젝트" + (folder % 10)
+                    : "/프로젝트" + (folder % 10) + "/하위" + (folder / 10 % 10) + "/폴더_" + folder;
+        }
+
+        long scanChecksum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < queries / 10; i++) {
+            String prefix = scopes[i] + "/";
+            for (Document doc : documents) {
+                if (doc.path.startsWith(prefix)) {
+                    scanChecksum++;
+                }
+            }
+        }
+        double scanMs = (System.nanoTime() - start) / 1e6 / (queries / 10);
+
+        long trieChecksum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            trieChecksum += trie.under(scopes[i]).size();
+        }
+        double trieUs = (System.nanoTime() - start) / 1e3 / queries;
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < count; i += count / 1000) {
+            if (trie.find(documents.get(i).path) != null) {
+                found++;
+            }
+        }
+        double findUs = (System.nanoTime() - start) / 1e3 / 1000;
+
+        System.out.printf("TRIE 생성: %dms (정렬 포함)%n", buildMs);
+        System.out.printf("SCAN 범위 조회: %.1fms/회 (%d)%n", scanMs, scanChecksum);
+        System.out.printf("TRIE 범위 조회: %.2fµs/회 (%d)%n", trieUs, trieChecksum);
+        System.out.printf("TRIE 경로 찾기: %.2fµs/회 (%d)%n", findUs, found);
+    }
+
+    // 탐색 순서처럼 폴더 단위로 섞인 목록 (경로 순이 아님)
+    private static List<Document> create(int count, int filesPerFolder) {
+        List<Document> documents = new ArrayList<>(count);
+        int folders = count / filesPerFolder;
+        for (int f = 0; f < folders; f++) {
+            int folder = (int) ((long) f * 31 % folders);
+            String dir = "/프로젝트" + (folder % 10) + "/하위" + (folder / 10 % 10) + "/폴더_" + folder + "/";
+            for (int i = 0; i < filesPerFolder; i++) {
+                String name = "문서_" + i + ".pdf";
+                documents.add(new Document(name, dir + name));
+            }
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,162 @@
+package rag.benchmark;
+
+import rag.model.Document;
+import rag.search.HashedEmbedder;
+import rag.search.ProductQuantizer;
+import rag.search.QuantizedVectors;
+import rag.search.ScalarQuantizer;
+import rag.search.SimilarityKernel;
+import rag.search.SimilarityKernels;
+import rag.search.VectorFile;
+import rag.search.VectorQuantizer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벡터 양자화 설정별 메모리 / recall@10 / 검색 지연 (전수 조사 ADC, 재정렬 유무)
+ * - 문서 벡터: HashedEmbedder (파일명 + 폴더), 검색어: 색인된 파일명에서 뽑은 단어 1~2개
+ * - 기준: float 원본 전수 조사 (SIMD 커널), 재정렬은 디스크(메모리 매핑) 원본으로 ADC 상위 RERANK 개를 다시 계산
+ * - 재현율: 같은 점수의 문서가 많으므로 정답 10위 점수 이상인 결과를 맞은 것으로 봄
+ * 실행: java --add-modules jdk.incubator.vector rag.benchmark.QuantizationBenchmark [문서 수] [차원] [검색 횟수]
+ * (-Xmx3g 이상, 기준 측정과 인코딩을 위해 float 원본을 힙에도 올림)
+ */
+public class QuantizationBenchmark {
+    private static final int PAGE = 4096;
+    private static final int RERANK = 100;
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int dimension = args.length > 1 ? Integer.parseInt(args[1]) : 384;
+        int queryCount = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        SimilarityKernel kernel = SimilarityKernels.get();
+        System.out.println("문서 수: " + count + ", 차원: " + dimension + ", 검색 횟수: " + queryCount
+                + ", 커널: " + kernel.name());
+
+        // 문서 벡터 (힙, 기준 측정과 인코딩용), 학습 표본 1만 개
+        List<Document> documents = SyntheticDocuments.create(count, 100, 42);
+        HashedEmbedder embedder = new HashedEmbedder(dimension);
+        float[][] pages = new float[(count + PAGE - 1) / PAGE][];
+        List<float[]> sample = new ArrayList<>();
+        int step = Math.max(1, count / 10_000);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            float[] vector = embedder.embed(documents.get(i));
+            if (pages[i / PAGE] == null) {
+                pages[i / PAGE] = new float[Math.min(PAGE, count - i) * dimension];
+            }
+            System.arraycopy(vector, 0, pages[i / PAGE], (i % PAGE) * dimension, dimension);
+            if (i % step == 0 && sample.size() < 10_000) {
+                sample.add(vector);
+            }
+        }
+        documents = null;
+        System.out.printf("벡터 생성: %dms%n", (System.nanoTime() - start) / 1_000_000);
+
+        String[] words = SyntheticDocuments.vocabulary(5000, 42);
+        Random random = new Random(7);
+        float[][] queries = new float[queryCount][];
+        for (int i = 0; i < queryCount; i++) {
+            queries[i] = embedder.embed(words[random.nextInt(words.length)]
+                    + (i % 2 == 0 ? " " + words[random.nextInt(words.length)] : ""));
+        }
+
+        // 기준: float 전수 조사
+        for (int q = 0; q < Math.min(10, queryCount); q++) {
+            exactTop(kernel, pages, count, dimension, queries[q], 10);
+        }
+        float[] thresholds = new float[queryCount];
+        long[] nanos = new long[queryCount];
+        for (int q = 0; q < queryCount; q++) {
+            long t = System.nanoTime();
+            float[] top = exactTop(kernel, pages, count, dimension, queries[q], 10);
+            nanos[q] = System.nanoTime() - t;
+            thresholds[q] = top[9] - 1e-6f;
+        }
+        print("float32", (long) count * dimension * Float.BYTES, 1.0, nanos);
+
+        List<VectorQuantizer> quantizers = new ArrayList<>();
+        start = System.nanoTime();
+        quantizers.add(ScalarQuantizer.train(sample, dimension));
+        System.out.printf("int8 학습: %dms%n", (System.nanoTime() - start) / 1_000_000);
+        for (int subspaces : new int[]{dimension / 4, dimension / 8}) {
+            start = System.nanoTime();
+            quantizers.add(ProductQuantizer.train(sample, dimension, subspaces, 8, 42));
+            System.out.printf("pq%d 학습: %dms%n", subspaces, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        float[] vector = new float[dimension];
+        for (VectorQuantizer quantizer : quantizers) {
+            Path file = Files.createTempFile("rag-vectors", ".f32");
+            try (QuantizedVectors store = new QuantizedVectors(quantizer, new VectorFile(file, dimension))) {
+                start = System.nanoTime();
+                for (int i = 0; i < count; i++) {
+                    System.arraycopy(pages[i / PAGE], (i % PAGE) * dimension, vector, 0, dimension);
+                    store.add(vector);
+                }
+                System.out.printf("%s 인코딩 + 원본 파일 쓰기: %dms%n", quantizer.name(),
+                        (System.nanoTime() - start) / 1_000_000);
+                // 원본 파일은 힙 밖 (페이지 캐시) 이므로 메모리는 코드 + 코드북
+                measure(quantizer.name() + " ADC", store, 0, pages, queries, thresholds, kernel);
+                measure(quantizer.name() + " +재정렬" + RERANK, store, RERANK, pages, queries, thresholds, kernel);
+            }
+        }
+    }
+
+    private static void measure(String name, QuantizedVectors store, int candidates, float[][] pages,
+                                float[][] queries, float[] thresholds, SimilarityKernel kernel) {
+        for (int q = 0; q < Math.min(10, queries.length); q++) {
+            store.search(queries[q], 10, candidates, null);
+        }
+        int dimension = queries[0].length;
+        long[] nanos = new long[queries.length];
+        int found = 0;
+        for (int q = 0; q < queries.length; q++) {
+            long t = System.nanoTime();
+            int[] ids = store.search(queries[q], 10, candidates, null);
+            nanos[q] = System.nanoTime() - t;
+            for (int id : ids) {
+                float score = kernel.dot(queries[q], 0, pages[id / PAGE], (id % PAGE) * dimension, dimension);
+                if (score >= thresholds[q]) {
+                    found++;
+                }
+            }
+        }
+        print(name, store.memoryBytes(), found / (queries.length * 10.0), nanos);
+    }
+
+    private static void print(String name, long memory, double recall, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%-16s 메모리 %,8.1fMB, recall@10 %.3f, p50 %7.2fms, p99 %7.2fms%n", name,
+                memory / 1048576.0, recall, nanos[nanos.length / 2] / 1e6, nanos[nanos.length * 99 / 100] / 1e6);
+    }
+
+    // 상위 k 점수 (높은 순)
+    private static float[] exactTop(SimilarityKernel kernel, float[][] pages, int count, int dimension,
+                                    float[] query, int k) {
+        float[] top = new float[k];
+        Arrays.fill(top, -Float.MAX_VALUE);
+        float[] scores = new float[PAGE];
+        for (int p = 0; p < pages.length; p++) {
+            int rows = Math.min(PAGE, count - p * PAGE);
+            kernel.dots(query, pages[p], 0, rows, scores, 0);
+            for (int r = 0; r < rows; r++) {
+                float score = scores[r];
+                if (score > top[k - 1]) {
+                    int j = k - 1;
+                    while (j > 0 && top[j - 1] < score) {
+                        top[j] = top[j - 1];
+                        j--;
+                    }
+                    top[j] = score;
+                }
+            }
+        }
+        return top;
+    }
+}
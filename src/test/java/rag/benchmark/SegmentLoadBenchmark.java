@@ -0,0 +1,66 @@
+package rag.benchmark;
+
+import rag.index.BinaryIndexReader;
+import rag.index.BinaryIndexWriter;
+import rag.index.MappedIndex;
+import rag.model.Document;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 바이너리 인덱스 전체 로드 시간 비교
+ * - SEQ     : BinaryIndexReader 로 앞에서부터 순차 복원
+ * - PAR(n)  : MappedIndex.decodeAll 로 세그먼트를 n 개 스레드에서 병렬 복원
+ * 실행: java rag.benchmark.SegmentLoadBenchmark [문서 수]
+ */
+public class SegmentLoadBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = "문서_" + i + ".pdf";
+            documents.add(new Document(name, File.separator + "폴더_" + (i % 1000) + File.separator + name, i, i));
+        }
+        Path dir = Files.createTempDirectory("rag-segment");
+        Path file = dir.resolve("index.idx");
+        System.out.println("문서 수: " + count + ", 사용 가능 코어: " + Runtime.getRuntime().availableProcessors());
+
+        try {
+            BinaryIndexWriter.write(file, documents);
+            documents = null;
+
+            long seq = Long.MAX_VALUE;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                BinaryIndexReader.readAll(file);
+                seq = Math.min(seq, System.nanoTime() - start);
+            }
+            System.out.printf("SEQ     최소: %dms%n", seq / 1_000_000);
+
+            for (int threads : THREADS) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                long best = Long.MAX_VALUE;
+                try {
+                    for (int i = 0; i < ROUNDS; i++) {
+                        long start = System.nanoTime();
+                        MappedIndex.open(file).decodeAll(pool);
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+                System.out.printf("PAR(%d)  최소: %dms (x%.2f)%n", threads, best / 1_000_000, (double) seq / best);
+            }
+        } finally {
+            SyntheticTree.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package rag.benchmark;
+
+import rag.search.HnswIndex;
+import rag.search.SimilarityKernel;
+import rag.search.SimilarityKernels;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 유사도 커널 스칼라 vs SIMD (jdk.incubator.vector)
+ * - 전수 조사: 문서 벡터 전체와 내적 후 상위 10 (4096 행 단위 배열, HnswIndex 와 같은 배치)
+ * - HNSW 그래프 생성: 같은 벡터를 커널만 바꿔 추가
+ * 실행: java --add-modules jdk.incubator.vector rag.benchmark.SimilarityKernelBenchmark [차원] [문서 수...]
+ * (-Xmx3g 이상, 100만 x 384 차원이면 벡터만 1.5GB)
+ */
+public class SimilarityKernelBenchmark {
+    private static final int PAGE = 4096;
+
+    public static void main(String[] args) {
+        int dimension = args.length > 0 ? Integer.parseInt(args[0]) : 384;
+        int[] counts = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{100_000, 1_000_000};
+        SimilarityKernel scalar = SimilarityKernels.scalar();
+        SimilarityKernel vector = SimilarityKernels.vector();
+        System.out.println("차원: " + dimension + ", 커널: " + scalar.name() + " / "
+                + (vector != null ? vector.name() : "SIMD 사용 불가 (--add-modules jdk.incubator.vector 필요)"));
+
+        for (int count : counts) {
+            float[][] pages = randomPages(count, dimension, new Random(42));
+            float[][] queries = new float[20][];
+            Random random = new Random(7);
+            for (int q = 0; q < queries.length; q++) {
+                queries[q] = randomPages(1, dimension, random)[0];
+            }
+            System.out.println("문서 수: " + count);
+            int[] expected = bruteForce(scalar, pages, count, dimension, queries[0]);
+            for (SimilarityKernel kernel : vector != null
+                    ? new SimilarityKernel[]{scalar, vector} : new SimilarityKernel[]{scalar}) {
+                for (int i = 0; i < 5; i++) {
+                    bruteForce(kernel, pages, count, dimension, queries[i % queries.length]);
+                }
+                long[] nanos = new long[queries.length];
+                for (int q = 0; q < queries.length; q++) {
+                    long start = System.nanoTime();
+                    bruteForce(kernel, pages, count, dimension, queries[q]);
+                    nanos[q] = System.nanoTime() - start;
+                }
+                Arrays.sort(nanos);
+                double p50 = nanos[nanos.length / 2] / 1e6;
+                System.out.printf("  %-18s 전수 조사 p50 %8.2fms, 최소 %8.2fms, %.1f GFLOPS, 상위 10 일치 %b%n",
+                        kernel.name(), p50, nanos[0] / 1e6, 2.0 * count * dimension / (nanos[0]),
+                        Arrays.equals(expected, bruteForce(kernel, pages, count, dimension, queries[0])));
+            }
+        }
+
+        // 그래프 생성 (내적 호출이 대부분)
+        int graphCount = 20_000;
+        float[][] vectors = new float[graphCount][];
+        Random random = new Random(42);
+        for (int i = 0; i < graphCount; i++) {
+            vectors[i] = randomPages(1, dimension, random)[0];
+        }
+        for (SimilarityKernel kernel : vector != null
+                ? new SimilarityKernel[]{scalar, vector} : new SimilarityKernel[]{scalar}) {
+            long start = System.nanoTime();
+            HnswIndex index = new HnswIndex(dimension, 16, 100, 42, kernel);
+            for (float[] v : vectors) {
+                index.add(v);
+            }
+            System.out.printf("HNSW 생성 %,d건 %-18s %6dms%n", graphCount, kernel.name(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static float[][] randomPages(int count, int dimension, Random random) {
+        float[][] pages = new float[(count + PAGE - 1) / PAGE][];
+        for (int p = 0; p < pages.length; p++) {
+            int rows = Math.min(PAGE, count - p * PAGE);
+            float[] page = new float[rows * dimension];
+            for (int r = 0; r < rows; r++) {
+                double norm = 0;
+                for (int i = 0; i < dimension; i++) {
+                    float value = (float) random.nextGaussian();
+                    page[r * dimension + i] = value;
+                    norm += value * value;
+                }
+                float scale = (float) (1 / Math.sqrt(norm));
+                for (int i = 0; i < dimension; i++) {
+                    page[r * dimension + i] *= scale;
+                }
+            }
+            pages[p] = page;
+        }
+        return pages;
+    }
+
+    private static int[] bruteForce(SimilarityKernel kernel, float[][] pages, int count, int dimension, float[] query) {
+        int k = 10;
+        int[] ids = new int[k];
+        float[] top = new float[k];
+        Arrays.fill(top, -Float.MAX_VALUE);
+        float[] scores = new float[PAGE];
+        for (int p = 0; p < pages.length; p++) {
+            int rows = Math.min(PAGE, count - p * PAGE);
+            kernel.dots(query, pages[p], 0, rows, scores, 0);
+            for (int r = 0; r < rows; r++) {
+                float score = scores[r];
+                if (score > top[k - 1]) {
+                    int j = k - 1;
+                    while (j > 0 && top[j - 1] < score) {
+                        top[j] = top[j - 1];
+                        ids[j] = ids[j - 1];
+                        j--;
+                    }
+                    top[j] = score;
+                    ids[j] = p * PAGE + r;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,68 @@
+package rag.benchmark;
+
+import rag.config.AppConfig;
+import rag.config.DataType;
+import rag.service.IndexService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static rag.config.AppConfig.DOCUMENTS;
+
+/**
+ * 시작 후 검색 가능까지 걸리는 시간 (time-to-first-search) 비교
+ * - BEFORE: 인덱스가 오래되었으면 증분 갱신(updateIndex)이 끝날 때까지 대기한 뒤 검색 가능
+ * - AFTER : openIndex 로 저장된 인덱스를 바로 열고, 갱신은 백그라운드에서 진행 (갱신 완료 시각도 함께 측정)
+ * 실행: java rag.benchmark.StartupBenchmark [파일 수]
+ */
+public class StartupBenchmark {
+    private static final String INDEX_NAME = "bench_startup";
+    private static final long TWO_DAYS = 2L * 24 * 60 * 60 * 1000;
+
+    public static void main(String[] args) throws Exception {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        Path root = Files.createTempDirectory("rag-startup");
+        Path index = Path.of(System.getProperty("user.dir"), "temp", INDEX_NAME + new DataType().getFileExt());
+        try {
+            List<Path> files = SyntheticTree.create(root, fileCount, 100);
+            AppConfig.setDocPath(root.toString());
+            IndexService.buildIndex(INDEX_NAME, null);
+            System.out.println("파일 수: " + files.size());
+
+            // BEFORE: 오래된 인덱스 -> 갱신이 끝나야 검색 가능
+            makeStale(index);
+            DOCUMENTS.clear();
+            long start = System.nanoTime();
+            if (IndexService.shouldRebuildIndex(INDEX_NAME)) {
+                IndexService.updateIndex(INDEX_NAME, null);
+            } else {
+                IndexService.loadIndex(INDEX_NAME, null);
+            }
+            System.out.printf("BEFORE 검색 가능: %dms (%d개 문서)%n", (System.nanoTime() - start) / 1_000_000, DOCUMENTS.size());
+
+            // AFTER: 저장된 인덱스로 바로 검색, 갱신은 백그라운드
+            makeStale(index);
+            DOCUMENTS.clear();
+            CountDownLatch synced = new CountDownLatch(1);
+            start = System.nanoTime();
+            IndexService.openIndex(INDEX_NAME, null, synced::countDown);
+            long ready = System.nanoTime() - start;
+            int servedCount = DOCUMENTS.size();
+            synced.await();
+            long revalidated = System.nanoTime() - start;
+            System.out.printf("AFTER  검색 가능: %dms (%d개 문서), 백그라운드 갱신 완료: %dms%n",
+                    ready / 1_000_000, servedCount, revalidated / 1_000_000);
+        } finally {
+            Files.deleteIfExists(index);
+            Files.deleteIfExists(index.resolveSibling(index.getFileName() + ".journal"));
+            SyntheticTree.delete(root);
+        }
+    }
+
+    private static void makeStale(Path index) throws Exception {
+        Files.setLastModifiedTime(index, FileTime.fromMillis(System.currentTimeMillis() - TWO_DAYS));
+    }
+}
@@ -0,0 +1,65 @@
+package rag.benchmark;
+
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 검색 벤치마크용 가상 문서 목록 생성기 (파일을 만들지 않고 메모리에만 생성)
+ * - 실제 업무 폴더처럼 한글 단어 + 연도 + 버전 표기가 섞인 파일명
+ * - 같은 시드면 항상 같은 목록
+ */
+final class SyntheticDocuments {
+    private static final String[] SYLLABLES = {
+            "사", "업", "계", "획", "서", "회", "의", "록", "보", "고", "예", "산", "결", "과", "분", "석",
+            "제", "안", "요", "청", "검", "토", "운", "영", "인", "사", "교", "육", "자", "료", "설", "명",
+            "개", "발", "품", "질", "관", "리", "정", "책", "연", "구", "조", "달", "계", "약", "홍", "평"};
+    private static final String[] SUFFIXES = {"", "_최종", "_수정", "_v2", "_초안", "_검토본", "_final"};
+    private static final String[] EXTS = {"hwp", "pdf", "docx", "xlsx", "pptx", "txt"};
+
+    private SyntheticDocuments() {
+    }
+
+    /**
+     * 한글 단어 사전 (2~4 음절)
+     */
+    static String[] vocabulary(int size, long seed) {
+        Random random = new Random(seed);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(3);
+            for (int j = 0; j < length; j++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    /**
+     * 문서 목록을 생성합니다. 폴더 단위로 연속 (탐색 결과와 같은 순서)
+     */
+    static List<Document> create(int count, int filesPerFolder, long seed) {
+        Random random = new Random(seed);
+        String[] words = vocabulary(5000, seed);
+        List<Document> documents = new ArrayList<>(count);
+        int folder = 0;
+        while (documents.size() < count) {
+            String dir = "/" + words[folder % 20] + "/" + (2015 + folder % 10) + "/" + words[random.nextInt(words.length)]
+                    + "_" + folder + "/";
+            for (int i = 0; i < filesPerFolder && documents.size() < count; i++) {
+                String name = (random.nextInt(3) == 0 ? (2015 + random.nextInt(10)) + "_" : "")
+                        + words[random.nextInt(words.length)]
+                        + (random.nextBoolean() ? words[random.nextInt(words.length)] : "")
+                        + SUFFIXES[random.nextInt(SUFFIXES.length)]
+                        + "." + EXTS[random.nextInt(EXTS.length)];
+                documents.add(new Document(name, dir + name, 1000 + i, 1_700_000_000_000L + i));
+            }
+            folder++;
+        }
+        return documents;
+    }
+}
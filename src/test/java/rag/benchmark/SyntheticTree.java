@@ -0,0 +1,63 @@
+package rag.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 가상 폴더 트리 생성기
+ * - 폴더당 파일 수, 폴더 깊이를 조절하여 원하는 규모의 트리를 만듭니다.
+ */
+final class SyntheticTree {
+    private static final String[] EXTS = {"txt", "pdf", "docx", "hwp", "xlsx", "jpg"};
+
+    private SyntheticTree() {
+    }
+
+    /**
+     * root 아래에 약 fileCount 개의 파일을 생성합니다.
+     *
+     * @return 생성된 파일 경로 목록
+     */
+    static List<Path> create(Path root, int fileCount, int filesPerFolder) throws IOException {
+        List<Path> files = new ArrayList<>(fileCount);
+        int folders = Math.max(1, fileCount / filesPerFolder);
+        for (int f = 0; f < folders; f++) {
+            // 3단계 깊이로 분산: a{n}/b{n}/c{n}
+            Path folder = root.resolve("a" + (f % 10)).resolve("b" + (f / 10 % 10)).resolve("c" + f);
+            Files.createDirectories(folder);
+            for (int i = 0; i < filesPerFolder && files.size() < fileCount; i++) {
+                Path file = folder.resolve("문서_" + f + "_" + i + "." + EXTS[i % EXTS.length]);
+                Files.writeString(file, "x");
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    static void delete(Path root) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
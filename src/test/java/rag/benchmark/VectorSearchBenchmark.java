@@ -0,0 +1,119 @@
+package rag.benchmark;
+
+import rag.model.Document;
+import rag.search.HashedEmbedder;
+import rag.search.HnswIndex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * HNSW 근사 검색 vs 전수 조사 (재현율/지연 시간)
+ * - 문서 벡터: HashedEmbedder (파일명 + 폴더), 검색어: 색인된 파일명에서 뽑은 단어 1~2개
+ * - 재현율: 전수 조사 상위 10 중 HNSW 상위 10 에 포함된 비율 (recall@10)
+ * 실행: java rag.benchmark.VectorSearchBenchmark [문서 수] [차원] [검색 횟수] [efConstruction]
+ */
+public class VectorSearchBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int dimension = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int efConstruction = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        System.out.println("문서 수: " + count + ", 차원: " + dimension + ", 검색 횟수: " + queries
+                + ", efConstruction: " + efConstruction);
+
+        List<Document> documents = SyntheticDocuments.create(count, 100, 42);
+        HashedEmbedder embedder = new HashedEmbedder(dimension);
+        long start = System.nanoTime();
+        float[][] vectors = new float[count][];
+        for (int i = 0; i < count; i++) {
+            vectors[i] = embedder.embed(documents.get(i));
+        }
+        long embedMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        HnswIndex index = new HnswIndex(dimension, 16, efConstruction, 42);
+        for (float[] vector : vectors) {
+            index.add(vector);
+        }
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("벡터 생성: %dms, 그래프 생성: %dms (%.0f 건/초)%n", embedMs, buildMs, count * 1000.0 / buildMs);
+
+        String[] words = SyntheticDocuments.vocabulary(5000, 42);
+        Random random = new Random(7);
+        float[][] queryVectors = new float[queries][];
+        for (int i = 0; i < queries; i++) {
+            queryVectors[i] = embedder.embed(words[random.nextInt(words.length)]
+                    + (i % 2 == 0 ? " " + words[random.nextInt(words.length)] : ""));
+        }
+
+        // 전수 조사
+        int[][] exact = new int[queries][];
+        long[] nanos = new long[queries];
+        for (int q = 0; q < queries; q++) {
+            long t = System.nanoTime();
+            exact[q] = bruteForce(vectors, queryVectors[q], 10);
+            nanos[q] = System.nanoTime() - t;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("전수 조사: p50 %.2fms, p99 %.2fms%n", nanos[queries / 2] / 1e6, nanos[queries * 99 / 100] / 1e6);
+
+        for (int ef : new int[]{16, 32, 64, 128, 256}) {
+            for (int q = 0; q < Math.min(50, queries); q++) {
+                index.search(queryVectors[q], 10, ef, null);
+            }
+            int found = 0;
+            for (int q = 0; q < queries; q++) {
+                long t = System.nanoTime();
+                int[] ids = index.search(queryVectors[q], 10, ef, null);
+                nanos[q] = System.nanoTime() - t;
+                found += overlap(ids, exact[q], vectors, queryVectors[q]);
+            }
+            Arrays.sort(nanos);
+            System.out.printf("HNSW ef=%3d: recall@10 %.3f, p50 %.3fms, p99 %.3fms%n",
+                    ef, found / (queries * 10.0), nanos[queries / 2] / 1e6, nanos[queries * 99 / 100] / 1e6);
+        }
+    }
+
+    private static int[] bruteForce(float[][] vectors, float[] query, int k) {
+        int[] ids = new int[k];
+        float[] scores = new float[k];
+        Arrays.fill(scores, -Float.MAX_VALUE);
+        for (int i = 0; i < vectors.length; i++) {
+            float score = dot(vectors[i], query);
+            if (score > scores[k - 1]) {
+                int j = k - 1;
+                while (j > 0 && scores[j - 1] < score) {
+                    scores[j] = scores[j - 1];
+                    ids[j] = ids[j - 1];
+                    j--;
+                }
+                scores[j] = score;
+                ids[j] = i;
+            }
+        }
+        return ids;
+    }
+
+    // 같은 점수의 문서가 많으므로 (같은 파일명) 10위 점수 이상이면 맞은 것으로 봄
+    private static int overlap(int[] actual, int[] expected, float[][] vectors, float[] query) {
+        float threshold = dot(vectors[expected[expected.length - 1]], query) - 1e-6f;
+        int found = 0;
+        for (int id : actual) {
+            if (dot(vectors[id], query) >= threshold) {
+                found++;
+            }
+        }
+        return Math.min(found, expected.length);
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,100 @@
+package rag.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BinaryIndexWriter / BinaryIndexReader 테스트
+ */
+class BinaryIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip_경로순정렬및필드복원() throws Exception {
+        // Given: 한글 경로, 경로 끝이 아닌 파일명, 음수 수정 시각 포함
+        String sep = File.separator;
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document("보고서.pdf", sep + "문서" + sep + "보고서.pdf", 1024, 1_700_000_000_000L));
+        documents.add(new Document("a.txt", sep + "a.txt", 0, -1L));
+        documents.add(new Document("별칭.docx", sep + "문서" + sep + "원본.docx", Long.MAX_VALUE, 0));
+        for (int i = 0; i < 40; i++) { // 여러 블록에 걸치도록
+            documents.add(new Document("f" + i + ".md", sep + "문서" + sep + "하위" + sep + "f" + i + ".md", i, i));
+        }
+        Path file = tempDir.resolve("index.idx");
+
+        // When
+        BinaryIndexWriter.write(file, documents);
+        List<Document> loaded = BinaryIndexReader.readAll(file);
+
+        // Then
+        assertEquals(documents.size(), loaded.size());
+        for (int i = 1; i < loaded.size(); i++) {
+            assertTrue(loaded.get(i - 1).path.compareTo(loaded.get(i).path) <= 0);
+        }
+        for (Document expected : documents) {
+            Document actual = loaded.stream().filter(d -> d.path.equals(expected.path)).findFirst().orElseThrow();
+            assertEquals(expected.fileName, actual.fileName);
+            assertEquals(expected.size, actual.size);
+            assertEquals(expected.modified, actual.modified);
+        }
+    }
+
+    @Test
+    void testRoundTrip_빈목록() throws Exception {
+        // Given
+        Path file = tempDir.resolve("empty.idx");
+
+        // When
+        BinaryIndexWriter.write(file, new ArrayList<>());
+
+        // Then
+        assertTrue(BinaryIndexReader.readAll(file).isEmpty());
+    }
+
+    @Test
+    void testRead_본문손상시예외() throws Exception {
+        // Given
+        Path file = tempDir.resolve("broken.idx");
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            documents.add(new Document("doc" + i + ".txt", File.separator + "doc" + i + ".txt", i, i));
+        }
+        BinaryIndexWriter.write(file, documents);
+
+        // When: 본문 한 바이트 변경
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(IndexFormat.HEADER_SIZE + 3);
+            int b = raf.read();
+            raf.seek(IndexFormat.HEADER_SIZE + 3);
+            raf.write(b ^ 0x01);
+        }
+
+        // Then
+        IndexException e = assertThrows(IndexException.class, () -> BinaryIndexReader.readAll(file));
+        assertEquals(IndexException.ErrorType.FILE_CORRUPTED, e.getErrorType());
+    }
+
+    @Test
+    void testRead_다른형식파일거부() throws Exception {
+        // Given: 헤더 크기보다 큰 임의 파일
+        Path file = tempDir.resolve("other.idx");
+        Files.write(file, new byte[64]);
+
+        // When & Then
+        IndexException e = assertThrows(IndexException.class, () -> BinaryIndexReader.readAll(file));
+        assertEquals(IndexException.ErrorType.FILE_CORRUPTED, e.getErrorType());
+    }
+}
@@ -0,0 +1,263 @@
+package rag.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IndexStore (기본 세그먼트 + 변경 기록) 테스트
+ */
+class IndexStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Document> documents(int count) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            documents.add(new Document("doc" + i + ".txt", "/폴더/doc" + i + ".txt", i, i));
+        }
+        return documents;
+    }
+
+    private static Document find(List<Document> documents, String path) {
+        return documents.stream().filter(d -> d.path.equals(path)).findFirst().orElse(null);
+    }
+
+    @Test
+    void testAppend_변경분만기록후병합읽기() throws Exception {
+        // Given
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, documents(100));
+        long baseSize = Files.size(base);
+
+        // When: 1개 추가, 1개 변경, 1개 삭제
+        boolean appended = IndexStore.append(base,
+                List.of(new Document("new.txt", "/폴더/new.txt", 1, 1), new Document("doc5.txt", "/폴더/doc5.txt", 999, 999)),
+                List.of("/폴더/doc7.txt"));
+        List<Document> loaded = IndexStore.readAll(base);
+
+        // Then: 기본 세그먼트는 그대로, 읽을 때 변경분 적용
+        assertTrue(appended);
+        assertEquals(baseSize, Files.size(base));
+        assertTrue(IndexStore.journalSize(base) > 0);
+        assertEquals(100, loaded.size());
+        assertNotNull(find(loaded, "/폴더/new.txt"));
+        assertNull(find(loaded, "/폴더/doc7.txt"));
+        assertEquals(999, find(loaded, "/폴더/doc5.txt").size);
+    }
+
+    @Test
+    void testAppend_윈도우구분자경로순서() throws Exception {
+        // Given: '\' 구분자에서 문자열 순서와 폴더 순서가 다른 형제 폴더 (보고서 < 보고서2 이지만 '\' > '2')
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, List.of(
+                new Document("a.txt", "\\보고서\\a.txt", 1, 1),
+                new Document("b.txt", "\\보고서2\\b.txt", 1, 1),
+                new Document("c.txt", "\\보고서\\c.txt", 1, 1)));
+
+        // When: 변경 기록과 병합
+        IndexStore.append(base, List.of(new Document("b.txt", "\\보고서2\\b.txt", 2, 2),
+                new Document("z.txt", "\\보고서\\z.txt", 1, 1)), List.of());
+        List<Document> loaded = IndexStore.readAll(base);
+
+        // Then: PathTrie 와 같은 순서로 저장/병합되어 중복 없이 정렬됨 (매핑 목록을 그대로 트리에 사용 가능)
+        List<String> paths = loaded.stream().map(d -> d.path).toList();
+        assertEquals(List.of("\\보고서\\a.txt", "\\보고서\\c.txt", "\\보고서\\z.txt", "\\보고서2\\b.txt"), paths);
+        assertEquals(2, find(loaded, "\\보고서2\\b.txt").size);
+    }
+
+    @Test
+    void testReplay_같은기록반복적용시결과동일() throws Exception {
+        // Given
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, documents(10));
+        List<Document> upserts = List.of(new Document("a.txt", "/a.txt", 1, 1));
+
+        // When: 같은 변경을 두 번 기록
+        IndexStore.append(base, upserts, Set.of("/폴더/doc1.txt"));
+        IndexStore.append(base, upserts, Set.of("/폴더/doc1.txt"));
+
+        // Then
+        List<Document> loaded = IndexStore.readAll(base);
+        assertEquals(10, loaded.size());
+        assertEquals(1, loaded.stream().filter(d -> d.path.equals("/a.txt")).count());
+    }
+
+    @Test
+    void testReplay_잘린꼬리무시() throws Exception {
+        // Given
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, documents(10));
+        IndexStore.append(base, List.of(new Document("a.txt", "/a.txt", 1, 1)), List.of());
+        IndexStore.append(base, List.of(new Document("b.txt", "/b.txt", 1, 1)), List.of());
+
+        // When: 마지막 레코드가 쓰는 도중 끊긴 상황
+        Path journal = IndexJournal.journalOf(base);
+        try (RandomAccessFile raf = new RandomAccessFile(journal.toFile(), "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        List<Document> loaded = IndexStore.readAll(base);
+
+        // Then: 앞의 정상 레코드까지만 적용
+        assertNotNull(find(loaded, "/a.txt"));
+        assertNull(find(loaded, "/b.txt"));
+        assertEquals(11, loaded.size());
+    }
+
+    @Test
+    void testWrite_이전기록무시() throws Exception {
+        // Given: 기록이 남아있는 상태에서 전체 저장 후, 이전 기록을 다시 복원 (삭제 전 종료 상황)
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, documents(10));
+        IndexStore.append(base, List.of(new Document("old.txt", "/old.txt", 1, 1)), List.of());
+        Path journal = IndexJournal.journalOf(base);
+        byte[] stale = Files.readAllBytes(journal);
+
+        // When
+        IndexStore.write(base, documents(5));
+        Files.write(journal, stale);
+
+        // Then: 기록의 기준 세그먼트가 달라 적용되지 않음
+        List<Document> loaded = IndexStore.readAll(base);
+        assertEquals(5, loaded.size());
+        assertNull(find(loaded, "/old.txt"));
+    }
+
+    @Test
+    void testCompact_기록병합후삭제() throws Exception {
+        // Given
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, documents(50));
+        IndexStore.append(base, List.of(new Document("z.txt", "/폴더/z.txt", 1, 1)), List.of("/폴더/doc0.txt"));
+        List<Document> expected = IndexStore.readAll(base);
+
+        // When
+        IndexStore.compact(base);
+
+        // Then
+        assertFalse(Files.exists(IndexJournal.journalOf(base)));
+        List<Document> loaded = BinaryIndexReader.readAll(base);
+        assertEquals(expected.size(), loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(expected.get(i).path, loaded.get(i).path);
+        }
+        assertTrue(IndexStore.open(base) instanceof MappedIndex);
+    }
+
+    @Test
+    void testReadMetadata_기록한탐색조건과헤더정보() throws Exception {
+        // Given
+        Path base = tempDir.resolve("index.idx");
+        IndexMetadata written = new IndexMetadata("/문서/루트", 4, 0x1234_5678_9ABCL);
+        IndexStore.write(base, documents(40), written);
+
+        // When
+        IndexMetadata read = IndexStore.readMetadata(base);
+
+        // Then
+        assertTrue(read.sameCrawlAs(written));
+        assertEquals(written.getCreatedAt(), read.getCreatedAt());
+        assertEquals(40, read.getCount());
+        assertEquals(IndexFormat.VERSION, read.getFormatVersion());
+        assertEquals(IndexJournal.baseCrcOf(base), read.getChecksum());
+        assertEquals(40, BinaryIndexReader.readAll(base).size());
+        MappedIndex.open(base).verifyChecksum();
+    }
+
+    @Test
+    void testCompact_탐색조건유지() throws Exception {
+        // Given
+        Path base = tempDir.resolve("index.idx");
+        IndexMetadata written = new IndexMetadata("/root", 3, 42L);
+        IndexStore.write(base, documents(20), written);
+        IndexStore.append(base, List.of(new Document("z.txt", "/폴더/z.txt", 1, 1)), List.of());
+
+        // When
+        IndexStore.compact(base);
+
+        // Then
+        IndexMetadata read = IndexStore.readMetadata(base);
+        assertTrue(read.sameCrawlAs(written));
+        assertEquals(21, read.getCount());
+    }
+
+    @Test
+    void testWrite_교체할수없으면보류파일사용후다음에교체() throws Exception {
+        // Given: 기본 세그먼트 자리를 교체할 수 없는 상태 (매핑된 파일을 대신해 비어있지 않은 폴더)
+        Path base = tempDir.resolve("index.idx");
+        Files.createDirectories(base.resolve("busy"));
+
+        // When: 저장과 증분 기록은 실패하지 않고 보류 파일을 사용
+        IndexStore.write(base, documents(10), new IndexMetadata("/root", 3, 42L));
+        boolean appended = IndexStore.append(base, List.of(new Document("z.txt", "/폴더/z.txt", 1, 1)), List.of());
+
+        // Then
+        assertTrue(appended);
+        assertTrue(Files.exists(IndexFormat.pendingOf(base)));
+        assertEquals(11, IndexStore.readAll(base).size());
+        assertEquals(10, IndexStore.readMetadata(base).getCount());
+
+        // When: 교체할 수 있게 되면 다음 읽기에서 기본 세그먼트로 교체
+        Files.delete(base.resolve("busy"));
+        Files.delete(base);
+        List<Document> loaded = IndexStore.readAll(base);
+
+        // Then: 기록은 같은 세그먼트 기준이라 그대로 적용
+        assertFalse(Files.exists(IndexFormat.pendingOf(base)));
+        assertEquals(11, loaded.size());
+        assertNotNull(find(loaded, "/폴더/z.txt"));
+    }
+
+    @Test
+    void testOpen_매핑중이면병합하지않음() throws Exception {
+        // Given: 변경 기록이 없는 인덱스
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, documents(10));
+
+        // When: 열어 매핑한 목록을 보유
+        List<Document> opened = IndexStore.open(base);
+
+        // Then: 매핑이 남아 있는 동안은 병합 대상이 아님
+        assertTrue(opened instanceof MappedIndex);
+        assertTrue(IndexStore.isMapped(base));
+
+        // When: 변경 기록이 있으면 매핑하지 않고 힙 목록으로 엶
+        Path other = tempDir.resolve("other.idx");
+        IndexStore.write(other, documents(10));
+        IndexStore.append(other, List.of(new Document("z.txt", "/폴더/z.txt", 1, 1)), List.of());
+
+        // Then
+        assertFalse(IndexStore.open(other) instanceof MappedIndex);
+        assertFalse(IndexStore.isMapped(other));
+        assertEquals(10, opened.size());
+        IndexStore.compact(other); // 예약된 병합이 임시 폴더 정리와 겹치지 않도록 먼저 병합
+    }
+
+    @Test
+    void testReadMetadata_메타데이터손상감지() throws Exception {
+        // Given: 파일 끝(메타데이터 체크섬 앞)의 한 바이트 변경
+        Path base = tempDir.resolve("index.idx");
+        IndexStore.write(base, documents(20), new IndexMetadata("/root", 3, 42L));
+        try (RandomAccessFile raf = new RandomAccessFile(base.toFile(), "rw")) {
+            raf.seek(raf.length() - 6);
+            int b = raf.read();
+            raf.seek(raf.length() - 6);
+            raf.write(b ^ 0x01);
+        }
+
+        // When & Then
+        IndexException e = assertThrows(IndexException.class, () -> IndexStore.readMetadata(base));
+        assertEquals(IndexException.ErrorType.FILE_CORRUPTED, e.getErrorType());
+    }
+}
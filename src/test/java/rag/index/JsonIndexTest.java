@@ -0,0 +1,90 @@
+package rag.index;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JsonIndexWriter / JsonIndexReader 테스트
+ */
+class JsonIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip_특수문자와한글() throws Exception {
+        // Given: 따옴표, 역슬래시, 제어 문자가 포함된 경로
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document("보고서 \"최종\".pdf", "\\문서\\보고서 \"최종\".pdf", 1024, 1_700_000_000_000L));
+        documents.add(new Document("탭\t이름.txt", "/a/탭\t이름.txt", 0, -5L));
+        Path file = tempDir.resolve("index.json");
+
+        // When
+        JsonIndexWriter.write(file, documents);
+        List<Document> loaded = JsonIndexReader.readAll(file);
+
+        // Then: org.json 으로도 읽을 수 있는 유효한 JSON
+        assertEquals(2, new JSONArray(Files.readString(file)).length());
+        assertEquals(2, loaded.size());
+        for (int i = 0; i < documents.size(); i++) {
+            assertEquals(documents.get(i).fileName, loaded.get(i).fileName);
+            assertEquals(documents.get(i).path, loaded.get(i).path);
+            assertEquals(documents.get(i).size, loaded.get(i).size);
+            assertEquals(documents.get(i).modified, loaded.get(i).modified);
+        }
+    }
+
+    @Test
+    void testRead_기존org_json형식호환() throws Exception {
+        // Given: 기존 방식(toString(2))으로 저장된 인덱스, 모르는 키와 size/modified 누락 포함
+        JSONArray array = new JSONArray()
+                .put(new JSONObject().put("path", "/a/b.txt").put("fileName", "b.txt")
+                        .put("extra", new JSONObject().put("tags", new JSONArray().put("x").put("]}"))))
+                .put(new JSONObject().put("fileName", "c.txt").put("path", "/c.txt").put("size", 10).put("modified", 20));
+        Path file = tempDir.resolve("legacy.json");
+        Files.writeString(file, array.toString(2));
+
+        // When
+        List<Document> loaded = JsonIndexReader.readAll(file);
+
+        // Then
+        assertEquals(2, loaded.size());
+        assertEquals("b.txt", loaded.get(0).fileName);
+        assertEquals("/a/b.txt", loaded.get(0).path);
+        assertEquals(0L, loaded.get(0).size);
+        assertEquals(10L, loaded.get(1).size);
+        assertEquals(20L, loaded.get(1).modified);
+    }
+
+    @Test
+    void testRead_빈배열() throws Exception {
+        // Given
+        Path file = tempDir.resolve("empty.json");
+        JsonIndexWriter.write(file, new ArrayList<>());
+
+        // When & Then
+        assertTrue(JsonIndexReader.readAll(file).isEmpty());
+    }
+
+    @Test
+    void testRead_잘린파일예외() throws Exception {
+        // Given
+        Path file = tempDir.resolve("broken.json");
+        Files.writeString(file, "[\n  {\"fileName\": \"a.txt\", \"path\": \"/a");
+
+        // When & Then
+        IndexException e = assertThrows(IndexException.class, () -> JsonIndexReader.readAll(file));
+        assertEquals(IndexException.ErrorType.FILE_CORRUPTED, e.getErrorType());
+    }
+}
@@ -0,0 +1,137 @@
+package rag.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rag.exception.IndexException;
+import rag.model.Document;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MappedIndex 클래스 테스트
+ */
+class MappedIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeIndex(int count) throws Exception {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = "문서_" + i + ".txt";
+            documents.add(new Document(name, File.separator + "폴더_" + (i % 7) + File.separator + name, i, 1000L + i));
+        }
+        Path file = tempDir.resolve("index.idx");
+        BinaryIndexWriter.write(file, documents);
+        return file;
+    }
+
+    @Test
+    void testGet_임의접근이순차읽기와같음() throws Exception {
+        // Given
+        Path file = writeIndex(100);
+        List<Document> expected = BinaryIndexReader.readAll(file);
+
+        // When
+        MappedIndex index = MappedIndex.open(file);
+
+        // Then: 블록 경계를 포함한 모든 위치를 역순으로 조회
+        assertEquals(100, index.size());
+        for (int i = index.size() - 1; i >= 0; i--) {
+            Document actual = index.get(i);
+            assertEquals(expected.get(i).path, actual.path);
+            assertEquals(expected.get(i).fileName, actual.fileName);
+            assertEquals(expected.get(i).size, actual.size);
+            assertEquals(expected.get(i).modified, actual.modified);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(100));
+    }
+
+    @Test
+    void testIterator_전체순회() throws Exception {
+        // Given
+        Path file = writeIndex(50);
+        MappedIndex index = MappedIndex.open(file);
+
+        // When
+        List<Document> copied = new ArrayList<>(index);
+
+        // Then
+        assertEquals(50, copied.size());
+        assertEquals(index.get(49).path, copied.get(49).path);
+        index.verifyChecksum();
+    }
+
+    @Test
+    void testVerifyChecksum_손상감지() throws Exception {
+        // Given
+        Path file = writeIndex(50);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(IndexFormat.HEADER_SIZE + 5);
+            int b = raf.read();
+            raf.seek(IndexFormat.HEADER_SIZE + 5);
+            raf.write(b ^ 0x01);
+        }
+
+        // When: 열기는 헤더만 확인하므로 성공
+        MappedIndex index = MappedIndex.open(file);
+
+        // Then
+        IndexException e = assertThrows(IndexException.class, index::verifyChecksum);
+        assertEquals(IndexException.ErrorType.FILE_CORRUPTED, e.getErrorType());
+    }
+
+    @Test
+    void testDecodeAll_여러세그먼트병렬복원() throws Exception {
+        // Given: 세그먼트 3개 (마지막은 일부만 채워짐)
+        int count = IndexFormat.SEGMENT_BLOCKS * IndexFormat.BLOCK_SIZE * 2 + 123;
+        Path file = writeIndex(count);
+        List<Document> expected = BinaryIndexReader.readAll(file);
+        MappedIndex index = MappedIndex.open(file);
+
+        // When
+        ForkJoinPool pool = new ForkJoinPool(3);
+        List<Document> decoded;
+        try {
+            decoded = index.decodeAll(pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then: 세그먼트 경계에서도 순차 읽기와 같은 순서/내용
+        assertEquals(count, decoded.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected.get(i).path, decoded.get(i).path);
+            assertEquals(expected.get(i).fileName, decoded.get(i).fileName);
+            assertEquals(expected.get(i).modified, decoded.get(i).modified);
+        }
+    }
+
+    @Test
+    void testDecodeAll_마지막세그먼트손상감지() throws Exception {
+        // Given: 마지막 세그먼트 본문의 한 바이트를 변경
+        Path file = writeIndex(IndexFormat.SEGMENT_BLOCKS * IndexFormat.BLOCK_SIZE + 10);
+        long tableOffset = IndexFormat.Header.read(file).tableOffset;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(tableOffset - 3);
+            int b = raf.read();
+            raf.seek(tableOffset - 3);
+            raf.write(b ^ 0x01);
+        }
+
+        // When
+        MappedIndex index = MappedIndex.open(file);
+
+        // Then: 병렬 복원과 순차 읽기 모두 손상을 감지
+        IndexException e = assertThrows(IndexException.class, index::decodeAll);
+        assertEquals(IndexException.ErrorType.FILE_CORRUPTED, e.getErrorType());
+        assertThrows(IndexException.class, () -> BinaryIndexReader.readAll(file));
+    }
+}
@@ -0,0 +1,121 @@
+package rag.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompactDocumentStore 클래스 테스트
+ */
+class CompactDocumentStoreTest {
+
+    @Test
+    void testCopyOf_순서와필드복원() {
+        // Given: 한글 경로, 최상위 파일, 윈도우 구분자, 경로 끝과 다른 파일명, null 파일명
+        List<Document> documents = List.of(
+                new Document("보고서.pdf", "/문서/보고서.pdf", 1024, 1_700_000_000_000L),
+                new Document("a.txt", "a.txt", 0, -1L),
+                new Document("b.hwp", "\\회의\\b.hwp", 7, 7),
+                new Document("별칭.docx", "/문서/원본.docx", 3, 3),
+                new Document(null, "/문서/이름없음.txt", 1, 1));
+
+        // When
+        CompactDocumentStore store = CompactDocumentStore.copyOf(documents);
+
+        // Then
+        assertEquals(documents.size(), store.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Document expected = documents.get(i);
+            Document actual = store.get(i);
+            assertEquals(expected.path, actual.path);
+            assertEquals(expected.fileName, actual.fileName);
+            assertEquals(expected.size, actual.size);
+            assertEquals(expected.modified, actual.modified);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(documents.size()));
+    }
+
+    @Test
+    void testCopyOf_폴더중복제거() {
+        // Given: 폴더 3개에 문서 300개
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String name = "doc" + i + ".txt";
+            documents.add(new Document(name, "/폴더" + (i % 3) + "/" + name));
+        }
+        documents.add(null);
+
+        // When
+        CompactDocumentStore store = CompactDocumentStore.copyOf(documents);
+
+        // Then: null 은 건너뛰고 폴더는 한 번씩만 저장
+        assertEquals(300, store.size());
+        assertEquals(3, store.folderCount());
+        assertEquals("/폴더2/doc299.txt", store.get(299).path);
+    }
+
+    @Test
+    void testMerge_변경폴더만문서로만들어병합() {
+        // Given: 폴더 2개, 파일명이 경로 끝과 다른 문서 포함
+        CompactDocumentStore store = CompactDocumentStore.copyOf(List.of(
+                new Document("a.txt", "/유지/a.txt", 1, 1),
+                new Document("별칭.docx", "/유지/원본.docx", 2, 2),
+                new Document("b.txt", "/변경/b.txt", 3, 3),
+                new Document("c.txt", "/변경/c.txt", 4, 4)));
+        List<String> visited = new ArrayList<>();
+
+        // When: /변경/ 폴더의 b 는 갱신, c 는 삭제, 새 문서 하나 추가
+        CompactDocumentStore merged = store.merge(
+                "/변경/"::equals,
+                doc -> {
+                    visited.add(doc.path);
+                    return doc.path.endsWith("c.txt") ? null : new Document("b.txt", "/변경/b.txt", 30, 30);
+                },
+                List.of(new Document("새.txt", "/새폴더/새.txt", 5, 5)));
+
+        // Then: 변경 폴더 문서만 update 에 전달, 나머지는 그대로 복사
+        assertEquals(List.of("/변경/b.txt", "/변경/c.txt"), visited);
+        assertEquals(4, merged.size());
+        assertEquals("/유지/원본.docx", merged.get(1).path);
+        assertEquals("별칭.docx", merged.get(1).fileName);
+        assertEquals(30, merged.get(2).size);
+        assertEquals("/새폴더/새.txt", merged.get(3).path);
+        assertEquals(3, merged.folderCount());
+        assertEquals(4, store.size()); // 기존 저장소는 그대로
+        assertEquals("/변경/", CompactDocumentStore.folderOf("/변경/b.txt"));
+        assertEquals("", CompactDocumentStore.folderOf("a.txt"));
+    }
+
+    @Test
+    void testGet_받은문서수정은저장소에영향없음() {
+        // Given
+        CompactDocumentStore store = CompactDocumentStore.copyOf(List.of(new Document("a.txt", "/a.txt", 1, 1)));
+
+        // When
+        store.get(0).size = 999;
+
+        // Then
+        assertEquals(1, store.get(0).size);
+        assertThrows(UnsupportedOperationException.class, () -> store.add(new Document("b", "/b")));
+    }
+
+    @Test
+    void testDocumentList_compact이면배열저장소로발행() {
+        // Given
+        DocumentList list = new DocumentList(true);
+        Document a = new Document("a.txt", "/x/a.txt");
+
+        // When
+        list.publish(new ArrayList<>(List.of(a, new Document("b.txt", "/x/b.txt"))));
+        list.add(new Document("c.txt", "/y/c.txt"));
+
+        // Then: 문서 객체를 보관하지 않고 조회할 때마다 새로 만듦
+        assertEquals(3, list.size());
+        assertEquals("/y/c.txt", list.get(2).path);
+        assertNotSame(a, list.get(0));
+        assertNotSame(list.get(0), list.get(0));
+    }
+}
@@ -0,0 +1,97 @@
+package rag.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DocumentList 클래스 테스트
+ */
+class DocumentListTest {
+
+    private static List<Document> documents(int count, String prefix) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            documents.add(new Document(prefix + i + ".txt", "/" + prefix + i + ".txt"));
+        }
+        return documents;
+    }
+
+    @Test
+    void testPublish_받은스냅샷은그대로유지() {
+        // Given
+        DocumentList list = new DocumentList();
+        list.publish(documents(2, "a"));
+        IndexSnapshot before = list.snapshot();
+
+        // When
+        list.publish(documents(5, "b"));
+
+        // Then
+        assertEquals(2, before.size());
+        assertEquals("/a0.txt", before.getDocuments().get(0).path);
+        assertEquals(5, list.size());
+        assertTrue(list.snapshot().getVersion() > before.getVersion());
+        assertThrows(UnsupportedOperationException.class, () -> before.getDocuments().add(new Document("x", "/x")));
+    }
+
+    @Test
+    void testAdd_복사후새스냅샷발행() {
+        // Given
+        DocumentList list = new DocumentList();
+        List<Document> source = documents(2, "a");
+        list.publish(source, true);
+        IndexSnapshot mapped = list.snapshot();
+
+        // When
+        list.add(new Document("c.txt", "/c.txt"));
+
+        // Then: 원본과 이전 스냅샷은 그대로
+        assertFalse(list.isMapped());
+        assertTrue(mapped.isMapped());
+        assertEquals(3, list.size());
+        assertEquals(2, source.size());
+        assertEquals(2, mapped.size());
+    }
+
+    @Test
+    void testPublish_교체중에도빈목록이나일부만보이지않음() throws Exception {
+        // Given: 항상 1000개 또는 2000개 문서만 발행
+        DocumentList list = new DocumentList();
+        List<Document> small = documents(1000, "s");
+        List<Document> large = documents(2000, "l");
+        list.publish(small);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                IndexSnapshot snapshot = list.snapshot();
+                int size = snapshot.size();
+                int counted = 0;
+                for (Document ignored : snapshot.getDocuments()) {
+                    counted++;
+                }
+                if ((size != 1000 && size != 2000) || counted != size) {
+                    failure.set("size=" + size + ", counted=" + counted);
+                }
+            }
+        });
+        reader.start();
+
+        // When
+        for (int i = 0; i < 2000; i++) {
+            list.publish(i % 2 == 0 ? large : small);
+        }
+        running.set(false);
+        reader.join();
+
+        // Then
+        assertNull(failure.get());
+    }
+}
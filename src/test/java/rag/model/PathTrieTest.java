@@ -0,0 +1,139 @@
+package rag.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PathTrie 클래스 테스트
+ */
+class PathTrieTest {
+
+    private static List<Document> sample() {
+        // 정렬되지 않은 순서, 이름이 비슷한 형제 폴더(/a, /a-b, /ab) 포함
+        return List.of(
+                new Document("z.txt", "/a/z.txt"),
+                new Document("x.txt", "/ab/x.txt"),
+                new Document("y.txt", "/a/b/y.txt"),
+                new Document("w.txt", "/a-b/w.txt"),
+                new Document("top.txt", "/top.txt"),
+                new Document("c.txt", "/a/b/c/c.txt"),
+                new Document("a.txt", "/a/a.txt"));
+    }
+
+    private static List<String> paths(List<Document> documents) {
+        return documents.stream().map(doc -> doc.path).collect(Collectors.toList());
+    }
+
+    @Test
+    void testUnder_하위폴더문서만경로순() {
+        // Given
+        PathTrie trie = PathTrie.build(sample());
+
+        // When & Then: 하위 폴더를 포함하고 이름이 비슷한 형제 폴더는 제외
+        assertEquals(List.of("/a/a.txt", "/a/b/c/c.txt", "/a/b/y.txt", "/a/z.txt"), paths(trie.under("/a")));
+        assertEquals(List.of("/a/b/c/c.txt", "/a/b/y.txt"), paths(trie.under("a/b/")));
+        assertEquals(7, trie.under("").size());
+        assertEquals(7, trie.under("/").size());
+        assertTrue(trie.under("/없음").isEmpty());
+        assertTrue(trie.under("/a/z.txt").isEmpty()); // 파일은 폴더가 아님
+    }
+
+    @Test
+    void testCount_폴더별문서수() {
+        // Given
+        PathTrie trie = PathTrie.build(sample());
+
+        // When
+        PathTrie.Folder a = trie.folder("/a");
+
+        // Then
+        assertEquals(4, trie.count("/a"));
+        assertEquals(4, a.getDocumentCount());
+        assertEquals(2, a.getFileCount());
+        assertEquals(List.of("b"), a.getChildren().stream().map(PathTrie.Folder::getName).collect(Collectors.toList()));
+        assertEquals("/a/b", trie.folder("/a/b").getPath());
+        assertSame(a, trie.folder("/a/b").getParent());
+        assertEquals(1, trie.getRoot().getFileCount());
+        assertEquals(List.of("a", "a-b", "ab"),
+                trie.getRoot().getChildren().stream().map(PathTrie.Folder::getName).collect(Collectors.toList()));
+        assertEquals(0, trie.count("/없음"));
+    }
+
+    @Test
+    void testFind_정확한경로만() {
+        // Given
+        List<Document> documents = sample();
+        PathTrie trie = PathTrie.build(documents);
+
+        // When & Then: 원본 문서를 그대로 반환
+        assertSame(documents.get(2), trie.find("/a/b/y.txt"));
+        assertSame(documents.get(4), trie.find("/top.txt"));
+        assertNull(trie.find("/a/b/없음.txt"));
+        assertNull(trie.find("/없음/y.txt"));
+        assertNull(trie.find("/a/b"));
+    }
+
+    @Test
+    void testWithin_원본위치로폴더판별() {
+        // Given: 정렬되지 않은 원본 목록
+        PathTrie trie = PathTrie.build(sample());
+
+        // When
+        IntPredicate underB = trie.within("/a/b");
+
+        // Then: 원본 위치 2(/a/b/y.txt), 5(/a/b/c/c.txt) 만 해당
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i == 2 || i == 5, underB.test(i), "index " + i);
+        }
+        assertFalse(trie.within("/없음").test(0));
+        assertTrue(trie.within("").test(6));
+    }
+
+    @Test
+    void testBuild_윈도우구분자섞임() {
+        // Given: 같은 폴더가 '\' 와 '/' 로 섞여 있는 경로
+        List<Document> documents = List.of(
+                new Document("1.txt", "\\문서\\1.txt"),
+                new Document("2.txt", "/문서/2.txt"),
+                new Document("3.txt", "/문서!/3.txt"),
+                new Document("4.txt", "\\문서\\하위\\4.txt"));
+
+        // When
+        PathTrie trie = PathTrie.build(documents);
+
+        // Then: 구분자와 관계없이 같은 폴더 구간으로 묶임
+        assertEquals(3, trie.count("/문서"));
+        assertEquals(3, trie.under("\\문서").size());
+        assertEquals(1, trie.count("/문서/하위"));
+        assertSame(documents.get(1), trie.find("\\문서\\2.txt"));
+    }
+
+    @Test
+    void testBuild_정렬된목록은순서배열없이사용() {
+        // Given: 이미 경로 순으로 정렬된 큰 목록 (매핑 인덱스와 같은 형태)
+        List<Document> documents = new ArrayList<>();
+        for (int folder = 0; folder < 10; folder++) {
+            for (int i = 0; i < 100; i++) {
+                String name = String.format("f%03d.txt", i);
+                documents.add(new Document(name, String.format("/d%02d/%s", folder, name)));
+            }
+        }
+
+        // When
+        PathTrie trie = PathTrie.build(documents);
+        List<Document> under = trie.under("/d05");
+
+        // Then: 원본 목록의 연속 구간과 같음
+        assertEquals(1000, trie.size());
+        assertEquals(100, under.size());
+        assertSame(documents.get(500), under.get(0));
+        assertSame(documents.get(599), under.get(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> under.get(100));
+    }
+}
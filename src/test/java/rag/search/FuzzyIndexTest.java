@@ -0,0 +1,131 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FuzzyIndex 클래스 테스트
+ */
+class FuzzyIndexTest {
+
+    private static List<Document> sample() {
+        return List.of(
+                new Document("2024_사업계획서_최종.hwp", "/기획/2024_사업계획서_최종.hwp"),
+                new Document("회의록.docx", "/기획/회의록.docx"),
+                new Document("budget_report.xlsx", "/재무/budget_report.xlsx"),
+                new Document("회의록.docx", "/보관/회의록.docx"),
+                new Document("계약서.pdf", "/법무/계약서.pdf"));
+    }
+
+    @Test
+    void testSearch_한글오타() {
+        // Given
+        FuzzyIndex index = FuzzyIndex.build(sample());
+
+        // When: '획' → '휙' (자모 하나 차이), '의' → '이'
+        List<SearchHit> plan = index.search("사업계휙서", 10, null);
+        List<SearchHit> minutes = index.search("회이록", 10, null);
+
+        // Then
+        assertEquals(1, plan.size());
+        assertEquals(0, plan.get(0).getIndex());
+        assertTrue(plan.get(0).getScore() < 0.9f);
+        assertEquals(List.of(1, 3), minutes.stream().map(SearchHit::getIndex).toList());
+        assertEquals(4, index.nameCount()); // 같은 파일명은 한 번만 색인
+    }
+
+    @Test
+    void testSearch_영문오타와정확일치() {
+        // Given
+        FuzzyIndex index = FuzzyIndex.build(sample());
+
+        // When & Then: 전치(2 편집)와 대소문자, 정확히 일치하면 점수 약 1 (파일명이 길수록 조금 감소)
+        assertEquals(2, index.search("BUGDET_REPORT", 10, null).get(0).getIndex());
+        assertEquals(1f, index.search("report", 10, null).get(0).getScore(), 0.01f);
+        assertTrue(index.search("완전히다른말", 10, null).isEmpty());
+        assertTrue(index.search("회의", 10, null).stream().allMatch(hit -> hit.getScore() > 0.99f));
+        assertTrue(index.search("", 10, null).isEmpty());
+    }
+
+    @Test
+    void testSearch_조건과여러단어() {
+        // Given
+        FuzzyIndex index = FuzzyIndex.build(sample());
+
+        // When & Then
+        assertEquals(List.of(3), index.search("회이록", 10, doc -> doc == 3).stream().map(SearchHit::getIndex).toList());
+        List<SearchHit> hits = index.search("2024 사업계휙서", 10, null);
+        assertEquals(0, hits.get(0).getIndex());
+        assertTrue(hits.get(0).getScore() > 1f); // 두 단어 점수 합
+    }
+
+    @Test
+    void testMatcher_동적계획법과같은결과() {
+        // Given: 임의 문자열 쌍에 대해 비트 병렬 계산과 단순 계산 비교
+        Random random = new Random(3);
+        String alphabet = "abc가나다";
+        for (int round = 0; round < 500; round++) {
+            char[] pattern = FuzzyIndex.normalize(randomText(random, alphabet, 1 + random.nextInt(12)));
+            char[] text = FuzzyIndex.normalize(randomText(random, alphabet, random.nextInt(20)));
+
+            // When
+            int actual = new FuzzyIndex.Matcher(pattern).distance(text);
+
+            // Then
+            assertEquals(naiveDistance(pattern, text), actual, new String(pattern) + " / " + new String(text));
+        }
+
+        // 64자를 넘는 검색어는 동적 계획법으로 계산
+        for (int round = 0; round < 5; round++) {
+            char[] pattern = randomText(random, "ab", 70).toCharArray();
+            char[] text = randomText(random, "ab", 90).toCharArray();
+            assertEquals(naiveDistance(pattern, text), new FuzzyIndex.Matcher(pattern).distance(text));
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    // 부분 문자열 편집 거리 (모든 부분 문자열과 비교)
+    private static int naiveDistance(char[] pattern, char[] text) {
+        int best = pattern.length;
+        for (int from = 0; from <= text.length; from++) {
+            for (int to = from; to <= text.length; to++) {
+                List<Character> part = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    part.add(text[i]);
+                }
+                best = Math.min(best, levenshtein(pattern, part));
+            }
+        }
+        return best;
+    }
+
+    private static int levenshtein(char[] a, List<Character> b) {
+        int[][] d = new int[a.length + 1][b.size() + 1];
+        for (int i = 0; i <= a.length; i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.size(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length; i++) {
+            for (int j = 1; j <= b.size(); j++) {
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1),
+                        d[i - 1][j - 1] + (a[i - 1] == b.get(j - 1) ? 0 : 1));
+            }
+        }
+        return d[a.length][b.size()];
+    }
+}
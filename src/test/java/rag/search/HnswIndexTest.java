@@ -0,0 +1,127 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HnswIndex 클래스 테스트
+ */
+class HnswIndexTest {
+
+    private static float[] randomUnit(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < dimension; i++) {
+            vector[i] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+
+    private static int[] bruteForce(float[][] vectors, float[] query, int k) {
+        Integer[] ids = new Integer[vectors.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        Arrays.sort(ids, (a, b) -> Float.compare(dot(vectors[b], query), dot(vectors[a], query)));
+        int[] top = new int[k];
+        for (int i = 0; i < k; i++) {
+            top[i] = ids[i];
+        }
+        return top;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Test
+    void testExactSearch_전수조사와같은순위() {
+        // Given: 페이지(4096) 경계를 넘는 5000 개 벡터
+        Random random = new Random(3);
+        int dimension = 24;
+        float[][] vectors = new float[5000][];
+        HnswIndex index = new HnswIndex(dimension, 8, 20, 42);
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomUnit(random, dimension);
+            index.add(vectors[i]);
+        }
+        float[] query = randomUnit(random, dimension);
+
+        // When
+        int[] actual = index.exactSearch(query, 10, null);
+        int[] even = index.exactSearch(query, 10, node -> node % 2 == 0);
+
+        // Then
+        assertArrayEquals(bruteForce(vectors, query, 10), actual);
+        assertEquals(10, even.length);
+        for (int node : even) {
+            assertEquals(0, node % 2);
+        }
+        assertEquals(0, index.exactSearch(query, 0, null).length);
+    }
+
+    @Test
+    void testSearch_전수조사대비재현율() {
+        // Given: 페이지 경계를 넘는 5000 개 벡터
+        Random random = new Random(1);
+        int dimension = 32;
+        float[][] vectors = new float[5000][];
+        HnswIndex index = new HnswIndex(dimension, 16, 100, 42);
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomUnit(random, dimension);
+            assertEquals(i, index.add(vectors[i]));
+        }
+
+        // When: 검색 50 회의 recall@10
+        int found = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomUnit(random, dimension);
+            int[] expected = bruteForce(vectors, query, 10);
+            int[] actual = index.search(query, 10, 64, null);
+            assertEquals(10, actual.length);
+            for (int id : actual) {
+                for (int e : expected) {
+                    if (id == e) {
+                        found++;
+                    }
+                }
+            }
+        }
+
+        // Then
+        assertTrue(found / 500.0 >= 0.9, "recall@10: " + found / 500.0);
+    }
+
+    @Test
+    void testSearch_자기자신과조건() {
+        // Given
+        Random random = new Random(2);
+        HnswIndex index = new HnswIndex(16, 8, 50, 42);
+        float[][] vectors = new float[300][];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomUnit(random, 16);
+            index.add(vectors[i]);
+        }
+
+        // When & Then: 저장된 벡터로 찾으면 자기 자신이 1위, 조건으로 거르면 제외
+        assertEquals(123, index.search(vectors[123], 1, 32, null)[0]);
+        assertEquals(1f, index.similarity(vectors[123], 123), 1e-5f);
+        int[] filtered = index.search(vectors[123], 5, 32, node -> node % 2 == 0);
+        assertEquals(5, filtered.length);
+        assertTrue(Arrays.stream(filtered).allMatch(node -> node % 2 == 0));
+        assertEquals(0, new HnswIndex(16, 8, 50, 42).search(vectors[0], 5, 32, null).length);
+        assertThrows(IllegalArgumentException.class, () -> index.add(new float[3]));
+    }
+}
@@ -0,0 +1,57 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+import rag.model.Document;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HybridRetriever 클래스 테스트
+ */
+class HybridRetrieverTest {
+
+    private static SearchHit hit(int index) {
+        return new SearchHit(index, new Document("doc" + index, "/doc" + index), 1f);
+    }
+
+    @Test
+    void testFuse_여러검색기에나온문서가앞섬() {
+        // Given: 3번은 두 검색기에서 2위, 1번은 한 검색기에서만 1위
+        List<SearchHit> lexical = List.of(hit(1), hit(3), hit(5));
+        List<SearchHit> fuzzy = List.of(hit(2), hit(3));
+
+        // When
+        List<SearchHit> fused = HybridRetriever.fuse(List.of(lexical, fuzzy), 60, 10);
+
+        // Then: 3 (1/62 + 1/62) > 1 = 2 (1/61, 같은 점수는 위치 순) > 5 (1/63)
+        assertEquals(List.of(3, 1, 2, 5), fused.stream().map(SearchHit::getIndex).collect(Collectors.toList()));
+        assertEquals(2.0 / 62, fused.get(0).getScore(), 1e-6);
+        assertEquals(2, HybridRetriever.fuse(List.of(lexical, fuzzy), 60, 2).size());
+        assertTrue(HybridRetriever.fuse(List.of(List.of(), List.of()), 60, 10).isEmpty());
+    }
+
+    @Test
+    void testRetrieve_정확한일치와오타를함께찾음() {
+        // Given
+        List<Document> documents = List.of(
+                new Document("사업계획서.hwp", "/기획/사업계획서.hwp"),
+                new Document("회의록.docx", "/기획/회의록.docx"),
+                new Document("budget_report.xlsx", "/재무/budget_report.xlsx"),
+                new Document("계약서.pdf", "/법무/계약서.pdf"));
+        SearchIndexes indexes = SearchIndexes.of(documents);
+
+        // When: 오타 ("budgte") 는 BM25 로는 못 찾고 trigram 으로 찾음
+        List<SearchHit> typo = HybridRetriever.retrieve("budgte report", indexes, null, 10);
+        List<SearchHit> exact = HybridRetriever.retrieve("회의록", indexes, null, 10);
+        List<SearchHit> filtered = HybridRetriever.retrieve("회의록", indexes, position -> position != 1, 10);
+
+        // Then
+        assertEquals("/재무/budget_report.xlsx", typo.get(0).getDocument().path);
+        assertEquals(1, exact.get(0).getIndex());
+        assertTrue(filtered.stream().noneMatch(hit -> hit.getIndex() == 1));
+        assertTrue(HybridRetriever.retrieve("회의록", indexes, null, 0).isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+import rag.model.Document;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KoreanAnalyzer 클래스 테스트
+ */
+class KoreanAnalyzerTest {
+
+    @Test
+    void testAnalyze_한글음절bigram() {
+        // Given
+        Analyzer analyzer = new KoreanAnalyzer();
+
+        // When & Then: 구분자와 문자 종류 경계에서 나누고 한글은 bigram
+        assertEquals(List.of("2024", "사업", "업계", "계획", "획서", "최종", "hwp"),
+                analyzer.analyze("2024_사업계획서_최종.hwp"));
+        assertEquals(List.of("2024", "회의", "v", "2"), analyzer.analyze("2024회의v2"));
+        assertEquals(List.of("안"), analyzer.analyze("안"));
+        assertTrue(analyzer.analyze("").isEmpty());
+        assertTrue(analyzer.analyze(null).isEmpty());
+    }
+
+    @Test
+    void testAnalyze_camelCase() {
+        // Given
+        Analyzer analyzer = new KoreanAnalyzer();
+
+        // When & Then
+        assertEquals(List.of("report", "draft", "final"), analyzer.analyze("reportDraftFINAL"));
+        assertEquals(List.of("xml", "parser", "java"), analyzer.analyze("XMLParser.java"));
+        assertEquals(List.of("q", "3", "보고"), analyzer.analyze("Q3보고"));
+    }
+
+    @Test
+    void testAnalyze_초성() {
+        // Given
+        Analyzer analyzer = new KoreanAnalyzer(true);
+
+        // When & Then: 음절 bigram 다음에 초성 bigram, 검색어 자모도 bigram
+        assertEquals(List.of("회의", "의록", "ㅎㅇ", "ㅇㄹ"), analyzer.analyze("회의록"));
+        assertEquals(List.of("ㅎㅇ", "ㅇㄹ"), analyzer.analyze("ㅎㅇㄹ"));
+        assertEquals(List.of("회의", "의록"), new KoreanAnalyzer(false).analyze("회의록"));
+    }
+
+    @Test
+    void testLexicalIndex_합성어일부로검색() {
+        // Given
+        List<Document> documents = List.of(
+                new Document("2024_사업계획서_최종.hwp", "/기획/2024_사업계획서_최종.hwp"),
+                new Document("계획표.xlsx", "/일정/계획표.xlsx"),
+                new Document("회의록.docx", "/기획/회의록.docx"));
+        LexicalIndex index = LexicalIndex.build(documents, new KoreanAnalyzer(true));
+
+        // When & Then: 띄어쓰기 없는 파일명의 일부, 초성으로도 찾음
+        assertEquals(0, index.search("계획서", 10, null).get(0).getIndex());
+        assertEquals(0, index.search("사업 계획", 10, null).get(0).getIndex());
+        assertEquals(2, index.search("ㅎㅇㄹ", 10, null).get(0).getIndex());
+        assertTrue(LexicalIndex.build(documents, new SimpleAnalyzer()).search("계획서", 10, null).isEmpty());
+    }
+}
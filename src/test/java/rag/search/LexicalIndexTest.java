@@ -0,0 +1,91 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LexicalIndex 클래스 테스트
+ */
+class LexicalIndexTest {
+
+    private static List<Document> sample() {
+        return List.of(
+                new Document("2024_사업계획서_최종.hwp", "/기획/2024_사업계획서_최종.hwp"),
+                new Document("회의록.docx", "/기획/회의/회의록.docx"),
+                new Document("사업계획서.pdf", "/보관/2023/사업계획서.pdf"),
+                new Document("budget.xlsx", "/재무/budget.xlsx"),
+                new Document("readme.txt", "/사업계획서/readme.txt"));
+    }
+
+    private static List<String> paths(List<SearchHit> hits) {
+        return hits.stream().map(hit -> hit.getDocument().path).collect(Collectors.toList());
+    }
+
+    @Test
+    void testSearch_파일명일치가폴더일치보다우선() {
+        // Given
+        LexicalIndex index = LexicalIndex.build(sample(), new SimpleAnalyzer());
+
+        // When
+        List<SearchHit> hits = index.search("사업계획서", 10, null);
+
+        // Then: 파일명에 있는 문서가 먼저, 폴더 이름에만 있는 문서는 뒤에
+        assertEquals(3, hits.size());
+        assertEquals("/사업계획서/readme.txt", hits.get(2).getDocument().path);
+        assertTrue(hits.get(0).getScore() >= hits.get(1).getScore());
+        assertTrue(hits.get(1).getScore() > hits.get(2).getScore());
+    }
+
+    @Test
+    void testSearch_여러토큰점수합산() {
+        // Given
+        LexicalIndex index = LexicalIndex.build(sample(), new SimpleAnalyzer());
+
+        // When: 두 토큰을 모두 가진 문서가 하나만 가진 문서보다 앞섬
+        List<SearchHit> hits = index.search("2024 사업계획서", 10, null);
+
+        // Then
+        assertEquals("/기획/2024_사업계획서_최종.hwp", hits.get(0).getDocument().path);
+        assertEquals(0, hits.get(0).getIndex());
+        assertTrue(index.search("없는단어", 10, null).isEmpty());
+        assertTrue(index.search("", 10, null).isEmpty());
+    }
+
+    @Test
+    void testSearch_대소문자와조건() {
+        // Given
+        LexicalIndex index = LexicalIndex.build(sample(), new SimpleAnalyzer());
+
+        // When & Then: 대소문자 무시, 조건으로 거른 위치는 제외
+        assertEquals(List.of("/재무/budget.xlsx"), paths(index.search("BUDGET", 10, null)));
+        assertEquals(List.of("/보관/2023/사업계획서.pdf"), paths(index.search("사업계획서", 10, doc -> doc == 2)));
+        assertEquals(1, index.search("사업계획서", 1, null).size());
+        assertEquals(3, index.documentFrequency("사업계획서"));
+        assertEquals(2, index.documentFrequency("기획"));
+    }
+
+    @Test
+    void testSearch_상위문서만반환() {
+        // Given: 모두 같은 토큰을 가진 문서 500개 중 짧은 경로 하나
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            documents.add(new Document("보고서_" + i + "_부록_첨부.txt", "/자료/하위/보고서_" + i + "_부록_첨부.txt"));
+        }
+        documents.add(new Document("보고서.txt", "/보고서.txt"));
+
+        // When
+        List<SearchHit> hits = LexicalIndex.build(documents, new SimpleAnalyzer()).search("보고서", 10, null);
+
+        // Then: 문서 길이가 짧을수록 높은 점수, 같은 점수는 목록 순
+        assertEquals(10, hits.size());
+        assertEquals("/보고서.txt", hits.get(0).getDocument().path);
+        assertEquals(0, hits.get(1).getIndex());
+        assertEquals(1, hits.get(2).getIndex());
+    }
+}
@@ -0,0 +1,180 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScalarQuantizer / ProductQuantizer / QuantizedVectors / VectorFile 테스트
+ */
+class QuantizedVectorsTest {
+    private static final int DIMENSION = 32;
+
+    // 중심 20 개 주위에 모인 길이 1 벡터 (실제 임베딩처럼 군집이 있는 분포)
+    private static List<float[]> clustered(int count, long seed) {
+        Random random = new Random(seed);
+        float[][] centers = new float[20][];
+        for (int c = 0; c < centers.length; c++) {
+            centers[c] = gaussian(random, 1f);
+        }
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float[] center = centers[random.nextInt(centers.length)];
+            float[] noise = gaussian(random, 0.3f);
+            for (int d = 0; d < DIMENSION; d++) {
+                noise[d] += center[d];
+            }
+            vectors.add(normalize(noise));
+        }
+        return vectors;
+    }
+
+    private static float[] gaussian(Random random, float sigma) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian() * sigma;
+        }
+        return vector;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static int[] bruteForce(List<float[]> vectors, float[] query, int k) {
+        Integer[] ids = new Integer[vectors.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        Arrays.sort(ids, (a, b) -> Float.compare(dot(vectors.get(b), query), dot(vectors.get(a), query)));
+        int[] top = new int[k];
+        for (int i = 0; i < k; i++) {
+            top[i] = ids[i];
+        }
+        return top;
+    }
+
+    private static double recall(QuantizedVectors store, List<float[]> vectors, List<float[]> queries, int candidates) {
+        int found = 0;
+        for (float[] query : queries) {
+            int[] expected = bruteForce(vectors, query, 10);
+            for (int id : store.search(query, 10, candidates, null)) {
+                for (int e : expected) {
+                    if (id == e) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found / (queries.size() * 10.0);
+    }
+
+    @Test
+    void testScalarQuantizer_ADC점수가원래내적과가까움() {
+        // Given
+        List<float[]> vectors = clustered(500, 1);
+        ScalarQuantizer quantizer = ScalarQuantizer.train(vectors, DIMENSION);
+        byte[] codes = new byte[quantizer.codeSize()];
+        float[] query = clustered(1, 2).get(0);
+        float[] table = quantizer.prepare(query);
+
+        for (float[] vector : vectors) {
+            // When
+            quantizer.encode(vector, codes, 0);
+
+            // Then
+            assertEquals(dot(query, vector), quantizer.score(table, codes, 0), 0.02);
+        }
+        assertEquals(DIMENSION, quantizer.codeSize());
+    }
+
+    @Test
+    void testProductQuantizer_코드길이는부분공간수() {
+        // Given
+        List<float[]> vectors = clustered(2000, 3);
+
+        // When
+        ProductQuantizer quantizer = ProductQuantizer.train(vectors, DIMENSION, 8, 6, 42);
+        byte[] codes = new byte[quantizer.codeSize()];
+        quantizer.encode(vectors.get(0), codes, 0);
+        float[] table = quantizer.prepare(vectors.get(0));
+
+        // Then: 자기 자신과의 근사 내적은 1 근처
+        assertEquals(8, quantizer.codeSize());
+        assertEquals(1f, quantizer.score(table, codes, 0), 0.15);
+        assertThrows(IllegalArgumentException.class, () -> ProductQuantizer.train(vectors, DIMENSION, 5, 1, 42));
+        assertThrows(IllegalArgumentException.class, () -> ProductQuantizer.train(List.of(), DIMENSION, 8, 1, 42));
+    }
+
+    @Test
+    void testSearch_원본재정렬하면재현율상승(@TempDir Path dir) throws Exception {
+        // Given: PQ 8 바이트 (원본 128 바이트)
+        List<float[]> vectors = clustered(3000, 4);
+        List<float[]> queries = clustered(30, 5);
+        ProductQuantizer quantizer = ProductQuantizer.train(vectors, DIMENSION, 8, 6, 42);
+        QuantizedVectors approximate = new QuantizedVectors(quantizer, null);
+        try (QuantizedVectors reranked = new QuantizedVectors(quantizer,
+                new VectorFile(dir.resolve("vectors.f32"), DIMENSION))) {
+            for (float[] vector : vectors) {
+                approximate.add(vector);
+                reranked.add(vector);
+            }
+
+            // When
+            double adc = recall(approximate, vectors, queries, 100);
+            double rerank = recall(reranked, vectors, queries, 100);
+
+            // Then
+            assertTrue(rerank >= 0.95, "rerank recall@10: " + rerank);
+            assertTrue(rerank >= adc, "adc " + adc + ", rerank " + rerank);
+            assertEquals(dot(queries.get(0), vectors.get(7)), reranked.similarity(queries.get(0), 7), 1e-5);
+            assertEquals(3000L * 8 + quantizer.tableBytes(), reranked.memoryBytes());
+        }
+    }
+
+    @Test
+    void testSearch_조건과빈저장소() throws Exception {
+        // Given
+        List<float[]> vectors = clustered(300, 6);
+        QuantizedVectors store = new QuantizedVectors(ScalarQuantizer.train(vectors, DIMENSION), null);
+        float[] query = vectors.get(0);
+        assertEquals(0, store.search(query, 10, 0, null).length);
+        for (float[] vector : vectors) {
+            store.add(vector);
+        }
+
+        // When
+        int[] all = store.search(query, 10, 0, null);
+        int[] odd = store.search(query, 10, 0, row -> row % 2 == 1);
+
+        // Then
+        assertEquals(0, all[0]);
+        assertEquals(10, odd.length);
+        for (int row : odd) {
+            assertEquals(1, row % 2);
+        }
+        assertThrows(IllegalArgumentException.class, () -> store.add(new float[DIMENSION + 1]));
+    }
+}
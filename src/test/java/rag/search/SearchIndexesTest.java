@@ -0,0 +1,76 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchIndexes 클래스 테스트
+ */
+class SearchIndexesTest {
+
+    private static List<Document> sample() {
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document("사업계획서.hwp", "/기획/사업계획서.hwp"));
+        documents.add(new Document("회의록.docx", "/기획/회의록.docx"));
+        documents.add(new Document("budget_report.xlsx", "/재무/budget_report.xlsx"));
+        documents.add(new Document("계약서.pdf", "/법무/계약서.pdf"));
+        return documents;
+    }
+
+    @Test
+    void testBridge_직전색인과차이분으로새목록위치반환() {
+        // Given: 색인이 완성된 목록
+        SearchIndexes base = SearchIndexes.of(sample());
+        base.lexical();
+        base.fuzzy();
+
+        // When: 앞에 문서 하나 추가, 계약서 삭제한 새 목록
+        List<Document> next = sample();
+        next.remove(3);
+        next.add(0, new Document("신규_회의록.docx", "/기획/신규_회의록.docx"));
+        SearchIndexes.Bridge bridge = SearchIndexes.Bridge.between(base, next);
+
+        // Then: 기존 문서는 새 위치로, 새 문서는 차이분 색인에서 찾음
+        List<SearchHit> minutes = bridge.searchLexical("회의록", 10, null);
+        assertEquals(List.of(0, 2), minutes.stream().map(SearchHit::getIndex).sorted().toList());
+        assertSame(next.get(2), minutes.stream().filter(hit -> hit.getIndex() == 2).findFirst().get().getDocument());
+        assertTrue(bridge.searchLexical("계약서", 10, null).isEmpty());
+        assertEquals(3, bridge.searchFuzzy("budgte", 10, null).get(0).getIndex());
+        assertEquals(List.of(0), bridge.searchLexical("회의록", 10, position -> position == 0).stream()
+                .map(SearchHit::getIndex).toList());
+    }
+
+    @Test
+    void testBridge_대부분새문서면만들지않음() {
+        // Given
+        SearchIndexes base = SearchIndexes.of(sample());
+        base.lexical();
+        base.fuzzy();
+
+        // When
+        List<Document> other = List.of(new Document("a.txt", "/a.txt"), new Document("b.txt", "/b.txt"));
+
+        // Then: 전체 색인을 기다림
+        assertNull(SearchIndexes.Bridge.between(base, other));
+    }
+
+    @Test
+    void testSearch_백그라운드색인으로검색() {
+        // Given
+        List<Document> documents = sample();
+
+        // When
+        SearchIndexes indexes = SearchIndexes.of(documents);
+        List<SearchHit> hits = indexes.searchLexical("회의록", 10, null);
+
+        // Then
+        assertEquals(1, hits.get(0).getIndex());
+        assertSame(indexes, SearchIndexes.of(documents));
+        assertEquals(2, indexes.searchFuzzy("budgte report", 10, null).get(0).getIndex());
+    }
+}
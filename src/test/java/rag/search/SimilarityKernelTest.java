@@ -0,0 +1,114 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SimilarityKernel 구현 테스트 (스칼라 / SIMD)
+ * surefire 는 --add-modules jdk.incubator.vector 로 실행하므로 SIMD 커널도 검사됨
+ */
+class SimilarityKernelTest {
+
+    private static float[] random(Random random, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        return values;
+    }
+
+    private static double reference(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += (double) a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Test
+    void testGet_SIMD모듈있으면벡터커널() {
+        // Given & When
+        SimilarityKernel vector = SimilarityKernels.vector();
+
+        // Then: 테스트 실행 환경에는 모듈이 있음 (레인이 4개 미만인 CPU 에서는 null 가능)
+        assertNotNull(SimilarityKernels.get());
+        assertNotNull(SimilarityKernels.scalar());
+        if (vector != null) {
+            assertSame(vector, SimilarityKernels.get());
+        }
+    }
+
+    @Test
+    void testDot_길이와오프셋이레인수와안맞아도같은결과() {
+        // Given
+        Random random = new Random(11);
+        float[] a = random(random, 500);
+        float[] b = random(random, 500);
+
+        for (SimilarityKernel kernel : kernels()) {
+            for (int length : new int[]{0, 1, 3, 7, 16, 17, 31, 128, 384, 401}) {
+                // When
+                float actual = kernel.dot(a, 5, b, 90, length);
+
+                // Then
+                assertEquals(reference(a, 5, b, 90, length), actual, 1e-3, kernel.name() + " length " + length);
+            }
+        }
+    }
+
+    @Test
+    void testDotBytes_int8코드와내적() {
+        // Given
+        Random random = new Random(13);
+        float[] a = random(random, 400);
+        byte[] b = new byte[400];
+        random.nextBytes(b);
+
+        for (SimilarityKernel kernel : kernels()) {
+            for (int length : new int[]{0, 5, 16, 33, 384}) {
+                // When
+                float actual = kernel.dot(a, 3, b, 9, length);
+
+                // Then
+                double expected = 0;
+                for (int i = 0; i < length; i++) {
+                    expected += (double) a[3 + i] * b[9 + i];
+                }
+                assertEquals(expected, actual, 1e-2, kernel.name() + " length " + length);
+            }
+        }
+    }
+
+    @Test
+    void testDots_행마다dot과같은결과() {
+        // Given: 행 7개 (4개 묶음 + 나머지 3개), 길이 37
+        Random random = new Random(12);
+        int length = 37;
+        float[] query = random(random, length);
+        float[] matrix = random(random, 3 + 7 * length);
+
+        for (SimilarityKernel kernel : kernels()) {
+            // When
+            float[] out = new float[9];
+            kernel.dots(query, matrix, 3, 7, out, 2);
+
+            // Then
+            assertEquals(0f, out[0]);
+            assertEquals(0f, out[1]);
+            for (int r = 0; r < 7; r++) {
+                assertEquals(reference(query, 0, matrix, 3 + r * length, length), out[2 + r], 1e-3,
+                        kernel.name() + " row " + r);
+            }
+        }
+    }
+
+    private static SimilarityKernel[] kernels() {
+        SimilarityKernel vector = SimilarityKernels.vector();
+        return vector == null
+                ? new SimilarityKernel[]{SimilarityKernels.scalar()}
+                : new SimilarityKernel[]{SimilarityKernels.scalar(), vector};
+    }
+}
@@ -0,0 +1,26 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SimpleAnalyzer 클래스 테스트
+ */
+class SimpleAnalyzerTest {
+
+    @Test
+    void testAnalyze_구분자와소문자() {
+        // Given
+        Analyzer analyzer = new SimpleAnalyzer();
+
+        // When & Then
+        assertEquals(List.of("기획", "2024", "사업계획서", "최종", "hwp"),
+                analyzer.analyze("/기획/2024_사업계획서_최종.hwp"));
+        assertEquals(List.of("report", "v2", "pdf"), analyzer.analyze("\\Report-V2.PDF"));
+        assertTrue(analyzer.analyze(" _./ ").isEmpty());
+        assertTrue(analyzer.analyze(null).isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package rag.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rag.config.VectorQuantization;
+import rag.model.Document;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VectorIndex / HashedEmbedder 클래스 테스트
+ */
+class VectorIndexTest {
+
+    private static List<Document> sample() {
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document("2024_사업계획서_최종.hwp", "/기획/2024_사업계획서_최종.hwp"));
+        documents.add(new Document("회의록_0312.docx", "/기획/회의/회의록_0312.docx"));
+        documents.add(new Document("budget_report.xlsx", "/재무/budget_report.xlsx"));
+        documents.add(new Document("계약서_검토.pdf", "/법무/계약서_검토.pdf"));
+        return documents;
+    }
+
+    @Test
+    void testEmbed_길이1과비슷한이름() {
+        // Given
+        HashedEmbedder embedder = new HashedEmbedder(128);
+
+        // When
+        float[] plan = embedder.embed(new Document("사업계획서.hwp", "/사업계획서.hwp"));
+        float[] similar = embedder.embed("사업 계획");
+        float[] other = embedder.embed("budget");
+
+        // Then
+        float norm = 0;
+        for (float v : plan) {
+            norm += v * v;
+        }
+        assertEquals(1f, norm, 1e-4f);
+        assertTrue(dot(plan, similar) > dot(plan, other));
+        assertEquals(0f, dot(embedder.embed(""), plan));
+    }
+
+    @Test
+    void testSync_새경로만추가하고없어진경로는제외() {
+        // Given
+        VectorIndex index = new VectorIndex(64);
+        List<Document> first = sample();
+        assertEquals(4, index.sync(first));
+
+        // When: 하나 삭제, 하나 추가한 새 목록
+        List<Document> second = new ArrayList<>(first.subList(1, 4));
+        second.add(new Document("사업계획서_초안.hwp", "/기획/사업계획서_초안.hwp"));
+        int added = index.sync(second);
+        List<SearchHit> hits = index.search(second, "사업계획서", 10, null);
+
+        // Then: 추가된 경로만 새 노드, 삭제된 문서는 결과에 없고 위치는 새 목록 기준
+        assertEquals(1, added);
+        assertEquals(5, index.nodeCount());
+        assertTrue(index.isSyncedWith(second));
+        assertEquals(3, hits.get(0).getIndex());
+        assertEquals("/기획/사업계획서_초안.hwp", hits.get(0).getDocument().path);
+        assertTrue(hits.stream().noneMatch(hit -> hit.getDocument().path.contains("최종")));
+        assertTrue(index.search(first, "사업계획서", 10, null).isEmpty()); // 맞추지 않은 목록
+        assertEquals(0, index.sync(second));
+    }
+
+    @Test
+    void testSearch_조건() {
+        // Given
+        VectorIndex index = new VectorIndex(64);
+        List<Document> documents = sample();
+        index.sync(documents);
+
+        // When
+        List<SearchHit> hits = index.search(documents, "회의록", 10, position -> position != 1);
+
+        // Then
+        assertTrue(hits.stream().noneMatch(hit -> hit.getIndex() == 1));
+    }
+
+    @Test
+    void testSync_양자화하면원본은파일에두고같은결과(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("vectors.f32");
+        List<Document> documents = sample();
+        VectorIndex plain = new VectorIndex(64);
+        plain.sync(documents);
+
+        for (VectorQuantization quantization : new VectorQuantization[]{VectorQuantization.INT8, VectorQuantization.PQ}) {
+            try (VectorIndex index = new VectorIndex(64, quantization, 16, file)) {
+                // When
+                assertEquals(4, index.sync(documents));
+                List<SearchHit> hits = index.search(documents, "사업계획서", 10, null);
+
+                assertEquals(4, index.nodeCount());
+                assertEquals(plain.search(documents, "사업계획서", 1, null).get(0).getIndex(), hits.get(0).getIndex());
+                assertEquals(plain.search(documents, "사업계획서", 1, null).get(0).getScore(), hits.get(0).getScore(), 1e-5);
+                assertTrue(Files.size(file) > 0);
+                assertTrue(index.vectorBytes() < plain.vectorBytes() + 64L * 4 * 256 * 2);
+            }
+            assertFalse(Files.exists(file)); // 닫으면 삭제
+        }
+    }
+
+    @Test
+    void testSync_목록에없는노드가많으면새로만듦(@TempDir Path dir) throws Exception {
+        // Given: 문서 3000개로 맞춘 색인 (그래프, 양자화)
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            documents.add(new Document("문서_" + i + ".txt", "/폴더/문서_" + i + ".txt"));
+        }
+        List<Document> kept = new ArrayList<>(documents.subList(0, 1000));
+        kept.add(new Document("사업계획서.hwp", "/기획/사업계획서.hwp"));
+
+        for (VectorQuantization quantization : new VectorQuantization[]{VectorQuantization.NONE, VectorQuantization.INT8}) {
+            try (VectorIndex index = new VectorIndex(64, quantization, 16, dir.resolve("vectors.f32"))) {
+                index.sync(documents);
+
+                // When: 2000개 삭제 (전체 노드의 절반 초과)
+                index.sync(kept);
+                List<SearchHit> hits = index.search(kept, "사업계획서", 1, null);
+
+                // Then: 남은 목록만으로 새로 만들고 위치는 새 목록 기준
+                assertEquals(1001, index.nodeCount());
+                assertEquals(0, index.tombstoneCount());
+                assertTrue(index.isSyncedWith(kept));
+                assertEquals(1000, hits.get(0).getIndex());
+                assertEquals(0, index.sync(kept));
+            }
+        }
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
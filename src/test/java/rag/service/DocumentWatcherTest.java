@@ -0,0 +1,136 @@
+package rag.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rag.config.AppConfig;
+import rag.config.DataType;
+import rag.util.CrawlRules;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DocumentWatcher 클래스 테스트
+ */
+class DocumentWatcherTest {
+    private static final String INDEX_NAME = "test_watch_index";
+
+    @TempDir
+    Path tempDir;
+
+    private String originalPath;
+    private CrawlRules originalRules;
+
+    @BeforeEach
+    void setUp() {
+        originalPath = AppConfig.DOC_PATH;
+        originalRules = AppConfig.CRAWL_RULES;
+        AppConfig.DOCUMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        DocumentWatcher.stopWatching();
+        AppConfig.DOC_PATH = originalPath;
+        AppConfig.setCrawlRules(originalRules);
+        AppConfig.DOCUMENTS.clear();
+        Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", INDEX_NAME + new DataType().getFileExt()));
+        Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", INDEX_NAME + new DataType().getFileExt() + ".journal"));
+    }
+
+    @Test
+    void testWatch_파일추가삭제반영() throws Exception {
+        // Given: 인덱스 생성 후 감시 시작
+        Path doc1 = tempDir.resolve("doc1.txt");
+        Files.writeString(doc1, "content 1");
+        AppConfig.DOC_PATH = tempDir.toString();
+        IndexService.buildIndex(INDEX_NAME, null);
+        DocumentWatcher.watch(INDEX_NAME);
+
+        // When: 파일 추가
+        Files.writeString(tempDir.resolve("doc2.txt"), "content 2");
+
+        // Then
+        assertTrue(waitFor(() -> hasDocument("doc2.txt")));
+
+        // When: 파일 삭제
+        Files.delete(doc1);
+
+        // Then
+        assertTrue(waitFor(() -> !hasDocument("doc1.txt")));
+        assertEquals(1, AppConfig.DOCUMENTS.size());
+    }
+
+    @Test
+    void testWatch_새폴더재탐색() throws Exception {
+        // Given
+        AppConfig.DOC_PATH = tempDir.toString();
+        DocumentWatcher.watch(INDEX_NAME);
+
+        // When: 새 폴더와 파일을 한 번에 생성
+        Path folder = tempDir.resolve("sub");
+        Files.createDirectory(folder);
+        Files.writeString(folder.resolve("inner.pdf"), "pdf");
+
+        // Then: 하위 파일까지 반영
+        assertTrue(waitFor(() -> hasDocument("inner.pdf")));
+    }
+
+    @Test
+    void testWatch_최대깊이폴더감시() throws Exception {
+        // Given: MAX_DEPTHS(4) 깊이의 폴더가 있는 상태에서 감시 시작
+        Path deep = Files.createDirectories(tempDir.resolve("a").resolve("b").resolve("c").resolve("d"));
+        AppConfig.DOC_PATH = tempDir.toString();
+        DocumentWatcher.watch(INDEX_NAME);
+
+        // When: 깊이 4 폴더에 파일 추가
+        Files.writeString(deep.resolve("deep.txt"), "deep");
+
+        // Then: 탐색 범위와 같이 반영
+        assertTrue(waitFor(() -> hasDocument("deep.txt")));
+    }
+
+    @Test
+    void testWatch_숨김폴더제외() throws Exception {
+        // Given: 숨김 폴더 제외 규칙(.*/)이 없어도 탐색은 숨김 폴더를 건너뜀
+        Path hidden = Files.createDirectory(tempDir.resolve(".hidden"));
+        AppConfig.DOC_PATH = tempDir.toString();
+        AppConfig.setCrawlRules(new CrawlRules(CrawlRules.DEFAULT_EXTENSIONS, List.of()));
+        DocumentWatcher.watch(INDEX_NAME);
+
+        // When: 기존 숨김 폴더와 새 숨김 폴더에 파일 추가 후 보이는 파일 추가
+        Files.writeString(hidden.resolve("secret.txt"), "secret");
+        Path created = Files.createDirectory(tempDir.resolve(".created"));
+        Files.writeString(created.resolve("created.txt"), "created");
+        Files.writeString(tempDir.resolve("visible.txt"), "visible");
+
+        // Then: 탐색과 같이 숨김 폴더의 파일은 반영하지 않음
+        assertTrue(waitFor(() -> hasDocument("visible.txt")));
+        assertFalse(hasDocument("secret.txt"));
+        assertFalse(hasDocument("created.txt"));
+    }
+
+    private static boolean hasDocument(String fileName) {
+        synchronized (AppConfig.DOCUMENTS) {
+            return AppConfig.DOCUMENTS.stream().anyMatch(doc -> fileName.equals(doc.fileName));
+        }
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
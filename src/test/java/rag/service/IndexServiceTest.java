@@ -5,12 +5,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import rag.config.AppConfig;
+import rag.config.DataType;
+import rag.index.IndexStore;
 import rag.model.Document;
+import rag.model.IndexDiff;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -171,4 +179,243 @@ class IndexServiceTest {
             Files.deleteIfExists(testFolder);
         }
     }
+
+    @Test
+    void testComputeDiff_추가삭제변경() {
+        // Given
+        Document same = new Document("a.txt", "/a.txt", 10L, 100L);
+        Document modified = new Document("b.txt", "/b.txt", 20L, 200L);
+        Document deleted = new Document("c.txt", "/c.txt", 30L, 300L);
+        List<Document> previous = List.of(same, modified, deleted);
+
+        List<Document> current = List.of(
+                new Document("a.txt", "/a.txt", 10L, 100L),
+                new Document("b.txt", "/b.txt", 25L, 250L),
+                new Document("d.txt", "/d.txt", 40L, 400L));
+
+        // When
+        List<Document> merged = new ArrayList<>();
+        IndexDiff diff = IndexService.computeDiff(previous, current, merged);
+
+        // Then
+        assertEquals(1, diff.getAdded().size());
+        assertEquals(1, diff.getRemoved().size());
+        assertEquals(1, diff.getChanged().size());
+        assertEquals("/d.txt", diff.getAdded().get(0).path);
+        assertEquals("/c.txt", diff.getRemoved().get(0).path);
+        assertEquals(25L, diff.getChanged().get(0).size);
+        assertEquals(3, merged.size());
+        assertSame(same, merged.get(0)); // 변경 없는 문서는 기존 객체 재사용
+    }
+
+    @Test
+    void testUpdateIndex_변경분만반영() throws IOException {
+        // Given: 인덱스 생성 후 파일 추가/삭제
+        Path testFolder = tempDir.resolve("test_docs3");
+        Files.createDirectory(testFolder);
+        Files.writeString(testFolder.resolve("doc1.txt"), "Test content 1");
+        Files.writeString(testFolder.resolve("doc2.txt"), "Test content 2");
+
+        String indexName = "test_update_index";
+        String originalPath = AppConfig.DOC_PATH;
+        try {
+            AppConfig.DOC_PATH = testFolder.toString();
+            IndexService.buildIndex(indexName, null);
+            assertEquals(2, AppConfig.DOCUMENTS.size());
+
+            Files.delete(testFolder.resolve("doc2.txt"));
+            Files.writeString(testFolder.resolve("doc3.txt"), "Test content 3");
+
+            // When
+            String result = IndexService.updateIndex(indexName, null);
+
+            // Then
+            assertTrue(result.contains("추가 1개"));
+            assertTrue(result.contains("삭제 1개"));
+            assertTrue(result.contains("변경 0개"));
+            assertEquals(2, AppConfig.DOCUMENTS.size());
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt()));
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt() + ".journal"));
+        }
+    }
+
+    @Test
+    void testUpdateIndex_빈경로() {
+        // When
+        String result = IndexService.updateIndex("", null);
+
+        // Then
+        assertTrue(result.contains("실패"));
+    }
+
+    @Test
+    void testShouldRebuildIndex_헤더의탐색조건으로판단() throws IOException {
+        // Given: 폴더 A 로 인덱스 생성
+        Path folderA = tempDir.resolve("docs_a");
+        Path folderB = tempDir.resolve("docs_b");
+        Files.createDirectories(folderA);
+        Files.createDirectories(folderB);
+        Files.writeString(folderA.resolve("doc1.txt"), "Test content 1");
+
+        String indexName = "test_metadata_index";
+        String originalPath = AppConfig.DOC_PATH;
+        try {
+            AppConfig.DOC_PATH = folderA.toString();
+            IndexService.buildIndex(indexName, null);
+
+            // When & Then: 같은 조건이면 그대로 사용
+            assertFalse(IndexService.shouldRebuildIndex(indexName));
+
+            // When & Then: 탐색 폴더가 바뀌면 재구축
+            AppConfig.DOC_PATH = folderB.toString();
+            assertTrue(IndexService.shouldRebuildIndex(indexName));
+
+            // When & Then: 인덱스가 아닌 파일이면 재구축
+            AppConfig.DOC_PATH = folderA.toString();
+            Files.writeString(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt()),
+                    "not an index");
+            assertTrue(IndexService.shouldRebuildIndex(indexName));
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt()));
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt() + ".journal"));
+        }
+    }
+
+    @Test
+    void testOpenIndex_저장된인덱스로바로시작후백그라운드갱신() throws Exception {
+        // Given: 인덱스 저장 후 앱이 꺼져 있는 동안 파일 추가
+        Path testFolder = tempDir.resolve("test_docs_swr");
+        Files.createDirectory(testFolder);
+        Files.writeString(testFolder.resolve("doc1.txt"), "Test content 1");
+
+        String indexName = "test_open_index";
+        String originalPath = AppConfig.DOC_PATH;
+        try {
+            AppConfig.DOC_PATH = testFolder.toString();
+            IndexService.buildIndex(indexName, null);
+            Files.writeString(testFolder.resolve("doc2.txt"), "Test content 2");
+            AppConfig.DOCUMENTS.clear();
+
+            // When
+            CountDownLatch synced = new CountDownLatch(1);
+            String result = IndexService.openIndex(indexName, null, synced::countDown);
+
+            // Then: 저장된 문서로 먼저 검색 가능, 갱신이 끝나면 새 스냅샷으로 교체
+            assertTrue(result.contains("백그라운드"));
+            assertTrue(synced.await(10, TimeUnit.SECONDS));
+            assertFalse(IndexService.isRevalidating());
+            assertEquals(2, AppConfig.DOCUMENTS.size());
+            assertTrue(IndexService.getIndexedAt(indexName) > 0);
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt()));
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt() + ".journal"));
+        }
+    }
+
+    @Test
+    void testOpenIndex_인덱스없으면바로구축() throws Exception {
+        // Given
+        Path testFolder = tempDir.resolve("test_docs_new");
+        Files.createDirectory(testFolder);
+        Files.writeString(testFolder.resolve("doc1.txt"), "Test content 1");
+
+        String indexName = "test_open_index_new";
+        String originalPath = AppConfig.DOC_PATH;
+        try {
+            AppConfig.DOC_PATH = testFolder.toString();
+            boolean[] synced = {false};
+
+            // When
+            IndexService.openIndex(indexName, null, () -> synced[0] = true);
+
+            // Then: 반환 전에 구축과 후속 작업이 끝남
+            assertTrue(synced[0]);
+            assertEquals(1, AppConfig.DOCUMENTS.size());
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt()));
+            Files.deleteIfExists(Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt() + ".journal"));
+        }
+    }
+
+    @Test
+    void testOpenIndex_읽지못해새로구축하면백그라운드갱신안함() throws Exception {
+        // Given: 변경 기록이 있어 열 때 본문을 모두 읽는 인덱스의 본문 손상
+        Path testFolder = tempDir.resolve("test_docs_corrupt");
+        Files.createDirectory(testFolder);
+        Files.writeString(testFolder.resolve("doc1.txt"), "Test content 1");
+
+        String indexName = "test_open_index_corrupt";
+        String originalPath = AppConfig.DOC_PATH;
+        Path indexFile = Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt());
+        try {
+            AppConfig.DOC_PATH = testFolder.toString();
+            IndexService.buildIndex(indexName, null);
+            IndexStore.append(indexFile, List.of(new Document("doc2.txt", "/doc2.txt", 1, 1)), List.of());
+            try (RandomAccessFile raf = new RandomAccessFile(indexFile.toFile(), "rw")) {
+                raf.seek(40);
+                int b = raf.read();
+                raf.seek(40);
+                raf.write(b ^ 0x01);
+            }
+            AppConfig.DOCUMENTS.clear();
+
+            // When
+            boolean[] synced = {false};
+            String result = IndexService.openIndex(indexName, null, () -> synced[0] = true);
+
+            // Then: 이 자리에서 구축한 목록이 이미 디스크와 같으므로 다시 탐색하지 않음
+            assertFalse(result.contains("백그라운드"));
+            assertTrue(synced[0]);
+            assertFalse(IndexService.isRevalidating());
+            assertEquals(1, AppConfig.DOCUMENTS.size());
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(Path.of(indexFile + ".journal"));
+        }
+    }
+
+    @Test
+    void testOpenIndex_매핑한인덱스가손상되면갱신에서전체저장() throws Exception {
+        // Given: 변경 기록이 없어 매핑으로 여는 인덱스의 본문 손상 + 꺼져 있는 동안 파일 추가
+        Path testFolder = tempDir.resolve("test_docs_mapped_corrupt");
+        Files.createDirectory(testFolder);
+        Files.writeString(testFolder.resolve("doc1.txt"), "Test content 1");
+
+        String indexName = "test_open_index_mapped_corrupt";
+        String originalPath = AppConfig.DOC_PATH;
+        Path indexFile = Path.of(System.getProperty("user.dir"), "temp", indexName + new DataType().getFileExt());
+        try {
+            AppConfig.DOC_PATH = testFolder.toString();
+            IndexService.buildIndex(indexName, null);
+            try (RandomAccessFile raf = new RandomAccessFile(indexFile.toFile(), "rw")) {
+                raf.seek(32 + 5);
+                int b = raf.read();
+                raf.seek(32 + 5);
+                raf.write(b ^ 0x01);
+            }
+            Files.writeString(testFolder.resolve("doc2.txt"), "Test content 2");
+            AppConfig.DOCUMENTS.clear();
+
+            // When
+            CountDownLatch synced = new CountDownLatch(1);
+            String result = IndexService.openIndex(indexName, null, synced::countDown);
+
+            // Then: 갱신 스레드가 체크섬 오류를 확인하고 변경 기록 대신 전체를 다시 저장
+            assertTrue(result.contains("백그라운드"));
+            assertTrue(synced.await(10, TimeUnit.SECONDS));
+            assertEquals(2, AppConfig.DOCUMENTS.size());
+            assertFalse(Files.exists(Path.of(indexFile + ".journal")));
+            assertEquals(2, IndexStore.readAll(indexFile).size());
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(Path.of(indexFile + ".journal"));
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package rag.service;
+
+import org.junit.jupiter.api.Test;
+import rag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PromptBuilder 클래스 테스트
+ */
+class PromptBuilderTest {
+
+    @Test
+    void testEstimateTokens_영문은4글자당1토큰_한글은글자당1토큰() {
+        // Given & When & Then
+        assertEquals(0, PromptBuilder.estimateTokens(""));
+        assertEquals(2, PromptBuilder.estimateTokens("budget"));            // 6글자 → 2
+        assertEquals(5, PromptBuilder.estimateTokens("사업계획서"));
+        assertEquals(7, PromptBuilder.estimateTokens("/a/report.pdf"));      // 기호 3 + a 1 + report 2 + pdf 1
+        assertEquals(4, PromptBuilder.estimateTokens("회의 록\n"));           // 한글 3 + 공백 0 + 줄바꿈 1
+    }
+
+    @Test
+    void testBuild_같은폴더는한번만쓰고순위순서유지() {
+        // Given: 1, 3 위가 같은 폴더, 2 위는 혼자
+        List<Document> candidates = List.of(
+                new Document("회의록_0312.docx", "/기획/회의/회의록_0312.docx"),
+                new Document("budget.xlsx", "/재무/budget.xlsx"),
+                new Document("회의록_0319.docx", "/기획/회의/회의록_0319.docx"));
+
+        // When
+        PromptBuilder.Prompt prompt = PromptBuilder.build("회의록", candidates, 3, 10_000);
+
+        // Then
+        String text = prompt.getText();
+        String list = text.substring(text.indexOf("문서 목록:\n"));
+        assertEquals("문서 목록:\n[/기획/회의/]\n회의록_0312.docx\n회의록_0319.docx\n/재무/budget.xlsx\n", list);
+        assertFalse(text.contains("주의:"));
+        assertEquals(candidates, prompt.getDocuments());
+        assertEquals(PromptBuilder.estimateTokens(text), prompt.getTokens());
+        assertEquals(3, prompt.getOffered());
+    }
+
+    @Test
+    void testBuild_예산을넘지않도록상위후보만() {
+        // Given: 폴더가 모두 다른 후보 500개
+        List<Document> candidates = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            candidates.add(new Document("문서_" + i + ".hwp", "/부서" + i + "/하위폴더/문서_" + i + ".hwp"));
+        }
+
+        // When
+        PromptBuilder.Prompt prompt = PromptBuilder.build("문서", candidates, 100_000, 2_000);
+
+        // Then: 예산 안, 순위 순 앞부분, 일부만 제공했다는 안내
+        assertTrue(prompt.getTokens() <= 2_000, "tokens: " + prompt.getTokens());
+        assertTrue(prompt.getIncluded() > 10 && prompt.getIncluded() < 500, "included: " + prompt.getIncluded());
+        assertEquals(candidates.subList(0, prompt.getIncluded()), prompt.getDocuments());
+        assertTrue(prompt.getText().contains("전체 100000개 중 검색 상위 " + prompt.getIncluded() + "개만 제공됨"));
+        assertTrue(prompt.getBuildNanos() >= 0);
+    }
+
+    @Test
+    void testBuild_긴경로는건너뛰고다음후보를넣음() {
+        // Given: 2위 경로 하나만 예산보다 김
+        List<Document> candidates = List.of(
+                new Document("a.txt", "/a.txt"),
+                new Document("b.txt", "/" + "긴폴더이름".repeat(200) + "/b.txt"),
+                new Document("c.txt", "/c.txt"));
+        int budget = PromptBuilder.build("q", List.of(), 3, 0).getTokens() + 50;
+
+        // When
+        PromptBuilder.Prompt prompt = PromptBuilder.build("q", candidates, 3, budget);
+
+        // Then
+        assertEquals(List.of(candidates.get(0), candidates.get(2)), prompt.getDocuments());
+        assertTrue(prompt.getTokens() <= budget);
+    }
+}
@@ -0,0 +1,50 @@
+package rag.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CrawlProgress 클래스 테스트
+ */
+class CrawlProgressTest {
+
+    @Test
+    void testCounters_남은폴더계산() {
+        // Given
+        CrawlProgress progress = CrawlProgress.start(null);
+
+        // When
+        progress.foldersQueued(3);
+        progress.folderDone();
+        progress.filesFound(10);
+        progress.filesFound(0);
+
+        // Then
+        assertEquals(10, progress.getFiles());
+        assertEquals(2, progress.getPendingFolders());
+        assertTrue(progress.message().startsWith("TOTAL :: 10"));
+    }
+
+    @Test
+    void testPublish_파일마다호출하지않음() throws InterruptedException {
+        // Given
+        List<String> messages = new CopyOnWriteArrayList<>();
+        CrawlProgress progress = CrawlProgress.start(messages::add);
+
+        // When: 짧은 시간에 많은 파일 발견
+        for (int i = 0; i < 10_000; i++) {
+            progress.filesFound(1);
+        }
+        Thread.sleep(CrawlProgress.PUBLISH_INTERVAL_MILLIS * 3);
+        progress.close();
+
+        // Then: 주기적으로만 보고되며 마지막 보고는 최종 값
+        assertFalse(messages.isEmpty());
+        assertTrue(messages.size() < 10);
+        assertTrue(messages.get(messages.size() - 1).startsWith("TOTAL :: 10000"));
+    }
+}
@@ -0,0 +1,126 @@
+package rag.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CrawlRules 클래스 테스트
+ */
+class CrawlRulesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDefault_기존제외폴더유지() {
+        // Given
+        CrawlRules rules = CrawlRules.DEFAULT;
+
+        // When & Then
+        assertNull(rules.enter(rules.root(), ".git"));
+        assertNull(rules.enter(rules.root(), "System32"));
+        assertNull(rules.enter(rules.root(), "Program Files (x86)"));
+        assertNull(rules.enter(rules.root(), "Temp"));
+        assertNull(rules.enter(rules.root(), "WebCache"));
+    }
+
+    @Test
+    void testDefault_이름에temp가포함된폴더는탐색() {
+        // Given
+        CrawlRules rules = CrawlRules.DEFAULT;
+
+        // When & Then: 기존 contains("temp") 검사로 잘못 제외되던 폴더
+        assertNotNull(rules.enter(rules.root(), "Template"));
+        assertNotNull(rules.enter(rules.root(), "Contemporary"));
+        assertNotNull(rules.enter(rules.root(), "Documents"));
+    }
+
+    @Test
+    void testExtension_대소문자무시() {
+        // Given
+        CrawlRules rules = CrawlRules.DEFAULT;
+
+        // When & Then
+        assertTrue(rules.acceptsExtension("보고서.HWP"));
+        assertTrue(rules.acceptsExtension("a.b.pdf"));
+        assertFalse(rules.acceptsExtension("image.jpg"));
+        assertFalse(rules.acceptsExtension("README"));
+        assertFalse(rules.acceptsExtension("trailing."));
+    }
+
+    @Test
+    void testPatterns_경로기준규칙과재포함() {
+        // Given
+        CrawlRules rules = new CrawlRules(List.of("txt"), List.of(
+                "/archive/",          // 최상위 archive 폴더만
+                "**/build/",          // 모든 깊이의 build 폴더
+                "~$*",                // 오피스 임시 파일
+                "*.txt",
+                "!keep.txt"));
+
+        // When & Then
+        assertNull(rules.stateOf("/archive"));
+        assertNotNull(rules.stateOf("/docs/archive"));
+        assertNull(rules.stateOf("/a/b/build"));
+        assertFalse(rules.acceptsPath("/docs/~$draft.txt"));
+        assertFalse(rules.acceptsPath("/docs/note.txt"));
+        assertTrue(rules.acceptsPath("/docs/keep.txt"));
+        assertFalse(rules.acceptsPath("/archive/keep.txt")); // 제외된 폴더 안은 다시 포함되지 않음
+    }
+
+    @Test
+    void testPatterns_폴더전용규칙은파일에적용안함() {
+        // Given
+        CrawlRules rules = new CrawlRules(List.of("txt"), List.of("logs/"));
+
+        // When & Then
+        assertNull(rules.stateOf("/logs"));
+        assertTrue(rules.acceptsPath("/a/logs.txt"));
+    }
+
+    @Test
+    void testLoad_규칙파일() throws IOException {
+        // Given
+        Path file = tempDir.resolve(CrawlRules.RULES_FILE);
+        Files.writeString(file, String.join("\n",
+                "# 주석",
+                "ext: .md, txt",
+                "node_modules/",
+                ""));
+
+        // When
+        CrawlRules rules = CrawlRules.load(file);
+
+        // Then
+        assertTrue(rules.acceptsExtension("a.md"));
+        assertFalse(rules.acceptsExtension("a.pdf"));
+        assertNull(rules.stateOf("/web/node_modules"));
+    }
+
+    @Test
+    void testLoadOrDefault_파일없음() {
+        // When & Then
+        assertSame(CrawlRules.DEFAULT, CrawlRules.loadOrDefault(tempDir.resolve("none.txt")));
+    }
+
+    @Test
+    void testFingerprint_내용이같으면같고바뀌면다름() {
+        // Given
+        CrawlRules rules = new CrawlRules(List.of("txt", "PDF"), List.of("node_modules/", "# 주석", " build/ "));
+        CrawlRules same = new CrawlRules(List.of("pdf", "txt"), List.of("NODE_MODULES/", "build/"));
+        CrawlRules reordered = new CrawlRules(List.of("txt", "pdf"), List.of("build/", "node_modules/"));
+        CrawlRules moreExt = new CrawlRules(List.of("txt", "pdf", "md"), List.of("node_modules/", "build/"));
+
+        // Then: 대소문자/공백/주석/확장자 순서는 무시, 규칙 순서와 확장자 집합은 반영
+        assertEquals(rules.fingerprint(), same.fingerprint());
+        assertNotEquals(rules.fingerprint(), reordered.fingerprint());
+        assertNotEquals(rules.fingerprint(), moreExt.fingerprint());
+    }
+}
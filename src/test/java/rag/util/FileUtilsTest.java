@@ -2,11 +2,17 @@ package rag.util;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import rag.config.AppConfig;
+import rag.model.Document;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -159,4 +165,42 @@ class FileUtilsTest {
             Files.deleteIfExists(folder);
         }
     }
+
+    @Test
+    void testFolderTask_하위폴더문서수집() throws IOException {
+        // Given: 2단계 폴더에 허용/비허용 파일 생성
+        Path sub = tempDir.resolve("sub").resolve("inner");
+        Files.createDirectories(sub);
+        Files.writeString(tempDir.resolve("a.txt"), "a");
+        Files.writeString(tempDir.resolve("sub").resolve("b.pdf"), "b");
+        Files.writeString(sub.resolve("c.hwp"), "c");
+        Files.writeString(sub.resolve("d.jpg"), "d");
+
+        String originalPath = AppConfig.DOC_PATH;
+        try {
+            AppConfig.DOC_PATH = tempDir.toString();
+            List<Document> target = new ArrayList<>();
+
+            // When
+            new ForkJoinPool(2).invoke(new FileUtils.FolderTask(tempDir.toFile(), 0, null, target));
+
+            // Then: 모든 하위 작업의 문서가 target 에 합쳐짐
+            assertEquals(3, target.size());
+            assertTrue(target.stream().anyMatch(doc -> doc.path.endsWith("c.hwp") && doc.size == 1));
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+        }
+    }
+
+    @Test
+    void testIsHidden_속성기반() throws IOException {
+        // Given
+        Path hidden = Files.createDirectory(tempDir.resolve(".hidden"));
+        Path visible = Files.createDirectory(tempDir.resolve("visible"));
+
+        // When & Then: 이미 읽은 속성으로 File.isHidden 과 같은 결과
+        assertEquals(hidden.toFile().isHidden(),
+                FileUtils.isHidden(".hidden", Files.readAttributes(hidden, BasicFileAttributes.class)));
+        assertFalse(FileUtils.isHidden("visible", Files.readAttributes(visible, BasicFileAttributes.class)));
+    }
 }
@@ -0,0 +1,64 @@
+package rag.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rag.config.AppConfig;
+import rag.model.Document;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IoCrawler 클래스 테스트
+ */
+class IoCrawlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCrawl_FolderTask와같은결과() throws Exception {
+        // Given: 여러 단계의 폴더 트리
+        createTree(tempDir, 3);
+
+        String originalPath = AppConfig.DOC_PATH;
+        try {
+            AppConfig.DOC_PATH = tempDir.toString();
+
+            // When: 동시에 열 수 있는 폴더를 1개로 제한해도 모두 탐색
+            List<Document> documents = new IoCrawler(1, null).crawl(tempDir.toFile());
+
+            // Then
+            assertEquals(3 * 3 + 3 + 1, documents.size());
+            assertTrue(documents.stream().allMatch(doc -> doc.path.endsWith(".txt")));
+        } finally {
+            AppConfig.DOC_PATH = originalPath;
+        }
+    }
+
+    @Test
+    void testCrawl_존재하지않는폴더() throws Exception {
+        // When
+        List<Document> documents = new IoCrawler(4, null).crawl(tempDir.resolve("none").toFile());
+
+        // Then
+        assertTrue(documents.isEmpty());
+    }
+
+    // root/a.txt, root/d{i}/b.txt, root/d{i}/e{j}/c.txt
+    private static void createTree(Path root, int width) throws IOException {
+        Files.writeString(root.resolve("a.txt"), "a");
+        for (int i = 0; i < width; i++) {
+            Path dir = Files.createDirectory(root.resolve("d" + i));
+            Files.writeString(dir.resolve("b.txt"), "b");
+            for (int j = 0; j < width; j++) {
+                Path sub = Files.createDirectory(dir.resolve("e" + j));
+                Files.writeString(sub.resolve("c.txt"), "c");
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package rag.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimeUtils 클래스 테스트
+ */
+class TimeUtilsTest {
+
+    @Test
+    void testFormatAge_단위별표시() {
+        // Given
+        long now = 10L * 24 * 60 * 60 * 1000;
+
+        // When & Then
+        assertEquals("기록 없음", TimeUtils.formatAge(0L, now));
+        assertEquals("방금 전", TimeUtils.formatAge(now - 30_000L, now));
+        assertEquals("5분 전", TimeUtils.formatAge(now - 5 * 60_000L, now));
+        assertEquals("3시간 전", TimeUtils.formatAge(now - 3 * 60 * 60_000L, now));
+        assertEquals("2일 전", TimeUtils.formatAge(now - 2 * 24 * 60 * 60_000L, now));
+    }
+}